@@ -0,0 +1,17 @@
+-- 검색 조건별 추천 결과 (direction.sql 이후 실행)
+--
+-- 같은 입력 좌표 / 추천 개수 / 반경으로 다시 검색하여 추천 결과도 같으면 길안내를 새로 저장하지 않고
+-- 이전 길안내 id(단축 URL)를 그대로 반환 (DirectionSearchDedupService)
+-- 선점은 Redis(SET NX)가 담당하고, 이 테이블은 길안내 저장 배치가 길안내 행과 같은 트랜잭션으로 기록 (Redis 장애 시 조회)
+-- search_key 기본 키로 같은 조건의 결과는 한 행만 유지, 만료(ttl) 행은 애플리케이션이 주기적으로 삭제
+--
+-- 이미 실행 중인 DB 는 이 스크립트를 한 번 실행하면 됨
+
+CREATE TABLE IF NOT EXISTS `direction_search` (
+    `search_key` varchar(100) COLLATE utf8mb4_unicode_ci NOT NULL,
+    `result_hash` bigint(20) NOT NULL,
+    `direction_ids` varchar(420) COLLATE utf8mb4_unicode_ci NOT NULL,
+    `created_date` datetime(6) NOT NULL,
+    PRIMARY KEY (`search_key`),
+    KEY `idx_direction_search_created_date` (`created_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
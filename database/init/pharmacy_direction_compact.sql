@@ -0,0 +1,57 @@
+-- 길안내(direction) 압축 저장 형식 (pharmacy.sql, direction.sql 이후 실행 - 파일 이름 순서로 실행되므로 pharmacy_ 로 시작)
+--
+-- 추천 약국의 약국명/주소/좌표(utf8mb4 문자열 + double)를 행마다 복사하지 않고 pharmacy_id 만 저장
+-- (조회 시 애플리케이션이 메모리 약국 데이터 또는 pharmacy 테이블에서 확인)
+-- 입력 주소는 direction_input_address 에 한 번만 저장하고 id 로 참조
+-- 입력 좌표는 마이크로도(1e-6 도, 약 0.1m) 정수, 거리는 m 정수로 저장 - 행 크기 고정 약 50 byte
+--
+-- 이미 실행 중인 DB 는 이 스크립트를 한 번 실행하면 됨
+-- 기존 테이블은 direction_legacy 로 이름만 바꿔 둠
+-- (약국명/좌표가 일치하는 약국이 없는 기존 행은 pharmacy_id 가 NULL 이며, 단축 URL 조회 시 direction_legacy 의 약국 정보를 사용
+--  - direction_legacy 를 삭제하면 이런 행과 이후 삭제된 약국의 기존 행은 404)
+-- 이전 이후의 행은 약국 정보를 pharmacy 에서만 확인하므로
+--  - 단축 URL 은 추천 당시가 아닌 조회 시점의 약국명/좌표로 안내
+--  - pharmacy 행을 직접 삭제하면 그 약국을 가리키는 길안내는 404 (애플리케이션은 약국을 삭제하지 않음)
+--  - 약국 id 가 없는 추천 결과(카카오 카테고리 검색)는 저장하지 않음
+
+CREATE TABLE IF NOT EXISTS `direction_input_address` (
+    `id` bigint(20) NOT NULL AUTO_INCREMENT,
+    `address` varchar(255) COLLATE utf8mb4_bin NOT NULL,
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_direction_input_address` (`address`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO `direction_input_address` (`address`)
+SELECT DISTINCT `input_address` FROM `direction` WHERE `input_address` IS NOT NULL
+ON DUPLICATE KEY UPDATE `direction_input_address`.`id` = `direction_input_address`.`id`;
+
+CREATE TABLE `direction_compact` (
+    `id` bigint(20) NOT NULL,
+    `created_date` datetime(6) DEFAULT NULL,
+    `modified_date` datetime(6) DEFAULT NULL,
+    `pharmacy_id` bigint(20) DEFAULT NULL,
+    `input_address_id` bigint(20) DEFAULT NULL,
+    `input_latitude_e6` int(11) NOT NULL,
+    `input_longitude_e6` int(11) NOT NULL,
+    `distance_m` int(10) unsigned NOT NULL,
+    PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 약국명/좌표별 약국 id 를 한 번만 묶어 조인 (행마다 pharmacy 전체를 읽는 상관 서브쿼리 대신,
+-- 구체화된 파생 테이블에 조인 키 인덱스가 자동 생성되어 direction 행마다 인덱스 조회 한 번)
+INSERT INTO `direction_compact`
+SELECT d.`id`, d.`created_date`, d.`modified_date`,
+       p.`id`,
+       a.`id`,
+       ROUND(d.`input_latitude` * 1000000), ROUND(d.`input_longitude` * 1000000),
+       ROUND(d.`distance` * 1000)
+FROM `direction` d
+LEFT JOIN (
+    SELECT `pharmacy_name`, `latitude`, `longitude`, MIN(`id`) AS `id`
+    FROM `pharmacy`
+    GROUP BY `pharmacy_name`, `latitude`, `longitude`
+) p ON p.`pharmacy_name` = d.`target_pharmacy_name`
+   AND p.`latitude` = d.`target_latitude` AND p.`longitude` = d.`target_longitude`
+LEFT JOIN `direction_input_address` a ON a.`address` = d.`input_address` COLLATE utf8mb4_bin;
+
+RENAME TABLE `direction` TO `direction_legacy`, `direction_compact` TO `direction`;
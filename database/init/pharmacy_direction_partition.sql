@@ -0,0 +1,24 @@
+-- 길안내(direction) 생성 시각 월별 RANGE 파티션 (pharmacy_direction_compact.sql 이후 실행)
+--
+-- 파티션 키는 모든 unique 키에 포함되어야 하므로 기본 키를 (id, created_date) 로 변경
+-- (id 는 Snowflake 로 발급되어 그대로 유일, id 조회는 파티션마다 기본 키 탐색)
+-- 처음에는 2024년 이전 행(p_history)과 나머지(p_future) 두 파티션만 생성하고,
+-- 월별 파티션(pYYYYMM) 추가 / 보관 기간이 지난 파티션의 압축 파일 보관 후 삭제는 애플리케이션(DirectionRetentionService)이 수행
+-- (p_future 에 이미 있는 행은 첫 월별 파티션 추가 때 한 번 옮겨짐)
+--
+-- 이미 실행 중인 DB 는 이 스크립트를 한 번 실행하면 됨 (테이블 전체를 다시 쓰므로 트래픽이 적은 시간에 실행)
+--
+-- 주의: pharmacy.direction.retention.enabled=true 로 켜면 retention-days(기본 365일)가 지난 월별 파티션을
+-- archive-dir 에 보관 파일로 남긴 뒤 삭제하고, 삭제된 범위의 단축 URL 은 410 Gone 이 됨 (기본값 false)
+
+UPDATE `direction` SET `created_date` = COALESCE(`modified_date`, NOW(6)) WHERE `created_date` IS NULL;
+
+ALTER TABLE `direction`
+    MODIFY COLUMN `created_date` datetime(6) NOT NULL,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (`id`, `created_date`);
+
+ALTER TABLE `direction` PARTITION BY RANGE COLUMNS (`created_date`) (
+    PARTITION `p_history` VALUES LESS THAN ('2024-01-01'),
+    PARTITION `p_future` VALUES LESS THAN (MAXVALUE)
+);
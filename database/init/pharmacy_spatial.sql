@@ -0,0 +1,24 @@
+-- 약국 좌표 공간 컬럼 / SPATIAL INDEX (pharmacy.sql 이후 실행)
+--
+-- location : WGS84(SRID 4326) POINT - MariaDB 는 SRID 의 축 순서를 적용하지 않으므로 POINT(경도 위도) 로 저장
+-- 애플리케이션(JPA 엔티티)은 latitude/longitude 만 기록하고, location 은 트리거가 같은 값으로 채움
+-- (hibernate-spatial 없이 ddl-auto validate 유지)
+--
+-- 이미 실행 중인 DB 는 이 스크립트를 한 번 실행하면 됨
+
+ALTER TABLE `pharmacy` ADD COLUMN `location` POINT REF_SYSTEM_ID=4326 NULL;
+
+UPDATE `pharmacy` SET `location` = ST_GeomFromWKB(ST_AsWKB(POINT(`longitude`, `latitude`)), 4326);
+
+-- SPATIAL INDEX 는 NOT NULL 컬럼에만 생성 가능
+ALTER TABLE `pharmacy`
+    MODIFY COLUMN `location` POINT REF_SYSTEM_ID=4326 NOT NULL,
+    ADD SPATIAL INDEX `idx_pharmacy_location` (`location`);
+
+DROP TRIGGER IF EXISTS `pharmacy_location_insert`;
+CREATE TRIGGER `pharmacy_location_insert` BEFORE INSERT ON `pharmacy` FOR EACH ROW
+    SET NEW.`location` = ST_GeomFromWKB(ST_AsWKB(POINT(NEW.`longitude`, NEW.`latitude`)), 4326);
+
+DROP TRIGGER IF EXISTS `pharmacy_location_update`;
+CREATE TRIGGER `pharmacy_location_update` BEFORE UPDATE ON `pharmacy` FOR EACH ROW
+    SET NEW.`location` = ST_GeomFromWKB(ST_AsWKB(POINT(NEW.`longitude`, NEW.`latitude`)), 4326);
@@ -0,0 +1,107 @@
+package com.dsg.pharmacyrecommend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class PharmacySearchConfig {
+
+    /**
+     * 약국 병렬 탐색 전용 ForkJoinPool
+     * 공용 풀(ForkJoinPool.commonPool)은 parallel stream 등 다른 작업과 공유되므로 별도 풀을 사용한다.
+     *
+     * @param parallelism 병렬 수준 (0 이하이면 CPU 코어 수)
+     * @return ForkJoinPool
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool pharmacySearchForkJoinPool(
+            @Value("${pharmacy.index.parallel.parallelism:0}") int parallelism) {
+        int resolved = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(resolved);
+    }
+
+    /**
+     * 약국 인덱스 재적재 전용 단일 스레드 Executor
+     * DB 조회와 인덱스 생성은 검색 요청 스레드와 분리된 이 스레드에서 순서대로 수행한다.
+     *
+     * @return ExecutorService
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService pharmacyIndexReloadExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pharmacy-index-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 최근접 약국 래스터 생성 전용 단일 스레드 Executor
+     * 래스터 생성은 CPU 를 오래 사용하므로 병렬 탐색 풀과 재적재 스레드를 점유하지 않도록 분리하고 우선순위를 낮춘다.
+     *
+     * @return ExecutorService
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService pharmacyRasterExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pharmacy-raster");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * 약국 Redis 대량 적재 전용 단일 스레드 Executor
+     * 적재 작업은 HTTP 요청 스레드를 붙잡지 않고 이 스레드에서 백그라운드로 수행한다.
+     *
+     * @return ExecutorService
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService pharmacyRedisLoadExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pharmacy-redis-load");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 약국 Redis 셀 병렬 조회 전용 Executor
+     * 반경 검색 한 번에 필요한 셀 Hash 들을 동시에 요청한다. (Lettuce 공유 연결에서 요청이 파이프라인으로 전송됨)
+     *
+     * @param parallelism 동시 조회 스레드 수
+     * @return ExecutorService
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService pharmacyRedisReadExecutor(
+            @Value("${pharmacy.redis.cell.read-parallelism:8}") int parallelism) {
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "pharmacy-redis-read-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 길안내 비동기 일괄 저장 전용 단일 스레드 Executor
+     * 큐에 쌓인 길안내를 요청 스레드와 분리된 이 스레드에서 JDBC 배치로 저장한다.
+     *
+     * @return ExecutorService
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService directionWriteBehindExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "direction-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
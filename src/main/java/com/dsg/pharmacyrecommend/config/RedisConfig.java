@@ -1,13 +1,24 @@
 package com.dsg.pharmacyrecommend.config;
 
+import com.dsg.pharmacyrecommend.domain.pharmacy.cache.PharmacyRedisClientCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.protocol.ProtocolVersion;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+
 @Configuration
 public class RedisConfig {
 
@@ -17,13 +28,22 @@ public class RedisConfig {
     @Value("${spring.data.redis.port}")
     private int redisPort;
 
+    /**
+     * 명령 타임아웃 - Redis 장애 시 요청이 기다리는 최대 시간 (Lettuce 기본값 60초)
+     */
+    @Value("${pharmacy.redis.command-timeout-ms:1000}")
+    private long commandTimeoutMillis;
+
     /**
      * Zedis보다는 Lettuce를 사용한다. 성능이 더 좋음
      * @return RedisConnectionFactory
      */
     @Bean
     public RedisConnectionFactory redisConnectionFactory() {
-        return new LettuceConnectionFactory(redisHost, redisPort);
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .commandTimeout(Duration.ofMillis(commandTimeoutMillis))
+                .build();
+        return new LettuceConnectionFactory(new RedisStandaloneConfiguration(redisHost, redisPort), clientConfiguration);
     }
 
     @Bean
@@ -35,4 +55,25 @@ public class RedisConfig {
         redisTemplate.setHashValueSerializer(new StringRedisSerializer());
         return redisTemplate;
     }
+
+    /**
+     * 약국 Hash 클라이언트 측 캐시 (Redis 6 이상, RESP3 서버 지원 트래킹)
+     * 무효화 푸시 메시지는 RESP3 연결에서만 받을 수 있으므로 RedisTemplate 과 별도의 RESP3 전용 클라이언트를 사용한다.
+     * 연결은 첫 조회 때 맺으므로 Redis 가 내려가 있어도 서버 시작은 실패하지 않는다.
+     *
+     * @param objectMapper PharmacyDto JSON 변환용
+     * @param entryInvalidation 압축 레코드 키로 항목 단위 무효화 (압축 레코드는 Geo 저장 시에만 기록)
+     * @return PharmacyRedisClientCache
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "pharmacy.redis.client-cache.enabled", havingValue = "true")
+    public PharmacyRedisClientCache pharmacyRedisClientCache(
+            ObjectMapper objectMapper,
+            @Value("${pharmacy.redis.geo.enabled:true}") boolean entryInvalidation) {
+        RedisURI redisUri = RedisURI.create(redisHost, redisPort);
+        redisUri.setTimeout(Duration.ofMillis(commandTimeoutMillis));
+        RedisClient redisClient = RedisClient.create(redisUri);
+        redisClient.setOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP3).build());
+        return new PharmacyRedisClientCache(redisClient, objectMapper, entryInvalidation);
+    }
 }
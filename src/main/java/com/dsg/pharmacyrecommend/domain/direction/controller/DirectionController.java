@@ -2,10 +2,12 @@ package com.dsg.pharmacyrecommend.domain.direction.controller;
 
 import com.dsg.pharmacyrecommend.domain.direction.dto.InputDto;
 import com.dsg.pharmacyrecommend.domain.direction.dto.OutputDto;
+import com.dsg.pharmacyrecommend.domain.direction.exception.DirectionNotFoundException;
 import com.dsg.pharmacyrecommend.domain.direction.service.DirectionService;
 import com.dsg.pharmacyrecommend.domain.pharmacy.service.PharmacyRecommendationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -24,7 +26,8 @@ public class DirectionController {
     @PostMapping("/search")
     public ResponseEntity<List<OutputDto>> searchPharmacy(@RequestBody InputDto inputDto) {
         log.info("[DirectionController.searchPharmacy] inputDto: {}", inputDto);
-        List<OutputDto> outputDtos = pharmacyRecommendationService.recommendPharmacyList(inputDto.getAddress());
+        List<OutputDto> outputDtos = pharmacyRecommendationService.recommendPharmacyList(
+                inputDto.getAddress(), inputDto.getSearchCount(), inputDto.getRadiusKm());
 
         return ResponseEntity.ok(outputDtos);
     }
@@ -36,4 +39,13 @@ public class DirectionController {
         log.info("[DirectionController.getPharmacy] directionUrlById: {}", directionUrlById);
         return ResponseEntity.ok(directionUrlById);
     }
+
+    /**
+     * 없는 길안내는 404, 보관 기간이 지나 삭제된 길안내는 410 Gone
+     */
+    @ExceptionHandler(DirectionNotFoundException.class)
+    public ResponseEntity<String> handleDirectionNotFound(DirectionNotFoundException e) {
+        log.info("[DirectionController.getPharmacy] directionId: {}, expired: {}", e.getDirectionId(), e.isExpired());
+        return ResponseEntity.status(e.isExpired() ? HttpStatus.GONE : HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
 }
@@ -0,0 +1,61 @@
+package com.dsg.pharmacyrecommend.domain.direction.controller;
+
+import com.dsg.pharmacyrecommend.domain.direction.service.DirectionExportFormat;
+import com.dsg.pharmacyrecommend.domain.direction.service.DirectionExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * 길안내 내보내기 API (분석용)
+ *
+ * 길안내를 id 순으로 조회하면서 바로 gzip 압축하여 응답 본문에 씁니다. (응답 크기와 관계없이 힙 사용량 일정)
+ * 전송이 중간에 끊기면 마지막으로 받은 행의 id 를 after 로 다시 요청하면 이어서 받을 수 있습니다.
+ *
+ * 예) GET /api/admin/direction-export?format=NDJSON&from=2026-01-01T00:00:00&to=2026-02-01T00:00:00
+ *
+ * 응답에 사용자 입력 주소와 좌표가 포함되고 이 API 자체에는 인증이 없으므로 기본값은 비활성입니다.
+ * pharmacy.direction.export.api-enabled=true 로 켜는 경우 /api/admin 경로를 내부망/인증 프록시 뒤에만 노출해야 하며,
+ * 그 외에는 CLI(DirectionExportRunner)로 파일을 내보냅니다.
+ */
+@Slf4j
+@RestController
+@ConditionalOnProperty(prefix = "pharmacy.direction.export", name = "api-enabled", havingValue = "true")
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/direction-export")
+public class DirectionExportAdminController {
+
+    private final DirectionExportService directionExportService;
+
+    /**
+     * @param format 내보내기 형식 (CSV, NDJSON)
+     * @param from 생성 시각 하한 (포함)
+     * @param to 생성 시각 상한 (미포함)
+     * @param after 재개 토큰 - 이 id 다음 행부터
+     */
+    @GetMapping
+    public void export(@RequestParam(defaultValue = "CSV") DirectionExportFormat format,
+                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                       @RequestParam(defaultValue = "0") long after,
+                       HttpServletResponse response) throws IOException {
+        log.info("[DirectionExportAdminController.export] format: {}, from: {}, to: {}, after: {}", format, from, to, after);
+        response.setContentType("application/gzip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("direction" + format.getExtension()).build().toString());
+
+        long rows = directionExportService.export(format, from, to, after, response.getOutputStream());
+        log.info("[DirectionExportAdminController.export] rows: {}", rows);
+    }
+}
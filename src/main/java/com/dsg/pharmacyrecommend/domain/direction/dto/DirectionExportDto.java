@@ -0,0 +1,36 @@
+package com.dsg.pharmacyrecommend.domain.direction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 길안내 내보내기 한 행 (분석용 CSV / NDJSON)
+ *
+ * 압축 저장 형식의 id 들을 약국명/주소/좌표, 입력 주소 문자열로 풀어서 내보냅니다.
+ * 약국이 삭제되었거나 카카오 카테고리 API 결과인 길안내는 약국 정보가 null 입니다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DirectionExportDto {
+
+    private long id;
+    private LocalDateTime createdDate;
+
+    private Long pharmacyId;
+    private String pharmacyName;
+    private String pharmacyAddress;
+    private Double pharmacyLatitude;
+    private Double pharmacyLongitude;
+
+    private String inputAddress;
+    private double inputLatitude;
+    private double inputLongitude;
+
+    private double distance;
+}
@@ -0,0 +1,22 @@
+package com.dsg.pharmacyrecommend.domain.direction.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 길안내 파일 내보내기 결과
+ *
+ * - rows : 파일에 기록된 전체 행 수 (이어서 내보낸 경우 이전 실행분 포함)
+ * - lastId : 마지막으로 기록한 길안내 id (다음 내보내기의 재개 토큰, 행이 없으면 시작 id)
+ * - resumed : 이전 실행의 재개 파일에서 이어서 내보냈는지 여부
+ */
+@Getter
+@Builder
+@ToString
+public class DirectionExportResultDto {
+
+    private long rows;
+    private long lastId;
+    private boolean resumed;
+}
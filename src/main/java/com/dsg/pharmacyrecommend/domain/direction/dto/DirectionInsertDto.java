@@ -0,0 +1,55 @@
+package com.dsg.pharmacyrecommend.domain.direction.dto;
+
+import com.dsg.pharmacyrecommend.domain.direction.entity.Direction;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 비동기 일괄 저장(write-behind) 대기 중인 길안내 한 건 (JDBC 배치 INSERT / 임시 파일 기록 단위)
+ *
+ * JPA 를 거치지 않으므로 id 와 생성 시각(created_date)을 미리 채워 둡니다.
+ * 약국 정보는 pharmacyId 로만 저장하고, 입력 주소는 저장 시 direction_input_address 의 id 로 바꿉니다.
+ * 반복 검색 재사용 대상이면 검색 결과의 마지막 길안내에 추천 결과(search)를 실어 같은 배치에서 direction_search 에 기록합니다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DirectionInsertDto {
+
+    private Long id;
+    private LocalDateTime createdDate;
+
+    private Long pharmacyId;
+
+    private String inputAddress;
+    private double inputLatitude;
+    private double inputLongitude;
+
+    private double distance;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private DirectionSearchDto search;
+
+    public static DirectionInsertDto from(Direction direction, LocalDateTime createdDate) {
+        return from(direction, createdDate, null);
+    }
+
+    public static DirectionInsertDto from(Direction direction, LocalDateTime createdDate, DirectionSearchDto search) {
+        return DirectionInsertDto.builder()
+                .id(direction.getId())
+                .createdDate(createdDate)
+                .pharmacyId(direction.getPharmacyId())
+                .inputAddress(direction.getInputAddress())
+                .inputLatitude(direction.getInputLatitude())
+                .inputLongitude(direction.getInputLongitude())
+                .distance(direction.getDistance())
+                .search(search)
+                .build();
+    }
+}
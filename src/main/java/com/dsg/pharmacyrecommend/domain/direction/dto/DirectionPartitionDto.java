@@ -0,0 +1,39 @@
+package com.dsg.pharmacyrecommend.domain.direction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * direction 테이블 RANGE 파티션 한 개 (information_schema.PARTITIONS)
+ *
+ * - name : 파티션 이름 (월별 파티션은 pYYYYMM)
+ * - upperBound : 이 날짜 미만의 created_date 를 보관 (MAXVALUE 파티션은 null)
+ * - lowerBound : 월별 파티션이면 그 달 1일 이상의 created_date 를 보관 (p_history 등 그 외 파티션은 null)
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class DirectionPartitionDto {
+
+    private static final Pattern MONTH_PARTITION = Pattern.compile("p\\d{6}");
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private String name;
+    private LocalDate upperBound;
+
+    public boolean isMaxValue() {
+        return Objects.isNull(upperBound);
+    }
+
+    public LocalDate getLowerBound() {
+        if (!MONTH_PARTITION.matcher(name).matches()) return null;
+        return YearMonth.parse(name.substring(1), MONTH).atDay(1);
+    }
+}
@@ -0,0 +1,52 @@
+package com.dsg.pharmacyrecommend.domain.direction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 같은 검색 조건에 대해 저장해 둔 추천 결과 (direction_search 한 행 / Redis 선점 값)
+ *
+ * - searchKey : 검색 조건 키 (direction_search 기록용, Redis 값에는 없음)
+ * - resultHash : 추천 약국 목록의 해시 (검색 결과가 바뀌었는지 확인)
+ * - directionIds : 저장된 길안내 id (추천 순서)
+ */
+@Getter
+@Builder
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class DirectionSearchDto {
+
+    private String searchKey;
+    private long resultHash;
+    private List<Long> directionIds;
+    private LocalDateTime createdDate;
+
+    /**
+     * @return String 쉼표로 구분한 길안내 id (direction_search.direction_ids 컬럼 형식)
+     */
+    public String joinDirectionIds() {
+        return directionIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    public static List<Long> parseDirectionIds(String directionIds) {
+        return Arrays.stream(directionIds.split(",")).map(Long::valueOf).collect(Collectors.toList());
+    }
+
+    /**
+     * @param resultHash 이번 검색 결과의 해시
+     * @param size 이번 검색 결과의 길안내 수
+     * @return boolean 이번 검색 결과와 같은 추천 결과인지 여부
+     */
+    public boolean matches(long resultHash, int size) {
+        return this.resultHash == resultHash && directionIds.size() == size;
+    }
+}
@@ -9,4 +9,6 @@ import lombok.*;
 @NoArgsConstructor
 public class InputDto {
     private String address;
+    private Integer searchCount; // 추천 약국 개수 (미입력 시 3개, 최대 20개)
+    private Double radiusKm;     // 검색 반경 km (미입력 시 10km, 최대 20km)
 }
@@ -1,12 +1,22 @@
 package com.dsg.pharmacyrecommend.domain.direction.entity;
 
 import com.dsg.pharmacyrecommend.domain.BaseTimeEntity;
+import com.dsg.pharmacyrecommend.domain.direction.id.DirectionId;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Transient;
 import lombok.*;
 
+/**
+ * 길안내 (database/init/pharmacy_direction_compact.sql)
+ *
+ * 추천 약국은 pharmacy_id 만, 입력 주소는 direction_input_address 의 id 만 저장하고
+ * 입력 좌표(마이크로도)와 거리(m)는 정수로 저장합니다. (행 크기 고정 약 50 byte)
+ * 약국명/주소/좌표와 입력 주소 문자열은 저장하지 않는 값(@Transient)으로,
+ * 추천 시에는 검색 결과에서 채우고 조회 시에는 약국 데이터에서 다시 채웁니다. (resolveTarget)
+ */
 @ToString
 @Entity(name = "direction")
 @AllArgsConstructor
@@ -15,18 +25,71 @@ import lombok.*;
 @Getter
 public class Direction extends BaseTimeEntity {
 
+    /**
+     * 시간순 64비트 id (Snowflake) - 비동기 저장은 DirectionIdAllocator 가, JPA 저장은 DirectionIdGenerator 가 INSERT 전에 발급
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @DirectionId
     private Long id;
 
+    /**
+     * 추천 약국 id (pharmacy.id, 카카오 카테고리 검색 결과처럼 자체 약국이 아니면 null)
+     */
+    private Long pharmacyId;
+
+    /**
+     * 입력 주소 id (direction_input_address.id, 저장 시 입력 주소로 발급)
+     */
+    private Long inputAddressId;
+
+    @Transient
     private String inputAddress;
+
+    @Convert(converter = MicroDegreeConverter.class)
+    @Column(name = "input_latitude_e6")
     private double inputLatitude;
+
+    @Convert(converter = MicroDegreeConverter.class)
+    @Column(name = "input_longitude_e6")
     private double inputLongitude;
 
+    @Transient
     private String targetPharmacyName;
+
+    @Transient
     private String targetAddress;
+
+    @Transient
     private double targetLatitude;
+
+    @Transient
     private double targetLongitude;
 
+    /**
+     * 거리 (km, m 단위 정수로 저장)
+     */
+    @Convert(converter = MeterDistanceConverter.class)
+    @Column(name = "distance_m")
     private double distance;
+
+    public void assignId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * 조회한 길안내에 약국 데이터의 약국 정보를 채웁니다.
+     */
+    public void resolveTarget(String pharmacyName, String pharmacyAddress, double latitude, double longitude) {
+        this.targetPharmacyName = pharmacyName;
+        this.targetAddress = pharmacyAddress;
+        this.targetLatitude = latitude;
+        this.targetLongitude = longitude;
+    }
+
+    /**
+     * @return boolean 약국 정보가 채워져 있는지 여부 (DB 에서 조회한 직후에는 false)
+     */
+    public boolean hasTarget() {
+        return targetPharmacyName != null;
+    }
 }
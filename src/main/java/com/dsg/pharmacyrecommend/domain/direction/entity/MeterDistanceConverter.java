@@ -0,0 +1,31 @@
+package com.dsg.pharmacyrecommend.domain.direction.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * 거리(km) ↔ m 정수 컬럼 변환 (추천 결과 표시는 0.01km 단위)
+ */
+@Converter
+public class MeterDistanceConverter implements AttributeConverter<Double, Integer> {
+
+    private static final double METERS_PER_KM = 1_000d;
+
+    @Override
+    public Integer convertToDatabaseColumn(Double distanceKm) {
+        return distanceKm == null ? null : toMeters(distanceKm);
+    }
+
+    @Override
+    public Double convertToEntityAttribute(Integer meters) {
+        return meters == null ? null : toKilometers(meters);
+    }
+
+    public static int toMeters(double distanceKm) {
+        return (int) Math.round(distanceKm * METERS_PER_KM);
+    }
+
+    public static double toKilometers(int meters) {
+        return meters / METERS_PER_KM;
+    }
+}
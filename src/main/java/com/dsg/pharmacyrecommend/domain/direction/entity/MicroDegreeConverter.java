@@ -0,0 +1,31 @@
+package com.dsg.pharmacyrecommend.domain.direction.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * 위경도(도) ↔ 마이크로도(1e-6 도, 약 0.1m) 정수 컬럼 변환
+ */
+@Converter
+public class MicroDegreeConverter implements AttributeConverter<Double, Integer> {
+
+    private static final double SCALE = 1_000_000d;
+
+    @Override
+    public Integer convertToDatabaseColumn(Double degrees) {
+        return degrees == null ? null : toMicroDegrees(degrees);
+    }
+
+    @Override
+    public Double convertToEntityAttribute(Integer microDegrees) {
+        return microDegrees == null ? null : toDegrees(microDegrees);
+    }
+
+    public static int toMicroDegrees(double degrees) {
+        return (int) Math.round(degrees * SCALE);
+    }
+
+    public static double toDegrees(int microDegrees) {
+        return microDegrees / SCALE;
+    }
+}
@@ -0,0 +1,24 @@
+package com.dsg.pharmacyrecommend.domain.direction.event;
+
+import com.dsg.pharmacyrecommend.domain.direction.dto.DirectionSearchDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 반복 검색 추천 결과가 가리키는 길안내 행이 DB 에 저장되었음을 알리는 이벤트
+ *
+ * 길안내 비동기 저장 배치가 커밋된 뒤 발행되며, Redis 의 선점 값을 다른 노드도 재사용할 수 있는 값으로 바꾸는 데 사용합니다.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class DirectionSearchSavedEvent {
+
+    /**
+     * 저장된 추천 결과 목록 (searchKey, createdDate 포함)
+     */
+    private final List<DirectionSearchDto> searches;
+}
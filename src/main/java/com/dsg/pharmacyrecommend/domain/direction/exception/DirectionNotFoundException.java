@@ -0,0 +1,21 @@
+package com.dsg.pharmacyrecommend.domain.direction.exception;
+
+import lombok.Getter;
+
+/**
+ * 단축 URL 의 길안내가 없는 경우
+ *
+ * expired 가 true 이면 보관 기간이 지나 삭제된 길안내 (410 Gone), 아니면 없는 길안내 (404 Not Found)
+ */
+@Getter
+public class DirectionNotFoundException extends RuntimeException {
+
+    private final long directionId;
+    private final boolean expired;
+
+    public DirectionNotFoundException(long directionId, boolean expired) {
+        super(expired ? "보관 기간이 지나 삭제된 길안내입니다." : "길안내를 찾을 수 없습니다.");
+        this.directionId = directionId;
+        this.expired = expired;
+    }
+}
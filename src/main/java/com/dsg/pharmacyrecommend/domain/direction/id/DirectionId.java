@@ -0,0 +1,17 @@
+package com.dsg.pharmacyrecommend.domain.direction.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 길안내 id 를 DirectionIdGenerator(Snowflake) 로 발급하도록 지정하는 어노테이션
+ */
+@IdGeneratorType(DirectionIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface DirectionId {
+}
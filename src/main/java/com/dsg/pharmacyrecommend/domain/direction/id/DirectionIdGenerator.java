@@ -0,0 +1,54 @@
+package com.dsg.pharmacyrecommend.domain.direction.id;
+
+import com.dsg.pharmacyrecommend.domain.direction.entity.Direction;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.util.Objects;
+
+/**
+ * 길안내 Hibernate id 생성기 - INSERT 전에 Snowflake id 를 발급 (IDENTITY 와 달리 JDBC 배치 INSERT 가능)
+ *
+ * Hibernate 가 직접 생성하는 객체이므로 Spring 빈과 같은 SnowflakeIdGenerator 를 쓰도록
+ * DirectionIdAllocator 가 생성 시 노드 id 를 반영한 생성기를 등록합니다.
+ * 등록 전에는 id 를 발급하지 않습니다. (기본 노드로 발급하면 여러 서버의 id 가 충돌할 수 있음)
+ * 이미 id 가 있는 길안내(비동기 저장 등에서 먼저 발급)는 그 id 를 그대로 사용합니다.
+ */
+public class DirectionIdGenerator implements IdentifierGenerator {
+
+    private static volatile SnowflakeIdGenerator shared;
+
+    public DirectionIdGenerator(DirectionId config) {
+    }
+
+    /**
+     * 애플리케이션 전체에서 사용할 생성기를 등록합니다.
+     * @param generator 노드 id 가 설정된 생성기
+     */
+    public static void register(SnowflakeIdGenerator generator) {
+        shared = Objects.requireNonNull(generator);
+    }
+
+    /**
+     * @return 새 길안내 id
+     * @throws IllegalStateException 생성기가 등록되지 않은 경우 (DirectionIdAllocator 빈 생성 전)
+     */
+    public static long nextId() {
+        SnowflakeIdGenerator generator = shared;
+        if (Objects.isNull(generator)) {
+            throw new IllegalStateException("길안내 id 생성기가 등록되지 않았습니다. (DirectionIdAllocator 빈 필요)");
+        }
+        return generator.nextId();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        if (object instanceof Direction direction && Objects.nonNull(direction.getId())) return direction.getId();
+        return nextId();
+    }
+
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return true;
+    }
+}
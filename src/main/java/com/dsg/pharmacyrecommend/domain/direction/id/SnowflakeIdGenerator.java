@@ -0,0 +1,101 @@
+package com.dsg.pharmacyrecommend.domain.direction.id;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 시간순 64비트 id 생성기 (Snowflake 방식)
+ *
+ * id 구성 (상위 비트부터):
+ * - 1 bit  : 부호 (항상 0)
+ * - 41 bit : 기준 시각(EPOCH_MILLIS) 이후 경과 ms (약 69년)
+ * - 10 bit : 노드 id (0 ~ 1023) - 서버마다 다른 값을 설정하면 DB 없이도 id 가 겹치지 않음
+ * - 12 bit : 같은 ms 안의 순번 (ms 당 4096개)
+ *
+ * 같은 ms 안에서 순번을 다 쓰면 다음 ms 를 미리 사용하고, 시계가 뒤로 가면(NTP 보정 등) 마지막 시각을 계속 사용하므로
+ * 같은 노드의 id 는 대기 없이 항상 증가합니다.
+ */
+public class SnowflakeIdGenerator {
+
+    /**
+     * 기준 시각 2024-01-01T00:00:00Z
+     */
+    public static final long EPOCH_MILLIS = 1_704_067_200_000L;
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+    private static final long MAX_TIMESTAMP = (1L << (Long.SIZE - 1 - TIMESTAMP_SHIFT)) - 1;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+
+    private long lastTimestamp = -1;
+    private long sequence;
+
+    public SnowflakeIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    /**
+     * @param nodeId 노드 id (0 ~ MAX_NODE_ID)
+     * @param clock 현재 시각(ms) 공급자
+     */
+    public SnowflakeIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("node id 는 0 ~ " + MAX_NODE_ID + " 사이여야 합니다: " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    /**
+     * @return 새 id
+     */
+    public synchronized long nextId() {
+        long timestamp = Math.max(clock.getAsLong() - EPOCH_MILLIS, lastTimestamp);
+        if (timestamp < 0 || timestamp > MAX_TIMESTAMP) {
+            throw new IllegalStateException("id 를 발급할 수 없는 시각입니다: " + (timestamp + EPOCH_MILLIS));
+        }
+
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & MAX_SEQUENCE;
+            // 순번 소진 - 다음 ms 를 미리 사용
+            if (sequence == 0) timestamp++;
+        } else {
+            sequence = 0;
+        }
+        lastTimestamp = timestamp;
+
+        return (timestamp << TIMESTAMP_SHIFT) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    /**
+     * 시각 비트가 있는 양수 id 인지 확인합니다.
+     * IDENTITY 로 발급된 이전 id 도 2^22 이상이면 true 이므로, 이전 id 를 구분하려면 단축 URL 형식으로 판단해야 합니다.
+     * (Base62Service.isLegacyFormat)
+     * @param id 길안내 id
+     * @return boolean 시각 비트가 있는 양수 id 이면 true
+     */
+    public static boolean isSnowflake(long id) {
+        return id > 0 && (id >>> TIMESTAMP_SHIFT) > 0;
+    }
+
+    /**
+     * @param id 생성된 id
+     * @return long id 발급 시각 (epoch ms)
+     */
+    public static long timestampMillis(long id) {
+        return (id >>> TIMESTAMP_SHIFT) + EPOCH_MILLIS;
+    }
+
+    /**
+     * @param id 생성된 id
+     * @return int id 를 발급한 노드 id
+     */
+    public static int nodeId(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+}
@@ -0,0 +1,73 @@
+package com.dsg.pharmacyrecommend.domain.direction.repository;
+
+import com.dsg.pharmacyrecommend.domain.direction.dto.DirectionInsertDto;
+import com.dsg.pharmacyrecommend.domain.direction.entity.MeterDistanceConverter;
+import com.dsg.pharmacyrecommend.domain.direction.entity.MicroDegreeConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.CollectionUtils;
+
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 길안내 JDBC 저장소 - 미리 발급한 id 로 배치 INSERT (IDENTITY 처럼 행마다 왕복하지 않음)
+ *
+ * 압축 저장 형식 (database/init/pharmacy_direction_compact.sql):
+ * 약국은 pharmacy_id, 입력 주소는 direction_input_address id, 입력 좌표는 마이크로도, 거리는 m 정수로 저장합니다.
+ * 길안내에 실린 반복 검색 추천 결과(DirectionInsertDto.search)는 같은 트랜잭션에서 direction_search 에 기록합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DirectionBatchRepository {
+
+    /**
+     * 같은 id 가 이미 있으면 건너뜀 - 임시 파일 재처리 시 일부가 이미 저장된 경우에도 중복 없이 다시 실행할 수 있음
+     * (id 는 노드별 Snowflake 로만 발급되므로 중복 id 는 같은 행임)
+     * INSERT IGNORE 와 달리 키 중복만 건너뛰고, 그 밖의 오류(NOT NULL, 범위 초과 등)는 경고로 바꾸지 않고 그대로 실패시킴
+     */
+    private static final String INSERT_SQL = """
+            INSERT INTO direction (id, created_date, modified_date, pharmacy_id, input_address_id,
+                input_latitude_e6, input_longitude_e6, distance_m)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE id = id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DirectionInputAddressRepository directionInputAddressRepository;
+    private final DirectionSearchRepository directionSearchRepository;
+
+    /**
+     * 길안내 목록을 JDBC 배치 한 번으로 저장합니다. (트랜잭션/커넥션 하나, 처음 보는 입력 주소와 추천 결과는 함께 저장)
+     * @param directionList 저장할 길안내 (id, 생성 시각 포함)
+     */
+    @Transactional
+    public void insertAll(List<DirectionInsertDto> directionList) {
+        if (CollectionUtils.isEmpty(directionList)) return;
+        Map<String, Long> addressIds = directionInputAddressRepository.findOrCreateIds(
+                directionList.stream().map(DirectionInsertDto::getInputAddress).collect(Collectors.toList()));
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, directionList, directionList.size(), (ps, direction) -> {
+            ps.setLong(1, direction.getId());
+            ps.setObject(2, direction.getCreatedDate());
+            ps.setObject(3, direction.getCreatedDate());
+            ps.setObject(4, direction.getPharmacyId(), Types.BIGINT);
+            ps.setObject(5, Objects.isNull(direction.getInputAddress()) ? null : addressIds.get(direction.getInputAddress()),
+                    Types.BIGINT);
+            ps.setInt(6, MicroDegreeConverter.toMicroDegrees(direction.getInputLatitude()));
+            ps.setInt(7, MicroDegreeConverter.toMicroDegrees(direction.getInputLongitude()));
+            ps.setInt(8, MeterDistanceConverter.toMeters(direction.getDistance()));
+        });
+
+        // 추천 결과는 가리키는 길안내 행을 저장한 뒤 기록
+        directionSearchRepository.upsertAll(directionList.stream()
+                .map(DirectionInsertDto::getSearch)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,81 @@
+package com.dsg.pharmacyrecommend.domain.direction.repository;
+
+import com.dsg.pharmacyrecommend.domain.direction.dto.DirectionExportDto;
+import com.dsg.pharmacyrecommend.domain.direction.entity.MeterDistanceConverter;
+import com.dsg.pharmacyrecommend.domain.direction.entity.MicroDegreeConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * 길안내 내보내기 저장소 - 전체 테이블을 메모리에 올리지 않고 한 행씩 전달 (forward-only 커서)
+ *
+ * JPA(findAll) 는 모든 엔티티를 영속성 컨텍스트에 보관하므로 사용하지 않고,
+ * fetch size 를 지정한 JDBC 조회(MariaDB 드라이버 스트리밍)로 행마다 DTO 하나만 만들어 바로 전달합니다.
+ * id 순으로 조회하므로 마지막으로 받은 id 부터 이어서 조회할 수 있습니다. (재개 토큰)
+ */
+@Repository
+@RequiredArgsConstructor
+public class DirectionExportRepository {
+
+    /**
+     * 느린 클라이언트로 서버 전송이 오래 멈춰도(기본 60초) 연결이 끊기지 않도록 이 조회에만 net_write_timeout 을 늘림
+     */
+    private static final String EXPORT_SQL = """
+            SET STATEMENT net_write_timeout = 3600 FOR
+            SELECT d.id, d.created_date, d.pharmacy_id, p.pharmacy_name, p.pharmacy_address, p.latitude, p.longitude,
+                a.address, d.input_latitude_e6, d.input_longitude_e6, d.distance_m
+            FROM direction d
+            LEFT JOIN pharmacy p ON p.id = d.pharmacy_id
+            LEFT JOIN direction_input_address a ON a.id = d.input_address_id
+            WHERE d.id > ? AND d.created_date >= ? AND d.created_date < ?
+            ORDER BY d.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${pharmacy.direction.export.fetch-size:1000}")
+    private int fetchSize = 1000;
+
+    /**
+     * 조건에 맞는 길안내를 id 순으로 한 행씩 전달합니다.
+     *
+     * @param afterId 이 id 다음 행부터 (처음부터는 0)
+     * @param from 생성 시각 하한 (포함)
+     * @param to 생성 시각 상한 (미포함)
+     * @param consumer 행 처리 (호출이 끝나면 행을 보관하지 않음)
+     * @return long 전달한 행 수
+     */
+    public long stream(long afterId, LocalDateTime from, LocalDateTime to, Consumer<DirectionExportDto> consumer) {
+        long[] streamed = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(EXPORT_SQL);
+            ps.setFetchSize(fetchSize);
+            ps.setLong(1, afterId);
+            ps.setObject(2, from);
+            ps.setObject(3, to);
+            return ps;
+        }, rs -> {
+            consumer.accept(DirectionExportDto.builder()
+                    .id(rs.getLong(1))
+                    .createdDate(rs.getObject(2, LocalDateTime.class))
+                    .pharmacyId(rs.getObject(3, Long.class))
+                    .pharmacyName(rs.getString(4))
+                    .pharmacyAddress(rs.getString(5))
+                    .pharmacyLatitude(rs.getObject(6, Double.class))
+                    .pharmacyLongitude(rs.getObject(7, Double.class))
+                    .inputAddress(rs.getString(8))
+                    .inputLatitude(MicroDegreeConverter.toDegrees(rs.getInt(9)))
+                    .inputLongitude(MicroDegreeConverter.toDegrees(rs.getInt(10)))
+                    .distance(MeterDistanceConverter.toKilometers(rs.getInt(11)))
+                    .build());
+            streamed[0]++;
+        });
+        return streamed[0];
+    }
+}
@@ -0,0 +1,86 @@
+package com.dsg.pharmacyrecommend.domain.direction.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 길안내 입력 주소 저장소 (direction_input_address) - 같은 주소는 한 번만 저장하고 id 로 참조
+ *
+ * 최근 사용한 주소의 id 는 메모리에 보관하여(최대 CACHE_SIZE 개, 가득 차면 비움) 반복 주소는 DB 왕복 없이 변환합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DirectionInputAddressRepository {
+
+    private static final int CACHE_SIZE = 10_000;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private final Map<String, Long> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 주소별 id 를 반환합니다. 처음 보는 주소는 저장(이미 있으면 건너뜀)한 뒤 id 를 조회합니다.
+     * 호출한 쪽(길안내 배치 저장)의 트랜잭션과 연결을 그대로 사용하므로 저장 한 번에 커넥션을 하나만 점유하며,
+     * 새로 저장한 주소의 id 는 커밋된 뒤에만 메모리에 보관합니다. (롤백되어 사라진 id 를 재사용하지 않음)
+     * @param addresses 입력 주소 목록 (null 제외)
+     * @return Map<String, Long> 주소 → id
+     */
+    @Transactional
+    public Map<String, Long> findOrCreateIds(Collection<String> addresses) {
+        Map<String, Long> ids = new HashMap<>();
+        List<String> missing = addresses.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .filter(address -> {
+                    Long id = cache.get(address);
+                    if (Objects.nonNull(id)) ids.put(address, id);
+                    return Objects.isNull(id);
+                })
+                .collect(Collectors.toList());
+        if (missing.isEmpty()) return ids;
+
+        namedParameterJdbcTemplate.batchUpdate(
+                "INSERT INTO direction_input_address (address) VALUES (:address) ON DUPLICATE KEY UPDATE id = id",
+                missing.stream()
+                        .map(address -> new MapSqlParameterSource("address", address))
+                        .toArray(MapSqlParameterSource[]::new));
+        namedParameterJdbcTemplate.query("SELECT id, address FROM direction_input_address WHERE address IN (:addresses)",
+                new MapSqlParameterSource("addresses", missing),
+                rs -> {
+                    ids.put(rs.getString("address"), rs.getLong("id"));
+                });
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cacheIds(missing, ids);
+                }
+            });
+        } else {
+            cacheIds(missing, ids);
+        }
+        return ids;
+    }
+
+    private void cacheIds(List<String> addresses, Map<String, Long> ids) {
+        if (cache.size() + addresses.size() > CACHE_SIZE) cache.clear();
+        addresses.forEach(address -> {
+            Long id = ids.get(address);
+            if (Objects.nonNull(id)) cache.put(address, id);
+        });
+    }
+}
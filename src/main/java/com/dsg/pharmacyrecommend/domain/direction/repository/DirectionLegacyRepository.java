@@ -0,0 +1,54 @@
+package com.dsg.pharmacyrecommend.domain.direction.repository;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * 압축 저장 형식 이전의 길안내 저장소 (database/init/pharmacy_direction_compact.sql 이 남긴 direction_legacy)
+ *
+ * 이전 행은 약국명/주소/좌표를 그대로 가지고 있으므로, pharmacy_id 가 없거나(이전 시 일치하는 약국 없음)
+ * 약국이 삭제된 길안내도 단축 URL 로 열 수 있도록 약국 정보를 조회합니다.
+ * direction_legacy 를 삭제한 DB 에서는 첫 조회 이후 더 조회하지 않습니다.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class DirectionLegacyRepository {
+
+    private static final String SELECT_SQL = """
+            SELECT target_pharmacy_name, target_address, target_latitude, target_longitude
+            FROM direction_legacy
+            WHERE id = ? AND target_pharmacy_name IS NOT NULL
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean tableMissing;
+
+    /**
+     * @param directionId 길안내 id
+     * @return Optional<PharmacyDto> 이전 행에 기록된 약국 정보 (id 없음)
+     */
+    public Optional<PharmacyDto> findTarget(long directionId) {
+        if (tableMissing) return Optional.empty();
+        try {
+            return jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> PharmacyDto.builder()
+                            .pharmacyName(rs.getString("target_pharmacy_name"))
+                            .pharmacyAddress(rs.getString("target_address"))
+                            .latitude(rs.getDouble("target_latitude"))
+                            .longitude(rs.getDouble("target_longitude"))
+                            .build(), directionId).stream()
+                    .findFirst();
+        } catch (BadSqlGrammarException e) {
+            tableMissing = true;
+            log.warn("[DirectionLegacyRepository] direction_legacy 를 조회할 수 없어 더 조회하지 않습니다: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
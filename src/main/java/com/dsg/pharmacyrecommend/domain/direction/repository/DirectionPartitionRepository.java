@@ -0,0 +1,171 @@
+package com.dsg.pharmacyrecommend.domain.direction.repository;
+
+import com.dsg.pharmacyrecommend.domain.direction.dto.DirectionInsertDto;
+import com.dsg.pharmacyrecommend.domain.direction.dto.DirectionPartitionDto;
+import com.dsg.pharmacyrecommend.domain.direction.entity.MeterDistanceConverter;
+import com.dsg.pharmacyrecommend.domain.direction.entity.MicroDegreeConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 길안내 테이블 파티션 관리 저장소 (database/init/pharmacy_direction_partition.sql)
+ *
+ * direction 테이블은 created_date 월별 RANGE COLUMNS 파티션이며,
+ * 파티션 추가(MAXVALUE 파티션 분할) / 파티션 단위 조회 / 삭제(DROP PARTITION - 행 삭제 없이 즉시)를 제공합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DirectionPartitionRepository {
+
+    private static final String PARTITIONS_SQL = """
+            SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'direction' AND PARTITION_NAME IS NOT NULL
+            ORDER BY PARTITION_ORDINAL_POSITION
+            """;
+
+    /**
+     * 파티션 행 조회 (입력 주소는 문자열로 복원 - 보관 파일만으로 읽을 수 있도록)
+     */
+    private static final String EXPORT_SQL = """
+            SELECT d.id, d.created_date, d.pharmacy_id, a.address,
+                d.input_latitude_e6, d.input_longitude_e6, d.distance_m
+            FROM direction PARTITION (%s) d
+            LEFT JOIN direction_input_address a ON a.id = d.input_address_id
+            """;
+
+    /**
+     * 여러 서버가 동시에 파티션을 변경하지 않도록 사용하는 MariaDB 이름 잠금
+     */
+    private static final String LOCK_NAME = "direction_partition_maintenance";
+
+    /**
+     * 파티션 보관 조회 fetch size (MariaDB 드라이버는 0 보다 크면 전체 결과를 메모리에 올리지 않고 스트리밍)
+     */
+    private static final int FETCH_SIZE = 1000;
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("\\w+");
+    private static final DateTimeFormatter MONTH_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return List<DirectionPartitionDto> 파티션 목록 (범위 순, 파티션 테이블이 아니면 빈 리스트)
+     */
+    public List<DirectionPartitionDto> findPartitions() {
+        return jdbcTemplate.query(PARTITIONS_SQL, (rs, rowNum) ->
+                new DirectionPartitionDto(rs.getString(1), parseUpperBound(rs.getString(2))));
+    }
+
+    /**
+     * 다른 서버가 작업 중이 아니면 이름 잠금을 잡고 작업을 실행합니다.
+     * (잠금을 잡은 연결은 작업이 끝날 때까지 유지하고, 작업은 다른 연결을 사용)
+     *
+     * @return boolean 실행 여부 (다른 서버가 잠금을 보유 중이면 false)
+     */
+    public boolean runLocked(Runnable work) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (PreparedStatement lock = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+                lock.setString(1, LOCK_NAME);
+                try (ResultSet rs = lock.executeQuery()) {
+                    if (!rs.next() || rs.getInt(1) != 1) return false;
+                }
+            }
+            try {
+                work.run();
+                return true;
+            } finally {
+                try (PreparedStatement release = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                    release.setString(1, LOCK_NAME);
+                    release.execute();
+                }
+            }
+        }));
+    }
+
+    /**
+     * 월별 파티션을 추가합니다. MAXVALUE 파티션이 있으면 그 파티션을 나누어 추가합니다.
+     *
+     * @param maxValuePartition MAXVALUE 파티션 이름 (없으면 null)
+     * @param upperBounds 추가할 월별 파티션의 상한 (각 달의 다음 달 1일, 오름차순)
+     */
+    public void addMonthPartitions(String maxValuePartition, List<LocalDate> upperBounds) {
+        if (upperBounds.isEmpty()) return;
+        String partitions = upperBounds.stream()
+                .map(bound -> "PARTITION " + bound.minusMonths(1).format(MONTH_NAME)
+                        + " VALUES LESS THAN ('" + bound + "')")
+                .collect(Collectors.joining(", "));
+
+        if (Objects.isNull(maxValuePartition)) {
+            jdbcTemplate.execute("ALTER TABLE direction ADD PARTITION (" + partitions + ")");
+            return;
+        }
+        String name = checkName(maxValuePartition);
+        jdbcTemplate.execute("ALTER TABLE direction REORGANIZE PARTITION " + name + " INTO ("
+                + partitions + ", PARTITION " + name + " VALUES LESS THAN (MAXVALUE))");
+    }
+
+    /**
+     * 파티션의 길안내를 한 행씩 전달합니다. (스트리밍 조회)
+     *
+     * @return long 전달한 행 수
+     */
+    public long exportPartition(String partition, Consumer<DirectionInsertDto> consumer) {
+        String sql = EXPORT_SQL.formatted(checkName(partition));
+        long[] exported = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setFetchSize(FETCH_SIZE);
+            return ps;
+        }, rs -> {
+            consumer.accept(DirectionInsertDto.builder()
+                    .id(rs.getLong(1))
+                    .createdDate(rs.getObject(2, LocalDateTime.class))
+                    .pharmacyId(rs.getObject(3, Long.class))
+                    .inputAddress(rs.getString(4))
+                    .inputLatitude(MicroDegreeConverter.toDegrees(rs.getInt(5)))
+                    .inputLongitude(MicroDegreeConverter.toDegrees(rs.getInt(6)))
+                    .distance(MeterDistanceConverter.toKilometers(rs.getInt(7)))
+                    .build());
+            exported[0]++;
+        });
+        return exported[0];
+    }
+
+    /**
+     * 파티션을 삭제합니다. (행 단위 DELETE 없이 파티션 파일만 제거)
+     */
+    public void dropPartition(String partition) {
+        jdbcTemplate.execute("ALTER TABLE direction DROP PARTITION " + checkName(partition));
+    }
+
+    /**
+     * PARTITION_DESCRIPTION - RANGE COLUMNS 상한 ('2024-01-01' 또는 '2024-01-01 00:00:00'), MAXVALUE 는 null
+     */
+    private static LocalDate parseUpperBound(String description) {
+        if (Objects.isNull(description) || description.startsWith("MAXVALUE")) return null;
+        return LocalDate.parse(description.replace("'", "").substring(0, 10));
+    }
+
+    /**
+     * 파티션 이름은 SQL 식별자로 직접 사용하므로 영문/숫자/_ 만 허용
+     */
+    private static String checkName(String partition) {
+        if (!PARTITION_NAME.matcher(partition).matches()) {
+            throw new IllegalArgumentException("잘못된 파티션 이름입니다: " + partition);
+        }
+        return partition;
+    }
+}
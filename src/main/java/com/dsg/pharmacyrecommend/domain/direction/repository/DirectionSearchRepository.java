@@ -0,0 +1,81 @@
+package com.dsg.pharmacyrecommend.domain.direction.repository;
+
+import com.dsg.pharmacyrecommend.domain.direction.dto.DirectionSearchDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.CollectionUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 검색 조건별 추천 결과 저장소 (database/init/direction_search.sql)
+ *
+ * 같은 검색의 선점은 Redis(SET NX)가 담당하고, 이 테이블에는 길안내 비동기 저장 배치(DirectionBatchRepository)가
+ * 길안내 행과 같은 트랜잭션으로 추천 결과를 기록합니다. (저장되지 않은 길안내 id 를 가리키는 행이 남지 않음)
+ * Redis 를 사용할 수 없을 때만 조회하여 재사용합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DirectionSearchRepository {
+
+    /**
+     * 더 최근에 기록한 결과만 반영 (임시 파일 재처리로 이전 결과가 늦게 기록되어도 최신 결과 유지)
+     * MariaDB 는 SET 절을 왼쪽부터 적용하므로 조건에 쓰는 created_date 는 마지막에 변경
+     */
+    private static final String UPSERT_SQL = """
+            INSERT INTO direction_search (search_key, result_hash, direction_ids, created_date)
+            VALUES (?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                result_hash = IF(VALUES(created_date) >= created_date, VALUES(result_hash), result_hash),
+                direction_ids = IF(VALUES(created_date) >= created_date, VALUES(direction_ids), direction_ids),
+                created_date = GREATEST(created_date, VALUES(created_date))
+            """;
+
+    private static final String SELECT_SQL =
+            "SELECT result_hash, direction_ids, created_date FROM direction_search WHERE search_key = ?";
+
+    private static final RowMapper<DirectionSearchDto> ROW_MAPPER = (rs, rowNum) -> DirectionSearchDto.builder()
+            .resultHash(rs.getLong("result_hash"))
+            .directionIds(DirectionSearchDto.parseDirectionIds(rs.getString("direction_ids")))
+            .createdDate(rs.getObject("created_date", LocalDateTime.class))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param searchKey 검색 조건 키
+     * @param freshAfter 이 시각 이후에 기록한 결과만 조회
+     * @return 만료되지 않은 추천 결과
+     */
+    public Optional<DirectionSearchDto> find(String searchKey, LocalDateTime freshAfter) {
+        return jdbcTemplate.query(SELECT_SQL, ROW_MAPPER, searchKey).stream()
+                .filter(search -> !search.getCreatedDate().isBefore(freshAfter))
+                .findFirst();
+    }
+
+    /**
+     * 추천 결과를 JDBC 배치 한 번으로 기록합니다. (호출한 쪽의 트랜잭션에 참여)
+     * @param searchList 기록할 추천 결과 (searchKey 포함)
+     */
+    public void upsertAll(List<DirectionSearchDto> searchList) {
+        if (CollectionUtils.isEmpty(searchList)) return;
+        jdbcTemplate.batchUpdate(UPSERT_SQL, searchList, searchList.size(), (ps, search) -> {
+            ps.setString(1, search.getSearchKey());
+            ps.setLong(2, search.getResultHash());
+            ps.setString(3, search.joinDirectionIds());
+            ps.setObject(4, search.getCreatedDate());
+        });
+    }
+
+    /**
+     * 만료된 추천 결과를 삭제합니다. (한 번에 limit 행까지)
+     * @return 삭제한 행 수
+     */
+    public int deleteExpired(LocalDateTime before, int limit) {
+        return jdbcTemplate.update("DELETE FROM direction_search WHERE created_date < ? LIMIT ?", before, limit);
+    }
+}
@@ -23,9 +23,11 @@ import org.springframework.stereotype.Service;
  * - 대문자: A-Z (26개)
  * - 총 62개 문자 사용
  * 
- * 변환 예시:
- * - Long ID: 12345 → Base62: "3D7"
- * - 최종 URL: "localhost:8080/dir/3D7"
+ * 인코딩 형식:
+ * - 현재: '0' + 64비트 id 값 자체의 Base62 표현 (Snowflake id 기준 최대 12자)
+ *   예) Long ID: 12345 → Base62: "03D7"
+ * - 이전: id 의 10진수 문자열 바이트를 Base62 로 인코딩 (IDENTITY id 시절 발급한 단축 URL)
+ *   이전 형식은 '0' 으로 시작하지 않으므로 첫 글자로 구분하여 계속 디코딩 가능
  * 
  * 라이브러리: https://github.com/seruco/base62
  * 
@@ -45,27 +47,46 @@ public class Base62Service {
      */
     private static final Base62 base62Instance = Base62.createInstance();
 
+    /**
+     * Base62 문자 (라이브러리 기본 GMP 문자 순서와 동일)
+     */
+    private static final char[] ALPHABET =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    /**
+     * 현재 형식 표시 문자 - 이전 형식(10진수 바이트 인코딩)은 이 문자로 시작하지 않음
+     */
+    private static final char RAW_PREFIX = '0';
+
+    /**
+     * '0' 1자 + 2^63 - 1 의 Base62 자릿수 11자
+     */
+    private static final int MAX_RAW_LENGTH = 12;
+
     /**
      * Direction ID를 Base62로 인코딩하여 단축 문자열을 생성합니다.
      * 
-     * 이 메서드는 데이터베이스의 Long 타입 ID를 URL에 안전한 
-     * 짧은 문자열로 변환합니다.
-     * 
-     * 변환 과정:
-     * 1. Long → String 변환
-     * 2. String → byte[] 변환 
-     * 3. Base62 인코딩 적용
-     * 4. 결과를 String으로 반환
+     * 64비트 id 값을 62진수로 바로 변환하므로 10진수 문자열을 거치는 이전 방식보다 짧습니다.
      * 
      * 예시:
      * - 입력: 12345L
-     * - 출력: "3D7" (실제 결과는 구현에 따라 다름)
+     * - 출력: "03D7"
      * 
-     * @param directionId 인코딩할 Direction 엔티티의 ID
+     * @param directionId 인코딩할 Direction 엔티티의 ID (0 이상)
      * @return String Base62로 인코딩된 단축 문자열
      */
     public String encodeDirectionId(Long directionId) {
-        return new String(base62Instance.encode(String.valueOf(directionId).getBytes()));
+        long value = directionId;
+        if (value < 0) throw new IllegalArgumentException("음수 id 는 인코딩할 수 없습니다: " + value);
+
+        char[] buffer = new char[MAX_RAW_LENGTH];
+        int position = buffer.length;
+        do {
+            buffer[--position] = ALPHABET[(int) (value % ALPHABET.length)];
+            value /= ALPHABET.length;
+        } while (value > 0);
+        buffer[--position] = RAW_PREFIX;
+        return new String(buffer, position, buffer.length - position);
     }
 
     /**
@@ -73,24 +94,56 @@ public class Base62Service {
      * 
      * 이 메서드는 URL에서 전달받은 단축 문자열을 원본 Long ID로
      * 복원하여 데이터베이스 조회에 사용할 수 있도록 합니다.
-     * 
-     * 변환 과정:
-     * 1. 인코딩된 String → byte[] 변환
-     * 2. Base62 디코딩 적용  
-     * 3. 결과를 String으로 변환
-     * 4. String → Long 변환
+     * '0' 으로 시작하면 현재 형식, 아니면 이전 형식으로 디코딩합니다.
      * 
      * 예시:
-     * - 입력: "3D7"
-     * - 출력: 12345L
+     * - 입력: "03D7" → 출력: 12345L
      * 
      * @param encodedDirectionId Base62로 인코딩된 Direction ID 문자열
      * @return Long 디코딩된 원본 Direction ID
      * @throws NumberFormatException 잘못된 형식의 인코딩 문자열인 경우
      */
     public Long decodeDirectionId(String encodedDirectionId) {
+        if (encodedDirectionId.isEmpty()) throw new NumberFormatException("빈 단축 id 입니다.");
+        if (encodedDirectionId.charAt(0) == RAW_PREFIX) return decodeRaw(encodedDirectionId);
 
         String resultDirectionId = new String(base62Instance.decode(encodedDirectionId.getBytes()));
         return Long.valueOf(resultDirectionId);
     }
+
+    /**
+     * 이전 형식(10진수 바이트 인코딩) 단축 id 인지 확인합니다.
+     * 이전 형식은 IDENTITY 로 발급한 id 에만 쓰였으므로, 이전 형식이면 id 값과 관계없이 Snowflake id 가 아닙니다.
+     *
+     * @param encodedDirectionId Base62로 인코딩된 Direction ID 문자열
+     * @return boolean '0' 으로 시작하지 않으면 true
+     */
+    public boolean isLegacyFormat(String encodedDirectionId) {
+        return !encodedDirectionId.isEmpty() && encodedDirectionId.charAt(0) != RAW_PREFIX;
+    }
+
+    private long decodeRaw(String encodedDirectionId) {
+        if (encodedDirectionId.length() < 2 || encodedDirectionId.length() > MAX_RAW_LENGTH) {
+            throw new NumberFormatException("잘못된 단축 id 입니다: " + encodedDirectionId);
+        }
+
+        long value = 0;
+        try {
+            for (int i = 1; i < encodedDirectionId.length(); i++) {
+                int digit = digit(encodedDirectionId.charAt(i));
+                if (digit < 0) throw new NumberFormatException("잘못된 단축 id 입니다: " + encodedDirectionId);
+                value = Math.addExact(Math.multiplyExact(value, ALPHABET.length), digit);
+            }
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("범위를 벗어난 단축 id 입니다: " + encodedDirectionId);
+        }
+        return value;
+    }
+
+    private static int digit(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'A' && c <= 'Z') return c - 'A' + 10;
+        if (c >= 'a' && c <= 'z') return c - 'a' + 36;
+        return -1;
+    }
 }
@@ -0,0 +1,24 @@
+package com.dsg.pharmacyrecommend.domain.direction.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 길안내 내보내기 형식 (gzip 압축)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum DirectionExportFormat {
+
+    /**
+     * 헤더 한 줄 + 행마다 쉼표 구분 (RFC 4180 따옴표 처리)
+     */
+    CSV(".csv.gz"),
+
+    /**
+     * 행마다 JSON 객체 한 줄
+     */
+    NDJSON(".ndjson.gz");
+
+    private final String extension;
+}
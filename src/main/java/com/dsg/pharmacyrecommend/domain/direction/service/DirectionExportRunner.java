@@ -0,0 +1,74 @@
+package com.dsg.pharmacyrecommend.domain.direction.service;
+
+import com.dsg.pharmacyrecommend.domain.direction.dto.DirectionExportResultDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 길안내 파일 내보내기 CLI 작업
+ *
+ * pharmacy.direction.export.output 을 지정해 실행하면 서버 시작 후 파일로 내보내고 종료합니다. (종료 코드 0: 성공, 1: 실패)
+ * 중단된 경우 같은 명령으로 다시 실행하면 {파일}.resume 의 재개 지점부터 이어서 기록합니다.
+ *
+ * 예) java -jar app.jar --spring.main.web-application-type=none \
+ *       --pharmacy.direction.export.output=./data/direction-2026-01.csv.gz \
+ *       --pharmacy.direction.export.format=CSV \
+ *       --pharmacy.direction.export.from=2026-01-01 --pharmacy.direction.export.to=2026-02-01
+ *
+ * from / to 는 날짜(2026-01-01) 또는 날짜 시각(2026-01-01T09:00:00), to 는 미포함
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "pharmacy.direction.export", name = "output")
+public class DirectionExportRunner implements ApplicationRunner {
+
+    private final DirectionExportService directionExportService;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Value("${pharmacy.direction.export.output}")
+    private String output;
+
+    @Value("${pharmacy.direction.export.format:CSV}")
+    private DirectionExportFormat format = DirectionExportFormat.CSV;
+
+    @Value("${pharmacy.direction.export.from:}")
+    private String from;
+
+    @Value("${pharmacy.direction.export.to:}")
+    private String to;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            long start = System.currentTimeMillis();
+            DirectionExportResultDto result = directionExportService.exportToFile(format,
+                    parseDateTime(from), parseDateTime(to), Path.of(output));
+            log.info("[DirectionExportRunner] {} 내보내기 완료 - {}, {}ms", output, result, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("[DirectionExportRunner] {} 내보내기 실패 (다시 실행하면 이어서 기록): {}", output, e.getMessage(), e);
+            exitCode = 1;
+        }
+
+        int code = exitCode;
+        System.exit(SpringApplication.exit(applicationContext, () -> code));
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        if (!StringUtils.hasText(value)) return null;
+        return value.contains("T") ? LocalDateTime.parse(value) : LocalDate.parse(value).atStartOfDay();
+    }
+}
@@ -0,0 +1,310 @@
+package com.dsg.pharmacyrecommend.domain.direction.service;
+
+import com.dsg.pharmacyrecommend.domain.direction.dto.DirectionExportDto;
+import com.dsg.pharmacyrecommend.domain.direction.dto.DirectionExportResultDto;
+import com.dsg.pharmacyrecommend.domain.direction.repository.DirectionExportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 길안내 내보내기 서비스 (분석용 gzip CSV / NDJSON)
+ *
+ * DirectionExportRepository 가 id 순으로 한 행씩 전달하는 길안내를 바로 압축 스트림에 쓰므로
+ * 테이블 크기와 관계없이 힙 사용량이 일정합니다. (행 목록을 모으지 않음)
+ *
+ * 재개:
+ * - 스트림 내보내기(API) : 마지막으로 받은 행의 id 를 afterId 로 다시 요청
+ * - 파일 내보내기(CLI) : chunk-rows 행마다 gzip member 하나를 완성하고 {파일}.resume 에 마지막 id / 파일 길이를 기록
+ *   중단 후 다시 실행하면 완성되지 않은 chunk 를 잘라내고 이어서 기록 (여러 member 를 이어 붙인 gzip 도 표준 gzip 파일)
+ *
+ * 설정 (application.yml):
+ * - pharmacy.direction.export.fetch-size : DB 스트리밍 조회 fetch size
+ * - pharmacy.direction.export.chunk-rows : 파일 내보내기 재개 지점(gzip member) 행 수
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DirectionExportService {
+
+    /**
+     * 생성 시각 조건이 없을 때의 범위
+     */
+    public static final LocalDateTime MIN_CREATED_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+    public static final LocalDateTime MAX_CREATED_DATE = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private static final String CSV_HEADER = "id,created_date,pharmacy_id,pharmacy_name,pharmacy_address,"
+            + "pharmacy_latitude,pharmacy_longitude,input_address,input_latitude,input_longitude,distance_km";
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final DirectionExportRepository directionExportRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${pharmacy.direction.export.chunk-rows:10000}")
+    private int chunkRows = 10000;
+
+    private ObjectMapper exportMapper;
+
+    @PostConstruct
+    public void init() {
+        exportMapper = objectMapper.copy().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * 길안내를 gzip 압축하여 스트림에 씁니다. (스트림은 닫힘)
+     *
+     * @param format 내보내기 형식
+     * @param from 생성 시각 하한 (포함, null 이면 제한 없음)
+     * @param to 생성 시각 상한 (미포함, null 이면 제한 없음)
+     * @param afterId 이 id 다음 행부터 (재개 토큰, 처음부터는 0)
+     * @param out 출력 스트림
+     * @return long 기록한 행 수
+     */
+    public long export(DirectionExportFormat format, LocalDateTime from, LocalDateTime to, long afterId,
+                       OutputStream out) throws IOException {
+        try (Writer writer = gzipWriter(out)) {
+            if (format == DirectionExportFormat.CSV) writeLine(writer, CSV_HEADER);
+            return directionExportRepository.stream(afterId, lowerBound(from), upperBound(to),
+                    row -> writeLine(writer, format(format, row)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 길안내를 gzip 압축 파일로 내보냅니다. {파일}.resume 이 있으면 이전 실행에 이어서 기록합니다.
+     *
+     * @param output 출력 파일
+     * @return DirectionExportResultDto 전체 행 수 / 마지막 id
+     * @throws IllegalStateException 재개 파일의 형식/생성 시각 조건이 이번 요청과 다른 경우
+     */
+    public DirectionExportResultDto exportToFile(DirectionExportFormat format, LocalDateTime from, LocalDateTime to,
+                                                 Path output) throws IOException {
+        LocalDateTime lower = lowerBound(from);
+        LocalDateTime upper = upperBound(to);
+        Path resumeFile = resumeFile(output);
+        Properties condition = condition(format, lower, upper);
+
+        Properties saved = readResume(resumeFile);
+        boolean resumed = Objects.nonNull(saved);
+        if (resumed && !condition.equals(withoutProgress(saved))) {
+            throw new IllegalStateException("재개 파일의 내보내기 조건이 다릅니다. 새로 내보내려면 삭제하세요: " + resumeFile);
+        }
+
+        if (Objects.nonNull(output.toAbsolutePath().getParent())) Files.createDirectories(output.toAbsolutePath().getParent());
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileExport export = new FileExport(channel, format, condition, resumeFile);
+            if (resumed) {
+                export.restore(saved);
+                log.info("[DirectionExportService exportToFile] 이어서 내보냅니다. after: {}, rows: {}",
+                        export.lastId, export.rows);
+            }
+            // 마지막 완성 chunk 이후(중단된 chunk)는 버림
+            channel.truncate(export.offset);
+            channel.position(export.offset);
+
+            try {
+                directionExportRepository.stream(export.lastId, lower, upper, export::write);
+                export.finish();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            Files.deleteIfExists(resumeFile);
+
+            return DirectionExportResultDto.builder()
+                    .rows(export.rows)
+                    .lastId(export.lastId)
+                    .resumed(resumed)
+                    .build();
+        }
+    }
+
+    /**
+     * @return Path 파일 내보내기 재개 파일 ({파일}.resume)
+     */
+    public static Path resumeFile(Path output) {
+        return output.resolveSibling(output.getFileName() + ".resume");
+    }
+
+    /**
+     * 파일 내보내기 진행 상태 - chunk 단위로 gzip member 를 완성하고 재개 파일을 갱신
+     */
+    private final class FileExport {
+
+        private final FileChannel channel;
+        private final OutputStream channelOut;
+        private final DirectionExportFormat format;
+        private final Properties condition;
+        private final Path resumeFile;
+
+        private long lastId;
+        private long rows;
+        private long offset;
+
+        private Writer chunk;
+        private int chunkSize;
+
+        private FileExport(FileChannel channel, DirectionExportFormat format, Properties condition, Path resumeFile) {
+            this.channel = channel;
+            this.channelOut = StreamUtils.nonClosing(Channels.newOutputStream(channel));
+            this.format = format;
+            this.condition = condition;
+            this.resumeFile = resumeFile;
+        }
+
+        private void restore(Properties saved) {
+            lastId = Long.parseLong(saved.getProperty("after"));
+            rows = Long.parseLong(saved.getProperty("rows"));
+            offset = Long.parseLong(saved.getProperty("offset"));
+        }
+
+        private void write(DirectionExportDto row) {
+            try {
+                if (Objects.isNull(chunk)) openChunk();
+                writeLine(chunk, format(format, row));
+                lastId = row.getId();
+                rows++;
+                if (++chunkSize >= chunkRows) completeChunk();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * 남은 행을 완성합니다. (행이 하나도 없으면 CSV 헤더만 있는 gzip 파일)
+         */
+        private void finish() throws IOException {
+            if (Objects.isNull(chunk) && offset == 0) openChunk();
+            completeChunk();
+        }
+
+        private void openChunk() throws IOException {
+            chunk = gzipWriter(channelOut);
+            chunkSize = 0;
+            if (offset == 0 && format == DirectionExportFormat.CSV) writeLine(chunk, CSV_HEADER);
+        }
+
+        /**
+         * gzip member 를 닫고(채널은 유지) 디스크 반영 후 재개 지점을 기록합니다.
+         */
+        private void completeChunk() throws IOException {
+            if (Objects.isNull(chunk)) return;
+            chunk.close();
+            chunk = null;
+            channel.force(false);
+            offset = channel.position();
+
+            Properties progress = new Properties();
+            progress.putAll(condition);
+            progress.setProperty("after", String.valueOf(lastId));
+            progress.setProperty("rows", String.valueOf(rows));
+            progress.setProperty("offset", String.valueOf(offset));
+            Path temp = resumeFile.resolveSibling(resumeFile.getFileName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                progress.store(out, "direction export progress");
+            }
+            Files.move(temp, resumeFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    private String format(DirectionExportFormat format, DirectionExportDto row) {
+        if (format == DirectionExportFormat.NDJSON) {
+            try {
+                return exportMapper.writeValueAsString(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return Stream.of(row.getId(), row.getCreatedDate(), row.getPharmacyId(), row.getPharmacyName(),
+                        row.getPharmacyAddress(), row.getPharmacyLatitude(), row.getPharmacyLongitude(),
+                        row.getInputAddress(), row.getInputLatitude(), row.getInputLongitude(), row.getDistance())
+                .map(DirectionExportService::csv)
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * CSV 필드 - 쉼표/따옴표/줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두 번 (null 은 빈 값)
+     */
+    private static String csv(Object value) {
+        if (Objects.isNull(value)) return "";
+        String text = value.toString();
+        if (text.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) return text;
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private static void writeLine(Writer writer, String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Writer gzipWriter(OutputStream out) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(out, GZIP_BUFFER_SIZE), StandardCharsets.UTF_8));
+    }
+
+    private static Properties condition(DirectionExportFormat format, LocalDateTime from, LocalDateTime to) {
+        Properties condition = new Properties();
+        condition.setProperty("format", format.name());
+        condition.setProperty("from", from.toString());
+        condition.setProperty("to", to.toString());
+        return condition;
+    }
+
+    private static Properties withoutProgress(Properties saved) {
+        Properties condition = new Properties();
+        condition.putAll(saved);
+        condition.remove("after");
+        condition.remove("rows");
+        condition.remove("offset");
+        return condition;
+    }
+
+    private static Properties readResume(Path resumeFile) throws IOException {
+        if (!Files.exists(resumeFile)) return null;
+        Properties saved = new Properties();
+        try (InputStream in = Files.newInputStream(resumeFile)) {
+            saved.load(in);
+        }
+        return saved;
+    }
+
+    private static LocalDateTime lowerBound(LocalDateTime from) {
+        return Objects.requireNonNullElse(from, MIN_CREATED_DATE);
+    }
+
+    private static LocalDateTime upperBound(LocalDateTime to) {
+        return Objects.requireNonNullElse(to, MAX_CREATED_DATE);
+    }
+}
@@ -0,0 +1,57 @@
+package com.dsg.pharmacyrecommend.domain.direction.service;
+
+import com.dsg.pharmacyrecommend.domain.direction.id.DirectionIdGenerator;
+import com.dsg.pharmacyrecommend.domain.direction.id.SnowflakeIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * 길안내 id 발급기 - 노드 id 를 포함한 시간순 64비트 id (SnowflakeIdGenerator)
+ *
+ * INSERT 전에 id 가 필요한 비동기 저장(단축 URL 을 먼저 응답)과 JPA 저장(DirectionIdGenerator)이
+ * 같은 생성기를 사용하며, DB 왕복 없이 메모리에서 발급합니다.
+ * 여러 서버가 함께 저장할 때는 서버마다 다른 노드 id 를 설정해야 합니다.
+ * 노드 id 를 설정하지 않으면 운영(require-node-id)에서는 시작하지 않고, 그 밖에는 오류 로그를 남기고 0 을 사용합니다.
+ *
+ * 설정 (application.yml):
+ * - pharmacy.direction.id.node-id : 노드 id (0 ~ 1023, 환경 변수 PHARMACY_NODE_ID)
+ * - pharmacy.direction.id.require-node-id : 노드 id 미설정 시 시작 실패 여부
+ */
+@Slf4j
+@Component
+public class DirectionIdAllocator {
+
+    private final SnowflakeIdGenerator generator;
+
+    public DirectionIdAllocator(@Value("${pharmacy.direction.id.node-id:}") String nodeId,
+                                @Value("${pharmacy.direction.id.require-node-id:false}") boolean requireNodeId) {
+        int resolved = resolveNodeId(nodeId, requireNodeId);
+        this.generator = new SnowflakeIdGenerator(resolved);
+        DirectionIdGenerator.register(generator);
+        log.info("[DirectionIdAllocator] nodeId: {}", resolved);
+    }
+
+    /**
+     * @return 새 길안내 id
+     */
+    public long nextId() {
+        return generator.nextId();
+    }
+
+    /**
+     * 설정한 노드 id 를 반환합니다. 설정하지 않은 경우 노드끼리 0 을 공유하여 id 가 중복될 수 있으므로
+     * 필수이면 예외를 던지고, 아니면 오류 로그를 남긴 뒤 0 을 사용합니다.
+     */
+    private static int resolveNodeId(String nodeId, boolean requireNodeId) {
+        if (StringUtils.hasText(nodeId)) return Integer.parseInt(nodeId.trim());
+        if (requireNodeId) {
+            throw new IllegalStateException(
+                    "pharmacy.direction.id.node-id (PHARMACY_NODE_ID) 가 설정되지 않았습니다. 서버마다 다른 노드 id 를 설정하세요.");
+        }
+        log.error("[DirectionIdAllocator] 노드 id 가 설정되지 않아 0 을 사용합니다. "
+                + "여러 서버가 함께 저장하면 길안내 id 가 중복될 수 있으므로 PHARMACY_NODE_ID 를 설정하세요.");
+        return 0;
+    }
+}
@@ -0,0 +1,252 @@
+package com.dsg.pharmacyrecommend.domain.direction.service;
+
+import com.dsg.pharmacyrecommend.domain.direction.dto.DirectionPartitionDto;
+import com.dsg.pharmacyrecommend.domain.direction.id.SnowflakeIdGenerator;
+import com.dsg.pharmacyrecommend.domain.direction.repository.DirectionPartitionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 길안내 보관 기간 관리 서비스
+ *
+ * direction 테이블은 created_date 월별 파티션(database/init/pharmacy_direction_partition.sql)이며, 주기적으로 다음 작업을 수행합니다.
+ * 1. 이번 달부터 premake-months 개월 뒤까지의 월별 파티션이 없으면 추가 (MAXVALUE 파티션 분할)
+ * 2. 상한이 보관 기준일(오늘 - retention-days) 이전인 파티션을 gzip NDJSON 파일로 보관한 뒤 DROP PARTITION
+ *    (행 단위 DELETE 없이 즉시 삭제, 보관 파일 기록에 실패하면 삭제하지 않음)
+ *
+ * 보관 파일 한 줄은 길안내 임시 파일(spill-file)과 같은 형식(DirectionInsertDto)이므로,
+ * 압축을 풀어 임시 파일 위치에 두면 다음 시작 때 다시 저장됩니다.
+ * 여러 서버가 실행해도 DB 이름 잠금으로 한 서버만 파티션을 변경합니다.
+ *
+ * 보관 기간이 지나 삭제된 길안내의 단축 URL 은 isExpired 로 판단해 410 Gone 으로 응답합니다.
+ * (id 가 Snowflake 이므로 행이 없어도 id 만으로 발급 시각을 알 수 있음)
+ * 남은 파티션 중 가장 오래된 월별 파티션의 하한 이전, 즉 실제로 삭제한 파티션 범위에 발급된 Snowflake id 만 만료로 보고
+ * 그 외(이전 형식 단축 URL 의 IDENTITY id, 남아 있는 파티션 범위의 id, 파티션 정보를 아직 읽지 못한 경우)는 없는 길안내(404)입니다.
+ *
+ * 메트릭:
+ * - direction.retention.archived : 보관 후 삭제한 길안내 수
+ *
+ * 설정 (application.yml):
+ * - pharmacy.direction.retention.enabled : 파티션 관리 여부 (기본 false - 켜면 보관 기간이 지난 길안내를 삭제하므로 명시적으로 켬)
+ * - pharmacy.direction.retention.retention-days : 보관 기간
+ * - pharmacy.direction.retention.premake-months : 미리 만들어 둘 월별 파티션 수
+ * - pharmacy.direction.retention.archive-dir : 보관 파일 디렉터리
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DirectionRetentionService {
+
+    private static final String ARCHIVED = "direction.retention.archived";
+
+    private final DirectionPartitionRepository directionPartitionRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${pharmacy.direction.retention.enabled:false}")
+    private boolean enabled;
+
+    @Value("${pharmacy.direction.retention.retention-days:365}")
+    private int retentionDays = 365;
+
+    @Value("${pharmacy.direction.retention.premake-months:3}")
+    private int premakeMonths = 3;
+
+    @Value("${pharmacy.direction.retention.archive-dir:./data/direction-archive}")
+    private String archiveDir = "./data/direction-archive";
+
+    /**
+     * 보관 기준일 계산용 시계
+     */
+    private Clock clock = Clock.systemDefaultZone();
+
+    private ObjectMapper archiveMapper;
+    private Counter archivedCounter;
+
+    /**
+     * 이 날짜 이전의 created_date 파티션은 삭제됨 (남은 가장 오래된 월별 파티션의 하한, 삭제된 파티션이 없거나 모르면 null)
+     */
+    private volatile LocalDate droppedBefore;
+
+    @PostConstruct
+    public void init() {
+        archiveMapper = objectMapper.copy().registerModule(new JavaTimeModule());
+        archivedCounter = Counter.builder(ARCHIVED)
+                .description("보관 기간이 지나 파일로 보관 후 삭제한 길안내 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 서버 준비 후 현재 파티션 목록으로 삭제된 범위를 확인합니다. (다른 서버가 이미 삭제한 파티션 반영)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPartitions() {
+        if (!enabled) return;
+        try {
+            droppedBefore = droppedBefore(directionPartitionRepository.findPartitions());
+        } catch (DataAccessException e) {
+            log.error("[DirectionRetentionService loadPartitions] {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 월별 파티션 추가 / 만료 파티션 보관 후 삭제
+     * 다른 서버가 실행 중이면 건너뛰고 현재 파티션 목록만 다시 읽어 그 서버가 삭제한 범위를 반영합니다.
+     */
+    @Scheduled(initialDelayString = "${pharmacy.direction.retention.interval-ms:3600000}",
+            fixedDelayString = "${pharmacy.direction.retention.interval-ms:3600000}")
+    public void maintain() {
+        if (!enabled) return;
+        try {
+            if (!directionPartitionRepository.runLocked(this::maintainPartitions)) {
+                log.info("[DirectionRetentionService maintain] 다른 서버가 파티션 작업 중이므로 건너뜁니다.");
+                droppedBefore = droppedBefore(directionPartitionRepository.findPartitions());
+            }
+        } catch (DataAccessException e) {
+            log.error("[DirectionRetentionService maintain] {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 보관 기간이 지나 삭제된 길안내인지 확인합니다. (id 의 발급 시각 기준)
+     * id 값만으로는 2^22 이상의 이전 IDENTITY id 와 구분할 수 없으므로 현재 형식 단축 URL 로 받은 id 만 전달합니다.
+     *
+     * @param directionId 길안내 id (Snowflake)
+     * @return boolean 삭제된 파티션 범위에 발급된 Snowflake id 이면 true
+     */
+    public boolean isExpired(long directionId) {
+        LocalDate dropped = droppedBefore;
+        if (Objects.isNull(dropped) || !SnowflakeIdGenerator.isSnowflake(directionId)) return false;
+        return SnowflakeIdGenerator.timestampMillis(directionId)
+                < dropped.atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    private void maintainPartitions() {
+        List<DirectionPartitionDto> partitions = directionPartitionRepository.findPartitions();
+        if (partitions.isEmpty()) {
+            log.warn("[DirectionRetentionService maintain] direction 테이블이 파티션 테이블이 아닙니다. "
+                    + "database/init/pharmacy_direction_partition.sql 을 실행하세요.");
+            return;
+        }
+
+        List<LocalDate> upperBounds = missingUpperBounds(partitions);
+        if (!upperBounds.isEmpty()) {
+            directionPartitionRepository.addMonthPartitions(maxValuePartition(partitions), upperBounds);
+            log.info("[DirectionRetentionService maintain] 월별 파티션 {}개 추가 (마지막 상한: {})",
+                    upperBounds.size(), upperBounds.get(upperBounds.size() - 1));
+            partitions = directionPartitionRepository.findPartitions();
+        }
+
+        LocalDate cutoff = cutoffDate();
+        List<DirectionPartitionDto> remaining = new ArrayList<>(partitions);
+        for (DirectionPartitionDto partition : partitions) {
+            if (partition.isMaxValue() || partition.getUpperBound().isAfter(cutoff)) continue;
+            try {
+                long archived = archive(partition.getName());
+                directionPartitionRepository.dropPartition(partition.getName());
+                remaining.remove(partition);
+                archivedCounter.increment(archived);
+                log.info("[DirectionRetentionService maintain] 파티션 {} ({}건) 보관 후 삭제", partition.getName(), archived);
+            } catch (IOException | UncheckedIOException e) {
+                log.error("[DirectionRetentionService maintain] 파티션 {} 보관 파일 기록 실패, 삭제하지 않음: {}",
+                        partition.getName(), e.getMessage(), e);
+            }
+        }
+        droppedBefore = droppedBefore(remaining);
+    }
+
+    /**
+     * 남은 파티션 중 가장 오래된 파티션의 하한 - 그 이전 범위는 삭제됨
+     * 가장 오래된 파티션이 하한이 없는 파티션(p_history)이면 삭제된 파티션이 없으므로 null
+     */
+    private static LocalDate droppedBefore(List<DirectionPartitionDto> partitions) {
+        return partitions.isEmpty() ? null : partitions.get(0).getLowerBound();
+    }
+
+    /**
+     * 마지막 월별 파티션 다음 달부터 (이번 달 + premake-months) 까지 추가할 파티션 상한 목록
+     */
+    private List<LocalDate> missingUpperBounds(List<DirectionPartitionDto> partitions) {
+        LocalDate target = LocalDate.now(clock).withDayOfMonth(1).plusMonths(premakeMonths + 1L);
+        LocalDate last = partitions.stream()
+                .filter(partition -> !partition.isMaxValue())
+                .map(DirectionPartitionDto::getUpperBound)
+                .max(LocalDate::compareTo)
+                .orElse(LocalDate.now(clock).withDayOfMonth(1));
+
+        List<LocalDate> upperBounds = new ArrayList<>();
+        for (LocalDate bound = last.withDayOfMonth(1).plusMonths(1); !bound.isAfter(target); bound = bound.plusMonths(1)) {
+            upperBounds.add(bound);
+        }
+        return upperBounds;
+    }
+
+    private static String maxValuePartition(List<DirectionPartitionDto> partitions) {
+        return partitions.stream()
+                .filter(DirectionPartitionDto::isMaxValue)
+                .map(DirectionPartitionDto::getName)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * 파티션 행을 {archive-dir}/direction-{파티션}.ndjson.gz 로 기록합니다. (임시 파일에 모두 쓴 뒤 이름 변경)
+     *
+     * @return long 보관한 행 수
+     */
+    private long archive(String partition) throws IOException {
+        Path directory = Path.of(archiveDir);
+        Files.createDirectories(directory);
+        Path path = directory.resolve("direction-" + partition + ".ndjson.gz");
+        Path temp = directory.resolve(path.getFileName() + ".tmp");
+
+        long archived;
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+            archived = directionPartitionRepository.exportPartition(partition, row -> {
+                try {
+                    writer.write(archiveMapper.writeValueAsString(row));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return archived;
+    }
+
+    private LocalDate cutoffDate() {
+        return LocalDate.now(clock).minusDays(retentionDays);
+    }
+}
@@ -0,0 +1,275 @@
+package com.dsg.pharmacyrecommend.domain.direction.service;
+
+import com.dsg.pharmacyrecommend.domain.direction.dto.DirectionSearchDto;
+import com.dsg.pharmacyrecommend.domain.direction.entity.Direction;
+import com.dsg.pharmacyrecommend.domain.direction.event.DirectionSearchSavedEvent;
+import com.dsg.pharmacyrecommend.domain.direction.repository.DirectionSearchRepository;
+import com.dsg.pharmacyrecommend.domain.pharmacy.cache.RedisHealthTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 반복 검색 길안내 재사용 서비스
+ *
+ * 같은 입력 좌표(소수점 coordinate-scale 자리로 정규화) / 추천 개수 / 반경의 검색이 ttl 안에 다시 들어오고
+ * 추천 결과도 같으면 길안내를 새로 저장하지 않고 이전에 저장한 길안내 id(단축 URL)를 그대로 반환합니다.
+ *
+ * 요청 스레드는 Redis 만 사용합니다. (DB 왕복 없음)
+ * 1. Redis 에 같은 검색 키(DIRECTION:SEARCH:{검색 키})의 저장된 결과가 있으면 재사용
+ * 2. 없으면 id 를 발급해 SET NX PX(ttl)로 검색 키를 "저장 중" 값으로 선점한 뒤 저장
+ *    - 다른 요청이 먼저 선점해 아직 저장 중이면 그 id 는 다른 노드에서 조회할 수 없으므로(비동기 저장 대기/임시 파일) 재사용하지 않고 새로 저장
+ * 3. 추천 결과는 길안내 비동기 저장 배치에서 길안내 행과 함께 direction_search 에 기록하고,
+ *    커밋 후(DirectionSearchSavedEvent) 선점 값을 재사용할 수 있는 값으로 바꿈
+ *
+ * Redis 를 사용할 수 없으면(차단 중, 오류) direction_search 를 조회만 하여 재사용하고, 선점 없이 저장합니다.
+ * 추천 약국 목록의 해시(resultHash)가 저장된 결과와 다르면(약국 데이터 변경 등) 재사용하지 않고 새로 저장합니다.
+ *
+ * 메트릭:
+ * - direction.search.dedup : 처리 결과별 검색 수 (result 태그 - reused, saved)
+ *
+ * 설정 (application.yml):
+ * - pharmacy.direction.dedup.enabled : 재사용 여부
+ * - pharmacy.direction.dedup.ttl-seconds : 재사용 기간
+ * - pharmacy.direction.dedup.coordinate-scale : 입력 좌표 정규화 소수점 자리수
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DirectionSearchDedupService {
+
+    private static final String KEY_PREFIX = "DIRECTION:SEARCH:";
+
+    /**
+     * 저장 중(길안내 행 커밋 전) 선점 값 접두어 - 이 값의 id 는 재사용하지 않음
+     */
+    private static final String PENDING_PREFIX = "~";
+    private static final String DEDUP = "direction.search.dedup";
+
+    /**
+     * 만료 행 삭제 한 번의 최대 행 수 (삭제 중 테이블 락 시간 제한)
+     */
+    private static final int DELETE_LIMIT = 10_000;
+
+    private final DirectionSearchRepository directionSearchRepository;
+    private final DirectionWriteBehindService directionWriteBehindService;
+    private final DirectionIdAllocator directionIdAllocator;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisHealthTracker redisHealthTracker;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${pharmacy.direction.dedup.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${pharmacy.direction.dedup.ttl-seconds:600}")
+    private long ttlSeconds = 600;
+
+    @Value("${pharmacy.direction.dedup.coordinate-scale:6}")
+    private int coordinateScale = 6;
+
+    private Counter reusedCounter;
+    private Counter savedCounter;
+
+    @PostConstruct
+    public void bindMetrics() {
+        reusedCounter = dedupCounter("reused");
+        savedCounter = dedupCounter("saved");
+    }
+
+    /**
+     * 같은 검색의 이전 길안내가 있으면 그 id 를 채워 반환하고, 없으면 저장합니다.
+     * @param directionList 이번 검색의 추천 길안내 (거리순)
+     * @param searchCount 보정된 추천 개수
+     * @param radiusKm 보정된 검색 반경
+     * @return List<Direction> id 가 채워진 길안내 리스트 (입력 리스트와 같은 객체)
+     */
+    public List<Direction> saveOrReuse(List<Direction> directionList, int searchCount, double radiusKm) {
+        if (!enabled || CollectionUtils.isEmpty(directionList)) return directionWriteBehindService.saveAll(directionList);
+
+        Direction first = directionList.get(0);
+        String searchKey = searchKey(first.getInputLatitude(), first.getInputLongitude(), searchCount, radiusKm);
+        long resultHash = resultHash(directionList);
+
+        // id 를 먼저 발급해 두고 선점에 사용 (재사용하면 버림)
+        DirectionSearchDto search = DirectionSearchDto.builder()
+                .searchKey(searchKey)
+                .resultHash(resultHash)
+                .directionIds(directionList.stream()
+                        .map(direction -> directionIdAllocator.nextId())
+                        .collect(Collectors.toList()))
+                .createdDate(LocalDateTime.now())
+                .build();
+
+        DirectionSearchDto existing = redisHealthTracker.tryAcquire("claimDirectionSearch")
+                ? claim(search)
+                : findSaved(search);
+        if (Objects.nonNull(existing) && existing.matches(resultHash, directionList.size())) {
+            assignIds(directionList, existing.getDirectionIds());
+            reusedCounter.increment();
+            return directionList;
+        }
+
+        assignIds(directionList, search.getDirectionIds());
+        savedCounter.increment();
+        return directionWriteBehindService.saveAll(directionList, search);
+    }
+
+    /**
+     * 추천 결과가 가리키는 길안내가 저장되면 선점 값을 저장된 값으로 바꿔 다른 요청(노드)이 재사용할 수 있게 합니다.
+     * 길안내 저장 스레드에서 호출되므로 오류는 기록만 하고 던지지 않습니다. (선점 값은 ttl 후 만료)
+     */
+    @EventListener
+    public void onSearchSaved(DirectionSearchSavedEvent event) {
+        if (!enabled || !redisHealthTracker.tryAcquire("publishDirectionSearch")) return;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            for (DirectionSearchDto search : event.getSearches()) {
+                // 재처리(임시 파일)로 늦게 저장된 결과는 남은 재사용 기간만큼만 공개
+                Duration remaining = Duration.between(now, search.getCreatedDate().plusSeconds(ttlSeconds));
+                if (remaining.isNegative() || remaining.isZero()) continue;
+                stringRedisTemplate.opsForValue().set(KEY_PREFIX + search.getSearchKey(),
+                        search.getResultHash() + "|" + search.joinDirectionIds(), remaining);
+            }
+            redisHealthTracker.recordSuccess();
+        } catch (Exception e) {
+            log.error("[DirectionSearchDedupService onSearchSaved error] {}", e.getMessage());
+            redisHealthTracker.recordFailure(e);
+        }
+    }
+
+    /**
+     * 만료된 추천 결과를 삭제합니다.
+     */
+    @Scheduled(fixedDelayString = "${pharmacy.direction.dedup.cleanup-interval-ms:600000}")
+    public void deleteExpired() {
+        if (!enabled) return;
+        try {
+            int deleted = directionSearchRepository.deleteExpired(LocalDateTime.now().minusSeconds(ttlSeconds), DELETE_LIMIT);
+            if (deleted > 0) log.info("[DirectionSearchDedupService deleteExpired] deleted: {}", deleted);
+        } catch (DataAccessException e) {
+            log.error("[DirectionSearchDedupService deleteExpired] {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 검색 키 - 정규화한 입력 좌표, 추천 개수, 반경
+     * 약국 데이터 버전은 넣지 않음 (재적재 시각 기반 버전은 데이터가 같아도 바뀜) - 약국 변경은 resultHash 로 구분
+     */
+    private String searchKey(double latitude, double longitude, int searchCount, double radiusKm) {
+        return String.join(":",
+                normalize(latitude), normalize(longitude),
+                String.valueOf(searchCount), BigDecimal.valueOf(radiusKm).stripTrailingZeros().toPlainString());
+    }
+
+    /**
+     * 추천 약국 목록(순서 포함) 해시 - 같은 검색 키에서 결과가 바뀌었는지 확인
+     */
+    private static long resultHash(List<Direction> directionList) {
+        long hash = 1125899906842597L;
+        for (Direction direction : directionList) {
+            hash = 31 * hash + Objects.hashCode(direction.getTargetPharmacyName());
+            hash = 31 * hash + Objects.hashCode(direction.getTargetAddress());
+            hash = 31 * hash + Double.hashCode(direction.getTargetLatitude());
+            hash = 31 * hash + Double.hashCode(direction.getTargetLongitude());
+        }
+        return hash;
+    }
+
+    private String normalize(double coordinate) {
+        return BigDecimal.valueOf(coordinate).setScale(coordinateScale, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    private void assignIds(List<Direction> directionList, List<Long> directionIds) {
+        for (int i = 0; i < directionList.size(); i++) {
+            directionList.get(i).assignId(directionIds.get(i));
+        }
+    }
+
+    /**
+     * Redis 에서 검색 키를 선점합니다. (값 형식: "{resultHash}|{id1},{id2},...", 저장 중이면 앞에 "~")
+     * - 비어 있으면 SET NX PX 로 이번 결과를 저장 중 값으로 기록하고 null 반환
+     * - 다른 요청이 저장 중이면 null 반환 (선점 값은 그대로 두고 이번 결과는 따로 저장)
+     * - 저장된 같은 결과가 있으면 그 결과 반환
+     * - 다른 결과(약국 데이터 변경 등)가 있으면 이번 결과로 덮어쓰고 그 결과 반환 (호출한 쪽에서 새로 저장)
+     * @return DirectionSearchDto 저장된 기존 결과 (없거나 저장 중이거나 Redis 오류면 null)
+     */
+    private DirectionSearchDto claim(DirectionSearchDto search) {
+        String key = KEY_PREFIX + search.getSearchKey();
+        String value = PENDING_PREFIX + search.getResultHash() + "|" + search.joinDirectionIds();
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        try {
+            String current = stringRedisTemplate.opsForValue().get(key);
+            if (Objects.isNull(current)) {
+                if (Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(key, value, ttl))) {
+                    redisHealthTracker.recordSuccess();
+                    return null;
+                }
+                // 조회와 선점 사이에 다른 요청이 먼저 선점
+                current = stringRedisTemplate.opsForValue().get(key);
+            }
+            if (Objects.isNull(current) || current.startsWith(PENDING_PREFIX)) {
+                redisHealthTracker.recordSuccess();
+                return null;
+            }
+
+            DirectionSearchDto existing = parse(current);
+            if (!existing.matches(search.getResultHash(), search.getDirectionIds().size())) {
+                stringRedisTemplate.opsForValue().set(key, value, ttl);
+            }
+            redisHealthTracker.recordSuccess();
+            return existing;
+        } catch (Exception e) {
+            log.error("[DirectionSearchDedupService claim error] {}", e.getMessage());
+            redisHealthTracker.recordFailure(e);
+            return findSaved(search);
+        }
+    }
+
+    /**
+     * Redis 를 사용할 수 없을 때 direction_search 에 기록된 결과를 조회합니다. (선점하지 않음)
+     * @return DirectionSearchDto 만료되지 않은 결과 (없거나 DB 오류면 null)
+     */
+    private DirectionSearchDto findSaved(DirectionSearchDto search) {
+        try {
+            return directionSearchRepository.find(search.getSearchKey(),
+                    search.getCreatedDate().minusSeconds(ttlSeconds)).orElse(null);
+        } catch (DataAccessException e) {
+            log.error("[DirectionSearchDedupService findSaved] searchKey: {}, error: {}",
+                    search.getSearchKey(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static DirectionSearchDto parse(String value) {
+        if (Objects.isNull(value)) return null;
+        int separator = value.indexOf('|');
+        return DirectionSearchDto.builder()
+                .resultHash(Long.parseLong(value.substring(0, separator)))
+                .directionIds(DirectionSearchDto.parseDirectionIds(value.substring(separator + 1)))
+                .build();
+    }
+
+    private Counter dedupCounter(String result) {
+        return Counter.builder(DEDUP)
+                .description("반복 검색 길안내 재사용/저장 수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
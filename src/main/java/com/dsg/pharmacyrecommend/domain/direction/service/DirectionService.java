@@ -2,14 +2,23 @@ package com.dsg.pharmacyrecommend.domain.direction.service;
 
 import com.dsg.pharmacyrecommend.kakao.KakaoCategorySearchService;
 import com.dsg.pharmacyrecommend.domain.direction.entity.Direction;
+import com.dsg.pharmacyrecommend.domain.direction.exception.DirectionNotFoundException;
+import com.dsg.pharmacyrecommend.domain.direction.repository.DirectionLegacyRepository;
 import com.dsg.pharmacyrecommend.domain.direction.repository.DirectionRepository;
 import com.dsg.pharmacyrecommend.kakao.dto.DocumentDto;
-import com.dsg.pharmacyrecommend.domain.pharmacy.service.PharmacySearchService;
+import com.dsg.pharmacyrecommend.domain.pharmacy.cache.PharmacyRedisTemplateService;
+import com.dsg.pharmacyrecommend.domain.pharmacy.cache.RedisHealthTracker;
+import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
+import com.dsg.pharmacyrecommend.domain.pharmacy.entity.Pharmacy;
+import com.dsg.pharmacyrecommend.domain.pharmacy.index.PharmacySpatialIndexService;
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacyRecord;
+import com.dsg.pharmacyrecommend.domain.pharmacy.service.PharmacyRepositoryService;
+import com.dsg.pharmacyrecommend.geo.DistanceModelType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.CollectionUtils;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.Collections;
@@ -25,20 +34,21 @@ import java.util.stream.Collectors;
  * 가장 가까운 약국들을 추천하는 핵심 알고리즘을 담당합니다.
  * 
  * 주요 기능:
- * 1. 거리 계산 - Haversine 공식을 활용한 정확한 구면 거리 계산
- * 2. 약국 필터링 - 반경 10km 이내 약국만 추천 대상으로 선별  
- * 3. 정렬 및 제한 - 거리순 정렬 후 최대 3개까지 추천
+ * 1. 근접 약국 검색 - 약국 공간 인덱스(격자/KD-트리)로 주변 약국만 탐색
+ *    (1개만 찾는 경우 최근접 약국 래스터의 셀 후보 몇 개만 확인)
+ * 2. 약국 필터링 - 반경(기본 10km) 이내 약국만 추천 대상으로 선별  
+ * 3. 정렬 및 제한 - 거리순 최대 k개(기본 3개)까지 추천
  * 4. URL 생성 - 길찾기를 위한 카카오맵 링크 생성
  * 5. 데이터 저장 - 추천 결과를 데이터베이스에 저장하여 추후 분석 가능
  * 
  * 거리 계산 방식:
- * - Haversine Formula 사용 (지구의 곡률을 고려한 구면 거리)
- * - WGS84 좌표계 기준
- * - 결과 정확도: ±0.5% 이내 (실제 거리 대비)
+ * - 후보 순위: 구면 거리 (사전 계산 sin/cos, 후보마다 삼각함수 없음)
+ * - 표시 거리: 최종 k개만 WGS84 타원체 Vincenty 공식으로 다시 계산 (설정으로 변경 가능)
+ * - 결과 정확도: mm 단위 (타원체 기준)
  * 
  * 추천 정책:
- * - 반경: 10km 이내
- * - 개수: 최대 3개
+ * - 반경: 기본 10km 이내 (요청별 지정 가능, 최대 20km)
+ * - 개수: 기본 3개 (요청별 지정 가능, 최대 20개)
  * - 정렬: 가까운 거리 우선
  * 
  * @author dsg
@@ -50,15 +60,25 @@ import java.util.stream.Collectors;
 public class DirectionService {
 
     /**
-     * 추천할 최대 약국 개수 (UX 고려하여 3개로 제한)
+     * 기본 추천 약국 개수 (UX 고려하여 3개로 제한)
      */
-    private static final int MAX_SEARCH_COUNT = 3;
+    public static final int DEFAULT_SEARCH_COUNT = 3;
+
+    /**
+     * 요청별로 지정할 수 있는 최대 추천 약국 개수
+     */
+    public static final int MAX_SEARCH_COUNT = 20;
     
     /**
-     * 약국 검색 반경 (10km 이내만 추천 대상으로 설정)
+     * 기본 약국 검색 반경 (10km 이내만 추천 대상으로 설정)
      * 도보 이동 가능성과 대중교통 접근성을 고려한 합리적 거리
      */
-    private static final double RADIUS_KM = 10.0;
+    public static final double DEFAULT_RADIUS_KM = 10.0;
+
+    /**
+     * 요청별로 지정할 수 있는 최대 검색 반경 (카카오 카테고리 검색 API 최대 반경과 동일)
+     */
+    public static final double MAX_RADIUS_KM = 20.0;
     
     /**
      * 카카오맵 길찾기 기본 URL
@@ -68,9 +88,9 @@ public class DirectionService {
     private static final String DIRECTION_BASE_URL = "https://map.kakao.com/link/map/";
 
     /**
-     * 약국 검색 서비스 - 자체 DB에서 약국 정보 조회
+     * 약국 공간 인덱스 서비스 - 반경 내 가까운 약국 k개 조회
      */
-    private final PharmacySearchService pharmacySearchService;
+    private final PharmacySpatialIndexService pharmacySpatialIndexService;
     
     /**
      * 약국 방향 정보 저장소
@@ -87,12 +107,63 @@ public class DirectionService {
      */
     private final KakaoCategorySearchService kakaoCategorySearchService;
 
+    /**
+     * Redis 약국 캐시 - REDIS_GEO 검색 방식에서 GEOSEARCH 로 가까운 약국 k개 조회
+     */
+    private final PharmacyRedisTemplateService pharmacyRedisTemplateService;
+
+    /**
+     * Redis 상태 추적기 - REDIS_GEO 검색 방식에서 Redis 가 차단되면 DB 공간 인덱스로 우회
+     */
+    private final RedisHealthTracker redisHealthTracker;
+
+    /**
+     * 약국 DB 저장소 - DATABASE 검색 방식(또는 REDIS_GEO 우회)에서 공간 인덱스로 가까운 약국 k개 조회
+     */
+    private final PharmacyRepositoryService pharmacyRepositoryService;
+
+    /**
+     * 길안내 비동기 일괄 저장 서비스 - id 발급 후 백그라운드에서 JDBC 배치 INSERT
+     */
+    private final DirectionWriteBehindService directionWriteBehindService;
+
+    /**
+     * 반복 검색 길안내 재사용 서비스 - 같은 검색이면 이전 길안내 id 반환 (저장 없음)
+     */
+    private final DirectionSearchDedupService directionSearchDedupService;
+
+    /**
+     * 길안내 보관 기간 관리 서비스 - 보관 기간이 지나 삭제된 길안내 판단
+     */
+    private final DirectionRetentionService directionRetentionService;
+
+    /**
+     * 압축 저장 형식 이전 길안내 저장소 - 약국 데이터에서 약국을 찾을 수 없는 길안내의 약국 정보 조회
+     */
+    private final DirectionLegacyRepository directionLegacyRepository;
+
+    /**
+     * 자체 DB 기반 약국 검색 방식 (INDEX(기본값), REDIS_GEO, DATABASE)
+     */
+    @Value("${pharmacy.search.mode:INDEX}")
+    private PharmacySearchMode searchMode = PharmacySearchMode.INDEX;
+
+    /**
+     * 추천 결과 거리 계산 방식 (메모리 인덱스와 같은 pharmacy.distance.display-model, 기본값 VINCENTY)
+     */
+    @Value("${pharmacy.distance.display-model:VINCENTY}")
+    private DistanceModelType displayDistanceModel = DistanceModelType.VINCENTY;
+
     /**
      * 약국 방향 정보 리스트를 데이터베이스에 일괄 저장합니다.
      * 
      * 이 메서드는 추천된 약국들의 정보를 데이터베이스에 저장하여
      * 추후 통계 분석이나 사용자 추적에 활용할 수 있도록 합니다.
      * 
+     * 저장 방식 (DirectionWriteBehindService):
+     * - id 를 먼저 발급하여 단축 URL 은 바로 만들 수 있음
+     * - 실제 INSERT 는 백그라운드 스레드가 모아서 JDBC 배치로 수행 (요청 응답 시간에서 제외)
+     * 
      * 저장되는 정보:
      * - 입력 주소 및 좌표
      * - 추천 약국 정보 (이름, 주소, 좌표)
@@ -100,13 +171,43 @@ public class DirectionService {
      * - 생성 시간
      * 
      * @param directionList 저장할 약국 방향 정보 리스트
-     * @return List<Direction> 저장 완료된 Direction 엔티티 리스트 (ID 포함)
+     * @return List<Direction> id 가 발급된 Direction 엔티티 리스트
      *         입력 리스트가 비어있으면 빈 리스트 반환
+     * @throws IllegalArgumentException 약국 id 가 없는 길안내가 있는 경우 (카카오 카테고리 검색 결과)
      */
-    @Transactional
     public List<Direction> saveAll(List<Direction> directionList) {
-        if (CollectionUtils.isEmpty(directionList)) return Collections.emptyList();
-        return directionRepository.saveAll(directionList);
+        requirePharmacyId(directionList);
+        return directionWriteBehindService.saveAll(directionList);
+    }
+
+    /**
+     * 추천 결과를 저장합니다. 같은 검색 조건(입력 좌표, 개수, 반경)의 같은 추천 결과가
+     * 재사용 기간 안에 이미 저장되어 있으면 새로 저장하지 않고 그 길안내 id 를 반환합니다.
+     *
+     * @param directionList buildDirectionList 로 만든 추천 결과
+     * @param searchCount 요청 추천 개수 (null 이면 기본값)
+     * @param radiusKm 요청 검색 반경 km (null 이면 기본값)
+     * @return List<Direction> id 가 채워진 Direction 엔티티 리스트
+     * @throws IllegalArgumentException 약국 id 가 없는 길안내가 있는 경우 (카카오 카테고리 검색 결과)
+     * @see DirectionSearchDedupService
+     */
+    public List<Direction> saveAll(List<Direction> directionList, Integer searchCount, Double radiusKm) {
+        requirePharmacyId(directionList);
+        return directionSearchDedupService.saveOrReuse(directionList,
+                resolveSearchCount(searchCount), resolveRadiusKm(radiusKm));
+    }
+
+    /**
+     * 길안내는 약국 id 만 저장하므로(약국명/좌표는 조회 시 약국 데이터에서 확인) 약국 id 가 없는 길안내는 저장하지 않습니다.
+     * (저장하면 단축 URL 이 항상 404)
+     */
+    private void requirePharmacyId(List<Direction> directionList) {
+        if (Objects.isNull(directionList)) return;
+        for (Direction direction : directionList) {
+            if (Objects.isNull(direction.getPharmacyId())) {
+                throw new IllegalArgumentException("약국 id 가 없는 길안내는 저장할 수 없습니다: " + direction.getTargetPharmacyName());
+            }
+        }
     }
 
     /**
@@ -119,6 +220,7 @@ public class DirectionService {
      * 1. Base62 인코딩된 ID를 원본 Long ID로 디코딩
      * 2. 데이터베이스에서 해당 Direction 정보 조회  
      * 3. 약국 정보를 이용해 카카오맵 URL 파라미터 구성
+     *    (약국 정보는 조회 시점의 약국 데이터 - 추천 이후 약국명/좌표가 바뀌었으면 바뀐 값으로 안내)
      * 4. 완전한 카카오맵 길찾기 URL 생성
      * 
      * 생성되는 URL 형태:
@@ -130,7 +232,7 @@ public class DirectionService {
      * 
      * @param encodedId Base62로 인코딩된 Direction ID
      * @return String 카카오맵 길찾기 URL
-     *         해당 ID의 Direction이 없으면 NullPointerException 발생
+     * @throws DirectionNotFoundException 해당 ID의 Direction 이 없거나 약국 정보를 찾을 수 없는 경우 (보관 기간이 지나 삭제되었으면 expired)
      */
     @Transactional(readOnly = true)
     public String findDirectionUrlById(String encodedId) {
@@ -138,10 +240,18 @@ public class DirectionService {
         // Base62 인코딩된 ID를 원본 Long 값으로 디코딩
         Long decodedId = base62Service.decodeDirectionId(encodedId);
         
-        // 데이터베이스에서 Direction 정보 조회
-        Direction direction = directionRepository.findById(decodedId).orElse(null);
+        // 저장 대기 중(비동기 저장 전)이면 메모리에서, 아니면 데이터베이스에서 Direction 정보 조회
+        Direction direction = directionWriteBehindService.findPending(decodedId);
+        if (Objects.isNull(direction)) direction = directionRepository.findById(decodedId).orElse(null);
+
+        if (Objects.isNull(direction)) {
+            // 이전 형식 단축 URL 은 IDENTITY id 이므로 id 값이 Snowflake 범위여도 보관 기간 만료로 보지 않음
+            throw new DirectionNotFoundException(decodedId,
+                    !base62Service.isLegacyFormat(encodedId) && directionRetentionService.isExpired(decodedId));
+        }
 
-        assert direction != null;
+        // DB 에는 약국 id 만 저장되어 있으므로 약국 데이터에서 약국명/좌표 확인
+        if (!direction.hasTarget()) resolveTarget(direction);
         
         // 카카오맵 URL 파라미터 구성 (약국명,위도,경도)
         String params = String.join(",", 
@@ -155,22 +265,75 @@ public class DirectionService {
     }
 
     /**
-     * 자체 DB 기반으로 반경 10km 이내 약국을 검색하여 Direction 리스트를 생성합니다.
+     * 길안내의 약국 id 로 약국 정보를 채웁니다.
+     * 메모리 약국 스냅샷(인덱스 생성 후)에서 먼저 찾고, 없으면 DB 에서 조회합니다.
+     * 약국 id 가 없거나 약국이 삭제되었으면 이전 형식 행(direction_legacy)에 기록된 약국 정보를 사용합니다.
+     *
+     * @throws DirectionNotFoundException 어디에서도 약국 정보를 찾을 수 없는 경우 (404)
+     */
+    private void resolveTarget(Direction direction) {
+        Long pharmacyId = direction.getPharmacyId();
+        if (Objects.nonNull(pharmacyId)) {
+            PharmacyRecord record = pharmacySpatialIndexService.findPharmacy(pharmacyId);
+            if (Objects.nonNull(record)) {
+                direction.resolveTarget(record.getPharmacyName(), record.getPharmacyAddress(),
+                        record.getLatitude(), record.getLongitude());
+                return;
+            }
+
+            Pharmacy pharmacy = pharmacyRepositoryService.findById(pharmacyId).orElse(null);
+            if (Objects.nonNull(pharmacy)) {
+                direction.resolveTarget(pharmacy.getPharmacyName(), pharmacy.getPharmacyAddress(),
+                        pharmacy.getLatitude(), pharmacy.getLongitude());
+                return;
+            }
+        }
+
+        PharmacyDto legacy = directionLegacyRepository.findTarget(direction.getId())
+                .orElseThrow(() -> {
+                    log.warn("[DirectionService resolveTarget] 약국 정보가 없는 길안내입니다. id: {}, pharmacyId: {}",
+                            direction.getId(), pharmacyId);
+                    return new DirectionNotFoundException(direction.getId(), false);
+                });
+        direction.resolveTarget(legacy.getPharmacyName(), legacy.getPharmacyAddress(),
+                legacy.getLatitude(), legacy.getLongitude());
+    }
+
+    /**
+     * 기본 검색 조건(반경 10km, 최대 3개)으로 Direction 리스트를 생성합니다.
+     *
+     * @param documentDto 카카오 API로부터 변환된 사용자 위치 정보
+     * @return List<Direction> 거리순으로 정렬된 추천 약국 리스트 (최대 3개)
+     * @see #buildDirectionList(DocumentDto, Integer, Double)
+     */
+    public List<Direction> buildDirectionList(DocumentDto documentDto) {
+        return buildDirectionList(documentDto, DEFAULT_SEARCH_COUNT, DEFAULT_RADIUS_KM);
+    }
+
+    /**
+     * 자체 DB 기반으로 반경 이내 약국을 검색하여 Direction 리스트를 생성합니다.
      * 
-     * 이 메서드는 사용자의 위치 정보를 바탕으로 자체 데이터베이스에 저장된 
-     * 모든 약국과의 거리를 계산하여 가장 가까운 약국들을 추천합니다.
+     * 이 메서드는 사용자의 위치 정보를 바탕으로 약국 공간 인덱스를 조회하여
+     * 주변 셀(노드)에 있는 약국과의 거리만 계산하고 가장 가까운 약국들을 추천합니다.
+     * 검색 방식이 REDIS_GEO 이면 Redis GEOSEARCH 로 조회합니다. (거리 계산/정렬은 Redis 서버에서 수행)
+     * Redis 가 연속 실패로 차단된 동안에는 타임아웃을 기다리지 않고 DB 공간 인덱스로 주변 약국 k개만 조회합니다.
+     * (메모리 인덱스를 두지 않는 노드가 우회 때문에 약국 전체를 읽지 않도록)
+     * 검색 방식이 DATABASE 이면 항상 DB 공간 인덱스로 조회합니다.
+     * 어느 방식이든 최종 k개의 거리는 표시용 거리 계산 방식(pharmacy.distance.display-model)으로 다시 계산하고,
+     * 다시 계산한 거리가 반경을 넘는 약국은 제외합니다.
      * 
      * 처리 흐름:
-     * 1. 자체 DB에서 모든 약국 정보 조회
-     * 2. 각 약국과 사용자 위치 간 거리 계산 (Haversine 공식)
-     * 3. 10km 이내 약국만 필터링
-     * 4. 거리순으로 정렬
-     * 5. 최대 3개까지 제한
+     * 1. 검색 개수, 반경을 허용 범위로 보정 (null 이면 기본값)
+     * 2. 약국 공간 인덱스에서 반경 이내 후보의 약국 번호와 거리만 계산
+     *    (격자 인덱스는 작은 링부터 반경을 두 배씩 늘려 k개가 확정되면 종료)
+     * 3. 고정 크기 힙(Top-K)으로 가까운 k개만 유지 (전체 정렬 없음, O(N log k))
+     * 4. 최종 k개 약국에 대해서만 Direction 엔티티 생성
+     *    (약국명/주소는 오프힙 저장소의 flyweight 에서 이 시점에만 String 으로 변환)
      * 
      * 장점:
-     * - 빠른 응답 속도 (외부 API 호출 없음)
-     * - 안정적인 서비스 (네트워크 의존성 최소화)
-     * - 데이터 일관성 보장
+     * - 빠른 응답 속도 (외부 API 호출 없음, 주변 약국만 탐색)
+     * - 후보마다 엔티티를 만들지 않으므로 요청당 메모리 할당 최소화
+     * - 검색 개수를 늘려도 전체 정렬 비용이 발생하지 않음
      * 
      * 단점:
      * - 실시간 약국 정보 반영 어려움
@@ -178,39 +341,86 @@ public class DirectionService {
      * 
      * @param documentDto 카카오 API로부터 변환된 사용자 위치 정보
      *                   (주소명, 위도, 경도 포함)
-     * @return List<Direction> 거리순으로 정렬된 추천 약국 리스트 (최대 3개)
+     * @param searchCount 최대 추천 개수 (null 이면 3개, 최대 20개)
+     * @param radiusKm 검색 반경 km (null 이면 10km, 최대 20km)
+     * @return List<Direction> 거리순으로 정렬된 추천 약국 리스트 (최대 searchCount개)
      *         입력이 null이면 빈 리스트 반환
      */
-    public List<Direction> buildDirectionList(DocumentDto documentDto) {
+    public List<Direction> buildDirectionList(DocumentDto documentDto, Integer searchCount, Double radiusKm) {
         if(Objects.isNull(documentDto)) return Collections.emptyList();
+        double resolvedRadiusKm = resolveRadiusKm(radiusKm);
+
+        if (searchMode == PharmacySearchMode.REDIS_GEO && redisHealthTracker.tryAcquire("searchNearest")) {
+            return pharmacyRedisTemplateService
+                    // 반경 이내 가까운 약국 최대 k개 (Redis 에서 거리순 정렬됨)
+                    .searchNearest(documentDto.getLatitude(), documentDto.getLongitude(),
+                            resolveSearchCount(searchCount), resolvedRadiusKm)
+                    .stream()
+                    .map(candidate -> toDirection(documentDto, candidate.getPharmacy().getId(),
+                            candidate.getPharmacy().getPharmacyName(), candidate.getPharmacy().getPharmacyAddress(),
+                            candidate.getPharmacy().getLatitude(), candidate.getPharmacy().getLongitude()))
+                    .filter(direction -> direction.getDistance() <= resolvedRadiusKm)
+                    .sorted(Comparator.comparingDouble(Direction::getDistance))
+                    .collect(Collectors.toList());
+        }
+
+        if (searchMode != PharmacySearchMode.INDEX) {
+            return pharmacyRepositoryService
+                    // 반경 이내 가까운 약국 최대 k개 (DB 에서 거리순 정렬됨)
+                    .findNearest(documentDto.getLatitude(), documentDto.getLongitude(),
+                            resolveSearchCount(searchCount), resolvedRadiusKm)
+                    .stream()
+                    .map(pharmacy -> toDirection(documentDto, pharmacy.getId(), pharmacy.getPharmacyName(),
+                            pharmacy.getPharmacyAddress(), pharmacy.getLatitude(), pharmacy.getLongitude()))
+                    .filter(direction -> direction.getDistance() <= resolvedRadiusKm)
+                    .sorted(Comparator.comparingDouble(Direction::getDistance))
+                    .collect(Collectors.toList());
+        }
 
-        return pharmacySearchService.searchPharmacyDtoList()
+        return pharmacySpatialIndexService
+                // 반경 이내 가까운 약국 최대 k개 (표시용 거리로 거리순 정렬됨)
+                .findNearest(documentDto.getLatitude(), documentDto.getLongitude(),
+                        resolveSearchCount(searchCount), resolvedRadiusKm)
                 .stream()
-                .map(pharmacyDto ->
-                        Direction.builder()
-                                // 사용자 입력 정보
-                                .inputAddress(documentDto.getAddressName())
-                                .inputLatitude(documentDto.getLatitude())
-                                .inputLongitude(documentDto.getLongitude())
-                                // 추천 약국 정보
-                                .targetPharmacyName(pharmacyDto.getPharmacyName())
-                                .targetAddress(pharmacyDto.getPharmacyAddress())
-                                .targetLatitude(pharmacyDto.getLatitude())
-                                .targetLongitude(pharmacyDto.getLongitude())
-                                // Haversine 공식으로 정확한 거리 계산
-                                .distance(calculateDistance(
-                                        documentDto.getLatitude(), documentDto.getLongitude(),
-                                        pharmacyDto.getLatitude(), pharmacyDto.getLongitude()))
-                                .build())
-                // 반경 10km 이내 약국만 선별
-                .filter(direction -> direction.getDistance() <= RADIUS_KM)
-                // 가까운 거리 순으로 정렬
-                .sorted(Comparator.comparing(Direction::getDistance))
-                // 최대 3개까지만 추천
-                .limit(MAX_SEARCH_COUNT)
+                .map(candidate -> toDirection(documentDto, candidate.getPharmacy().getId(),
+                        candidate.getPharmacy().getPharmacyName(), candidate.getPharmacy().getPharmacyAddress(),
+                        candidate.getPharmacy().getLatitude(), candidate.getPharmacy().getLongitude(),
+                        candidate.getDistance()))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Redis/DB 에서 조회한 약국으로 Direction 엔티티를 생성합니다.
+     * 거리는 메모리 인덱스의 최종 결과와 같은 표시용 거리 계산 방식으로 계산합니다.
+     */
+    private Direction toDirection(DocumentDto documentDto, Long pharmacyId, String pharmacyName, String pharmacyAddress,
+                                  double latitude, double longitude) {
+        return toDirection(documentDto, pharmacyId, pharmacyName, pharmacyAddress, latitude, longitude,
+                displayDistanceModel.model().distanceKm(documentDto.getLatitude(), documentDto.getLongitude(),
+                        latitude, longitude));
+    }
+
+    /**
+     * 추천 약국 정보로 Direction 엔티티를 생성합니다. (최종 k개에 대해서만 호출)
+     */
+    private Direction toDirection(DocumentDto documentDto, Long pharmacyId, String pharmacyName, String pharmacyAddress,
+                                  double latitude, double longitude, double distance) {
+        return Direction.builder()
+                // 사용자 입력 정보
+                .inputAddress(documentDto.getAddressName())
+                .inputLatitude(documentDto.getLatitude())
+                .inputLongitude(documentDto.getLongitude())
+                // 추천 약국 정보 (저장은 약국 id 만)
+                .pharmacyId(pharmacyId)
+                .targetPharmacyName(pharmacyName)
+                .targetAddress(pharmacyAddress)
+                .targetLatitude(latitude)
+                .targetLongitude(longitude)
+                // 검색 시 계산된 거리
+                .distance(distance)
+                .build();
+    }
+
     /**
      * 카카오 카테고리 검색 API를 이용하여 실시간 약국 정보로 Direction 리스트를 생성합니다.
      * 
@@ -238,6 +448,9 @@ public class DirectionService {
      * - 높은 정확성이 요구되는 경우
      * - 실시간 약국 상태가 중요한 경우
      * - 자체 DB의 데이터가 부족한 지역
+     *
+     * 주의: 결과에 자체 약국 id 가 없으므로 저장(saveAll)할 수 없습니다. (길안내는 약국 id 만 저장)
+     * 화면 표시용으로만 사용하며, 단축 URL 대신 카카오맵 URL 을 바로 만들어야 합니다.
      * 
      * @param inputDocumentDto 카카오 API로부터 변환된 사용자 위치 정보
      *                        (주소명, 위도, 경도 포함)
@@ -249,7 +462,7 @@ public class DirectionService {
 
         return kakaoCategorySearchService
                 // 카카오 카테고리 검색 API로 실시간 약국 정보 조회
-                .requestPharmacyCategorySearch(inputDocumentDto.getLatitude(), inputDocumentDto.getLongitude(), RADIUS_KM)
+                .requestPharmacyCategorySearch(inputDocumentDto.getLatitude(), inputDocumentDto.getLongitude(), DEFAULT_RADIUS_KM)
                 .getDocumentList()
                 .stream()
                 .map(resultDocumentDto ->
@@ -267,55 +480,23 @@ public class DirectionService {
                                 .distance(resultDocumentDto.getDistance() * 0.001)
                                 .build())
                 // 카카오 API는 이미 거리순으로 정렬되어 있으므로 정렬 과정 생략
-                .limit(MAX_SEARCH_COUNT)
+                .limit(DEFAULT_SEARCH_COUNT)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Haversine 공식을 사용하여 두 지점 간의 구면 거리를 계산합니다.
-     * 
-     * 이 메서드는 지구의 곡률을 고려하여 두 위경도 좌표 간의 최단 거리를
-     * 정확하게 계산하는 Haversine 공식을 구현합니다.
-     * 
-     * Haversine 공식 특징:
-     * - 지구를 완전한 구로 가정 (실제로는 타원체이므로 약간의 오차 존재)
-     * - 오차 범위: ±0.5% 이내 (중거리 계산 시)
-     * - 계산 복잡도: O(1) - 매우 빠른 연산
-     * 
-     * 수학적 배경:
-     * - 구면삼각법 기반의 거리 계산
-     * - 대권거리(Great Circle Distance) 계산
-     * - 위경도를 라디안으로 변환하여 계산
-     * 
-     * 활용 분야:
-     * - GPS 네비게이션 시스템
-     * - 위치 기반 서비스 (LBS)
-     * - 지리 정보 시스템 (GIS)
-     * 
-     * 참고 자료: https://en.wikipedia.org/wiki/Haversine_formula
-     * 
-     * @param lat1 첫 번째 지점의 위도 (도 단위)
-     * @param lon1 첫 번째 지점의 경도 (도 단위)  
-     * @param lat2 두 번째 지점의 위도 (도 단위)
-     * @param lon2 두 번째 지점의 경도 (도 단위)
-     * @return double 두 지점 간의 거리 (킬로미터 단위)
+     * 요청 검색 개수를 1 ~ MAX_SEARCH_COUNT 범위로 보정합니다. (null 이면 기본값)
      */
-    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        // 위경도를 라디안으로 변환 (수학 함수는 라디안 단위 사용)
-        lat1 = Math.toRadians(lat1);
-        lon1 = Math.toRadians(lon1);
-        lat2 = Math.toRadians(lat2);
-        lon2 = Math.toRadians(lon2);
-
-        // 지구 반지름 (킬로미터 단위)
-        // 평균 반지름을 사용 (실제로는 극반지름과 적도반지름이 다름)
-        double earthRadius = 6371;
-        
-        // Haversine 공식 적용
-        // acos(sin(lat1) * sin(lat2) + cos(lat1) * cos(lat2) * cos(lon1 - lon2))
-        return earthRadius * Math.acos(
-            Math.sin(lat1) * Math.sin(lat2) + 
-            Math.cos(lat1) * Math.cos(lat2) * Math.cos(lon1 - lon2)
-        );
+    private int resolveSearchCount(Integer searchCount) {
+        if (Objects.isNull(searchCount)) return DEFAULT_SEARCH_COUNT;
+        return Math.max(1, Math.min(MAX_SEARCH_COUNT, searchCount));
+    }
+
+    /**
+     * 요청 검색 반경을 0 ~ MAX_RADIUS_KM 범위로 보정합니다. (null 이면 기본값)
+     */
+    private double resolveRadiusKm(Double radiusKm) {
+        if (Objects.isNull(radiusKm) || radiusKm.isNaN()) return DEFAULT_RADIUS_KM;
+        return Math.max(0.0, Math.min(MAX_RADIUS_KM, radiusKm));
     }
 }
@@ -0,0 +1,396 @@
+package com.dsg.pharmacyrecommend.domain.direction.service;
+
+import com.dsg.pharmacyrecommend.domain.direction.dto.DirectionInsertDto;
+import com.dsg.pharmacyrecommend.domain.direction.dto.DirectionSearchDto;
+import com.dsg.pharmacyrecommend.domain.direction.entity.Direction;
+import com.dsg.pharmacyrecommend.domain.direction.event.DirectionSearchSavedEvent;
+import com.dsg.pharmacyrecommend.domain.direction.repository.DirectionBatchRepository;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 길안내 비동기 일괄 저장(write-behind) 서비스
+ *
+ * 추천 요청 스레드는 id 를 발급받아(DirectionIdAllocator) 길안내를 메모리 큐에 넣고 바로 응답하며,
+ * 전용 스레드가 큐에 쌓인 길안내를 batch-size 단위의 JDBC 배치 INSERT 로 저장합니다.
+ * (IDENTITY 방식처럼 요청마다 행 단위 INSERT 를 기다리지 않음)
+ *
+ * - 큐가 가득 차면 offer-timeout-ms 만큼 기다린 뒤, 그래도 넣지 못한 길안내는 요청 스레드에서 직접 저장 (backpressure)
+ * - 저장 전 길안내는 id 로 조회할 수 있으므로 응답 직후 단축 URL 을 열어도 찾을 수 있음
+ * - DB 저장 실패 또는 서버 종료 시 남은 길안내는 임시 파일(spill-file, 한 줄에 JSON 하나)에 기록(fsync)하고,
+ *   서버 시작 시와 실행 중 spill-retry-interval-ms 주기로 DB 에 다시 저장한 뒤 파일을 삭제
+ * - 반복 검색 추천 결과가 실린 길안내를 저장하면 DirectionSearchSavedEvent 를 발행 (DirectionSearchDedupService 가 선점 값 공개)
+ *
+ * 메트릭:
+ * - direction.write-behind.queue : 저장 대기 길안내 수
+ * - direction.write-behind.rows : 처리 결과별 길안내 수 (result 태그 - flushed, caller-runs, spilled)
+ *
+ * 설정 (application.yml):
+ * - pharmacy.direction.write-behind.enabled : 비동기 저장 사용 여부 (false 이면 요청 스레드에서 배치 INSERT)
+ * - pharmacy.direction.write-behind.capacity : 큐 최대 길이
+ * - pharmacy.direction.write-behind.batch-size : 배치 INSERT 한 번의 최대 행 수
+ * - pharmacy.direction.write-behind.flush-interval-ms : 저장 스레드의 큐 대기 시간 (종료 확인 주기)
+ * - pharmacy.direction.write-behind.offer-timeout-ms : 큐가 가득 찼을 때 기다리는 시간
+ * - pharmacy.direction.write-behind.spill-file : 임시 파일 경로
+ * - pharmacy.direction.write-behind.spill-retry-interval-ms : 실행 중 임시 파일 재저장 주기
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DirectionWriteBehindService {
+
+    private static final String QUEUE = "direction.write-behind.queue";
+    private static final String ROWS = "direction.write-behind.rows";
+
+    private final DirectionIdAllocator directionIdAllocator;
+    private final DirectionBatchRepository directionBatchRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 저장 전용 단일 스레드 Executor (PharmacySearchConfig)
+     */
+    private final Executor directionWriteBehindExecutor;
+
+    @Value("${pharmacy.direction.write-behind.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${pharmacy.direction.write-behind.capacity:10000}")
+    private int capacity = 10_000;
+
+    @Value("${pharmacy.direction.write-behind.batch-size:200}")
+    private int batchSize = 200;
+
+    @Value("${pharmacy.direction.write-behind.flush-interval-ms:50}")
+    private long flushIntervalMs = 50;
+
+    @Value("${pharmacy.direction.write-behind.offer-timeout-ms:100}")
+    private long offerTimeoutMs = 100;
+
+    @Value("${pharmacy.direction.write-behind.spill-file:./data/direction-spill.ndjson}")
+    private String spillFile = "./data/direction-spill.ndjson";
+
+    private BlockingQueue<DirectionInsertDto> queue;
+
+    /**
+     * 저장 전(큐 대기 + 저장 중) 길안내 - 단축 URL 조회용
+     */
+    private final Map<Long, Direction> pending = new ConcurrentHashMap<>();
+
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private final Object spillLock = new Object();
+
+    /**
+     * 큐 넣기(읽기 잠금)와 종료(쓰기 잠금)를 구분 - 종료 후 큐에 들어가 남는 길안내가 없도록 함
+     */
+    private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
+
+    private volatile boolean running;
+    private volatile boolean flushLoopStarted;
+
+    private ObjectMapper spillMapper;
+    private Counter flushedCounter;
+    private Counter callerRunsCounter;
+    private Counter spilledCounter;
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(capacity);
+        // 이전 형식 임시 파일(약국명/좌표 포함)도 다시 저장할 수 있도록 알 수 없는 필드는 무시
+        spillMapper = objectMapper.copy().registerModule(new JavaTimeModule())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        Gauge.builder(QUEUE, this, service -> service.queue.size())
+                .description("저장 대기 중인 길안내 수")
+                .register(meterRegistry);
+        flushedCounter = rowsCounter("flushed");
+        callerRunsCounter = rowsCounter("caller-runs");
+        spilledCounter = rowsCounter("spilled");
+    }
+
+    /**
+     * 서버 준비 후 이전 임시 파일을 다시 저장하고 저장 스레드를 시작합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || running) return;
+        replaySpillFile();
+        running = true;
+        directionWriteBehindExecutor.execute(this::flushLoop);
+        log.info("[DirectionWriteBehindService] started capacity: {}, batchSize: {}", capacity, batchSize);
+    }
+
+    /**
+     * 저장 스레드를 멈추고 큐에 남은 길안내를 임시 파일에 기록합니다.
+     */
+    @PreDestroy
+    public void stop() {
+        stateLock.writeLock().lock();
+        try {
+            if (!running) return;
+            running = false;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+
+        try {
+            // 저장 중인 배치가 끝날 때까지 대기 (저장 스레드가 시작되지 않았으면 바로 진행)
+            if (flushLoopStarted && !stopped.await(flushIntervalMs + TimeUnit.SECONDS.toMillis(10), TimeUnit.MILLISECONDS)) {
+                log.warn("[DirectionWriteBehindService stop] 저장 스레드가 종료되지 않았습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<DirectionInsertDto> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            spill(remaining);
+            remaining.forEach(direction -> pending.remove(direction.getId()));
+        }
+    }
+
+    /**
+     * 길안내에 id 를 발급하고 저장을 요청합니다. (비동기 저장 중이면 큐에 넣고 바로 반환)
+     * @param directionList 저장할 길안내 리스트
+     * @return List<Direction> id 가 채워진 길안내 리스트 (입력 리스트와 같은 객체)
+     */
+    public List<Direction> saveAll(List<Direction> directionList) {
+        return saveAll(directionList, null);
+    }
+
+    /**
+     * 길안내와 반복 검색 추천 결과를 함께 저장합니다.
+     * 추천 결과는 마지막 길안내와 같은 배치에서 길안내 행 다음에 기록되므로, 저장되지 않은 길안내를 가리키지 않습니다.
+     * @param directionList 저장할 길안내 리스트 (추천 순서)
+     * @param search direction_search 에 기록할 추천 결과 (없으면 null)
+     * @return List<Direction> id 가 채워진 길안내 리스트 (입력 리스트와 같은 객체)
+     */
+    public List<Direction> saveAll(List<Direction> directionList, DirectionSearchDto search) {
+        if (CollectionUtils.isEmpty(directionList)) return Collections.emptyList();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<DirectionInsertDto> rows = new ArrayList<>(directionList.size());
+        for (int i = 0; i < directionList.size(); i++) {
+            Direction direction = directionList.get(i);
+            // 반복 검색 재사용(DirectionSearchDedupService)에서 미리 발급한 id 는 그대로 사용
+            if (Objects.isNull(direction.getId())) direction.assignId(directionIdAllocator.nextId());
+            rows.add(DirectionInsertDto.from(direction, now, i == directionList.size() - 1 ? search : null));
+        }
+
+        List<DirectionInsertDto> overflow = new ArrayList<>();
+        boolean queued;
+        stateLock.readLock().lock();
+        try {
+            queued = running;
+            if (queued) {
+                for (int i = 0; i < rows.size(); i++) {
+                    DirectionInsertDto row = rows.get(i);
+                    pending.put(row.getId(), directionList.get(i));
+                    if (!offer(row)) overflow.add(row);
+                }
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+
+        if (!queued) {
+            insert(rows);
+            return directionList;
+        }
+
+        if (!overflow.isEmpty()) {
+            // 큐가 가득 차면 요청 스레드에서 직접 저장 (저장 속도보다 빠르게 쌓이지 않도록)
+            try {
+                insert(overflow);
+                callerRunsCounter.increment(overflow.size());
+            } finally {
+                overflow.forEach(row -> pending.remove(row.getId()));
+            }
+        }
+        return directionList;
+    }
+
+    /**
+     * 아직 DB 에 저장되지 않은 길안내를 조회합니다.
+     * @param id 길안내 id
+     * @return Direction 저장 대기 중인 길안내 (없으면 null)
+     */
+    public Direction findPending(Long id) {
+        return Objects.isNull(id) ? null : pending.get(id);
+    }
+
+    /**
+     * @return int 저장 대기 중인 길안내 수
+     */
+    public int queueSize() {
+        return Objects.isNull(queue) ? 0 : queue.size();
+    }
+
+    private boolean offer(DirectionInsertDto row) {
+        try {
+            return queue.offer(row, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void flushLoop() {
+        flushLoopStarted = true;
+        List<DirectionInsertDto> batch = new ArrayList<>(batchSize);
+        try {
+            while (running) {
+                DirectionInsertDto first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (Objects.isNull(first)) continue;
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            stopped.countDown();
+        }
+    }
+
+    private void flush(List<DirectionInsertDto> batch) {
+        try {
+            insert(batch);
+            flushedCounter.increment(batch.size());
+        } catch (RuntimeException e) {
+            log.error("[DirectionWriteBehindService flush] 저장 실패, 임시 파일에 기록합니다. size: {}, error: {}",
+                    batch.size(), e.getMessage(), e);
+            spill(batch);
+        } finally {
+            batch.forEach(row -> pending.remove(row.getId()));
+        }
+    }
+
+    /**
+     * 길안내를 임시 파일 끝에 기록하고 디스크에 반영(fsync)합니다.
+     */
+    private void spill(List<DirectionInsertDto> rows) {
+        synchronized (spillLock) {
+            Path path = Path.of(spillFile);
+            try {
+                if (Objects.nonNull(path.getParent())) Files.createDirectories(path.getParent());
+                try (FileChannel channel = FileChannel.open(path,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    for (DirectionInsertDto row : rows) {
+                        channel.write(ByteBuffer.wrap((spillMapper.writeValueAsString(row) + "\n")
+                                .getBytes(StandardCharsets.UTF_8)));
+                    }
+                    channel.force(true);
+                }
+                spilledCounter.increment(rows.size());
+                log.warn("[DirectionWriteBehindService spill] {}건을 임시 파일에 기록했습니다: {}", rows.size(), path);
+            } catch (IOException e) {
+                log.error("[DirectionWriteBehindService spill] 임시 파일 기록 실패, {}건 유실: {}", rows.size(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 실행 중 DB 저장 실패로 기록한 임시 파일을 주기적으로 다시 저장합니다. (일시적인 DB 장애 후 재시작을 기다리지 않음)
+     */
+    @Scheduled(initialDelayString = "${pharmacy.direction.write-behind.spill-retry-interval-ms:60000}",
+            fixedDelayString = "${pharmacy.direction.write-behind.spill-retry-interval-ms:60000}")
+    public void retrySpillFile() {
+        if (running) replaySpillFile();
+    }
+
+    /**
+     * 임시 파일의 길안내를 다시 저장하고 파일을 삭제합니다. (실패하면 파일을 남겨 다음 주기/시작 때 재시도)
+     * 일부만 저장된 뒤 실패해도 다시 저장할 때 이미 있는 id 는 건너뜁니다. (DirectionBatchRepository)
+     */
+    void replaySpillFile() {
+        synchronized (spillLock) {
+            Path path = Path.of(spillFile);
+            if (!Files.exists(path)) return;
+
+            long replayed = 0;
+            List<DirectionInsertDto> batch = new ArrayList<>(batchSize);
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                while (Objects.nonNull(line = reader.readLine())) {
+                    if (line.isBlank()) continue;
+                    batch.add(spillMapper.readValue(line, DirectionInsertDto.class));
+                    if (batch.size() == batchSize) {
+                        insert(batch);
+                        replayed += batch.size();
+                        batch.clear();
+                    }
+                }
+                insert(batch);
+                replayed += batch.size();
+                Files.delete(path);
+                log.info("[DirectionWriteBehindService replay] 임시 파일의 길안내 {}건을 저장했습니다.", replayed);
+            } catch (IOException | RuntimeException e) {
+                log.error("[DirectionWriteBehindService replay] 임시 파일 재처리 실패 ({}건 저장): {}",
+                        replayed, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 길안내를 배치로 저장하고, 저장된 추천 결과가 있으면 DirectionSearchSavedEvent 를 발행합니다.
+     * (insertAll 이 반환되면 커밋된 상태이므로 다른 노드에서도 길안내를 조회할 수 있음)
+     */
+    private void insert(List<DirectionInsertDto> rows) {
+        directionBatchRepository.insertAll(rows);
+        List<DirectionSearchDto> searches = rows.stream()
+                .map(DirectionInsertDto::getSearch)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (!searches.isEmpty()) applicationEventPublisher.publishEvent(new DirectionSearchSavedEvent(searches));
+    }
+
+    private Counter rowsCounter(String result) {
+        return Counter.builder(ROWS)
+                .description("비동기 저장 처리 결과별 길안내 수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,24 @@
+package com.dsg.pharmacyrecommend.domain.direction.service;
+
+/**
+ * 자체 DB 기반 약국 검색 방식 (pharmacy.search.mode)
+ */
+public enum PharmacySearchMode {
+
+    /**
+     * 메모리 공간 인덱스 검색 (PharmacySpatialIndexService)
+     */
+    INDEX,
+
+    /**
+     * Redis Geo Set 검색 (GEOSEARCH, 결과 k개만 전송)
+     * 여러 서버가 메모리 인덱스 없이 Redis 하나를 공유하는 경우에 사용
+     */
+    REDIS_GEO,
+
+    /**
+     * DB 공간 인덱스 검색 (MBRContains + ST_Distance_Sphere, 결과 k개만 조회)
+     * 메모리 인덱스/Redis 없이 DB 만으로 응답하는 경우에 사용 (REDIS_GEO 에서 Redis 가 차단된 동안에도 사용)
+     */
+    DATABASE
+}
@@ -0,0 +1,18 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.cache;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Redis Geo 검색 결과 - 약국 정보와 검색 기준점까지의 거리
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class PharmacyGeoCandidate {
+
+    private final PharmacyDto pharmacy;
+    private final double distance; // 검색 기준점과의 거리 (km, Redis 계산)
+}
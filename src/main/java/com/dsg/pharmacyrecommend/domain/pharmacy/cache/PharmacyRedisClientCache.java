@@ -0,0 +1,241 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.cache;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.RedisException;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.StringCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.lettuce.LettuceExceptionConverter;
+
+import java.io.UncheckedIOException;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * 약국 Hash(PHARMACY) 클라이언트 측 캐시 - Lettuce RESP3 서버 지원 트래킹(CLIENT TRACKING) 기반
+ *
+ * 노드마다 약국 정보를 로컬 메모리에 보관하고, Redis 가 변경을 알려준 항목만 다시 조회합니다.
+ * 트래킹은 BCAST 모드(접두어 "PHARMACY")로 켜므로 이 연결로 읽지 않은 키라도
+ * 다른 노드의 save/delete 로 바뀐 키가 invalidate 푸시 메시지로 전달됩니다.
+ *
+ * 무효화 단위:
+ * - PHARMACY:RECORD:{id} : 해당 약국 한 건 (save/delete/saveAll 은 Hash 를 먼저 바꾸고 레코드 키를 나중에 바꾸므로
+ *   레코드 키 무효화를 받은 시점에는 Hash 도 이미 바뀌어 있음) - 다음 조회 때 HMGET 으로 그 항목만 다시 읽음
+ * - PHARMACY : Hash 필드 단위 정보가 없으므로, 압축 레코드를 기록하지 않는 경우(Geo 비활성화)에만 전체 무효화
+ * - 키 목록 없음 (FLUSHDB 등) / 재연결 : 전체 무효화 (재연결 시 트래킹도 다시 켬)
+ *
+ * 무효화 메시지는 Lettuce 이벤트 루프 스레드에서 처리되므로 조회 없이 표시만 하고,
+ * 실제 조회는 다음 findAll 을 호출한 스레드에서 수행합니다.
+ *
+ * 조회 오류(Lettuce RedisException)는 RedisTemplate 과 같은 DataAccessException 으로 변환하여 던지므로
+ * 호출하는 쪽(PharmacyRedisTemplateService)의 {@link RedisHealthTracker} 가 연결/타임아웃 실패로 집계합니다.
+ *
+ * 연결은 생성 시점이 아니라 첫 findAll 에서 맺으므로 Redis 가 내려가 있어도 서버는 시작됩니다.
+ * 연결하지 못하면(Redis 중단, RESP3/트래킹 미지원) findAll 은 null 을 반환하여 RedisTemplate 경로로 조회하게 하고,
+ * {@value #CONNECT_RETRY_MILLIS}ms 가 지난 뒤 다시 연결을 시도합니다.
+ */
+@Slf4j
+public class PharmacyRedisClientCache implements AutoCloseable {
+
+    private static final String TRACKING_PREFIX = "PHARMACY";
+    private static final LettuceExceptionConverter EXCEPTION_CONVERTER = new LettuceExceptionConverter();
+    private static final long CONNECT_RETRY_MILLIS = 5_000;
+
+    private final RedisClient redisClient;
+    private final ObjectMapper objectMapper;
+    private final boolean entryInvalidation;
+
+    /**
+     * 트래킹을 켠 전용 연결 (첫 findAll 에서 생성, 연결 전에는 null) - 생성은 connectLock 으로 한 스레드만 수행
+     */
+    private volatile StatefulRedisConnection<String, String> connection;
+    private final Object connectLock = new Object();
+    private long nextConnectMillis;
+
+    /**
+     * 아래 상태는 모두 this 잠금으로 보호 (잠금 안에서는 네트워크 호출을 하지 않음)
+     */
+    private Map<String, PharmacyDto> entries = new HashMap<>();
+    private final Set<String> dirtyIds = new HashSet<>();
+    private boolean loaded;
+    private long fullInvalidations;
+    private List<PharmacyDto> values = List.of();
+
+    /**
+     * @param redisClient RESP3 프로토콜로 설정한 전용 클라이언트 (이 캐시가 종료 시 함께 닫음)
+     * @param objectMapper PharmacyDto JSON 변환용
+     * @param entryInvalidation 압축 레코드 키 무효화로 항목 단위 갱신 여부 (pharmacy.redis.geo.enabled)
+     */
+    public PharmacyRedisClientCache(RedisClient redisClient, ObjectMapper objectMapper, boolean entryInvalidation) {
+        this.redisClient = redisClient;
+        this.objectMapper = objectMapper;
+        this.entryInvalidation = entryInvalidation;
+        this.redisClient.addListener(new RedisConnectionStateListener() {
+            @Override
+            public void onRedisConnected(RedisChannelHandler<?, ?> handler, SocketAddress socketAddress) {
+                // 재연결되면 서버의 트래킹 상태가 사라지므로 전체 무효화 후 다시 켬
+                StatefulRedisConnection<String, String> current = connection;
+                if (Objects.isNull(current) || handler != current) return;
+                invalidateAll();
+                current.async().clientTracking(trackingArgs());
+            }
+        });
+    }
+
+    /**
+     * 로컬 캐시의 약국 목록을 반환합니다. (처음이거나 무효화된 경우에만 Redis 조회)
+     * @return 약국 DTO 리스트 (읽기 전용, 아직 연결하지 못했으면 null - 호출하는 쪽은 RedisTemplate 으로 조회)
+     */
+    public List<PharmacyDto> findAll() {
+        StatefulRedisConnection<String, String> connection = connect();
+        if (Objects.isNull(connection)) return null;
+
+        long generation;
+        List<String> dirty;
+        synchronized (this) {
+            if (loaded && dirtyIds.isEmpty()) return values;
+            generation = fullInvalidations;
+            dirty = loaded ? new ArrayList<>(dirtyIds) : null;
+            dirtyIds.clear();
+        }
+
+        if (Objects.isNull(dirty)) {
+            // 전체 조회 (조회 중 들어온 항목 무효화는 dirtyIds 에 남아 다음 조회 때 반영)
+            Map<String, PharmacyDto> fetched = new HashMap<>();
+            execute(() -> connection.sync().hgetall(PharmacyRedisTemplateService.CACHE_KEY))
+                    .forEach((id, value) -> fetched.put(id, deserialize(value)));
+            synchronized (this) {
+                entries = fetched;
+                loaded = generation == fullInvalidations;
+                values = List.copyOf(fetched.values());
+                log.info("[PharmacyRedisClientCache findAll] loaded: {}", fetched.size());
+                return values;
+            }
+        }
+
+        List<KeyValue<String, String>> fetched =
+                execute(() -> connection.sync().hmget(PharmacyRedisTemplateService.CACHE_KEY, dirty.toArray(String[]::new)));
+        synchronized (this) {
+            if (generation == fullInvalidations) {
+                for (KeyValue<String, String> keyValue : fetched) {
+                    if (keyValue.hasValue()) entries.put(keyValue.getKey(), deserialize(keyValue.getValue()));
+                    else entries.remove(keyValue.getKey());
+                }
+                values = List.copyOf(entries.values());
+                log.debug("[PharmacyRedisClientCache findAll] refreshed: {}", dirty);
+            }
+            return values;
+        }
+    }
+
+    /**
+     * 로컬 캐시 전체를 무효화 (다음 조회 때 HGETALL)
+     */
+    public synchronized void invalidateAll() {
+        fullInvalidations++;
+        loaded = false;
+        dirtyIds.clear();
+    }
+
+    @Override
+    public void close() {
+        synchronized (connectLock) {
+            if (Objects.nonNull(connection)) connection.close();
+        }
+        redisClient.shutdown();
+    }
+
+    /**
+     * 전용 연결을 반환합니다. 아직 없으면 연결하고 트래킹을 켭니다. (실패하면 재시도 간격 동안 다시 시도하지 않음)
+     * @return 연결 (연결하지 못했으면 null)
+     */
+    private StatefulRedisConnection<String, String> connect() {
+        StatefulRedisConnection<String, String> current = connection;
+        if (Objects.nonNull(current)) return current;
+
+        synchronized (connectLock) {
+            if (Objects.nonNull(connection)) return connection;
+            if (System.currentTimeMillis() < nextConnectMillis) return null;
+
+            StatefulRedisConnection<String, String> created = null;
+            try {
+                created = redisClient.connect();
+                created.addListener(this::onPushMessage);
+                created.sync().clientTracking(trackingArgs());
+                invalidateAll();
+                connection = created;
+                log.info("[PharmacyRedisClientCache connect] client tracking enabled");
+                return created;
+            } catch (RedisException e) {
+                if (Objects.nonNull(created)) created.closeAsync();
+                nextConnectMillis = System.currentTimeMillis() + CONNECT_RETRY_MILLIS;
+                log.warn("[PharmacyRedisClientCache connect] 연결 실패, RedisTemplate 으로 조회합니다: {}", e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    private void onPushMessage(PushMessage message) {
+        if (!"invalidate".equals(message.getType())) return;
+
+        Object keys = message.getContent(StringCodec.UTF8::decodeKey).get(1);
+        if (!(keys instanceof List<?> keyList)) {
+            // 키 목록이 없으면 (FLUSHDB/FLUSHALL 등) 전체 무효화
+            invalidateAll();
+            return;
+        }
+
+        for (Object key : keyList) {
+            String name = String.valueOf(key);
+            if (name.startsWith(PharmacyRedisTemplateService.RECORD_KEY_PREFIX)) {
+                if (entryInvalidation) invalidate(name.substring(PharmacyRedisTemplateService.RECORD_KEY_PREFIX.length()));
+            } else if (name.equals(PharmacyRedisTemplateService.CACHE_KEY) && !entryInvalidation) {
+                invalidateAll();
+            }
+        }
+    }
+
+    private synchronized void invalidate(String id) {
+        dirtyIds.add(id);
+    }
+
+    /**
+     * Redis 명령 실행 - Lettuce 예외를 DataAccessException 으로 변환
+     */
+    private <T> T execute(Supplier<T> command) {
+        try {
+            return command.get();
+        } catch (RedisException e) {
+            DataAccessException translated = EXCEPTION_CONVERTER.convert(e);
+            throw Objects.nonNull(translated) ? translated : e;
+        }
+    }
+
+    private TrackingArgs trackingArgs() {
+        return TrackingArgs.Builder.enabled().bcast().prefixes(TRACKING_PREFIX);
+    }
+
+    private PharmacyDto deserialize(String value) {
+        try {
+            return objectMapper.readValue(value, PharmacyDto.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,30 +1,174 @@
 package com.dsg.pharmacyrecommend.domain.pharmacy.cache;
 
 import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshot;
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshotCodec;
+import com.dsg.pharmacyrecommend.geo.GeoHash;
+import com.dsg.pharmacyrecommend.geo.GeoQuery;
+import com.dsg.pharmacyrecommend.geo.GeoUtils;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.connection.RedisGeoCommands;
 import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.domain.geo.GeoReference;
 import org.springframework.stereotype.Service;
 
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
+/**
+ * 약국 정보 Redis 캐시 서비스
+ *
+ * 저장 구조:
+ * - PHARMACY : 전체 약국 Hash (field = id, value = PharmacyDto JSON) - 셀 저장을 끄거나 클라이언트 측 캐시를 켠 경우에만 기록
+ * - PHARMACY:CELL:{geohash} : geohash 셀 단위 약국 Hash (field = id, value = PharmacyDto JSON)
+ * - PHARMACY:CELL_OF : 약국 id 별 현재 셀 Hash (field = id, value = geohash) - 이동/삭제 시 이전 셀 확인용
+ * - PHARMACY:CELLS : 약국이 저장된 적 있는 셀 geohash 목록 (Set) - findAll() 에서 전체 셀 조회용
+ * - PHARMACY:GEO : 약국 좌표 Geo Set (member = id) - GEOSEARCH 로 반경 내 가까운 약국 검색
+ * - PHARMACY:RECORD:{id} : 약국명/주소만 담은 압축 레코드 (String) - 검색 결과 k개만 MGET 으로 조회
+ * - {PHARMACY:SNAPSHOT}:BLOB:{version} : 전체 약국 바이너리 스냅샷 ({@link PharmacySnapshotCodec}, Deflate 압축)
+ * - {PHARMACY:SNAPSHOT}:CURRENT : 현재 스냅샷 버전 포인터 - Lua 스크립트로 원자적으로 교체
+ *
+ * 셀 키는 geohash 를 해시 태그({geohash})로 사용하므로 Redis Cluster 에서 셀마다 다른 슬롯(노드)에 분산됩니다.
+ * 반경 검색(searchNearest)과 전체 조회(findAll)는 단일 PHARMACY 키 대신 필요한 셀만 병렬로 HGETALL 하므로
+ * 한 샤드에 읽기가 몰리지 않고, 검색 한 번에 읽는 데이터도 반경을 덮는 셀(반경 10km, 정밀도 5 기준 약 30개)로 줄어듭니다.
+ * 셀 저장을 사용하면 PHARMACY 에는 JSON 을 더 기록하지 않고(읽는 쪽이 없음) 이전 셀은 PHARMACY:CELL_OF 로 확인합니다.
+ * PHARMACY 는 클라이언트 측 캐시가 읽는 키이므로 클라이언트 측 캐시를 켜면 계속 기록하며,
+ * 셀 저장 이전에 적재된 약국은 PHARMACY:CELL_OF 에 없으므로 PHARMACY 의 기존 값으로 이전 셀을 확인합니다.
+ *
+ * 대량 적재(saveAll)는 chunk 하나를 HSET(다중 필드) + GEOADD(다중 멤버) + MSET 세 명령으로 묶어
+ * 파이프라인 한 번에 전송하므로 약국 수와 관계없이 chunk 당 왕복 한 번으로 기록됩니다.
+ *
+ * Geo 검색(searchNearest)은 Redis 서버에서 거리 계산과 정렬을 수행하므로
+ * 전체 Hash 를 가져오지 않고 결과 k개의 좌표/거리와 레코드만 네트워크로 전송됩니다.
+ *
+ * 클라이언트 측 캐시(pharmacy.redis.client-cache.enabled)를 켜면 findAll 은 {@link PharmacyRedisClientCache} 의
+ * 로컬 사본을 반환하고, 다른 노드의 save/delete 로 바뀐 항목만 Redis 에서 다시 읽습니다.
+ * 클라이언트 측 캐시가 아직 연결하지 못한 동안에는 RedisTemplate 으로 조회합니다.
+ *
+ * 조회/저장 오류는 빈 결과로 처리하고 {@link RedisHealthTracker} 에 기록하며,
+ * 호출하는 쪽(PharmacySearchService, DirectionService)은 차단 상태이면 Redis 를 거치지 않습니다.
+ *
+ * 설정 (application.yml):
+ * - pharmacy.redis.geo.enabled : 저장 시 Geo Set / 압축 레코드도 함께 기록할지 여부
+ * - pharmacy.redis.cell.enabled : geohash 셀 키 저장/조회 여부 (false 이면 PHARMACY 전체 조회 / GEOSEARCH 사용)
+ * - pharmacy.redis.client-cache.enabled : 클라이언트 측 캐시가 읽는 PHARMACY 전체 Hash 를 셀 저장과 함께 기록할지 여부
+ * - pharmacy.redis.cell.precision : 셀 geohash 정밀도 (문자 수)
+ * - pharmacy.redis.cell.max-cells : 반경 검색 한 번에 읽을 최대 셀 수 (초과하면 GEOSEARCH 사용)
+ * - pharmacy.redis.snapshot.enabled : 바이너리 스냅샷 저장/조회 여부
+ * - pharmacy.redis.snapshot.compress : 바이너리 스냅샷 Deflate 압축 여부
+ * - pharmacy.redis.snapshot.retain-ms : 포인터 교체 이후 이전 스냅샷을 보관할 시간 (읽는 중인 노드 보호)
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PharmacyRedisTemplateService {
 
-    private static final String CACHE_KEY = "PHARMACY";
+    static final String CACHE_KEY = "PHARMACY";
+    private static final String GEO_KEY = "PHARMACY:GEO";
+    static final String RECORD_KEY_PREFIX = "PHARMACY:RECORD:";
+    private static final String CELL_KEY_PREFIX = "PHARMACY:CELL:";
+    private static final String CELL_DIRECTORY_KEY = "PHARMACY:CELLS";
+    private static final String CELL_INDEX_KEY = "PHARMACY:CELL_OF";
+
+    /**
+     * 스냅샷 키는 같은 해시 슬롯에 놓이도록 해시 태그({PHARMACY:SNAPSHOT})를 사용 (Lua 스크립트에서 함께 접근)
+     */
+    private static final String SNAPSHOT_POINTER_KEY = "{PHARMACY:SNAPSHOT}:CURRENT";
+    private static final String SNAPSHOT_BLOB_KEY_PREFIX = "{PHARMACY:SNAPSHOT}:BLOB:";
+
+    /**
+     * 스냅샷 포인터 교체 스크립트
+     * 새 버전이 현재 버전보다 클 때만 포인터를 바꾸고, 이전 스냅샷에는 만료 시간을 설정합니다.
+     * KEYS[1] = 포인터 키, ARGV[1] = 새 버전, ARGV[2] = 스냅샷 키 접두어, ARGV[3] = 이전 스냅샷 보관 시간(ms)
+     * 반환값: 1 = 교체, 0 = 현재 버전이 같거나 더 최신
+     */
+    private static final RedisScript<Long> SWAP_SNAPSHOT_SCRIPT = RedisScript.of("""
+            local current = redis.call('GET', KEYS[1])
+            if current and tonumber(current) >= tonumber(ARGV[1]) then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[1])
+            if current then
+                redis.call('PEXPIRE', ARGV[2] .. current, ARGV[3])
+            end
+            return 1
+            """, Long.class);
+
+    /**
+     * 압축 레코드의 약국명/주소 구분자 (ASCII Unit Separator, 약국명/주소에 나타나지 않는 문자)
+     */
+    private static final char RECORD_SEPARATOR = '\u001F';
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
     private final ObjectMapper objectMapper;
 
+    /**
+     * 셀 병렬 조회 전용 Executor (PharmacySearchConfig)
+     */
+    private final Executor pharmacyRedisReadExecutor;
+
+    /**
+     * Redis 상태 추적기 - 조회/저장 성공/실패를 기록 (연속 실패 시 호출하는 쪽에서 Redis 를 우회)
+     */
+    private final RedisHealthTracker redisHealthTracker;
+
+    /**
+     * 클라이언트 측 캐시 (RedisConfig, pharmacy.redis.client-cache.enabled 인 경우에만 등록)
+     */
+    @Autowired(required = false)
+    private PharmacyRedisClientCache pharmacyRedisClientCache;
+
+    @Value("${pharmacy.redis.geo.enabled:true}")
+    private boolean geoEnabled = true;
+
+    @Value("${pharmacy.redis.cell.enabled:true}")
+    private boolean cellEnabled = true;
+
+    @Value("${pharmacy.redis.cell.precision:5}")
+    private int cellPrecision = 5;
+
+    @Value("${pharmacy.redis.cell.max-cells:64}")
+    private int maxCells = 64;
+
+    @Value("${pharmacy.redis.client-cache.enabled:false}")
+    private boolean clientCacheEnabled;
+
+    @Value("${pharmacy.redis.snapshot.enabled:true}")
+    private boolean snapshotEnabled = true;
+
+    @Value("${pharmacy.redis.snapshot.compress:true}")
+    private boolean snapshotCompress = true;
+
+    @Value("${pharmacy.redis.snapshot.retain-ms:600000}")
+    private long snapshotRetainMillis = 600_000;
+
     /**
      * RedisTemplate의 HashOperations을 사용하기 위한 초기화 메서드
      */
@@ -48,13 +192,82 @@ public class PharmacyRedisTemplateService {
             return;
         }
         try {
-            hashOperations.put(CACHE_KEY,
-                    pharmacyDto.getId().toString(),
-                    serializePharmacyDto(pharmacyDto));
+            String id = pharmacyDto.getId().toString();
+            String value = serializePharmacyDto(pharmacyDto);
+            if (cellEnabled) saveCell(id, value, cellOf(pharmacyDto), previousCellOf(id));
+            if (writesPharmacyHash()) hashOperations.put(CACHE_KEY, id, value);
+            if (geoEnabled) saveGeo(pharmacyDto);
+            redisHealthTracker.recordSuccess();
             log.info("[PharmacyRedisTemplateService save success] id: {}", pharmacyDto.getId());
         } catch (Exception e) {
             log.error("[PharmacyRedisTemplateService save error] {}", e.getMessage());
+            redisHealthTracker.recordFailure(e);
+        }
+    }
+
+    /**
+     * 약국 정보 여러 건을 파이프라인으로 한 번에 Redis에 저장 (대량 적재용)
+     * id 가 없는 약국은 제외하며, 오류는 호출한 쪽(적재 작업)에서 처리하도록 그대로 던집니다.
+     *
+     * @param pharmacyDtoList 약국 DTO 리스트 (chunk)
+     * @return int 저장한 약국 수
+     */
+    public int saveAll(List<PharmacyDto> pharmacyDtoList) {
+        List<PharmacyDto> valid = pharmacyDtoList.stream()
+                .filter(pharmacyDto -> Objects.nonNull(pharmacyDto) && Objects.nonNull(pharmacyDto.getId()))
+                .toList();
+        if (valid.isEmpty()) return 0;
+
+        // 셀이 바뀐(이동한) 약국을 이전 셀에서 지우기 위해 이전 셀을 한 번에 조회
+        List<String> previousCells = cellEnabled
+                ? previousCellsOf(valid.stream().map(pharmacyDto -> pharmacyDto.getId().toString()).toList())
+                : null;
+
+        Map<byte[], byte[]> hash = new LinkedHashMap<>();
+        Map<String, Map<byte[], byte[]>> cells = new LinkedHashMap<>();
+        Map<byte[], byte[]> cellIndex = new LinkedHashMap<>();
+        Map<String, List<byte[]>> movedOut = new LinkedHashMap<>();
+        Map<byte[], Point> geo = new LinkedHashMap<>();
+        Map<byte[], byte[]> records = new LinkedHashMap<>();
+        for (int i = 0; i < valid.size(); i++) {
+            PharmacyDto pharmacyDto = valid.get(i);
+            String id = pharmacyDto.getId().toString();
+            byte[] value;
+            try {
+                value = bytes(serializePharmacyDto(pharmacyDto));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+            hash.put(bytes(id), value);
+            if (cellEnabled) {
+                String cell = cellOf(pharmacyDto);
+                String previousCell = previousCells.get(i);
+                cells.computeIfAbsent(cell, key -> new LinkedHashMap<>()).put(bytes(id), value);
+                cellIndex.put(bytes(id), bytes(cell));
+                if (Objects.nonNull(previousCell) && !previousCell.equals(cell)) {
+                    movedOut.computeIfAbsent(previousCell, key -> new ArrayList<>()).add(bytes(id));
+                }
+            }
+            geo.put(bytes(id), new Point(pharmacyDto.getLongitude(), pharmacyDto.getLatitude()));
+            records.put(bytes(RECORD_KEY_PREFIX + id), bytes(encodeRecord(pharmacyDto)));
         }
+
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            if (writesPharmacyHash()) connection.hashCommands().hMSet(bytes(CACHE_KEY), hash);
+            if (cellEnabled) {
+                connection.hashCommands().hMSet(bytes(CELL_INDEX_KEY), cellIndex);
+                movedOut.forEach((cell, ids) -> connection.hashCommands().hDel(bytes(cellKey(cell)), ids.toArray(byte[][]::new)));
+                cells.forEach((cell, entries) -> connection.hashCommands().hMSet(bytes(cellKey(cell)), entries));
+                connection.setCommands().sAdd(bytes(CELL_DIRECTORY_KEY),
+                        cells.keySet().stream().map(PharmacyRedisTemplateService::bytes).toArray(byte[][]::new));
+            }
+            if (geoEnabled) {
+                connection.geoCommands().geoAdd(bytes(GEO_KEY), geo);
+                connection.stringCommands().mSet(records);
+            }
+            return null;
+        });
+        return hash.size();
     }
 
     /**
@@ -64,26 +277,371 @@ public class PharmacyRedisTemplateService {
     public List<PharmacyDto> findAll() {
 
         try {
+            if (Objects.nonNull(pharmacyRedisClientCache)) {
+                // 클라이언트 측 캐시가 아직 연결하지 못했으면(null) 아래 RedisTemplate 경로로 조회
+                List<PharmacyDto> cached = pharmacyRedisClientCache.findAll();
+                if (Objects.nonNull(cached)) return cached;
+            }
+
+            if (cellEnabled) {
+                Set<String> cells = stringRedisTemplate.opsForSet().members(CELL_DIRECTORY_KEY);
+                // 셀 저장 이전에 적재된 데이터는 PHARMACY 전체 조회
+                if (Objects.nonNull(cells) && !cells.isEmpty()) return readCells(cells);
+            }
+
             List<PharmacyDto> list = new ArrayList<>();
             for (String value : hashOperations.entries(CACHE_KEY).values()) {
                 PharmacyDto pharmacyDto = deserializePharmacyDto(value);
                 list.add(pharmacyDto);
             }
+            redisHealthTracker.recordSuccess();
             return list;
 
         } catch (Exception e) {
             log.error("[PharmacyRedisTemplateService findAll error]: {}", e.getMessage());
+            redisHealthTracker.recordFailure(e);
             return Collections.emptyList();
         }
     }
 
     /**
-     * 약국 정보를 Redis에서 조회
+     * 약국 정보를 Redis에서 삭제
+     * 이전 셀을 조회한 뒤 모든 키의 삭제를 파이프라인 한 번으로 전송합니다.
      * @param id 약국 ID
      */
     public void delete(Long id) {
-        hashOperations.delete(CACHE_KEY, String.valueOf(id));
-        log.info("[PharmacyRedisTemplateService delete]: {} ", id);
+        if (Objects.isNull(id)) {
+            log.error("Required Values must not be null");
+            return;
+        }
+        try {
+            byte[] field = bytes(String.valueOf(id));
+            String previousCell = cellEnabled ? previousCellOf(String.valueOf(id)) : null;
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                // 셀 저장 이전에 기록된 값이 남아 있을 수 있으므로 PHARMACY 는 항상 삭제
+                connection.hashCommands().hDel(bytes(CACHE_KEY), field);
+                if (cellEnabled) connection.hashCommands().hDel(bytes(CELL_INDEX_KEY), field);
+                if (Objects.nonNull(previousCell)) connection.hashCommands().hDel(bytes(cellKey(previousCell)), field);
+                if (geoEnabled) {
+                    connection.geoCommands().geoRemove(bytes(GEO_KEY), field);
+                    connection.keyCommands().del(bytes(RECORD_KEY_PREFIX + id));
+                }
+                return null;
+            });
+            redisHealthTracker.recordSuccess();
+            log.info("[PharmacyRedisTemplateService delete]: {} ", id);
+        } catch (Exception e) {
+            log.error("[PharmacyRedisTemplateService delete error] {}", e.getMessage());
+            redisHealthTracker.recordFailure(e);
+        }
+    }
+
+    /**
+     * 기준점으로부터 반경 이내의 약국 중 가장 가까운 k개를 조회
+     *
+     * 셀 저장을 사용하면 반경의 바운딩 박스를 덮는 셀만 병렬로 읽어 거리를 계산하고,
+     * 셀 수가 max-cells 를 넘거나(반경이 매우 큰 경우) 셀 저장을 사용하지 않으면 GEOSEARCH 로 조회합니다.
+     *
+     * @param latitude 기준점 위도
+     * @param longitude 기준점 경도
+     * @param k 최대 반환 개수
+     * @param radiusKm 검색 반경 (킬로미터 단위)
+     * @return List<PharmacyGeoCandidate> 가까운 순으로 정렬된 약국 목록 (오류 시 빈 리스트)
+     */
+    public List<PharmacyGeoCandidate> searchNearest(double latitude, double longitude, int k, double radiusKm) {
+        if (cellEnabled) {
+            GeoQuery query = new GeoQuery(latitude, longitude, radiusKm);
+            List<String> cells = GeoHash.coveringCells(query, cellPrecision, maxCells);
+            if (Objects.nonNull(cells)) return searchNearestInCells(query, cells, k);
+        }
+        return searchNearestByGeo(latitude, longitude, k, radiusKm);
+    }
+
+    /**
+     * 반경을 덮는 셀의 약국을 병렬로 읽어 가장 가까운 k개를 선택
+     */
+    private List<PharmacyGeoCandidate> searchNearestInCells(GeoQuery query, List<String> cells, int k) {
+        try {
+            return readCells(cells).stream()
+                    .map(pharmacyDto -> new PharmacyGeoCandidate(pharmacyDto, GeoUtils.distanceKm(
+                            query.getLatitude(), query.getLongitude(), pharmacyDto.getLatitude(), pharmacyDto.getLongitude())))
+                    .filter(candidate -> candidate.getDistance() <= query.getRadiusKm())
+                    .sorted(Comparator.comparingDouble(PharmacyGeoCandidate::getDistance))
+                    .limit(k)
+                    .toList();
+
+        } catch (Exception e) {
+            log.error("[PharmacyRedisTemplateService searchNearestInCells error]: {}", e.getMessage());
+            redisHealthTracker.recordFailure(e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 기준점으로부터 반경 이내의 약국 중 가장 가까운 k개를 Redis GEOSEARCH 로 조회
+     * (GEOSEARCH PHARMACY:GEO FROMLONLAT lon lat BYRADIUS r km ASC COUNT k WITHCOORD WITHDIST)
+     *
+     * 거리 계산과 정렬은 Redis 서버에서 수행되고, 약국명/주소는 결과 k개의 압축 레코드만 MGET 으로 조회합니다.
+     * 좌표는 Geo Set 의 geohash 정밀도(약 0.6m)로 반환되며, 거리는 Redis 의 구면(haversine) 거리입니다.
+     *
+     * @param latitude 기준점 위도
+     * @param longitude 기준점 경도
+     * @param k 최대 반환 개수
+     * @param radiusKm 검색 반경 (킬로미터 단위)
+     * @return List<PharmacyGeoCandidate> 가까운 순으로 정렬된 약국 목록 (오류 시 빈 리스트)
+     */
+    private List<PharmacyGeoCandidate> searchNearestByGeo(double latitude, double longitude, int k, double radiusKm) {
+        if (!geoEnabled) return Collections.emptyList();
+
+        try {
+            GeoResults<RedisGeoCommands.GeoLocation<String>> results = stringRedisTemplate.opsForGeo().search(
+                    GEO_KEY,
+                    GeoReference.fromCoordinate(longitude, latitude),
+                    new Distance(radiusKm, Metrics.KILOMETERS),
+                    RedisGeoCommands.GeoSearchCommandArgs.newGeoSearchArgs()
+                            .includeCoordinates()
+                            .includeDistance()
+                            .sortAscending()
+                            .limit(k));
+            if (Objects.isNull(results) || results.getContent().isEmpty()) return Collections.emptyList();
+
+            List<GeoResult<RedisGeoCommands.GeoLocation<String>>> content = results.getContent();
+            List<String> recordKeys = content.stream()
+                    .map(result -> RECORD_KEY_PREFIX + result.getContent().getName())
+                    .toList();
+            List<String> records = stringRedisTemplate.opsForValue().multiGet(recordKeys);
+
+            List<PharmacyGeoCandidate> candidates = new ArrayList<>(content.size());
+            for (int i = 0; i < content.size(); i++) {
+                String record = Objects.isNull(records) ? null : records.get(i);
+                if (Objects.isNull(record)) {
+                    // Geo Set 에만 남아 있는 약국 (레코드 삭제 후 정리 전) 은 제외
+                    log.warn("[PharmacyRedisTemplateService searchNearest] record not found: {}", recordKeys.get(i));
+                    continue;
+                }
+                GeoResult<RedisGeoCommands.GeoLocation<String>> result = content.get(i);
+                candidates.add(new PharmacyGeoCandidate(
+                        decodeRecord(Long.valueOf(result.getContent().getName()), result.getContent().getPoint(), record),
+                        result.getDistance().getValue()));
+            }
+            redisHealthTracker.recordSuccess();
+            return candidates;
+
+        } catch (Exception e) {
+            log.error("[PharmacyRedisTemplateService searchNearest error]: {}", e.getMessage());
+            redisHealthTracker.recordFailure(e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 약국 스냅샷을 바이너리로 인코딩하여 새 버전 키에 저장하고 포인터를 원자적으로 교체
+     * Redis 의 현재 버전이 같거나 더 최신이면 저장하지 않습니다.
+     *
+     * @param snapshot 약국 스냅샷
+     * @return boolean 교체 여부
+     */
+    public boolean saveSnapshot(PharmacySnapshot snapshot) {
+        if (!snapshotEnabled || Objects.isNull(snapshot) || snapshot.isEmpty()) return false;
+
+        try {
+            Long currentVersion = findSnapshotVersion();
+            if (Objects.nonNull(currentVersion) && currentVersion >= snapshot.version()) return false;
+
+            long start = System.currentTimeMillis();
+            byte[] encoded = PharmacySnapshotCodec.encode(snapshot, snapshotCompress);
+            String blobKey = SNAPSHOT_BLOB_KEY_PREFIX + snapshot.version();
+            stringRedisTemplate.execute((RedisCallback<Boolean>) connection ->
+                    connection.stringCommands().set(blobKey.getBytes(StandardCharsets.UTF_8), encoded));
+
+            Long swapped = stringRedisTemplate.execute(SWAP_SNAPSHOT_SCRIPT, List.of(SNAPSHOT_POINTER_KEY),
+                    String.valueOf(snapshot.version()), SNAPSHOT_BLOB_KEY_PREFIX, String.valueOf(snapshotRetainMillis));
+            if (!Objects.equals(swapped, 1L)) {
+                // 그 사이 다른 노드가 더 최신 버전을 공개한 경우
+                stringRedisTemplate.delete(blobKey);
+                return false;
+            }
+            log.info("[PharmacyRedisTemplateService saveSnapshot success] version: {}, size: {}, bytes: {}, elapsed: {}ms",
+                    snapshot.version(), snapshot.size(), encoded.length, System.currentTimeMillis() - start);
+            return true;
+
+        } catch (Exception e) {
+            log.error("[PharmacyRedisTemplateService saveSnapshot error] {}", e.getMessage());
+            redisHealthTracker.recordFailure(e);
+            return false;
+        }
+    }
+
+    /**
+     * 현재 스냅샷 버전 포인터를 조회
+     * @return 스냅샷 버전 (없으면 null)
+     */
+    public Long findSnapshotVersion() {
+        String version = stringRedisTemplate.opsForValue().get(SNAPSHOT_POINTER_KEY);
+        return Objects.isNull(version) ? null : Long.valueOf(version);
+    }
+
+    /**
+     * 현재 버전의 바이너리 스냅샷 하나를 조회하여 디코딩 (JSON 파싱 없음)
+     * @return 약국 스냅샷 (없거나 손상된 경우 null)
+     */
+    public PharmacySnapshot findSnapshot() {
+        if (!snapshotEnabled) return null;
+
+        try {
+            Long version = findSnapshotVersion();
+            if (Objects.isNull(version)) return null;
+
+            long start = System.currentTimeMillis();
+            byte[] blobKey = (SNAPSHOT_BLOB_KEY_PREFIX + version).getBytes(StandardCharsets.UTF_8);
+            byte[] encoded = stringRedisTemplate.execute((RedisCallback<byte[]>) connection ->
+                    connection.stringCommands().get(blobKey));
+            if (Objects.isNull(encoded)) return null;
+
+            redisHealthTracker.recordSuccess();
+            PharmacySnapshot snapshot = PharmacySnapshotCodec.decode(encoded);
+            log.info("[PharmacyRedisTemplateService findSnapshot] version: {}, size: {}, bytes: {}, elapsed: {}ms",
+                    version, snapshot.size(), encoded.length, System.currentTimeMillis() - start);
+            return snapshot;
+
+        } catch (Exception e) {
+            log.error("[PharmacyRedisTemplateService findSnapshot error]: {}", e.getMessage());
+            redisHealthTracker.recordFailure(e);
+            return null;
+        }
+    }
+
+    /**
+     * 셀 Hash 여러 개를 병렬로 HGETALL 하여 약국 목록으로 변환
+     * (Cluster 에서는 셀마다 슬롯이 다르므로 각 요청이 해당 노드로 나뉘어 전송됨)
+     */
+    private List<PharmacyDto> readCells(Collection<String> cells) {
+        List<CompletableFuture<Map<String, String>>> futures = cells.stream()
+                .map(cell -> CompletableFuture.supplyAsync(
+                        () -> stringRedisTemplate.<String, String>opsForHash().entries(cellKey(cell)),
+                        pharmacyRedisReadExecutor))
+                .toList();
+
+        List<PharmacyDto> list = new ArrayList<>();
+        for (CompletableFuture<Map<String, String>> future : futures) {
+            for (String value : future.join().values()) {
+                try {
+                    list.add(deserializePharmacyDto(value));
+                } catch (JsonProcessingException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+        redisHealthTracker.recordSuccess();
+        return list;
+    }
+
+    /**
+     * 약국을 현재 셀 Hash 에 저장하고, 셀이 바뀐 경우 이전 셀에서 삭제
+     */
+    private void saveCell(String id, String value, String cell, String previousCell) {
+        if (Objects.nonNull(previousCell) && !previousCell.equals(cell)) {
+            stringRedisTemplate.opsForHash().delete(cellKey(previousCell), id);
+        }
+        stringRedisTemplate.opsForHash().put(cellKey(cell), id, value);
+        hashOperations.put(CELL_INDEX_KEY, id, cell);
+        stringRedisTemplate.opsForSet().add(CELL_DIRECTORY_KEY, cell);
+    }
+
+    /**
+     * PHARMACY 전체 Hash 기록 여부 - 셀 저장을 끄면 findAll 이, 클라이언트 측 캐시를 켜면 로컬 사본이 이 키를 읽음
+     * (클라이언트 측 캐시 빈이 없는 적재 전용 노드도 같은 설정이면 기록)
+     */
+    private boolean writesPharmacyHash() {
+        return !cellEnabled || clientCacheEnabled;
+    }
+
+    private String cellOf(PharmacyDto pharmacyDto) {
+        return GeoHash.encode(pharmacyDto.getLatitude(), pharmacyDto.getLongitude(), cellPrecision);
+    }
+
+    /**
+     * 약국의 이전 셀 (PHARMACY:CELL_OF 에 없으면 셀 저장 이전에 기록된 PHARMACY 값으로 확인, 둘 다 없으면 null)
+     */
+    private String previousCellOf(String id) {
+        String cell = hashOperations.get(CELL_INDEX_KEY, id);
+        return Objects.nonNull(cell) ? cell : cellOfValue(hashOperations.get(CACHE_KEY, id));
+    }
+
+    /**
+     * 약국 여러 건의 이전 셀을 한 번에 조회 (PHARMACY:CELL_OF 에 없는 약국만 PHARMACY 값으로 확인)
+     */
+    private List<String> previousCellsOf(List<String> ids) {
+        List<String> cells = new ArrayList<>(hashOperations.multiGet(CELL_INDEX_KEY, ids));
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < cells.size(); i++) {
+            if (Objects.isNull(cells.get(i))) missing.add(i);
+        }
+        if (missing.isEmpty()) return cells;
+
+        List<String> previousValues = hashOperations.multiGet(CACHE_KEY, missing.stream().map(ids::get).toList());
+        for (int i = 0; i < missing.size(); i++) {
+            cells.set(missing.get(i), cellOfValue(previousValues.get(i)));
+        }
+        return cells;
+    }
+
+    /**
+     * PHARMACY Hash 에 저장되어 있던 값의 셀 (없으면 null)
+     */
+    private String cellOfValue(String previousValue) {
+        if (Objects.isNull(previousValue)) return null;
+        try {
+            return cellOf(deserializePharmacyDto(previousValue));
+        } catch (JsonProcessingException e) {
+            log.warn("[PharmacyRedisTemplateService previousCellOf] invalid value: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 셀 키 - geohash 를 해시 태그로 감싸 Cluster 에서 셀 단위로 슬롯이 정해지도록 함
+     */
+    private static String cellKey(String cell) {
+        return CELL_KEY_PREFIX + "{" + cell + "}";
+    }
+
+    /**
+     * 약국 좌표를 Geo Set 에, 약국명/주소를 압축 레코드로 저장
+     * @param pharmacyDto 약국 DTO
+     */
+    private void saveGeo(PharmacyDto pharmacyDto) {
+        String id = pharmacyDto.getId().toString();
+        stringRedisTemplate.opsForGeo().add(GEO_KEY,
+                new Point(pharmacyDto.getLongitude(), pharmacyDto.getLatitude()), id);
+        stringRedisTemplate.opsForValue().set(RECORD_KEY_PREFIX + id, encodeRecord(pharmacyDto));
+    }
+
+    /**
+     * 약국명/주소를 압축 레코드 문자열로 변환 (약국명 + 구분자 + 주소)
+     */
+    private String encodeRecord(PharmacyDto pharmacyDto) {
+        return Objects.toString(pharmacyDto.getPharmacyName(), "")
+                + RECORD_SEPARATOR
+                + Objects.toString(pharmacyDto.getPharmacyAddress(), "");
+    }
+
+    /**
+     * Geo 검색 결과와 압축 레코드로 PharmacyDto 생성
+     */
+    private PharmacyDto decodeRecord(Long id, Point point, String record) {
+        int separator = record.indexOf(RECORD_SEPARATOR);
+        return PharmacyDto.builder()
+                .id(id)
+                .pharmacyName(separator < 0 ? record : record.substring(0, separator))
+                .pharmacyAddress(separator < 0 ? "" : record.substring(separator + 1))
+                .latitude(point.getY())
+                .longitude(point.getX())
+                .build();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
     }
 
     /**
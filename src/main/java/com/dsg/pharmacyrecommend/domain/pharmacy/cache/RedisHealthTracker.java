@@ -0,0 +1,127 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Redis 상태 추적기 (회로 차단기)
+ *
+ * Redis 명령이 연속으로 failure-threshold 번 실패(연결 실패/타임아웃 등 DataAccessException)하면 차단 상태가 되고,
+ * 차단된 동안 호출하는 쪽은 Redis 를 거치지 않고 바로 DB/메모리 경로를 사용합니다.
+ * (장애 중에도 요청마다 명령 타임아웃을 기다리지 않음)
+ * 차단 상태에서는 백그라운드로 주기적으로 PING 을 보내고, 응답하면 다시 Redis 를 사용합니다.
+ *
+ * 메트릭:
+ * - pharmacy.redis.available : 1 = 사용 가능, 0 = 차단
+ * - pharmacy.redis.bypass : 차단 상태여서 Redis 를 거치지 않은 요청 수 (operation 태그)
+ *
+ * 설정 (application.yml):
+ * - pharmacy.redis.health.failure-threshold : 차단 전환 연속 실패 횟수
+ * - pharmacy.redis.health.probe-interval-ms : 차단 상태의 PING 확인 주기
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisHealthTracker {
+
+    private static final String AVAILABLE = "pharmacy.redis.available";
+    private static final String BYPASS = "pharmacy.redis.bypass";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile boolean open;
+
+    /**
+     * operation 별 우회 카운터 (요청마다 Meter 조회 비용이 들지 않도록 캐싱)
+     */
+    private final Map<String, Counter> bypassCounters = new ConcurrentHashMap<>();
+
+    @Value("${pharmacy.redis.health.failure-threshold:3}")
+    private int failureThreshold = 3;
+
+    @PostConstruct
+    public void bindMetrics() {
+        Gauge.builder(AVAILABLE, this, tracker -> tracker.open ? 0 : 1)
+                .description("Redis 사용 가능 여부 (0 이면 DB/메모리 경로로 우회)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Redis 를 사용해도 되는지 확인합니다. 차단 상태이면 우회 횟수를 기록하고 false 를 반환합니다.
+     *
+     * @param operation 우회한 작업 이름 (메트릭 태그)
+     * @return boolean Redis 사용 가능 여부
+     */
+    public boolean tryAcquire(String operation) {
+        if (!open) return true;
+        bypassCounters.computeIfAbsent(operation, this::registerBypassCounter).increment();
+        return false;
+    }
+
+    public boolean isAvailable() {
+        return !open;
+    }
+
+    /**
+     * Redis 명령 성공 기록 - 연속 실패 횟수 초기화
+     */
+    public void recordSuccess() {
+        if (consecutiveFailures.get() != 0) consecutiveFailures.set(0);
+    }
+
+    /**
+     * Redis 명령 실패 기록 - 연결/타임아웃 등 Redis 접근 오류만 집계 (역직렬화 오류 등은 제외)
+     *
+     * @param e 발생한 예외
+     */
+    public void recordFailure(Throwable e) {
+        Throwable cause = e instanceof CompletionException && Objects.nonNull(e.getCause()) ? e.getCause() : e;
+        if (!(cause instanceof DataAccessException)) return;
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold && !open) {
+            open = true;
+            log.warn("[RedisHealthTracker] Redis 연속 {}회 실패로 우회합니다: {}", consecutiveFailures.get(), e.getMessage());
+        }
+    }
+
+    /**
+     * 차단 상태에서 Redis 응답 여부를 확인하고, 응답하면 다시 사용합니다.
+     */
+    @Scheduled(fixedDelayString = "${pharmacy.redis.health.probe-interval-ms:1000}")
+    public void probe() {
+        if (!open) return;
+
+        try {
+            stringRedisTemplate.execute((RedisCallback<String>) connection -> connection.ping());
+            consecutiveFailures.set(0);
+            open = false;
+            log.info("[RedisHealthTracker] Redis 가 응답하여 다시 사용합니다.");
+        } catch (RuntimeException e) {
+            log.debug("[RedisHealthTracker probe] 응답 없음: {}", e.getMessage());
+        }
+    }
+
+    private Counter registerBypassCounter(String operation) {
+        return Counter.builder(BYPASS)
+                .description("Redis 차단 상태에서 DB/메모리 경로로 우회한 요청 수")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
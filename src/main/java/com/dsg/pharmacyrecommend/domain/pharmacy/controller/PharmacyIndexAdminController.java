@@ -0,0 +1,68 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.controller;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyIndexStatusDto;
+import com.dsg.pharmacyrecommend.domain.pharmacy.index.PharmacyIndexState;
+import com.dsg.pharmacyrecommend.domain.pharmacy.index.PharmacySpatialIndexService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Objects;
+
+/**
+ * 약국 인덱스 관리 API
+ *
+ * 재적재 요청은 백그라운드에서 수행되며 즉시 202 Accepted 와 현재 상태를 반환합니다.
+ * 교체가 끝나면 상태 조회 결과의 version, builtAt 이 바뀝니다.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/pharmacy-index")
+public class PharmacyIndexAdminController {
+
+    private final PharmacySpatialIndexService pharmacySpatialIndexService;
+
+    /**
+     * 현재 인덱스 상태(스냅샷 버전, 생성 시각)를 조회
+     * @return 인덱스 상태
+     */
+    @GetMapping
+    public ResponseEntity<PharmacyIndexStatusDto> getStatus() {
+        return ResponseEntity.ok(status());
+    }
+
+    /**
+     * DB 의 약국 목록으로 인덱스를 백그라운드 재적재
+     * @return 요청 시점의 인덱스 상태 (reloading = true)
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<PharmacyIndexStatusDto> reload() {
+        log.info("[PharmacyIndexAdminController.reload] start");
+        pharmacySpatialIndexService.reloadAsync();
+        return ResponseEntity.accepted().body(status());
+    }
+
+    private PharmacyIndexStatusDto status() {
+        PharmacyIndexState state = pharmacySpatialIndexService.currentState();
+        boolean reloading = pharmacySpatialIndexService.isReloading();
+        if (Objects.isNull(state)) {
+            return PharmacyIndexStatusDto.builder().ready(false).reloading(reloading).build();
+        }
+
+        return PharmacyIndexStatusDto.builder()
+                .ready(true)
+                .version(state.version())
+                .size(state.snapshot().size())
+                .source(state.getSource().name())
+                .builtAt(state.getBuiltAt())
+                .buildMillis(state.getBuildMillis())
+                .rasterReady(Objects.nonNull(state.getRaster()))
+                .reloading(reloading)
+                .build();
+    }
+}
@@ -1,44 +1,77 @@
 package com.dsg.pharmacyrecommend.domain.pharmacy.controller;
 
-import com.dsg.pharmacyrecommend.domain.pharmacy.cache.PharmacyRedisTemplateService;
-import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
-import com.dsg.pharmacyrecommend.domain.pharmacy.service.PharmacyRepositoryService;
+import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyRedisLoadJobDto;
+import com.dsg.pharmacyrecommend.domain.pharmacy.service.PharmacyRedisLoadJob;
+import com.dsg.pharmacyrecommend.domain.pharmacy.service.PharmacyRedisLoadService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
+import java.util.Objects;
 
+/**
+ * 약국 정보 Redis 적재 API
+ *
+ * 적재는 백그라운드 작업으로 수행되며 즉시 202 Accepted 와 작업 id 를 반환합니다.
+ * 진행률/처리량은 작업 id 로 조회합니다.
+ */
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/pharmacy")
 public class PharmacyRedisController {
 
+    private final PharmacyRedisLoadService pharmacyRedisLoadService;
 
-    private final PharmacyRepositoryService pharmacyRepositoryService;
-    private final PharmacyRedisTemplateService pharmacyRedisTemplateService;
+    /**
+     * 약국 정보를 Redis에 적재 (약국별 Hash/Geo 와 바이너리 스냅샷)
+     * @return 시작한(또는 이미 진행 중인) 적재 작업
+     */
+    @PostMapping("/redis/load")
+    public ResponseEntity<PharmacyRedisLoadJobDto> loadPharmacyRedis() {
+        log.info("[PharmacyRedisController.loadPharmacyRedis] start");
+        PharmacyRedisLoadJob job = pharmacyRedisLoadService.start();
+        return ResponseEntity.accepted().body(toDto(job));
+    }
 
     /**
-     * 처음 약국 정보를 Redis에 저장
-     * @return success
+     * 처음 약국 정보를 Redis에 저장 (이전 버전 호환, POST /redis/load 와 같음)
+     * @return 시작한(또는 이미 진행 중인) 적재 작업
      */
     @GetMapping("/redis/save")
-    public String savePharmacyRedis() {
-        log.info("[PharmacyRedisController.savePharmacyRedis] start");
-        List<PharmacyDto> pharmacyDtoList = pharmacyRepositoryService.findAll()
-                .stream().map(pharmacy -> PharmacyDto.builder()
-                        .id(pharmacy.getId())
-                        .pharmacyName(pharmacy.getPharmacyName())
-                        .pharmacyAddress(pharmacy.getPharmacyAddress())
-                        .latitude(pharmacy.getLatitude())
-                        .longitude(pharmacy.getLongitude())
-                        .build())
-                .toList();
-
-        pharmacyDtoList.forEach(pharmacyRedisTemplateService::save);
-        return "success";
+    public ResponseEntity<PharmacyRedisLoadJobDto> savePharmacyRedis() {
+        return loadPharmacyRedis();
+    }
+
+    /**
+     * 적재 작업의 진행 상태를 조회
+     * @param jobId 작업 id
+     * @return 적재 작업 상태 (없으면 404)
+     */
+    @GetMapping("/redis/load/{jobId}")
+    public ResponseEntity<PharmacyRedisLoadJobDto> getLoadJob(@PathVariable String jobId) {
+        PharmacyRedisLoadJob job = pharmacyRedisLoadService.findJob(jobId);
+        if (Objects.isNull(job)) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(toDto(job));
+    }
+
+    private PharmacyRedisLoadJobDto toDto(PharmacyRedisLoadJob job) {
+        return PharmacyRedisLoadJobDto.builder()
+                .jobId(job.getId())
+                .status(job.getStatus().name())
+                .total(job.getTotal())
+                .loaded(job.getLoaded())
+                .progress(job.progress())
+                .throughputPerSecond(job.throughputPerSecond())
+                .elapsedMillis(job.elapsed().toMillis())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .error(job.getError())
+                .build();
     }
 }
@@ -0,0 +1,20 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@Builder
+public class PharmacyIndexStatusDto {
+
+    private boolean ready;        // 인덱스 생성 여부
+    private Long version;          // 스냅샷 버전 (epoch millis)
+    private Integer size;         // 약국 수
+    private String source;        // 스냅샷 원본 (SNAPSHOT_FILE, CACHE_OR_DB, DB, CHANGE_EVENT)
+    private Instant builtAt;      // 인덱스 교체 시각
+    private Long buildMillis;     // 인덱스 생성 소요 시간 (ms)
+    private boolean rasterReady;  // 최근접 약국 래스터 생성 여부
+    private boolean reloading;    // 백그라운드 재적재 진행 여부
+}
@@ -0,0 +1,22 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@Builder
+public class PharmacyRedisLoadJobDto {
+
+    private String jobId;             // 적재 작업 id
+    private String status;            // 작업 상태 (RUNNING, COMPLETED, FAILED)
+    private long total;               // 적재 대상 약국 수 (시작 시점 DB 건수)
+    private long loaded;              // 적재 완료 약국 수
+    private double progress;          // 진행률 (0 ~ 1)
+    private double throughputPerSecond; // 초당 적재 건수
+    private long elapsedMillis;       // 경과 시간 (ms)
+    private Instant startedAt;        // 시작 시각
+    private Instant finishedAt;       // 종료 시각
+    private String error;             // 실패 사유
+}
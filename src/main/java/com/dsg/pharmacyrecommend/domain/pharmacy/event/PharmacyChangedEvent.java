@@ -0,0 +1,23 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 약국 데이터(pharmacy 테이블)가 변경되었음을 알리는 이벤트
+ *
+ * 트랜잭션 커밋 이후 약국 스냅샷, 공간 인덱스, 최근접 약국 래스터를 부분 갱신하는 데 사용합니다.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class PharmacyChangedEvent {
+
+    /**
+     * 추가/변경/삭제된 약국 id 목록
+     */
+    private final List<Long> pharmacyIds;
+}
@@ -0,0 +1,64 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.index;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshot;
+import com.dsg.pharmacyrecommend.geo.DistanceKernel;
+import com.dsg.pharmacyrecommend.geo.GeoPoints;
+import com.dsg.pharmacyrecommend.geo.GeoQuery;
+
+/**
+ * 별도 공간 구조 없이 스냅샷 전체를 순차 탐색하는 약국 "인덱스"
+ *
+ * 생성 비용이 없으므로(스냅샷을 그대로 사용) 인덱스가 아직 준비되지 않았거나
+ * 데이터가 작아 인덱스 이점이 적은 경우에 사용합니다.
+ *
+ * 탐색 방식:
+ * 1. BLOCK_SIZE 단위로 거리 계산 커널(SIMD 또는 스칼라)이 cos(중심각)을 일괄 계산
+ * 2. cos(반경) 보다 작은(반경 밖) 후보는 acos 없이 제외
+ * 3. 반경 이내 후보만 거리 변환 후 힙에 추가
+ */
+public class BruteForcePharmacySpatialIndex implements PharmacySpatialIndex {
+
+    /**
+     * 한 번에 커널로 계산하는 후보 수 (L1 캐시에 들어가는 크기)
+     */
+    private static final int BLOCK_SIZE = 1024;
+
+    private final PharmacySnapshot snapshot;
+    private final DistanceKernel kernel;
+
+    public BruteForcePharmacySpatialIndex(PharmacySnapshot snapshot, DistanceKernel kernel) {
+        this.snapshot = snapshot;
+        this.kernel = kernel;
+    }
+
+    @Override
+    public void collectNearest(GeoQuery query, TopKHeap heap, SearchStats stats) {
+        stats.addRing();
+        stats.addCandidates(snapshot.size());
+        scan(query, 0, snapshot.size(), heap);
+    }
+
+    /**
+     * 스냅샷의 [from, to) 구간을 순차 탐색하여 반경 이내 후보를 힙에 추가합니다.
+     */
+    void scan(GeoQuery query, int from, int to, TopKHeap heap) {
+        GeoPoints points = snapshot.points();
+        double radiusKm = query.getRadiusKm();
+        double[] cosines = new double[Math.min(BLOCK_SIZE, Math.max(0, to - from))];
+
+        for (int blockStart = from; blockStart < to; blockStart += BLOCK_SIZE) {
+            int blockEnd = Math.min(to, blockStart + BLOCK_SIZE);
+            kernel.cosines(query, points, blockStart, blockEnd, cosines);
+
+            for (int i = blockStart; i < blockEnd; i++) {
+                double distance = query.distanceFromCosine(cosines[i - blockStart]);
+                if (distance <= radiusKm) heap.offer(i, distance);
+            }
+        }
+    }
+
+    @Override
+    public PharmacySnapshot snapshot() {
+        return snapshot;
+    }
+}
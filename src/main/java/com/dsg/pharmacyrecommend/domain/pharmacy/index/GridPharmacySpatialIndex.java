@@ -0,0 +1,179 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.index;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshot;
+import com.dsg.pharmacyrecommend.geo.GeoPoints;
+import com.dsg.pharmacyrecommend.geo.GeoQuery;
+import com.dsg.pharmacyrecommend.geo.GeoUtils;
+
+/**
+ * 균일 위경도 격자 기반 약국 공간 인덱스
+ *
+ * 약국들의 위경도 범위를 일정한 크기(도 단위)의 셀로 나누고,
+ * 각 셀에 속한 약국 번호를 셀 순서대로 하나의 배열에 모아 둡니다. (CSR 형태)
+ *
+ * 검색 방식 (링 확장 탐색):
+ * 1. 셀 한 변 길이만큼의 작은 링(반경)에서 시작하여 링의 바운딩 박스와 겹치는 셀만 순회
+ * 2. 셀 안의 약국은 바운딩 박스 비교 후 사전 계산된 sin/cos 로 거리 계산
+ * 3. 반경 이내 약국 중 가까운 k개를 힙에 유지
+ * 4. k개를 찾았고 k번째 거리가 링 반경 이하이면 종료 (링 밖 약국은 링 반경보다 멀다)
+ * 5. 아니면 링 반경을 두 배로 늘려 새로 포함된 셀만 추가로 탐색 (검색 반경까지)
+ *
+ * 약국이 밀집한 도심에서는 첫 링에서 대부분 종료되므로 검색 반경(10km) 전체를 탐색하지 않습니다.
+ *
+ * 셀 크기 기본값 0.01도 (위도 방향 약 1.1km)
+ */
+public class GridPharmacySpatialIndex implements PharmacySpatialIndex {
+
+    /**
+     * 좌표 이상치(예: 0,0)로 격자가 과도하게 커지는 것을 막기 위한 최대 셀 개수
+     */
+    private static final long MAX_CELL_COUNT = 4_000_000L;
+
+    private final PharmacySnapshot snapshot;
+    private final GeoPoints points;
+    private final double minLatitude;
+    private final double minLongitude;
+    private final double maxLatitude;
+    private final double maxLongitude;
+    private final double cellSizeDegrees;
+    private final int rows;
+    private final int cols;
+
+    /**
+     * 링 확장 탐색의 첫 링 반경 (셀 한 변의 위도 방향 길이, km)
+     * 이보다 작은 링은 같은 셀들을 탐색하므로 의미가 없다
+     */
+    private final double initialRingKm;
+
+    /**
+     * cellStart[c] ~ cellStart[c + 1] 구간이 셀 c 에 속한 약국 번호 (cellItems 기준)
+     */
+    private final int[] cellStart;
+    private final int[] cellItems;
+
+    public GridPharmacySpatialIndex(PharmacySnapshot snapshot, double cellSizeDegrees) {
+        this.snapshot = snapshot;
+        this.points = snapshot.points();
+        int size = snapshot.size();
+
+        double minLat = Double.POSITIVE_INFINITY, minLon = Double.POSITIVE_INFINITY;
+        double maxLat = Double.NEGATIVE_INFINITY, maxLon = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < points.size(); i++) {
+            minLat = Math.min(minLat, points.latitude(i));
+            minLon = Math.min(minLon, points.longitude(i));
+            maxLat = Math.max(maxLat, points.latitude(i));
+            maxLon = Math.max(maxLon, points.longitude(i));
+        }
+        if (size == 0) {
+            minLat = minLon = maxLat = maxLon = 0;
+        }
+        this.minLatitude = minLat;
+        this.minLongitude = minLon;
+        this.maxLatitude = maxLat;
+        this.maxLongitude = maxLon;
+
+        // 셀 개수가 상한을 넘으면 셀 크기를 키워서 맞춘다
+        double cellSize = cellSizeDegrees;
+        while ((double) cellCount(maxLat - minLat, cellSize) * cellCount(maxLon - minLon, cellSize) > MAX_CELL_COUNT) {
+            cellSize *= 2;
+        }
+        this.cellSizeDegrees = cellSize;
+        this.rows = (int) cellCount(maxLat - minLat, cellSize);
+        this.cols = (int) cellCount(maxLon - minLon, cellSize);
+        this.initialRingKm = Math.toRadians(cellSize) * GeoUtils.EARTH_RADIUS_KM;
+
+        // counting sort 로 셀 순서대로 약국 번호 정렬
+        int[] cellOfPharmacy = new int[size];
+        this.cellStart = new int[rows * cols + 1];
+        for (int i = 0; i < size; i++) {
+            int cell = row(points.latitude(i)) * cols + col(points.longitude(i));
+            cellOfPharmacy[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int c = 0; c < rows * cols; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        this.cellItems = new int[size];
+        int[] cursor = new int[rows * cols];
+        for (int i = 0; i < size; i++) {
+            int cell = cellOfPharmacy[i];
+            cellItems[cellStart[cell] + cursor[cell]++] = i;
+        }
+    }
+
+    @Override
+    public void collectNearest(GeoQuery query, TopKHeap heap, SearchStats stats) {
+        if (snapshot.isEmpty()) return;
+
+        // 검색 반경의 바운딩 박스가 격자 범위와 겹치지 않으면 탐색 생략
+        if (query.getMaxLatitude() < minLatitude || query.getMinLatitude() > maxLatitude
+                || query.getMaxLongitude() < minLongitude || query.getMinLongitude() > maxLongitude) {
+            return;
+        }
+
+        double radiusKm = query.getRadiusKm();
+        double ringKm = Math.min(initialRingKm, radiusKm);
+        int scannedRowFrom = 0, scannedRowTo = -1, scannedColFrom = 0, scannedColTo = -1;
+
+        while (true) {
+            stats.addRing();
+            double latitudeDelta = GeoUtils.latitudeDeltaDegrees(ringKm);
+            double longitudeDelta = GeoUtils.longitudeDeltaDegrees(query.getLatitude(), ringKm);
+            int rowFrom = row(Math.max(query.getMinLatitude(), query.getLatitude() - latitudeDelta));
+            int rowTo = row(Math.min(query.getMaxLatitude(), query.getLatitude() + latitudeDelta));
+            int colFrom = col(Math.max(query.getMinLongitude(), query.getLongitude() - longitudeDelta));
+            int colTo = col(Math.min(query.getMaxLongitude(), query.getLongitude() + longitudeDelta));
+
+            // 이전 링에서 탐색한 셀 사각형은 건너뛰고 새로 포함된 셀만 탐색
+            for (int r = rowFrom; r <= rowTo; r++) {
+                boolean scannedRow = r >= scannedRowFrom && r <= scannedRowTo;
+                for (int c = colFrom; c <= colTo; c++) {
+                    if (scannedRow && c >= scannedColFrom && c <= scannedColTo) {
+                        c = scannedColTo;
+                        continue;
+                    }
+                    scanCell(r * cols + c, query, heap, stats);
+                }
+            }
+            scannedRowFrom = rowFrom;
+            scannedRowTo = rowTo;
+            scannedColFrom = colFrom;
+            scannedColTo = colTo;
+
+            // 링 안의 약국은 모두 탐색했으므로, k번째 후보가 링 안에 있으면 링 밖에 더 가까운 약국은 없음
+            if (ringKm >= radiusKm || (heap.isFull() && heap.bound(radiusKm) <= ringKm)) return;
+            ringKm = Math.min(ringKm * 2, radiusKm);
+        }
+    }
+
+    private void scanCell(int cell, GeoQuery query, TopKHeap heap, SearchStats stats) {
+        double radiusKm = query.getRadiusKm();
+        stats.addCandidates(cellStart[cell + 1] - cellStart[cell]);
+        for (int p = cellStart[cell]; p < cellStart[cell + 1]; p++) {
+            int position = cellItems[p];
+            double distance = query.distanceWithinRadius(points, position);
+            if (distance <= radiusKm) heap.offer(position, distance);
+        }
+    }
+
+    @Override
+    public PharmacySnapshot snapshot() {
+        return snapshot;
+    }
+
+    private int row(double latitude) {
+        return clamp((int) Math.floor((latitude - minLatitude) / cellSizeDegrees), rows);
+    }
+
+    private int col(double longitude) {
+        return clamp((int) Math.floor((longitude - minLongitude) / cellSizeDegrees), cols);
+    }
+
+    private static int clamp(int value, int size) {
+        return Math.max(0, Math.min(size - 1, value));
+    }
+
+    private static long cellCount(double span, double cellSize) {
+        return (long) Math.floor(span / cellSize) + 1;
+    }
+}
@@ -0,0 +1,146 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.index;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshot;
+import com.dsg.pharmacyrecommend.geo.GeoPoints;
+import com.dsg.pharmacyrecommend.geo.GeoQuery;
+import com.dsg.pharmacyrecommend.geo.GeoUtils;
+
+/**
+ * 위경도 2차원 KD-트리 기반 약국 공간 인덱스
+ *
+ * 별도의 노드 객체 없이 약국 번호 배열(order)을 재배치하여 트리를 표현합니다.
+ * 구간 [lo, hi) 의 중앙(mid) 원소가 노드이며, 깊이가 짝수면 위도, 홀수면 경도를 기준으로
+ * 왼쪽 구간에는 작거나 같은 값, 오른쪽 구간에는 크거나 같은 값이 위치합니다.
+ *
+ * 검색 방식:
+ * 1. 기준점이 속한 쪽 하위 트리부터 탐색
+ * 2. 노드 약국은 바운딩 박스 비교 후 사전 계산된 sin/cos 로 거리 계산
+ * 3. 현재 거리 한계(검색 반경 또는 k번째 후보 거리)를 위경도 변화량으로 변환
+ * 4. 분할선이 그 범위 밖이면 반대쪽 하위 트리는 탐색하지 않음
+ *
+ * 약국 밀도 편차가 큰 데이터(도심/지방 혼재)에서도 탐색 노드 수가 일정하게 유지됩니다.
+ */
+public class KdTreePharmacySpatialIndex implements PharmacySpatialIndex {
+
+    private final PharmacySnapshot snapshot;
+    private final GeoPoints points;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final int[] order;
+
+    public KdTreePharmacySpatialIndex(PharmacySnapshot snapshot) {
+        int size = snapshot.size();
+        this.snapshot = snapshot;
+        this.points = snapshot.points();
+        this.latitudes = new double[size];
+        this.longitudes = new double[size];
+        this.order = new int[size];
+        for (int i = 0; i < size; i++) {
+            latitudes[i] = points.latitude(i);
+            longitudes[i] = points.longitude(i);
+            order[i] = i;
+        }
+        build(0, size, 0);
+    }
+
+    @Override
+    public void collectNearest(GeoQuery query, TopKHeap heap, SearchStats stats) {
+        stats.addRing();
+        if (snapshot.isEmpty()) return;
+
+        Search search = new Search(query, heap);
+        search.visit(0, snapshot.size(), 0);
+        stats.addCandidates(search.visited);
+    }
+
+    @Override
+    public PharmacySnapshot snapshot() {
+        return snapshot;
+    }
+
+    private void build(int lo, int hi, int depth) {
+        if (hi - lo <= 1) return;
+        int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, (depth & 1) == 0 ? latitudes : longitudes);
+        build(lo, mid, depth + 1);
+        build(mid + 1, hi, depth + 1);
+    }
+
+    /**
+     * order[left..right] 구간에서 nth 번째 원소가 제자리에 오도록 재배치 (quickselect)
+     */
+    private void select(int left, int right, int nth, double[] key) {
+        while (left < right) {
+            double pivot = key[order[(left + right) >>> 1]];
+            int i = left, j = right;
+            while (i <= j) {
+                while (key[order[i]] < pivot) i++;
+                while (key[order[j]] > pivot) j--;
+                if (i <= j) {
+                    int tmp = order[i];
+                    order[i++] = order[j];
+                    order[j--] = tmp;
+                }
+            }
+            if (nth <= j) right = j;
+            else if (nth >= i) left = i;
+            else return;
+        }
+    }
+
+    /**
+     * 한 번의 검색 상태 - 거리 한계가 바뀔 때만 위경도 변화량을 다시 계산한다
+     */
+    private class Search {
+
+        private final GeoQuery query;
+        private final double latitude;
+        private final double longitude;
+        private final double radiusKm;
+        private final TopKHeap heap;
+
+        private long visited;
+        private double boundKm = Double.NaN;
+        private double latitudeDelta;
+        private double longitudeDelta;
+
+        Search(GeoQuery query, TopKHeap heap) {
+            this.query = query;
+            this.latitude = query.getLatitude();
+            this.longitude = query.getLongitude();
+            this.radiusKm = query.getRadiusKm();
+            this.heap = heap;
+        }
+
+        void visit(int lo, int hi, int depth) {
+            if (lo >= hi) return;
+            int mid = (lo + hi) >>> 1;
+            int p = order[mid];
+            visited++;
+            double distance = query.distanceWithinRadius(points, p);
+            if (distance <= radiusKm) heap.offer(p, distance);
+
+            boolean byLatitude = (depth & 1) == 0;
+            double split = byLatitude ? latitudes[p] : longitudes[p];
+            double value = byLatitude ? latitude : longitude;
+
+            if (value < split) {
+                visit(lo, mid, depth + 1);
+                if (value + delta(byLatitude) >= split) visit(mid + 1, hi, depth + 1);
+            } else {
+                visit(mid + 1, hi, depth + 1);
+                if (value - delta(byLatitude) <= split) visit(lo, mid, depth + 1);
+            }
+        }
+
+        private double delta(boolean byLatitude) {
+            double currentBound = heap.bound(radiusKm);
+            if (currentBound != boundKm) {
+                boundKm = currentBound;
+                latitudeDelta = GeoUtils.latitudeDeltaDegrees(currentBound);
+                longitudeDelta = GeoUtils.longitudeDeltaDegrees(latitude, currentBound);
+            }
+            return byLatitude ? latitudeDelta : longitudeDelta;
+        }
+    }
+}
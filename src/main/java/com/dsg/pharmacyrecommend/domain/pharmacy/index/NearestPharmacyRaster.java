@@ -0,0 +1,411 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.index;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshot;
+import com.dsg.pharmacyrecommend.geo.GeoPoints;
+import com.dsg.pharmacyrecommend.geo.GeoQuery;
+import com.dsg.pharmacyrecommend.geo.GeoUtils;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * 가장 가까운 약국 1개(k=1) 조회용 사전 계산 래스터 (이산화된 보로노이 다이어그램)
+ *
+ * 서비스 지역을 고정 크기 위경도 셀로 나누고, 셀마다 "셀 안의 어떤 지점에서든
+ * 가장 가까운 약국이 될 수 있는" 약국 번호 몇 개만 미리 저장해 둡니다.
+ * 검색 시에는 기준점이 속한 셀의 짧은 후보 목록만 확인하므로 O(1)에 가깝게 응답합니다.
+ *
+ * 후보 선정 규칙 (셀 중심 c, 셀 반대각선 길이 h, c 에서 가장 가까운 약국까지의 거리 d):
+ * - 셀 안의 지점 q 의 최근접 약국 n 은 dist(q, n) <= d + h 이므로 dist(c, n) <= d + 2h
+ * - 따라서 c 로부터 d + 2h 이내의 약국만 후보로 저장하면 셀 안 모든 지점의 최근접 약국이 포함됨
+ * - 후보가 maxCandidates 를 넘는 셀(밀집 지역)은 후보를 저장하지 않고 공간 인덱스 탐색으로 대체
+ * - 반경 maxRadiusKm + h 안에 약국이 없는 셀은 빈 셀로 저장 (셀 안 어디서도 최대 반경 내 약국 없음)
+ *
+ * 저장 형태:
+ * - cellStart/cellItems : 셀별 후보 약국 번호 (CSR 형태 int 배열, 셀마다 객체 없음)
+ * - cellRadiusKm : 셀 결과에 영향을 줄 수 있는 반경 (d + 2h), 부분 갱신 대상 셀 판별용
+ *
+ * 약국이 추가/이동/삭제되면 {@link #update} 로 변경 좌표의 영향 반경 안에 있는 셀만 다시 계산합니다.
+ * 생성 이후 변경되지 않으며(immutable) 여러 스레드에서 동시에 조회할 수 있습니다.
+ */
+public final class NearestPharmacyRaster {
+
+    /**
+     * 래스터 셀 수 상한 (셀 크기가 너무 작게 설정되어도 배열이 과도하게 커지지 않도록 제한)
+     */
+    private static final int MAX_CELL_COUNT = 4_000_000;
+
+    /**
+     * 후보 반경 경계의 부동소수점 오차 보정값 (km)
+     */
+    private static final double EPSILON_KM = 1e-6;
+
+    private final PharmacySnapshot snapshot;
+    private final Layout layout;
+    private final double maxRadiusKm;
+    private final int maxCandidates;
+
+    private final int[] cellStart;
+    private final int[] cellItems;
+    private final float[] cellRadiusKm;
+    private final BitSet overflowCells;
+    private final double maxCellRadiusKm;
+
+    private NearestPharmacyRaster(PharmacySnapshot snapshot, Layout layout, double maxRadiusKm, int maxCandidates,
+                                  int[] cellStart, int[] cellItems, float[] cellRadiusKm,
+                                  BitSet overflowCells, double maxCellRadiusKm) {
+        this.snapshot = snapshot;
+        this.layout = layout;
+        this.maxRadiusKm = maxRadiusKm;
+        this.maxCandidates = maxCandidates;
+        this.cellStart = cellStart;
+        this.cellItems = cellItems;
+        this.cellRadiusKm = cellRadiusKm;
+        this.overflowCells = overflowCells;
+        this.maxCellRadiusKm = maxCellRadiusKm;
+    }
+
+    /**
+     * 스냅샷 전체에 대해 래스터를 생성합니다.
+     *
+     * @param snapshot 약국 스냅샷
+     * @param index 같은 스냅샷으로 만든 공간 인덱스 (셀별 후보 계산용, 반경 편차가 크므로 KD-트리 권장)
+     * @param cellSizeDegrees 셀 크기 (도 단위)
+     * @param maxRadiusKm 래스터로 응답할 최대 검색 반경 (km)
+     * @param maxCandidates 셀당 저장할 최대 후보 수
+     * @return NearestPharmacyRaster 래스터
+     */
+    public static NearestPharmacyRaster build(PharmacySnapshot snapshot, PharmacySpatialIndex index,
+                                              double cellSizeDegrees, double maxRadiusKm, int maxCandidates) {
+        Layout layout = Layout.covering(snapshot, cellSizeDegrees, maxRadiusKm);
+        Builder builder = new Builder(layout, index, maxRadiusKm, maxCandidates);
+        for (int cell = 0; cell < layout.cellCount(); cell++) {
+            builder.computeCell(cell);
+        }
+        return builder.build(snapshot);
+    }
+
+    /**
+     * 변경된 약국 좌표의 영향 반경 안에 있는 셀만 다시 계산한 새 래스터를 반환합니다.
+     *
+     * 변경 좌표에는 이동 전/후 좌표, 추가된 약국의 좌표, 삭제된 약국의 좌표를 모두 전달해야 합니다.
+     * 나머지 셀은 후보 약국 번호만 새 스냅샷 기준으로 옮겨 재사용합니다.
+     * 변경 좌표가 래스터 영역을 벗어나면 영역을 다시 잡기 위해 전체를 새로 생성합니다.
+     *
+     * @param newSnapshot 변경이 반영된 약국 스냅샷
+     * @param newIndex 새 스냅샷으로 만든 공간 인덱스
+     * @param changedLatitudes 변경 좌표 위도 목록
+     * @param changedLongitudes 변경 좌표 경도 목록
+     * @return NearestPharmacyRaster 갱신된 래스터
+     */
+    public NearestPharmacyRaster update(PharmacySnapshot newSnapshot, PharmacySpatialIndex newIndex,
+                                        double[] changedLatitudes, double[] changedLongitudes) {
+        for (int i = 0; i < changedLatitudes.length; i++) {
+            if (layout.cellOf(changedLatitudes[i], changedLongitudes[i]) < 0) {
+                return build(newSnapshot, newIndex, layout.cellSizeDegrees, maxRadiusKm, maxCandidates);
+            }
+        }
+
+        BitSet dirtyCells = findAffectedCells(changedLatitudes, changedLongitudes);
+        int[] remap = remapPositions(newSnapshot);
+
+        Builder builder = new Builder(layout, newIndex, maxRadiusKm, maxCandidates);
+        for (int cell = 0; cell < layout.cellCount(); cell++) {
+            if (dirtyCells.get(cell) || !builder.copyCell(this, cell, remap)) {
+                builder.computeCell(cell);
+            }
+        }
+        return builder.build(newSnapshot);
+    }
+
+    /**
+     * 기준점이 속한 셀의 후보만 확인하여 반경 이내 가장 가까운 약국을 힙에 추가합니다.
+     *
+     * @param query 기준점과 검색 반경
+     * @param heap 크기 1 의 힙
+     * @param stats 확인한 후보 수 집계
+     * @return boolean 래스터로 응답했는지 여부
+     *         영역 밖, 후보가 많은 셀, maxRadiusKm 보다 큰 반경, k > 1 인 경우 false (공간 인덱스로 대체)
+     */
+    public boolean collectNearest(GeoQuery query, TopKHeap heap, SearchStats stats) {
+        if (heap.capacity() != 1 || query.getRadiusKm() > maxRadiusKm) return false;
+
+        int cell = layout.cellOf(query.getLatitude(), query.getLongitude());
+        if (cell < 0 || overflowCells.get(cell)) return false;
+
+        stats.addRing();
+        stats.addCandidates(cellStart[cell + 1] - cellStart[cell]);
+
+        GeoPoints points = snapshot.points();
+        double radiusKm = query.getRadiusKm();
+        for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+            int position = cellItems[i];
+            double distance = query.distanceWithinRadius(points, position);
+            if (distance <= radiusKm) heap.offer(position, distance);
+        }
+        return true;
+    }
+
+    public PharmacySnapshot snapshot() {
+        return snapshot;
+    }
+
+    public int cellCount() {
+        return layout.cellCount();
+    }
+
+    /**
+     * @return int 후보 수 초과로 공간 인덱스 탐색을 사용하는 셀 수
+     */
+    public int overflowCellCount() {
+        return overflowCells.cardinality();
+    }
+
+    /**
+     * 변경 좌표가 셀 중심으로부터 셀 영향 반경(d + 2h) 이내인 셀을 찾습니다.
+     * 후보 초과 셀은 다음 전체 생성 때까지 그대로 유지합니다.
+     */
+    private BitSet findAffectedCells(double[] changedLatitudes, double[] changedLongitudes) {
+        BitSet dirtyCells = new BitSet(layout.cellCount());
+
+        for (int i = 0; i < changedLatitudes.length; i++) {
+            double latitude = changedLatitudes[i];
+            double longitude = changedLongitudes[i];
+            double latitudeDelta = GeoUtils.latitudeDeltaDegrees(maxCellRadiusKm);
+            double longitudeDelta = GeoUtils.longitudeDeltaDegrees(latitude, maxCellRadiusKm);
+
+            int minRow = layout.rowOf(latitude - latitudeDelta);
+            int maxRow = layout.rowOf(latitude + latitudeDelta);
+            int minColumn = layout.columnOf(longitude - longitudeDelta);
+            int maxColumn = layout.columnOf(longitude + longitudeDelta);
+
+            for (int row = minRow; row <= maxRow; row++) {
+                double centerLatitude = layout.centerLatitude(row);
+                for (int column = minColumn; column <= maxColumn; column++) {
+                    int cell = row * layout.columns + column;
+                    // 후보 초과 셀은 항상 공간 인덱스로 응답하므로 약국이 바뀌어도 그대로 두어도 정확함
+                    if (overflowCells.get(cell)) continue;
+                    double distance = GeoUtils.distanceKm(centerLatitude, layout.centerLongitude(column), latitude, longitude);
+                    if (distance <= cellRadiusKm[cell] + EPSILON_KM) dirtyCells.set(cell);
+                }
+            }
+        }
+        return dirtyCells;
+    }
+
+    /**
+     * 기존 스냅샷의 약국 번호를 새 스냅샷의 약국 번호로 변환하는 표를 만듭니다. (삭제된 약국은 -1)
+     */
+    private int[] remapPositions(PharmacySnapshot newSnapshot) {
+        Map<Long, Integer> newPositions = newSnapshot.positionsById();
+        int[] remap = new int[snapshot.size()];
+        for (int position = 0; position < snapshot.size(); position++) {
+            remap[position] = newPositions.getOrDefault(snapshot.id(position), -1);
+        }
+        return remap;
+    }
+
+    /**
+     * 래스터 영역과 셀 배치 (위경도 → 셀 번호 변환)
+     */
+    private static final class Layout {
+
+        private final double minLatitude;
+        private final double minLongitude;
+        private final double cellSizeDegrees;
+        private final int rows;
+        private final int columns;
+
+        private Layout(double minLatitude, double minLongitude, double cellSizeDegrees, int rows, int columns) {
+            this.minLatitude = minLatitude;
+            this.minLongitude = minLongitude;
+            this.cellSizeDegrees = cellSizeDegrees;
+            this.rows = rows;
+            this.columns = columns;
+        }
+
+        /**
+         * 모든 약국 좌표를 최대 반경만큼 넓힌 영역을 덮는 셀 배치를 계산합니다.
+         */
+        static Layout covering(PharmacySnapshot snapshot, double cellSizeDegrees, double maxRadiusKm) {
+            double minLatitude = Double.POSITIVE_INFINITY;
+            double maxLatitude = Double.NEGATIVE_INFINITY;
+            double minLongitude = Double.POSITIVE_INFINITY;
+            double maxLongitude = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < snapshot.size(); i++) {
+                minLatitude = Math.min(minLatitude, snapshot.latitude(i));
+                maxLatitude = Math.max(maxLatitude, snapshot.latitude(i));
+                minLongitude = Math.min(minLongitude, snapshot.longitude(i));
+                maxLongitude = Math.max(maxLongitude, snapshot.longitude(i));
+            }
+
+            double latitudeMargin = GeoUtils.latitudeDeltaDegrees(maxRadiusKm);
+            double longitudeMargin = GeoUtils.longitudeDeltaDegrees(
+                    Math.max(Math.abs(minLatitude), Math.abs(maxLatitude)), maxRadiusKm);
+            minLatitude = Math.max(-90.0, minLatitude - latitudeMargin);
+            maxLatitude = Math.min(90.0, maxLatitude + latitudeMargin);
+            minLongitude = Math.max(-180.0, minLongitude - longitudeMargin);
+            maxLongitude = Math.min(180.0, maxLongitude + longitudeMargin);
+
+            // 셀 수가 상한을 넘으면 셀 크기를 두 배씩 늘림
+            double size = cellSizeDegrees;
+            while ((double) cellCount(minLatitude, maxLatitude, size) * cellCount(minLongitude, maxLongitude, size) > MAX_CELL_COUNT) {
+                size *= 2;
+            }
+            return new Layout(minLatitude, minLongitude, size,
+                    cellCount(minLatitude, maxLatitude, size), cellCount(minLongitude, maxLongitude, size));
+        }
+
+        private static int cellCount(double min, double max, double size) {
+            return Math.max(1, (int) Math.ceil((max - min) / size));
+        }
+
+        int cellCount() {
+            return rows * columns;
+        }
+
+        /**
+         * @return int 셀 번호, 영역 밖이면 -1
+         */
+        int cellOf(double latitude, double longitude) {
+            int row = (int) Math.floor((latitude - minLatitude) / cellSizeDegrees);
+            int column = (int) Math.floor((longitude - minLongitude) / cellSizeDegrees);
+            if (row < 0 || row >= rows || column < 0 || column >= columns) return -1;
+            return row * columns + column;
+        }
+
+        int rowOf(double latitude) {
+            return clamp((int) Math.floor((latitude - minLatitude) / cellSizeDegrees), rows);
+        }
+
+        int columnOf(double longitude) {
+            return clamp((int) Math.floor((longitude - minLongitude) / cellSizeDegrees), columns);
+        }
+
+        double centerLatitude(int row) {
+            return minLatitude + (row + 0.5) * cellSizeDegrees;
+        }
+
+        double centerLongitude(int column) {
+            return minLongitude + (column + 0.5) * cellSizeDegrees;
+        }
+
+        /**
+         * 셀 중심에서 가장 먼 꼭짓점까지의 거리 (적도에 가까운 쪽 꼭짓점이 더 멀다)
+         */
+        double halfDiagonalKm(int row) {
+            double latitude = centerLatitude(row);
+            double half = cellSizeDegrees / 2;
+            return Math.max(
+                    GeoUtils.distanceKm(latitude, 0.0, latitude - half, half),
+                    GeoUtils.distanceKm(latitude, 0.0, latitude + half, half));
+        }
+
+        private static int clamp(int value, int count) {
+            return Math.max(0, Math.min(count - 1, value));
+        }
+    }
+
+    /**
+     * 셀 번호 순서대로 후보 목록을 계산/복사하여 CSR 배열을 채우는 빌더
+     */
+    private static final class Builder {
+
+        private final Layout layout;
+        private final PharmacySpatialIndex index;
+        private final double maxRadiusKm;
+        private final int maxCandidates;
+
+        private final int[] cellStart;
+        private final float[] cellRadiusKm;
+        private final BitSet overflowCells = new BitSet();
+        private int[] cellItems = new int[1024];
+        private int itemCount;
+        private double maxCellRadiusKm;
+
+        private int currentRow = -1;
+        private double currentHalfDiagonalKm;
+
+        Builder(Layout layout, PharmacySpatialIndex index, double maxRadiusKm, int maxCandidates) {
+            this.layout = layout;
+            this.index = index;
+            this.maxRadiusKm = maxRadiusKm;
+            this.maxCandidates = maxCandidates;
+            this.cellStart = new int[layout.cellCount() + 1];
+            this.cellRadiusKm = new float[layout.cellCount()];
+        }
+
+        /**
+         * 공간 인덱스로 셀 중심 주변을 탐색하여 셀 후보를 계산합니다.
+         */
+        void computeCell(int cell) {
+            int row = cell / layout.columns;
+            if (row != currentRow) {
+                currentRow = row;
+                currentHalfDiagonalKm = layout.halfDiagonalKm(row);
+            }
+            double latitude = layout.centerLatitude(row);
+            double longitude = layout.centerLongitude(cell % layout.columns);
+            double halfDiagonalKm = currentHalfDiagonalKm;
+
+            TopKHeap nearest = new TopKHeap(1);
+            index.collectNearest(new GeoQuery(latitude, longitude, maxRadiusKm + halfDiagonalKm), nearest);
+            if (nearest.size() == 0) {
+                // 셀 안 어디서도 최대 반경 이내 약국 없음
+                finishCell(cell, maxRadiusKm + 2 * halfDiagonalKm);
+                return;
+            }
+
+            double radiusKm = nearest.distance(0) + 2 * halfDiagonalKm + EPSILON_KM;
+            TopKHeap candidates = new TopKHeap(maxCandidates + 1);
+            index.collectNearest(new GeoQuery(latitude, longitude, radiusKm), candidates);
+            if (candidates.size() > maxCandidates) {
+                overflowCells.set(cell);
+            } else {
+                for (int i = 0; i < candidates.size(); i++) {
+                    append(candidates.position(i));
+                }
+            }
+            finishCell(cell, radiusKm);
+        }
+
+        /**
+         * 기존 래스터의 셀 후보를 새 약국 번호로 옮겨 복사합니다.
+         *
+         * @return boolean 복사 성공 여부 (삭제된 약국이 포함되어 있으면 false)
+         */
+        boolean copyCell(NearestPharmacyRaster source, int cell, int[] remap) {
+            int start = itemCount;
+            for (int i = source.cellStart[cell]; i < source.cellStart[cell + 1]; i++) {
+                int position = remap[source.cellItems[i]];
+                if (position < 0) {
+                    itemCount = start;
+                    return false;
+                }
+                append(position);
+            }
+            if (source.overflowCells.get(cell)) overflowCells.set(cell);
+            finishCell(cell, source.cellRadiusKm[cell]);
+            return true;
+        }
+
+        NearestPharmacyRaster build(PharmacySnapshot snapshot) {
+            return new NearestPharmacyRaster(snapshot, layout, maxRadiusKm, maxCandidates,
+                    cellStart, Arrays.copyOf(cellItems, itemCount), cellRadiusKm, overflowCells, maxCellRadiusKm);
+        }
+
+        private void append(int position) {
+            if (itemCount == cellItems.length) cellItems = Arrays.copyOf(cellItems, itemCount * 2);
+            cellItems[itemCount++] = position;
+        }
+
+        private void finishCell(int cell, double radiusKm) {
+            // float 로 저장하므로 올림하여 영향 반경이 줄어들지 않도록 보정
+            float stored = Math.nextUp((float) radiusKm);
+            cellRadiusKm[cell] = stored;
+            maxCellRadiusKm = Math.max(maxCellRadiusKm, stored);
+            cellStart[cell + 1] = itemCount;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.index;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshot;
+import com.dsg.pharmacyrecommend.geo.GeoQuery;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 스냅샷 전체 탐색을 여러 파티션으로 나누어 병렬로 수행하는 약국 인덱스
+ *
+ * 약국 데이터가 매우 많은 경우(배치 작업, 전국 단위 데이터) 단일 스레드 순차 탐색은
+ * 나머지 코어를 놀리게 되므로, 스냅샷을 연속 구간(파티션)으로 나누어 전용 ForkJoinPool 에서 탐색합니다.
+ *
+ * 탐색 방식:
+ * 1. [0, size) 구간을 partitionSize 이하가 될 때까지 절반씩 분할 (RecursiveTask)
+ * 2. 파티션마다 자신만의 TopKHeap 에 후보를 수집 (스레드 간 공유 상태 없음)
+ * 3. 분할의 역순으로 부분 결과를 병합하여 최종 k개를 구성
+ *
+ * 격자/KD-트리는 기준점 주변만 탐색하므로 분할 이점이 적어, 전체 탐색(BRUTE_FORCE)에만 적용합니다.
+ */
+public class ParallelPharmacySpatialIndex implements PharmacySpatialIndex {
+
+    private final BruteForcePharmacySpatialIndex delegate;
+    private final ForkJoinPool pool;
+    private final int partitionSize;
+
+    public ParallelPharmacySpatialIndex(BruteForcePharmacySpatialIndex delegate, ForkJoinPool pool, int partitionSize) {
+        if (partitionSize <= 0) throw new IllegalArgumentException("partitionSize must be positive: " + partitionSize);
+        this.delegate = delegate;
+        this.pool = pool;
+        this.partitionSize = partitionSize;
+    }
+
+    @Override
+    public void collectNearest(GeoQuery query, TopKHeap heap, SearchStats stats) {
+        stats.addRing();
+        stats.addCandidates(size());
+        heap.merge(pool.invoke(new ScanTask(query, heap.capacity(), 0, size())));
+    }
+
+    @Override
+    public PharmacySnapshot snapshot() {
+        return delegate.snapshot();
+    }
+
+    /**
+     * 스냅샷의 [from, to) 구간을 탐색하여 구간 내 가장 가까운 k개를 반환하는 작업
+     */
+    private class ScanTask extends RecursiveTask<TopKHeap> {
+
+        private final GeoQuery query;
+        private final int k;
+        private final int from;
+        private final int to;
+
+        ScanTask(GeoQuery query, int k, int from, int to) {
+            this.query = query;
+            this.k = k;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TopKHeap compute() {
+            if (to - from <= partitionSize) {
+                TopKHeap local = new TopKHeap(k);
+                delegate.scan(query, from, to, local);
+                return local;
+            }
+
+            int middle = (from + to) >>> 1;
+            ScanTask left = new ScanTask(query, k, from, middle);
+            left.fork();
+            TopKHeap right = new ScanTask(query, k, middle, to).compute();
+            TopKHeap merged = left.join();
+            merged.merge(right);
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.index;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacyRecord;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 공간 인덱스 검색 결과 - 약국 정보와 검색 기준점까지의 거리
+ *
+ * 약국 정보는 오프힙 저장소를 가리키는 flyweight 이므로 약국명/주소는 getter 호출 시에만 String 으로 변환됩니다.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class PharmacyCandidate {
+
+    private final PharmacyRecord pharmacy;
+    private final double distance; // 검색 기준점과의 거리 (km)
+}
@@ -0,0 +1,61 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.index;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshot;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * 약국 인덱스 상태 - 검색에 필요한 스냅샷, 공간 인덱스, 래스터를 하나로 묶은 불변(immutable) 객체
+ *
+ * {@link PharmacySpatialIndexService} 는 새 상태를 만든 뒤 AtomicReference 교체 한 번으로 공개(copy-on-write)하므로
+ * 검색 요청은 시작 시점에 읽은 상태만 끝까지 사용하고, 교체 중에도 락 없이 진행됩니다.
+ * 인덱스와 래스터가 항상 같은 스냅샷을 가리키며, 이전 상태는 진행 중인 검색이 끝나면 GC 로 회수됩니다.
+ */
+@Getter
+public final class PharmacyIndexState {
+
+    /**
+     * 스냅샷을 읽어 온 원본
+     */
+    public enum Source {
+        SNAPSHOT_FILE,  // 스냅샷 파일
+        REDIS_SNAPSHOT, // Redis 바이너리 스냅샷
+        CACHE_OR_DB,    // Redis 약국 Hash (없으면 DB)
+        DB,             // DB (관리자 요청 재적재)
+        CHANGE_EVENT    // 약국 변경 이벤트 이후 DB
+    }
+
+    private final PharmacySpatialIndex index;
+    private final NearestPharmacyRaster raster; // 백그라운드 생성 완료 전에는 null
+    private final Source source;
+    private final Instant builtAt;              // 상태 공개 시각
+    private final long buildMillis;             // 원본 조회 ~ 인덱스 생성 소요 시간
+
+    PharmacyIndexState(PharmacySpatialIndex index, NearestPharmacyRaster raster, Source source,
+                       Instant builtAt, long buildMillis) {
+        this.index = index;
+        this.raster = raster;
+        this.source = source;
+        this.builtAt = builtAt;
+        this.buildMillis = buildMillis;
+    }
+
+    public PharmacySnapshot snapshot() {
+        return index.snapshot();
+    }
+
+    /**
+     * @return long 스냅샷 버전 (원본 데이터를 읽은 시각, epoch millis)
+     */
+    public long version() {
+        return index.snapshot().version();
+    }
+
+    /**
+     * 래스터만 바꾼 새 상태를 반환합니다.
+     */
+    PharmacyIndexState withRaster(NearestPharmacyRaster raster) {
+        return new PharmacyIndexState(index, raster, source, builtAt, buildMillis);
+    }
+}
@@ -0,0 +1,84 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.index;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshot;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 약국 검색 탐색 비용 메트릭
+ *
+ * 검색 한 번마다 탐색 단계(링) 수와 거리를 계산한 후보 수를 분포(DistributionSummary)로 기록합니다.
+ * /actuator/metrics/pharmacy.search.rings, /actuator/metrics/pharmacy.search.candidates 에서 조회할 수 있으며
+ * source 태그로 응답한 구조(GRID, KD_TREE, BRUTE_FORCE, RASTER)를 구분합니다.
+ *
+ * 컨테이너 메모리 산정을 위해 현재 스냅샷의 약국 수와 메모리 사용량도 게이지로 제공합니다.
+ * (pharmacy.snapshot.size, pharmacy.snapshot.memory - area 태그: off-heap, heap)
+ */
+@Component
+@RequiredArgsConstructor
+public class PharmacySearchMetrics {
+
+    private static final String RINGS = "pharmacy.search.rings";
+    private static final String CANDIDATES = "pharmacy.search.candidates";
+    private static final String SNAPSHOT_SIZE = "pharmacy.snapshot.size";
+    private static final String SNAPSHOT_MEMORY = "pharmacy.snapshot.memory";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * source 별 메트릭 (요청마다 Meter 조회 비용이 들지 않도록 캐싱)
+     */
+    private final Map<String, DistributionSummary[]> summaries = new ConcurrentHashMap<>();
+
+    public void record(String source, SearchStats stats) {
+        DistributionSummary[] summary = summaries.computeIfAbsent(source, this::register);
+        summary[0].record(stats.getRings());
+        summary[1].record(stats.getCandidates());
+    }
+
+    /**
+     * 현재 스냅샷의 약국 수, 메모리 사용량 게이지를 등록합니다. (스냅샷이 없으면 0)
+     *
+     * @param snapshot 현재 스냅샷 조회 함수
+     */
+    public void bindSnapshot(Supplier<PharmacySnapshot> snapshot) {
+        gauge(SNAPSHOT_SIZE, "스냅샷 약국 수", null, snapshot, PharmacySnapshot::size);
+        gauge(SNAPSHOT_MEMORY, "스냅샷 오프힙 메모리 사용량 (id, 좌표, 약국명, 주소)", "off-heap",
+                snapshot, PharmacySnapshot::offHeapBytes);
+        gauge(SNAPSHOT_MEMORY, "스냅샷 힙 메모리 사용량 (거리 계산용 좌표 배열)", "heap",
+                snapshot, PharmacySnapshot::heapBytes);
+    }
+
+    private void gauge(String name, String description, String area, Supplier<PharmacySnapshot> snapshot,
+                       ToDoubleFunction<PharmacySnapshot> value) {
+        Gauge.Builder<Supplier<PharmacySnapshot>> builder = Gauge.builder(name, snapshot, supplier -> {
+                    PharmacySnapshot current = supplier.get();
+                    return current == null ? 0 : value.applyAsDouble(current);
+                })
+                .description(description);
+        if (area != null) builder.tag("area", area).baseUnit("bytes");
+        builder.register(meterRegistry);
+    }
+
+    private DistributionSummary[] register(String source) {
+        return new DistributionSummary[]{
+                DistributionSummary.builder(RINGS)
+                        .description("검색 한 번에 탐색한 링(반경 확장 단계) 수")
+                        .tag("source", source)
+                        .register(meterRegistry),
+                DistributionSummary.builder(CANDIDATES)
+                        .description("검색 한 번에 거리를 계산한 후보 약국 수")
+                        .tag("source", source)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry)
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.index;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 약국 스냅샷 동기화 스케줄러
+ *
+ * 주기적으로 다음 작업을 수행합니다.
+ * 1. 스냅샷 파일이 현재 스냅샷보다 최신이면(다른 노드가 내보낸 파일) 파일로 인덱스 교체
+ * 2. 현재 스냅샷이 파일보다 최신이면(약국 변경 반영 후) 파일로 내보내기
+ * 3. 현재 스냅샷이 Redis 바이너리 스냅샷보다 최신이면 Redis 에 공개
+ *
+ * 주기 설정: pharmacy.snapshot.file.sync-delay-ms (기본값 60초)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PharmacySnapshotSyncScheduler {
+
+    private final PharmacySpatialIndexService pharmacySpatialIndexService;
+
+    @Scheduled(initialDelayString = "${pharmacy.snapshot.file.sync-delay-ms:60000}",
+            fixedDelayString = "${pharmacy.snapshot.file.sync-delay-ms:60000}")
+    public void sync() {
+        if (pharmacySpatialIndexService.reloadSnapshotFileIfNewer()) {
+            log.info("[PharmacySnapshotSyncScheduler sync] 최신 스냅샷 파일로 인덱스를 교체했습니다.");
+        } else {
+            pharmacySpatialIndexService.exportSnapshotFile();
+        }
+        pharmacySpatialIndexService.exportRedisSnapshot();
+    }
+}
@@ -0,0 +1,102 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.index;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshot;
+import com.dsg.pharmacyrecommend.geo.GeoQuery;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 약국 공간 인덱스 인터페이스
+ *
+ * 약국 스냅샷({@link PharmacySnapshot})의 좌표를 미리 공간 구조(격자, KD-트리 등)로 정리해 두고,
+ * 검색 시 기준점 주변의 약국만 탐색하여 "반경 내 가장 가까운 k개"를 반환합니다.
+ * 전체 약국과의 거리를 매번 계산하는 O(N) 탐색을 대체하기 위한 용도입니다.
+ *
+ * 구현체:
+ * - {@link GridPharmacySpatialIndex} : 균일 위경도 격자
+ * - {@link KdTreePharmacySpatialIndex} : 위경도 2차원 KD-트리
+ * - {@link BruteForcePharmacySpatialIndex} : 인덱스 없이 스냅샷 전체를 SIMD 커널로 순차 탐색
+ *
+ * 구현체는 생성 이후 변경되지 않으며(immutable) 여러 스레드에서 동시에 조회할 수 있어야 합니다.
+ */
+public interface PharmacySpatialIndex {
+
+    /**
+     * 기준점으로부터 반경 이내의 약국을 탐색하여 가까운 후보를 힙에 추가합니다.
+     *
+     * 탐색 중에는 약국 번호와 거리(primitive)만 다루며 객체를 생성하지 않습니다.
+     *
+     * @param query 기준점과 검색 반경 (바운딩 박스, sin/cos 사전 계산 값 포함)
+     * @param heap 가까운 k개를 유지하는 힙
+     * @param stats 탐색 단계 수, 거리를 계산한 후보 수 집계
+     */
+    void collectNearest(GeoQuery query, TopKHeap heap, SearchStats stats);
+
+    /**
+     * 탐색 비용 집계 없이 반경 이내 가까운 후보를 힙에 추가합니다.
+     *
+     * @see #collectNearest(GeoQuery, TopKHeap, SearchStats)
+     */
+    default void collectNearest(GeoQuery query, TopKHeap heap) {
+        collectNearest(query, heap, new SearchStats());
+    }
+
+    /**
+     * @return PharmacySnapshot 인덱스가 가리키는 약국 스냅샷 (collectNearest 결과의 position 기준)
+     */
+    PharmacySnapshot snapshot();
+
+    /**
+     * @return int 인덱스에 포함된 약국 수
+     */
+    default int size() {
+        return snapshot().size();
+    }
+
+    /**
+     * 기준점으로부터 반경 이내의 약국 중 가장 가까운 k개를 거리순으로 반환합니다.
+     *
+     * @param latitude 기준점 위도
+     * @param longitude 기준점 경도
+     * @param k 최대 반환 개수
+     * @param radiusKm 검색 반경 (킬로미터 단위)
+     * @return List<PharmacyCandidate> 가까운 순으로 정렬된 약국 목록 (최대 k개)
+     */
+    default List<PharmacyCandidate> findNearest(double latitude, double longitude, int k, double radiusKm) {
+        return findNearest(latitude, longitude, k, radiusKm, new SearchStats());
+    }
+
+    /**
+     * 탐색 비용을 집계하면서 반경 이내 가장 가까운 k개를 거리순으로 반환합니다.
+     *
+     * @param stats 탐색 단계 수, 거리를 계산한 후보 수 집계
+     * @see #findNearest(double, double, int, double)
+     */
+    default List<PharmacyCandidate> findNearest(double latitude, double longitude, int k, double radiusKm,
+                                                SearchStats stats) {
+        if (k <= 0 || size() == 0) return Collections.emptyList();
+
+        TopKHeap heap = new TopKHeap(k);
+        collectNearest(new GeoQuery(latitude, longitude, radiusKm), heap, stats);
+        return toCandidates(snapshot(), heap);
+    }
+
+    /**
+     * 힙의 후보를 거리순으로 정렬하여 결과 목록으로 변환합니다.
+     * 최종 k개에 대해서만 결과 객체를 생성합니다.
+     *
+     * @param snapshot 힙의 약국 번호가 가리키는 스냅샷
+     * @param heap 탐색이 끝난 힙
+     * @return List<PharmacyCandidate> 가까운 순으로 정렬된 약국 목록
+     */
+    static List<PharmacyCandidate> toCandidates(PharmacySnapshot snapshot, TopKHeap heap) {
+        heap.sort();
+        List<PharmacyCandidate> result = new ArrayList<>(heap.size());
+        for (int i = 0; i < heap.size(); i++) {
+            result.add(new PharmacyCandidate(snapshot.record(heap.position(i)), heap.distance(i)));
+        }
+        return result;
+    }
+}
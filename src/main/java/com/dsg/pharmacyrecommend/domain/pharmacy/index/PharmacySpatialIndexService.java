@@ -0,0 +1,625 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.index;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.event.PharmacyChangedEvent;
+import com.dsg.pharmacyrecommend.domain.pharmacy.index.PharmacyIndexState.Source;
+import com.dsg.pharmacyrecommend.domain.pharmacy.service.PharmacySearchService;
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacyRecord;
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshot;
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshotFile;
+import com.dsg.pharmacyrecommend.geo.DistanceModel;
+import com.dsg.pharmacyrecommend.geo.DistanceModelType;
+import com.dsg.pharmacyrecommend.geo.GeoQuery;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 약국 공간 인덱스를 생성하고 관리하는 서비스 클래스
+ *
+ * 서버 시작 직후(또는 최초 검색 시점) PharmacySearchService(Redis → DB)로부터 약국 목록을 한 번 읽어
+ * 약국 스냅샷(오프힙 저장소 + primitive 병렬 배열)과 설정된 종류의 공간 인덱스를 만들고,
+ * 이후 검색은 메모리의 인덱스만 사용합니다. (요청마다 원본 데이터를 조회하지 않음)
+ *
+ * 스냅샷, 인덱스, 래스터는 불변 객체 {@link PharmacyIndexState} 하나로 묶어 AtomicReference 로 공개합니다.
+ * 재적재는 전용 스레드(pharmacyIndexReloadExecutor)에서 새 상태를 만든 뒤 참조 교체 한 번으로 반영하므로(copy-on-write)
+ * 검색은 락을 잡지 않고, 진행 중인 검색은 이전 상태로 끝까지 수행됩니다.
+ * 상태를 만드는 쪽(재적재, 변경 이벤트, 스냅샷 파일 로딩)끼리만 this 락으로 순서를 맞춥니다.
+ *
+ * 가장 가까운 약국 1개(k=1) 검색은 백그라운드에서 생성한 최근접 약국 래스터({@link NearestPharmacyRaster})로
+ * 셀 후보 몇 개만 확인하여 응답하고, 래스터가 준비되지 않았거나 응답할 수 없는 경우 공간 인덱스를 사용합니다.
+ * 약국 데이터가 변경되면(PharmacyChangedEvent) 커밋 이후 백그라운드에서 스냅샷과 인덱스를 다시 만들고 래스터는 변경 셀만 갱신합니다.
+ * 재적재 스레드가 처리하기 전에 도착한 변경 이벤트는 약국 id 를 모아 한 번의 재적재로 반영합니다.
+ *
+ * Redis 에 바이너리 스냅샷({@code PharmacySnapshotCodec})이 공개되어 있으면 약국 Hash 전체 대신 blob 하나로 생성하고,
+ * 주기적으로 현재 스냅샷을 Redis 에 공개합니다.
+ *
+ * 최초 생성도 요청 스레드가 아닌 재적재 스레드에서만 수행하며, 생성 전 검색은 빈 결과를 반환합니다.
+ * 약국 데이터가 비어 있으면 pharmacy.index.initial-build-retry-ms 가 지날 때까지 다시 읽지 않습니다.
+ *
+ * 스냅샷 파일(pharmacy.snapshot.file.path)이 있으면 서버 시작 직후 DB/Redis 를 거치지 않고 파일을 메모리 매핑하여
+ * 인덱스를 만들고, 주기적으로 현재 스냅샷을 파일로 내보내거나 더 최신 파일(다른 노드가 내보낸 파일)로 교체합니다.
+ *
+ * 검색마다 탐색 단계(링) 수와 거리를 계산한 후보 수를 메트릭으로 기록하고,
+ * 현재 스냅샷의 오프힙/힙 메모리 사용량을 게이지로 제공합니다. ({@link PharmacySearchMetrics})
+ *
+ * 후보 순위는 인덱스의 구면 거리(사전 계산 sin/cos, 삼각함수 없음)로 정하고,
+ * 최종 k개의 거리만 표시용 거리 계산 방식(기본값 WGS84 Vincenty)으로 다시 계산하여 정렬하고, 반경을 넘는 약국은 제외합니다.
+ *
+ * 설정 (application.yml):
+ * - pharmacy.index.type : GRID(기본값), KD_TREE, BRUTE_FORCE
+ * - pharmacy.index.grid.cell-size-degrees : 격자 셀 크기 (기본값 0.01도)
+ * - pharmacy.index.parallel.threshold : BRUTE_FORCE 탐색을 병렬로 수행할 최소 약국 수
+ * - pharmacy.index.parallel.partition-size : 병렬 탐색 시 파티션 하나의 최대 약국 수
+ * - pharmacy.index.initial-build-retry-ms : 최초 생성 실패(데이터 없음) 후 다시 시도하기까지의 최소 간격
+ * - pharmacy.index.raster.enabled : 최근접 약국 래스터 사용 여부
+ * - pharmacy.index.raster.cell-size-degrees : 래스터 셀 크기 (기본값 0.005도)
+ * - pharmacy.index.raster.max-radius-km : 래스터로 응답할 최대 검색 반경
+ * - pharmacy.index.raster.max-candidates : 셀당 최대 후보 수 (초과하는 셀은 공간 인덱스 사용)
+ * - pharmacy.distance.display-model : 최종 결과 거리 계산 방식 (VINCENTY(기본값), HAVERSINE, EQUIRECTANGULAR)
+ * - pharmacy.snapshot.file.path : 스냅샷 파일 경로 (비어 있으면 사용 안 함)
+ * - pharmacy.snapshot.file.verify-checksum : 스냅샷 파일 로딩 시 CRC32 검증 여부
+ *
+ * @author dsg
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PharmacySpatialIndexService {
+
+    /**
+     * 약국 검색 서비스 - 인덱스 생성 시 원본 약국 데이터 조회
+     */
+    private final PharmacySearchService pharmacySearchService;
+
+    /**
+     * 병렬 탐색 전용 ForkJoinPool (PharmacySearchConfig)
+     */
+    private final ForkJoinPool pharmacySearchForkJoinPool;
+
+    /**
+     * 검색 탐색 비용(링 수, 후보 수) 메트릭
+     */
+    private final PharmacySearchMetrics pharmacySearchMetrics;
+
+    /**
+     * 인덱스 재적재 전용 단일 스레드 Executor (PharmacySearchConfig)
+     */
+    private final Executor pharmacyIndexReloadExecutor;
+
+    /**
+     * 최근접 약국 래스터 생성 전용 단일 스레드 Executor (PharmacySearchConfig)
+     */
+    private final Executor pharmacyRasterExecutor;
+
+    @Value("${pharmacy.index.type:GRID}")
+    private PharmacySpatialIndexType indexType = PharmacySpatialIndexType.GRID;
+
+    @Value("${pharmacy.index.grid.cell-size-degrees:0.01}")
+    private double gridCellSizeDegrees = 0.01;
+
+    @Value("${pharmacy.index.parallel.threshold:500000}")
+    private int parallelThreshold = 500_000;
+
+    @Value("${pharmacy.index.parallel.partition-size:65536}")
+    private int parallelPartitionSize = 65_536;
+
+    @Value("${pharmacy.index.initial-build-retry-ms:5000}")
+    private long initialBuildRetryMillis = 5000;
+
+    @Value("${pharmacy.index.raster.enabled:true}")
+    private boolean rasterEnabled = true;
+
+    @Value("${pharmacy.index.raster.cell-size-degrees:0.005}")
+    private double rasterCellSizeDegrees = 0.005;
+
+    @Value("${pharmacy.index.raster.max-radius-km:20}")
+    private double rasterMaxRadiusKm = 20.0;
+
+    @Value("${pharmacy.index.raster.max-candidates:16}")
+    private int rasterMaxCandidates = 16;
+
+    @Value("${pharmacy.distance.display-model:VINCENTY}")
+    private DistanceModelType displayDistanceModel = DistanceModelType.VINCENTY;
+
+    @Value("${pharmacy.snapshot.file.path:}")
+    private String snapshotFilePath = "";
+
+    @Value("${pharmacy.snapshot.file.verify-checksum:true}")
+    private boolean verifySnapshotChecksum = true;
+
+    /**
+     * 현재 인덱스 상태 (생성 전에는 null, 교체는 참조 교체로만 수행)
+     */
+    private final AtomicReference<PharmacyIndexState> state = new AtomicReference<>();
+
+    /**
+     * 진행 중인 백그라운드 재적재 (중복 요청은 같은 작업을 공유)
+     */
+    private final AtomicReference<CompletableFuture<PharmacyIndexState>> pendingReload = new AtomicReference<>();
+
+    /**
+     * 최초 생성 작업 대기/진행 여부 (중복 요청은 작업을 새로 등록하지 않음)
+     */
+    private final AtomicBoolean pendingInitialBuild = new AtomicBoolean();
+
+    /**
+     * 최초 생성을 다시 시도할 수 있는 시각 (데이터가 없으면 요청마다 원본을 다시 읽지 않도록 미룸)
+     */
+    private volatile long nextInitialBuildMillis;
+
+    /**
+     * 아직 반영하지 않은 변경 약국 id (변경 이벤트를 모아 한 번에 반영)
+     */
+    private final Set<Long> pendingChangedIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 변경 반영 작업 대기 여부 (대기 중이면 새 이벤트는 id 만 추가)
+     */
+    private final AtomicBoolean pendingChange = new AtomicBoolean();
+
+    @PostConstruct
+    void bindMetrics() {
+        pharmacySearchMetrics.bindSnapshot(this::currentSnapshot);
+    }
+
+    /**
+     * @return PharmacyIndexState 현재 인덱스 상태 (인덱스 생성 전에는 null)
+     */
+    public PharmacyIndexState currentState() {
+        return state.get();
+    }
+
+    /**
+     * @return PharmacySnapshot 현재 인덱스의 스냅샷 (인덱스 생성 전에는 null)
+     */
+    public PharmacySnapshot currentSnapshot() {
+        PharmacyIndexState current = state.get();
+        return Objects.isNull(current) ? null : current.snapshot();
+    }
+
+    /**
+     * 현재 스냅샷에서 약국 id 로 약국을 찾습니다. (인덱스가 없으면 새로 만들지 않고 null)
+     *
+     * @param pharmacyId 약국 id
+     * @return PharmacyRecord 약국 레코드 (없으면 null)
+     */
+    public PharmacyRecord findPharmacy(long pharmacyId) {
+        PharmacySnapshot snapshot = currentSnapshot();
+        if (Objects.isNull(snapshot)) return null;
+        int position = snapshot.findPosition(pharmacyId);
+        return position < 0 ? null : snapshot.record(position);
+    }
+
+    /**
+     * @return boolean 백그라운드 재적재 진행 여부
+     */
+    public boolean isReloading() {
+        return Objects.nonNull(pendingReload.get());
+    }
+
+    /**
+     * 기준점으로부터 반경 이내의 약국 중 가장 가까운 k개를 거리순으로 조회합니다.
+     * 시작 시점의 인덱스 상태 하나만 사용하므로 재적재와 동시에 실행되어도 결과가 섞이지 않습니다.
+     *
+     * @param latitude 기준점 위도
+     * @param longitude 기준점 경도
+     * @param k 최대 반환 개수
+     * @param radiusKm 검색 반경 (킬로미터 단위)
+     * @return List<PharmacyCandidate> 가까운 순으로 정렬된 약국 목록
+     *         약국 데이터가 없거나 인덱스 생성 전이면 빈 리스트 반환
+     */
+    public List<PharmacyCandidate> findNearest(double latitude, double longitude, int k, double radiusKm) {
+        PharmacyIndexState current = getState();
+        if (Objects.isNull(current)) return Collections.emptyList();
+
+        NearestPharmacyRaster currentRaster = current.getRaster();
+        if (k == 1 && Objects.nonNull(currentRaster)) {
+            TopKHeap heap = new TopKHeap(1);
+            SearchStats stats = new SearchStats();
+            if (currentRaster.collectNearest(new GeoQuery(latitude, longitude, radiusKm), heap, stats)) {
+                pharmacySearchMetrics.record("RASTER", stats);
+                return applyDisplayDistance(latitude, longitude, radiusKm,
+                        PharmacySpatialIndex.toCandidates(currentRaster.snapshot(), heap));
+            }
+        }
+
+        SearchStats stats = new SearchStats();
+        List<PharmacyCandidate> candidates = current.getIndex().findNearest(latitude, longitude, k, radiusKm, stats);
+        pharmacySearchMetrics.record(indexType.name(), stats);
+        return applyDisplayDistance(latitude, longitude, radiusKm, candidates);
+    }
+
+    /**
+     * 최종 후보의 거리만 표시용 거리 계산 방식으로 다시 계산하고 거리순으로 다시 정렬합니다.
+     * 후보가 k개(최대 20개)뿐이므로 반복 계산이 필요한 타원체 공식도 부담이 없습니다.
+     * 구면 거리로는 반경 이내였지만 표시용 거리가 반경을 넘는 경계의 약국은 제외합니다.
+     */
+    private List<PharmacyCandidate> applyDisplayDistance(double latitude, double longitude, double radiusKm,
+                                                         List<PharmacyCandidate> candidates) {
+        DistanceModel model = displayDistanceModel.model();
+        return candidates.stream()
+                .map(candidate -> new PharmacyCandidate(candidate.getPharmacy(), model.distanceKm(
+                        latitude, longitude, candidate.getPharmacy().getLatitude(), candidate.getPharmacy().getLongitude())))
+                .filter(candidate -> candidate.getDistance() <= radiusKm)
+                .sorted(Comparator.comparingDouble(PharmacyCandidate::getDistance))
+                .toList();
+    }
+
+    /**
+     * 약국 데이터를 다시 읽어 인덱스를 새로 생성하고 교체합니다. (호출 스레드에서 실행)
+     * Redis 바이너리 스냅샷(blob 하나)을 우선 사용하고, 없으면 약국 목록(Redis Hash → DB)으로 생성합니다.
+     */
+    public void rebuild() {
+        if (Objects.nonNull(publish(Source.REDIS_SNAPSHOT, pharmacySearchService::searchPharmacySnapshot))) return;
+        publish(Source.CACHE_OR_DB, () -> PharmacySnapshot.from(pharmacySearchService.searchPharmacyDtoList()));
+    }
+
+    /**
+     * 백그라운드에서 DB(PharmacyRepositoryService)의 약국 목록으로 인덱스를 새로 생성하고 교체합니다.
+     * 이미 진행 중인 재적재가 있으면 새로 시작하지 않고 그 작업을 반환합니다.
+     * 교체 전까지 검색은 기존 인덱스로 계속 응답합니다.
+     *
+     * @return CompletableFuture<PharmacyIndexState> 교체된 상태 (데이터가 없거나 실패하면 기존 상태)
+     */
+    public CompletableFuture<PharmacyIndexState> reloadAsync() {
+        CompletableFuture<PharmacyIndexState> reload = new CompletableFuture<>();
+        CompletableFuture<PharmacyIndexState> pending = pendingReload.compareAndExchange(null, reload);
+        if (Objects.nonNull(pending)) return pending;
+
+        try {
+            pharmacyIndexReloadExecutor.execute(() -> {
+                try {
+                    PharmacyIndexState published = publish(Source.DB, pharmacySearchService::searchPharmacySnapshotFromDb);
+                    reload.complete(Objects.nonNull(published) ? published : state.get());
+                } catch (RuntimeException e) {
+                    log.error("[PharmacySpatialIndexService reloadAsync] 재적재 실패: {}", e.getMessage(), e);
+                    reload.completeExceptionally(e);
+                } finally {
+                    pendingReload.compareAndSet(reload, null);
+                }
+            });
+        } catch (RuntimeException e) {
+            pendingReload.compareAndSet(reload, null);
+            reload.completeExceptionally(e);
+        }
+        return reload;
+    }
+
+    /**
+     * 원본에서 스냅샷을 읽어 새 인덱스 상태를 만들고 공개합니다.
+     *
+     * @return PharmacyIndexState 교체된 상태 (원본이 없거나 비어 있어 교체하지 않은 경우 null)
+     */
+    private synchronized PharmacyIndexState publish(Source source, Supplier<PharmacySnapshot> loader) {
+        long start = System.currentTimeMillis();
+        PharmacySnapshot snapshot = loader.get();
+        if (Objects.isNull(snapshot)) return null;
+        if (snapshot.isEmpty()) {
+            // 데이터가 비어 있으면 인덱스를 교체하지 않고 다음 검색(또는 재적재) 때 다시 시도
+            log.warn("[PharmacySpatialIndexService publish] 약국 데이터가 없어 인덱스를 교체하지 않습니다. source: {}", source);
+            return null;
+        }
+
+        PharmacyIndexState installed = install(snapshot, source, System.currentTimeMillis() - start);
+        log.info("[PharmacySpatialIndexService publish] source: {}, type: {}, parallel: {}, size: {}, offHeap: {}KB, heap: {}KB, elapsed: {}ms",
+                source, indexType, installed.getIndex() instanceof ParallelPharmacySpatialIndex, snapshot.size(),
+                snapshot.offHeapBytes() / 1024, snapshot.heapBytes() / 1024, installed.getBuildMillis());
+        return installed;
+    }
+
+    /**
+     * 서버 시작 직후 인덱스를 미리 생성합니다.
+     * 재적재 스레드에서 스냅샷 파일이 있으면 DB/Redis 를 거치지 않고 파일로, 없으면 원본 데이터(Redis → DB)로 생성합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        if (Objects.isNull(state.get())) scheduleInitialBuild();
+    }
+
+    /**
+     * 스냅샷 파일의 버전이 현재 스냅샷보다 최신이면 파일로 인덱스를 교체합니다. (다른 노드가 내보낸 파일 반영)
+     *
+     * @return boolean 교체 여부
+     */
+    public synchronized boolean reloadSnapshotFileIfNewer() {
+        Path path = snapshotFile();
+        if (Objects.isNull(path) || !Files.exists(path)) return false;
+
+        try {
+            long fileVersion = PharmacySnapshotFile.readVersion(path);
+            PharmacyIndexState current = state.get();
+            if (Objects.nonNull(current) && current.version() >= fileVersion) return false;
+        } catch (IOException e) {
+            log.error("[PharmacySpatialIndexService reloadSnapshotFileIfNewer] path: {}, error: {}", path, e.getMessage());
+            return false;
+        }
+        return loadSnapshotFile();
+    }
+
+    /**
+     * 현재 스냅샷이 스냅샷 파일보다 최신이면 파일로 내보냅니다.
+     * 임시 파일에 기록한 뒤 원자적으로 교체하므로 다른 노드가 읽는 중에도 안전합니다.
+     */
+    public void exportSnapshotFile() {
+        Path path = snapshotFile();
+        PharmacySnapshot snapshot = currentSnapshot();
+        if (Objects.isNull(path) || Objects.isNull(snapshot)) return;
+
+        try {
+            if (Files.exists(path) && PharmacySnapshotFile.readVersion(path) >= snapshot.version()) return;
+        } catch (IOException e) {
+            // 손상된 파일은 현재 스냅샷으로 덮어씀
+            log.warn("[PharmacySpatialIndexService exportSnapshotFile] 기존 파일을 읽을 수 없어 덮어씁니다. error: {}", e.getMessage());
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            PharmacySnapshotFile.write(snapshot, path);
+            log.info("[PharmacySpatialIndexService exportSnapshotFile] path: {}, version: {}, size: {}, elapsed: {}ms",
+                    path, snapshot.version(), snapshot.size(), System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            log.error("[PharmacySpatialIndexService exportSnapshotFile] path: {}, error: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * 현재 스냅샷을 Redis 에 바이너리 스냅샷으로 공개합니다. (Redis 의 버전보다 최신일 때만)
+     * 다른 노드는 서버 시작 시 약국 Hash 전체 대신 이 blob 하나로 인덱스를 생성합니다.
+     */
+    public void exportRedisSnapshot() {
+        PharmacySnapshot snapshot = currentSnapshot();
+        if (Objects.isNull(snapshot)) return;
+        pharmacySearchService.publishPharmacySnapshot(snapshot);
+    }
+
+    /**
+     * 스냅샷 파일로 인덱스를 생성합니다. (호출 시 this 락 보유)
+     *
+     * @return boolean 성공 여부 (파일이 없거나 손상된 경우 false)
+     */
+    private boolean loadSnapshotFile() {
+        Path path = snapshotFile();
+        if (Objects.isNull(path) || !Files.exists(path)) return false;
+
+        long start = System.currentTimeMillis();
+        try {
+            PharmacySnapshot snapshot = PharmacySnapshotFile.read(path, verifySnapshotChecksum);
+            if (snapshot.isEmpty()) return false;
+
+            install(snapshot, Source.SNAPSHOT_FILE, System.currentTimeMillis() - start);
+            log.info("[PharmacySpatialIndexService loadSnapshotFile] path: {}, version: {}, size: {}, elapsed: {}ms",
+                    path, snapshot.version(), snapshot.size(), System.currentTimeMillis() - start);
+            return true;
+        } catch (IOException e) {
+            log.error("[PharmacySpatialIndexService loadSnapshotFile] 스냅샷 파일을 읽을 수 없습니다. path: {}, error: {}",
+                    path, e.getMessage());
+            return false;
+        }
+    }
+
+    private Path snapshotFile() {
+        return Objects.isNull(snapshotFilePath) || snapshotFilePath.isBlank() ? null : Path.of(snapshotFilePath);
+    }
+
+    /**
+     * 새 스냅샷으로 인덱스 상태를 교체하고 래스터를 백그라운드에서 새로 생성합니다. (호출 시 this 락 보유)
+     */
+    private PharmacyIndexState install(PharmacySnapshot snapshot, Source source, long buildMillis) {
+        PharmacyIndexState installed = new PharmacyIndexState(createIndex(snapshot), null, source,
+                Instant.now(), buildMillis);
+        state.set(installed);
+        scheduleRasterUpdate(null, snapshot, null);
+        return installed;
+    }
+
+    /**
+     * 약국 변경 트랜잭션 커밋 이후 백그라운드에서 DB 의 약국 목록을 다시 읽어 인덱스를 교체하고,
+     * 래스터는 변경된 약국 좌표 주변 셀만 다시 계산합니다.
+     * 반영 작업이 이미 대기 중이면 변경 id 만 추가하여, 연속된 변경은 DB 를 한 번만 다시 읽습니다.
+     * 교체 전까지 검색은 기존 인덱스로 응답합니다.
+     *
+     * @param event 변경된 약국 id 목록
+     */
+    @TransactionalEventListener
+    public void onPharmacyChanged(PharmacyChangedEvent event) {
+        if (Objects.isNull(state.get())) return; // 아직 인덱스를 사용하기 전이면 첫 검색 시 생성
+        pendingChangedIds.addAll(event.getPharmacyIds());
+        if (!pendingChange.compareAndSet(false, true)) return;
+
+        try {
+            pharmacyIndexReloadExecutor.execute(this::applyPendingChanges);
+        } catch (RuntimeException e) {
+            pendingChange.set(false);
+            log.warn("[PharmacySpatialIndexService onPharmacyChanged] 변경 반영 작업 등록 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 모아 둔 변경 id 를 꺼내 한 번에 반영합니다.
+     * 꺼내기 전에 대기 표시를 해제하므로, 반영 중 도착한 이벤트는 다음 작업으로 다시 모입니다.
+     */
+    private void applyPendingChanges() {
+        pendingChange.set(false);
+        List<Long> changedIds = new ArrayList<>();
+        for (Long id : pendingChangedIds) {
+            if (pendingChangedIds.remove(id)) changedIds.add(id);
+        }
+        if (!changedIds.isEmpty()) applyChange(changedIds);
+    }
+
+    private synchronized void applyChange(List<Long> changedIds) {
+        try {
+            PharmacyIndexState previous = state.get();
+            long start = System.currentTimeMillis();
+            PharmacySnapshot snapshot = pharmacySearchService.searchPharmacySnapshotFromDb();
+            if (snapshot.isEmpty()) return;
+
+            // 새 상태는 래스터 없이 공개하고(k=1 도 인덱스로 응답) 부분 갱신이 끝나면 래스터를 붙여 다시 교체
+            state.set(new PharmacyIndexState(createIndex(snapshot), null, Source.CHANGE_EVENT,
+                    Instant.now(), System.currentTimeMillis() - start));
+            log.info("[PharmacySpatialIndexService onPharmacyChanged] changed: {}, size: {}",
+                    changedIds.size(), snapshot.size());
+            scheduleRasterUpdate(previous, snapshot, changedIds);
+        } catch (RuntimeException e) {
+            log.error("[PharmacySpatialIndexService onPharmacyChanged] 인덱스 교체 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 설정된 종류의 인덱스를 생성합니다.
+     * 전체 탐색(BRUTE_FORCE)이면서 약국 수가 임계값 이상이면 파티션 병렬 탐색으로 감쌉니다.
+     * 데이터가 적은 경우에는 작업 분할/병합 비용이 더 크므로 순차 탐색을 유지합니다.
+     */
+    private PharmacySpatialIndex createIndex(PharmacySnapshot snapshot) {
+        PharmacySpatialIndex created = indexType.create(snapshot, gridCellSizeDegrees);
+        if (created instanceof BruteForcePharmacySpatialIndex bruteForce && snapshot.size() >= parallelThreshold) {
+            return new ParallelPharmacySpatialIndex(bruteForce, pharmacySearchForkJoinPool, parallelPartitionSize);
+        }
+        return created;
+    }
+
+    /**
+     * 래스터 생성/갱신 작업을 래스터 전용 스레드에서 실행합니다.
+     * 전체 생성은 셀 수만큼 탐색을 반복하므로 병렬 탐색 풀(pharmacySearchForkJoinPool)에서 실행하면 검색이 밀리고,
+     * 재적재 스레드에서 실행하면 다음 재적재/변경 반영이 늦어지므로 둘 다 사용하지 않습니다.
+     *
+     * 이전 상태의 래스터가 있으면 변경 약국 좌표 주변 셀만 갱신하고,
+     * 그 외(최초 생성, 이전 래스터 미완성)에는 전체를 생성합니다.
+     * 작업이 끝났을 때 상태의 스냅샷이 같을 때만 래스터를 붙인 새 상태로 교체하고(CAS),
+     * 더 최신 스냅샷으로 교체되어 있으면 결과를 버립니다.
+     *
+     * @param previous 변경 이전 상태 (전체 생성 시 null)
+     * @param snapshot 새 스냅샷
+     * @param changedIds 변경된 약국 id 목록 (전체 생성 시 null)
+     */
+    private void scheduleRasterUpdate(PharmacyIndexState previous, PharmacySnapshot snapshot, List<Long> changedIds) {
+        if (!rasterEnabled) return;
+
+        pharmacyRasterExecutor.execute(() -> {
+            try {
+                long start = System.currentTimeMillis();
+                NearestPharmacyRaster previousRaster = Objects.isNull(previous) ? null : previous.getRaster();
+                NearestPharmacyRaster updated = createRaster(previousRaster, snapshot, changedIds);
+
+                PharmacyIndexState published = state.updateAndGet(current ->
+                        Objects.nonNull(current) && current.snapshot() == snapshot ? current.withRaster(updated) : current);
+                if (Objects.isNull(published) || published.getRaster() != updated) return;
+
+                log.info("[PharmacySpatialIndexService raster] cells: {}, overflow: {}, incremental: {}, elapsed: {}ms",
+                        updated.cellCount(), updated.overflowCellCount(), Objects.nonNull(previousRaster),
+                        System.currentTimeMillis() - start);
+            } catch (RuntimeException e) {
+                log.error("[PharmacySpatialIndexService raster] 래스터 생성 실패: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    private NearestPharmacyRaster createRaster(NearestPharmacyRaster previousRaster, PharmacySnapshot snapshot,
+                                               List<Long> changedIds) {
+        // 셀마다 반경이 다른 탐색을 반복하므로 반경 편차에 강한 KD-트리 사용
+        PharmacySpatialIndex builderIndex = new KdTreePharmacySpatialIndex(snapshot);
+
+        if (Objects.isNull(previousRaster) || Objects.isNull(changedIds)) {
+            return NearestPharmacyRaster.build(snapshot, builderIndex,
+                    rasterCellSizeDegrees, rasterMaxRadiusKm, rasterMaxCandidates);
+        }
+
+        // 변경 전/후 좌표 중 실제로 달라진 좌표만 영향 셀 계산에 사용 (주소만 바뀐 경우 제외)
+        PharmacySnapshot previousSnapshot = previousRaster.snapshot();
+        Map<Long, Integer> previousPositions = previousSnapshot.positionsById();
+        Map<Long, Integer> positions = snapshot.positionsById();
+        double[] changedLatitudes = new double[changedIds.size() * 2];
+        double[] changedLongitudes = new double[changedIds.size() * 2];
+        int count = 0;
+
+        for (Long id : changedIds) {
+            Integer before = previousPositions.get(id);
+            Integer after = positions.get(id);
+            if (Objects.nonNull(before) && Objects.nonNull(after)
+                    && previousSnapshot.latitude(before) == snapshot.latitude(after)
+                    && previousSnapshot.longitude(before) == snapshot.longitude(after)) {
+                continue;
+            }
+            if (Objects.nonNull(before)) {
+                changedLatitudes[count] = previousSnapshot.latitude(before);
+                changedLongitudes[count++] = previousSnapshot.longitude(before);
+            }
+            if (Objects.nonNull(after)) {
+                changedLatitudes[count] = snapshot.latitude(after);
+                changedLongitudes[count++] = snapshot.longitude(after);
+            }
+        }
+        return previousRaster.update(snapshot, builderIndex,
+                Arrays.copyOf(changedLatitudes, count), Arrays.copyOf(changedLongitudes, count));
+    }
+
+    /**
+     * 현재 인덱스 상태를 반환합니다.
+     * 최초 생성 전이면(서버 시작 직후 준비 중) 재적재 스레드에 생성을 맡기고 기다리지 않습니다.
+     *
+     * @return PharmacyIndexState 현재 인덱스 상태 (생성 전이면 null)
+     */
+    private PharmacyIndexState getState() {
+        PharmacyIndexState current = state.get();
+        if (Objects.nonNull(current)) return current;
+
+        scheduleInitialBuild();
+        return state.get();
+    }
+
+    /**
+     * 재적재 스레드에서 인덱스를 최초 생성합니다.
+     * 이미 등록된 작업이 있거나, 직전 시도에서 데이터가 없어 재시도 간격이 지나지 않았으면 등록하지 않습니다.
+     */
+    private void scheduleInitialBuild() {
+        if (System.currentTimeMillis() < nextInitialBuildMillis) return;
+        if (!pendingInitialBuild.compareAndSet(false, true)) return;
+
+        try {
+            pharmacyIndexReloadExecutor.execute(() -> {
+                try {
+                    synchronized (this) {
+                        // 스냅샷 파일이 있으면 파일로, 없으면 원본 데이터(Redis → DB)로 생성
+                        if (Objects.isNull(state.get()) && !loadSnapshotFile()) rebuild();
+                    }
+                } catch (RuntimeException e) {
+                    log.error("[PharmacySpatialIndexService scheduleInitialBuild] 인덱스 생성 실패: {}", e.getMessage(), e);
+                } finally {
+                    if (Objects.isNull(state.get())) {
+                        nextInitialBuildMillis = System.currentTimeMillis() + initialBuildRetryMillis;
+                    }
+                    pendingInitialBuild.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            pendingInitialBuild.set(false);
+            log.warn("[PharmacySpatialIndexService scheduleInitialBuild] 인덱스 생성 작업 등록 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.index;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshot;
+import com.dsg.pharmacyrecommend.geo.DistanceKernels;
+
+/**
+ * 약국 공간 인덱스 종류
+ *
+ * application.yml 의 pharmacy.index.type 값으로 선택합니다.
+ */
+public enum PharmacySpatialIndexType {
+
+    GRID,         // 균일 위경도 격자 - 약국 밀도가 고른 지역에 유리
+    KD_TREE,      // KD-트리 - 밀도 편차가 큰 전국 단위 데이터에 유리
+    BRUTE_FORCE;  // 전체 순차 탐색(SIMD) - 생성 비용 없음, 소규모 데이터에 유리
+
+    public PharmacySpatialIndex create(PharmacySnapshot snapshot, double gridCellSizeDegrees) {
+        return switch (this) {
+            case GRID -> new GridPharmacySpatialIndex(snapshot, gridCellSizeDegrees);
+            case KD_TREE -> new KdTreePharmacySpatialIndex(snapshot);
+            case BRUTE_FORCE -> new BruteForcePharmacySpatialIndex(snapshot, DistanceKernels.best());
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.index;
+
+/**
+ * 검색 한 번에 사용된 탐색 비용 집계
+ *
+ * - rings : 탐색 단계 수 (격자 인덱스는 반경을 두 배씩 늘린 링 수, 그 외 인덱스는 1)
+ * - candidates : 거리를 계산한 후보 약국 수
+ *
+ * 스레드 안전하지 않으므로 검색 한 번마다 새로 생성합니다.
+ */
+public final class SearchStats {
+
+    private int rings;
+    private long candidates;
+
+    public void addRing() {
+        rings++;
+    }
+
+    public void addCandidates(long count) {
+        candidates += count;
+    }
+
+    public int getRings() {
+        return rings;
+    }
+
+    public long getCandidates() {
+        return candidates;
+    }
+}
@@ -0,0 +1,147 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.index;
+
+/**
+ * 거리가 가장 짧은 k개의 후보만 유지하는 고정 크기 최대 힙
+ *
+ * 후보를 객체로 만들지 않고 약국 번호(int)와 거리(double)를 병렬 배열에 저장합니다.
+ * 루트(0번)에 현재 k개 중 가장 먼 후보가 위치하므로,
+ * 힙이 가득 찬 이후에는 루트보다 가까운 후보만 O(log k)로 교체됩니다.
+ *
+ * 사용 순서:
+ * 1. offer() 로 후보 추가
+ * 2. sort() 로 거리 오름차순 정렬
+ * 3. position(i), distance(i) 로 결과 조회
+ *
+ * 스레드 안전하지 않으므로 검색 한 번(또는 파티션 하나)마다 새로 생성합니다.
+ */
+public final class TopKHeap {
+
+    private final int capacity;
+    private final int[] positions;
+    private final double[] distances;
+    private int size;
+    private boolean sorted;
+
+    public TopKHeap(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        this.capacity = capacity;
+        this.positions = new int[capacity];
+        this.distances = new double[capacity];
+    }
+
+    /**
+     * 후보를 추가합니다. 힙이 가득 찬 경우 현재 가장 먼 후보보다 가까울 때만 교체됩니다.
+     *
+     * @param position 약국 번호 (인덱스 내부 위치)
+     * @param distance 기준점과의 거리 (km)
+     * @return boolean 후보가 힙에 포함되었는지 여부
+     */
+    public boolean offer(int position, double distance) {
+        if (sorted) throw new IllegalStateException("already sorted");
+
+        if (size < capacity) {
+            positions[size] = position;
+            distances[size] = distance;
+            siftUp(size++);
+            return true;
+        }
+        if (distance < distances[0]) {
+            positions[0] = position;
+            distances[0] = distance;
+            siftDown(0, size);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 다른 힙의 후보를 모두 합칩니다. (파티션별 결과 병합용)
+     */
+    public void merge(TopKHeap other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.positions[i], other.distances[i]);
+        }
+    }
+
+    /**
+     * 이후 탐색에서 의미가 있는 최대 거리
+     * 힙이 가득 차기 전에는 검색 반경, 가득 찬 이후에는 k번째로 가까운 후보의 거리
+     *
+     * @param radiusKm 검색 반경 (km)
+     * @return double 거리 한계 (km)
+     */
+    public double bound(double radiusKm) {
+        return size < capacity ? radiusKm : Math.min(radiusKm, distances[0]);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 힙 정렬로 후보를 거리 오름차순 정렬합니다. 정렬 이후에는 후보를 추가할 수 없습니다.
+     */
+    public void sort() {
+        if (sorted) return;
+        for (int end = size - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(0, end);
+        }
+        sorted = true;
+    }
+
+    /**
+     * @param i 정렬 순위 (0부터 시작, sort() 호출 이후에만 거리순 보장)
+     * @return int 약국 번호
+     */
+    public int position(int i) {
+        return positions[i];
+    }
+
+    /**
+     * @param i 정렬 순위 (0부터 시작, sort() 호출 이후에만 거리순 보장)
+     * @return double 기준점과의 거리 (km)
+     */
+    public double distance(int i) {
+        return distances[i];
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (distances[parent] >= distances[i]) return;
+            swap(parent, i);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i, int end) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= end) return;
+            int largest = left;
+            int right = left + 1;
+            if (right < end && distances[right] > distances[left]) largest = right;
+            if (distances[i] >= distances[largest]) return;
+            swap(i, largest);
+            i = largest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int position = positions[a];
+        positions[a] = positions[b];
+        positions[b] = position;
+        double distance = distances[a];
+        distances[a] = distances[b];
+        distances[b] = distance;
+    }
+}
@@ -1,7 +1,74 @@
 package com.dsg.pharmacyrecommend.domain.pharmacy.repository;
 
+import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
 import com.dsg.pharmacyrecommend.domain.pharmacy.entity.Pharmacy;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface PharmacyRepository extends JpaRepository<Pharmacy, Long> {
+
+    /**
+     * id 기준 키셋 페이지 조회 (OFFSET 없이 마지막 id 이후 limit 건, 엔티티 대신 DTO 생성자 프로젝션)
+     */
+    @Query("""
+            select new com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto(
+                p.id, p.pharmacyName, p.pharmacyAddress, p.latitude, p.longitude)
+            from Pharmacy p
+            where p.id > :id
+            order by p.id
+            """)
+    List<PharmacyDto> findDtoChunkAfter(@Param("id") Long id, Limit limit);
+
+    /**
+     * 전체 약국을 DTO 생성자 프로젝션으로 스트리밍 조회 (id 순서)
+     *
+     * 프로젝션 결과는 영속성 컨텍스트에 등록되지 않으므로(스냅샷/dirty checking 없음) 읽은 행은 바로 GC 대상이 되고,
+     * JDBC fetch size 만큼씩 나눠 받으므로 전체 결과를 드라이버 메모리에 올리지 않습니다.
+     * 읽기 전용 트랜잭션 안에서 호출하고 Stream 은 반드시 닫아야 합니다.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto(
+                p.id, p.pharmacyName, p.pharmacyAddress, p.latitude, p.longitude)
+            from Pharmacy p
+            order by p.id
+            """)
+    Stream<PharmacyDto> streamAllDto();
+
+    /**
+     * 기준점에서 반경 이내의 약국을 가까운 순으로 최대 limit 건 조회 (MariaDB 공간 인덱스 idx_pharmacy_location 사용)
+     *
+     * MBRContains 로 바운딩 박스 안의 약국만 SPATIAL INDEX 로 찾고, 그 후보만 ST_Distance_Sphere 로 거리 비교/정렬합니다.
+     * 좌표 WKT 는 POINT(경도 위도) 순서입니다. (database/init/pharmacy_spatial.sql)
+     *
+     * @param boundingBox 검색 반경의 바운딩 박스 POLYGON WKT
+     * @param center 기준점 POINT WKT
+     * @param radiusMeters 검색 반경 (미터)
+     * @param earthRadiusMeters 거리 계산에 사용할 지구 반지름 (미터)
+     * @param limit 최대 조회 건수
+     */
+    @Query(value = """
+            SELECT p.id, p.created_date, p.modified_date, p.latitude, p.longitude, p.pharmacy_address, p.pharmacy_name
+            FROM pharmacy p
+            WHERE MBRContains(ST_GeomFromText(:boundingBox, 4326), p.location)
+              AND ST_Distance_Sphere(p.location, ST_GeomFromText(:center, 4326), :earthRadiusMeters) <= :radiusMeters
+            ORDER BY ST_Distance_Sphere(p.location, ST_GeomFromText(:center, 4326), :earthRadiusMeters), p.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Pharmacy> findNearestWithin(@Param("boundingBox") String boundingBox,
+                                     @Param("center") String center,
+                                     @Param("radiusMeters") double radiusMeters,
+                                     @Param("earthRadiusMeters") double earthRadiusMeters,
+                                     @Param("limit") int limit);
 }
@@ -32,9 +32,9 @@ import java.util.stream.Collectors;
  * 5. URL 생성 → 길찾기, 로드뷰 링크 제공
  * 
  * 추천 전략:
- * - 최대 3개 약국 추천
- * - 직선거리 10km 이내 제한
- * - Haversine 공식을 통한 정확한 거리 계산
+ * - 최대 3개 약국 추천 (요청별 지정 가능)
+ * - 직선거리 10km 이내 제한 (요청별 지정 가능)
+ * - WGS84 타원체(Vincenty) 공식을 통한 정확한 거리 계산
  * - Base62 인코딩을 통한 짧은 URL 생성
  * 
  * @author dsg
@@ -90,7 +90,7 @@ public class PharmacyRecommendationService {
      * 4. 프론트엔드용 DTO 변환
      * 
      * 추천 알고리즘:
-     * - 현재: 자체 DB 기반 + Haversine 거리 계산 (더 정확한 결과)
+     * - 현재: 자체 DB 기반 + 타원체 거리 계산 (더 정확한 결과)
      * - 대안: 카카오 카테고리 API 기반 (실시간 정보, 주석 처리됨)
      * 
      * 예외 처리:
@@ -104,6 +104,19 @@ public class PharmacyRecommendationService {
      *         각 약국의 이름, 주소, 거리, 길찾기 URL, 로드뷰 URL 포함
      */
     public List<OutputDto> recommendPharmacyList(String address) {
+        return recommendPharmacyList(address, null, null);
+    }
+
+    /**
+     * 검색 개수와 반경을 지정하여 주소 기반 약국 추천을 수행합니다.
+     *
+     * @param address 사용자가 입력한 검색 주소
+     * @param searchCount 추천 약국 개수 (null 이면 기본값 3개)
+     * @param radiusKm 검색 반경 km (null 이면 기본값 10km)
+     * @return List<OutputDto> 추천 약국 목록 (최대 searchCount개)
+     * @see #recommendPharmacyList(String)
+     */
+    public List<OutputDto> recommendPharmacyList(String address, Integer searchCount, Double radiusKm) {
 
         // 1단계: 입력 주소를 카카오 API를 통해 좌표로 변환
         KakaoApiResponseDto kakaoApiResponseDto = kakaoAddressSearchService.requestAddressSearch(address);
@@ -122,17 +135,18 @@ public class PharmacyRecommendationService {
 
         // 2단계: 약국 추천 로직 선택
         // 방법1: 자체 DB 약국 데이터 + 거리 계산 알고리즘 (현재 사용)
-        List<Direction> directionList = directionService.buildDirectionList(documentDto);
+        List<Direction> directionList = directionService.buildDirectionList(documentDto, searchCount, radiusKm);
         
         // 방법2: 카카오 카테고리 검색 API 사용 (실시간 약국 정보)
         // 더 최신 정보를 원할 경우 아래 주석을 해제하고 위 라인을 주석 처리
+        // (결과에 약국 id 가 없어 저장할 수 없으므로 3단계 저장 대신 카카오맵 URL 을 바로 만들어야 함)
         // List<Direction> directionList = directionService.buildDirectionListByCategoryApi(documentDto);
 
         log.info("[PharmacyRecommendationService.recommendPharmacyList] " +
                 "약국 검색 완료 - 검색된 약국 수: {}", directionList.size());
 
-        // 3단계: 검색 결과 저장 및 프론트엔드용 DTO 변환
-        return directionService.saveAll(directionList)
+        // 3단계: 검색 결과 저장 및 프론트엔드용 DTO 변환 (같은 검색이 반복되면 저장 없이 이전 길안내 재사용)
+        return directionService.saveAll(directionList, searchCount, radiusKm)
                 .stream()
                 .map(this::convertToOutputDto)
                 .collect(Collectors.toList());
@@ -0,0 +1,82 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.service;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 약국 Redis 대량 적재 작업의 진행 상태
+ *
+ * 적재 스레드가 chunk 마다 진행 건수를 더하고, 조회 API 는 다른 스레드에서 읽으므로
+ * 진행 건수는 AtomicLong, 상태/종료 시각은 volatile 로 공개합니다.
+ */
+@Getter
+public class PharmacyRedisLoadJob {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Instant startedAt = Instant.now();
+    private final long total;
+    private final AtomicLong loaded = new AtomicLong();
+    private volatile Status status = Status.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    PharmacyRedisLoadJob(long total) {
+        this.total = total;
+    }
+
+    public long getLoaded() {
+        return loaded.get();
+    }
+
+    public boolean isRunning() {
+        return status == Status.RUNNING;
+    }
+
+    /**
+     * 경과 시간 (진행 중이면 현재까지)
+     */
+    public Duration elapsed() {
+        return Duration.between(startedAt, Objects.requireNonNullElseGet(finishedAt, Instant::now));
+    }
+
+    /**
+     * 초당 적재 건수
+     */
+    public double throughputPerSecond() {
+        long millis = elapsed().toMillis();
+        return millis == 0 ? 0 : getLoaded() * 1000.0 / millis;
+    }
+
+    /**
+     * 진행률 (0 ~ 1, 전체 건수를 모르면 0)
+     */
+    public double progress() {
+        return total == 0 ? (isRunning() ? 0 : 1) : Math.min(1.0, (double) getLoaded() / total);
+    }
+
+    void addLoaded(int count) {
+        loaded.addAndGet(count);
+    }
+
+    void complete() {
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail(Throwable cause) {
+        error = cause.getMessage();
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+}
@@ -0,0 +1,118 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.service;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.cache.PharmacyRedisTemplateService;
+import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 약국 정보 Redis 대량 적재 서비스
+ *
+ * DB 에서 id 순서로 chunk 단위(키셋 페이지)로 읽어 chunk 마다 파이프라인 한 번으로 Redis 에 기록합니다.
+ * 적재는 전용 스레드에서 백그라운드로 수행되고, 요청한 쪽은 작업 id 로 진행률/처리량을 조회합니다.
+ * 동시에 하나의 작업만 실행되며, 진행 중에 다시 요청하면 진행 중인 작업을 반환합니다.
+ * 모든 chunk 를 기록한 뒤 바이너리 스냅샷도 함께 공개합니다.
+ *
+ * 설정 (application.yml):
+ * - pharmacy.redis.load.chunk-size : chunk 하나의 약국 수 (DB 조회/파이프라인 단위)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PharmacyRedisLoadService {
+
+    /**
+     * 조회 가능한 최근 작업 수 (오래된 작업부터 제거)
+     */
+    private static final int MAX_JOB_HISTORY = 20;
+
+    private final PharmacyRepositoryService pharmacyRepositoryService;
+    private final PharmacyRedisTemplateService pharmacyRedisTemplateService;
+
+    /**
+     * 대량 적재 전용 단일 스레드 Executor (PharmacySearchConfig)
+     */
+    private final Executor pharmacyRedisLoadExecutor;
+
+    private final AtomicReference<PharmacyRedisLoadJob> runningJob = new AtomicReference<>();
+    private final Map<String, PharmacyRedisLoadJob> jobs = new LinkedHashMap<>();
+
+    @Value("${pharmacy.redis.load.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    /**
+     * 백그라운드 적재 작업을 시작합니다. 이미 진행 중인 작업이 있으면 그 작업을 반환합니다.
+     * @return PharmacyRedisLoadJob 시작한(또는 진행 중인) 작업
+     */
+    public PharmacyRedisLoadJob start() {
+        PharmacyRedisLoadJob running = runningJob.get();
+        if (Objects.nonNull(running)) return running;
+
+        PharmacyRedisLoadJob job = new PharmacyRedisLoadJob(pharmacyRepositoryService.count());
+        running = runningJob.compareAndExchange(null, job);
+        if (Objects.nonNull(running)) return running;
+
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            if (jobs.size() > MAX_JOB_HISTORY) jobs.remove(jobs.keySet().iterator().next());
+        }
+
+        try {
+            pharmacyRedisLoadExecutor.execute(() -> run(job));
+        } catch (RuntimeException e) {
+            job.fail(e);
+            runningJob.compareAndSet(job, null);
+        }
+        return job;
+    }
+
+    /**
+     * 작업 id 로 적재 작업을 조회합니다.
+     * @param jobId 작업 id
+     * @return PharmacyRedisLoadJob (없으면 null)
+     */
+    public PharmacyRedisLoadJob findJob(String jobId) {
+        synchronized (jobs) {
+            return jobs.get(jobId);
+        }
+    }
+
+    private void run(PharmacyRedisLoadJob job) {
+        log.info("[PharmacyRedisLoadService run] start jobId: {}, total: {}, chunkSize: {}",
+                job.getId(), job.getTotal(), chunkSize);
+        try {
+            // chunk 를 기록하면서 스냅샷 빌더에 바로 추가 (전체 약국 리스트를 만들지 않음)
+            PharmacySnapshot.Builder snapshot = PharmacySnapshot.builder();
+            long lastId = 0;
+            while (true) {
+                List<PharmacyDto> chunk = pharmacyRepositoryService.findChunkAfter(lastId, chunkSize);
+                if (chunk.isEmpty()) break;
+
+                job.addLoaded(pharmacyRedisTemplateService.saveAll(chunk));
+                chunk.forEach(snapshot::add);
+                lastId = chunk.get(chunk.size() - 1).getId();
+                if (chunk.size() < chunkSize) break;
+            }
+            pharmacyRedisTemplateService.saveSnapshot(snapshot.build());
+            job.complete();
+            log.info("[PharmacyRedisLoadService run] done jobId: {}, loaded: {}, elapsed: {}ms, throughput: {}/s",
+                    job.getId(), job.getLoaded(), job.elapsed().toMillis(), Math.round(job.throughputPerSecond()));
+        } catch (RuntimeException e) {
+            job.fail(e);
+            log.error("[PharmacyRedisLoadService run] failed jobId: {}, loaded: {}, error: {}",
+                    job.getId(), job.getLoaded(), e.getMessage(), e);
+        } finally {
+            runningJob.compareAndSet(job, null);
+        }
+    }
+}
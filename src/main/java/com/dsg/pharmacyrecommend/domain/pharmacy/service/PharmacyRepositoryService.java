@@ -1,17 +1,27 @@
 package com.dsg.pharmacyrecommend.domain.pharmacy.service;
 
+import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
 import com.dsg.pharmacyrecommend.domain.pharmacy.entity.Pharmacy;
+import com.dsg.pharmacyrecommend.domain.pharmacy.event.PharmacyChangedEvent;
 import com.dsg.pharmacyrecommend.domain.pharmacy.repository.PharmacyRepository;
+import com.dsg.pharmacyrecommend.geo.GeoQuery;
+import com.dsg.pharmacyrecommend.geo.GeoUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.CollectionUtils;
 
+import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -19,6 +29,7 @@ import java.util.Objects;
 public class PharmacyRepositoryService {
 
     private final PharmacyRepository pharmacyRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     // self invocation test
     // 내부에서 호출하는 방식에서는 @Transactional이 적용되지 않음
@@ -49,7 +60,11 @@ public class PharmacyRepositoryService {
     @Transactional
     public List<Pharmacy> saveAll(List<Pharmacy> pharmacyList) {
         if(CollectionUtils.isEmpty(pharmacyList)) return Collections.emptyList();
-        return pharmacyRepository.saveAll(pharmacyList);
+        List<Pharmacy> savedList = pharmacyRepository.saveAll(pharmacyList);
+        // 커밋 이후 약국 공간 인덱스/래스터 부분 갱신
+        applicationEventPublisher.publishEvent(new PharmacyChangedEvent(
+                savedList.stream().map(Pharmacy::getId).toList()));
+        return savedList;
     }
 
     @Transactional
@@ -61,6 +76,7 @@ public class PharmacyRepositoryService {
             return;
         }
         entity.changePharmacyAddress(address);
+        applicationEventPublisher.publishEvent(new PharmacyChangedEvent(List.of(id)));
     }
 
     // for test
@@ -79,5 +95,73 @@ public class PharmacyRepositoryService {
         return pharmacyRepository.findAll();
     }
 
+    /**
+     * id 순서로 마지막 id 이후의 약국을 chunk 단위로 조회 (대량 적재용 키셋 페이지, 엔티티를 만들지 않음)
+     * @param lastId 이전 chunk 의 마지막 id (처음에는 0)
+     * @param chunkSize 최대 조회 건수
+     * @return 약국 DTO 리스트 (비어 있으면 마지막)
+     */
+    @Transactional(readOnly = true)
+    public List<PharmacyDto> findChunkAfter(long lastId, int chunkSize) {
+        return pharmacyRepository.findDtoChunkAfter(lastId, Limit.of(chunkSize));
+    }
+
+    /**
+     * 전체 약국을 id 순서로 한 건씩 전달합니다. (엔티티/전체 리스트 없이 스트리밍 조회)
+     * 전달한 DTO 를 보관하지 않으면 약국 수와 관계없이 일정한 메모리로 처리됩니다.
+     * @param consumer 약국 DTO 처리 함수 (읽기 전용 트랜잭션 안에서 호출됨)
+     * @return 전달한 약국 수
+     */
+    @Transactional(readOnly = true)
+    public long forEachPharmacyDto(Consumer<PharmacyDto> consumer) {
+        long count = 0;
+        try (Stream<PharmacyDto> stream = pharmacyRepository.streamAllDto()) {
+            for (PharmacyDto pharmacyDto : (Iterable<PharmacyDto>) stream::iterator) {
+                consumer.accept(pharmacyDto);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Pharmacy> findById(Long id) {
+        return pharmacyRepository.findById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public long count() {
+        return pharmacyRepository.count();
+    }
+
+    /**
+     * 기준점에서 반경 이내의 약국을 가까운 순으로 최대 limit 건 조회 (DB 공간 인덱스, 전체 테이블을 읽지 않음)
+     * @param latitude 기준점 위도
+     * @param longitude 기준점 경도
+     * @param limit 최대 조회 건수
+     * @param radiusKm 검색 반경 (킬로미터 단위)
+     * @return 약국 리스트 (거리순)
+     */
+    @Transactional(readOnly = true)
+    public List<Pharmacy> findNearest(double latitude, double longitude, int limit, double radiusKm) {
+        GeoQuery query = new GeoQuery(latitude, longitude, radiusKm);
+        String boundingBox = "POLYGON((" + String.join(", ",
+                point(query.getMinLongitude(), query.getMinLatitude()),
+                point(query.getMaxLongitude(), query.getMinLatitude()),
+                point(query.getMaxLongitude(), query.getMaxLatitude()),
+                point(query.getMinLongitude(), query.getMaxLatitude()),
+                point(query.getMinLongitude(), query.getMinLatitude())) + "))";
+
+        return pharmacyRepository.findNearestWithin(boundingBox, "POINT(" + point(longitude, latitude) + ")",
+                radiusKm * 1000, GeoUtils.EARTH_RADIUS_KM * 1000, limit);
+    }
+
+    /**
+     * WKT 좌표 한 쌍 (경도 위도 순서, 지수 표기 없이)
+     */
+    private static String point(double longitude, double latitude) {
+        return BigDecimal.valueOf(longitude).toPlainString() + " " + BigDecimal.valueOf(latitude).toPlainString();
+    }
+
 
 }
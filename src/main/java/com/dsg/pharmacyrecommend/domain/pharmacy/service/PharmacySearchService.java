@@ -1,15 +1,16 @@
 package com.dsg.pharmacyrecommend.domain.pharmacy.service;
 
 import com.dsg.pharmacyrecommend.domain.pharmacy.cache.PharmacyRedisTemplateService;
+import com.dsg.pharmacyrecommend.domain.pharmacy.cache.RedisHealthTracker;
 import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
-import com.dsg.pharmacyrecommend.domain.pharmacy.entity.Pharmacy;
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshot;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -18,28 +19,56 @@ public class PharmacySearchService {
 
     private final PharmacyRepositoryService pharmacyRepositoryService;
     private final PharmacyRedisTemplateService pharmacyRedisTemplateService;
+    private final RedisHealthTracker redisHealthTracker;
 
     public List<PharmacyDto> searchPharmacyDtoList() {
 
-        // redis
-        List<PharmacyDto> pharmacyDtoList = pharmacyRedisTemplateService.findAll();
-        if(!CollectionUtils.isEmpty(pharmacyDtoList)) return pharmacyDtoList;
+        // redis (연속 실패로 차단된 동안은 타임아웃을 기다리지 않고 바로 DB 조회)
+        if (redisHealthTracker.tryAcquire("findAll")) {
+            List<PharmacyDto> pharmacyDtoList = pharmacyRedisTemplateService.findAll();
+            if(!CollectionUtils.isEmpty(pharmacyDtoList)) return pharmacyDtoList;
+        }
 
         // db
-        return pharmacyRepositoryService.findAll()
-                .stream()
-                .map(this::convertToPharmacyDto)
-                .collect(Collectors.toList());
+        return searchPharmacyDtoListFromDb();
     }
 
-    private PharmacyDto convertToPharmacyDto(Pharmacy pharmacy) {
+    /**
+     * Redis 에 공개된 바이너리 약국 스냅샷을 조회합니다. (blob 하나, JSON 파싱 없음)
+     * @return 약국 스냅샷 (없거나 Redis 가 차단된 경우 null)
+     */
+    public PharmacySnapshot searchPharmacySnapshot() {
+        if (!redisHealthTracker.tryAcquire("findSnapshot")) return null;
+        return pharmacyRedisTemplateService.findSnapshot();
+    }
+
+    /**
+     * 약국 스냅샷을 Redis 에 바이너리로 공개합니다. (Redis 의 버전보다 최신일 때만)
+     * @param snapshot 약국 스냅샷
+     */
+    public void publishPharmacySnapshot(PharmacySnapshot snapshot) {
+        if (!redisHealthTracker.tryAcquire("saveSnapshot")) return;
+        pharmacyRedisTemplateService.saveSnapshot(snapshot);
+    }
+
+    /**
+     * Redis 를 거치지 않고 DB 에서 약국 목록을 조회합니다. (엔티티 대신 DTO 프로젝션 스트리밍)
+     * 약국 변경 직후처럼 Redis 데이터가 최신이 아닐 수 있는 경우에 사용합니다.
+     */
+    public List<PharmacyDto> searchPharmacyDtoListFromDb() {
+        List<PharmacyDto> pharmacyDtoList = new ArrayList<>();
+        pharmacyRepositoryService.forEachPharmacyDto(pharmacyDtoList::add);
+        return pharmacyDtoList;
+    }
 
-        return PharmacyDto.builder()
-                .id(pharmacy.getId())
-                .pharmacyName(pharmacy.getPharmacyName())
-                .pharmacyAddress(pharmacy.getPharmacyAddress())
-                .latitude(pharmacy.getLatitude())
-                .longitude(pharmacy.getLongitude())
-                .build();
+    /**
+     * Redis 를 거치지 않고 DB 에서 약국 스냅샷을 생성합니다.
+     * 스트리밍 조회한 약국을 바로 스냅샷 빌더에 기록하므로 약국 목록(엔티티/DTO) 전체를 메모리에 두지 않습니다.
+     * @return 약국 스냅샷 (버전은 조회를 마친 시각)
+     */
+    public PharmacySnapshot searchPharmacySnapshotFromDb() {
+        PharmacySnapshot.Builder builder = PharmacySnapshot.builder();
+        pharmacyRepositoryService.forEachPharmacyDto(builder::add);
+        return builder.build();
     }
 }
@@ -0,0 +1,53 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.snapshot;
+
+/**
+ * 약국 레코드 flyweight - 오프힙 저장소({@link PharmacyRecordStore})의 약국 하나를 가리키는 가벼운 참조
+ *
+ * 필드는 저장소와 약국 번호뿐이며, 값은 getter 를 호출할 때 저장소에서 읽습니다.
+ * 약국명/주소는 호출 시점에 UTF-8 바이트를 String 으로 변환하므로
+ * 검색 결과(k개)로 선택된 약국에서만 문자열 객체가 생성됩니다.
+ *
+ * PharmacyDto 와 같은 이름의 getter 를 제공합니다.
+ */
+public final class PharmacyRecord {
+
+    private final PharmacyRecordStore store;
+    private final int position;
+
+    PharmacyRecord(PharmacyRecordStore store, int position) {
+        this.store = store;
+        this.position = position;
+    }
+
+    /**
+     * @return int 스냅샷 내 약국 번호
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    public long getId() {
+        return store.id(position);
+    }
+
+    public double getLatitude() {
+        return store.latitude(position);
+    }
+
+    public double getLongitude() {
+        return store.longitude(position);
+    }
+
+    public String getPharmacyName() {
+        return store.pharmacyName(position);
+    }
+
+    public String getPharmacyAddress() {
+        return store.pharmacyAddress(position);
+    }
+
+    @Override
+    public String toString() {
+        return "PharmacyRecord(position=" + position + ", id=" + getId() + ")";
+    }
+}
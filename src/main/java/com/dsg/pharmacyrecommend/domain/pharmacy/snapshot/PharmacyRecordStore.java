@@ -0,0 +1,277 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.snapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 약국 레코드 오프힙(off-heap) 저장소
+ *
+ * 약국마다 PharmacyDto 와 약국명/주소 String 객체를 두면 수백만 건 적재 시 힙이 커지고
+ * GC 가 추적할 객체 수가 늘어나 정지 시간이 길어집니다.
+ * 이 저장소는 id, 위경도와 UTF-8 로 인코딩한 약국명/주소를 하나의 direct ByteBuffer(힙 바깥 메모리)에 연속으로 기록하므로
+ * GC 입장에서는 약국 수와 관계없이 버퍼 객체 하나뿐입니다.
+ * 문자열은 최종 결과로 선택된 약국({@link PharmacyRecord})에 대해서만 String 으로 변환합니다.
+ *
+ * 메모리 구조 (little-endian, 스냅샷 파일 {@link PharmacySnapshotFile} 의 본문과 동일):
+ * <pre>
+ *   long[n]      id
+ *   double[n]    위도
+ *   double[n]    경도
+ *   int[2n + 1]  문자열 오프셋 (약국명 i = [2i, 2i+1), 주소 i = [2i+1, 2i+2), 문자열 영역 기준)
+ *   byte[]       UTF-8 약국명/주소
+ * </pre>
+ * 파일과 구조가 같으므로 스냅샷 파일 저장/로딩 시 문자열 인코딩/디코딩 없이 메모리 복사 한 번으로 처리합니다.
+ *
+ * 생성 이후 변경되지 않으므로 여러 스레드에서 동시에 조회할 수 있습니다.
+ * 버퍼 메모리는 저장소 객체가 GC 로 회수될 때 함께 해제되며, 크기는 2GB 미만이어야 합니다.
+ * (JVM 옵션 -XX:MaxDirectMemorySize 로 상한을 지정할 수 있습니다.)
+ */
+public final class PharmacyRecordStore {
+
+    private final int size;
+    private final ByteBuffer buffer;
+    private final int latitudeBase;
+    private final int longitudeBase;
+    private final int offsetBase;
+    private final int stringBase;
+
+    private PharmacyRecordStore(int size, ByteBuffer buffer) {
+        this.size = size;
+        this.buffer = buffer;
+        this.latitudeBase = size * Long.BYTES;
+        this.longitudeBase = latitudeBase + size * Double.BYTES;
+        this.offsetBase = longitudeBase + size * Double.BYTES;
+        this.stringBase = offsetBase + (2 * size + 1) * Integer.BYTES;
+    }
+
+    /**
+     * 같은 메모리 구조로 기록된 바이트(스냅샷 파일 본문)를 오프힙 메모리로 복사하여 저장소를 생성합니다.
+     *
+     * @param size 약국 수
+     * @param source 저장소 바이트 (position ~ limit)
+     * @return PharmacyRecordStore 저장소
+     * @throws IllegalArgumentException 크기나 문자열 오프셋이 올바르지 않은 경우
+     */
+    static PharmacyRecordStore copyOf(int size, ByteBuffer source) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(source.remaining());
+        buffer.put(source.duplicate()).flip();
+        return wrap(size, buffer);
+    }
+
+    /**
+     * 같은 메모리 구조로 기록된 direct ByteBuffer 를 복사 없이 저장소로 사용합니다.
+     * (압축 해제 결과를 바로 direct 버퍼에 기록한 경우, 이후 버퍼를 변경하면 안 됨)
+     *
+     * @param size 약국 수
+     * @param buffer 저장소 바이트 (0 ~ limit)
+     * @return PharmacyRecordStore 저장소
+     * @throws IllegalArgumentException 크기나 문자열 오프셋이 올바르지 않은 경우
+     */
+    static PharmacyRecordStore wrap(int size, ByteBuffer buffer) {
+        if (size < 0 || buffer.limit() < byteSize(size, 0)) {
+            throw new IllegalArgumentException("invalid pharmacy record bytes: size " + size + ", " + buffer.limit() + " bytes");
+        }
+        ByteBuffer records = buffer.slice(0, buffer.limit()).order(ByteOrder.LITTLE_ENDIAN);
+        PharmacyRecordStore store = new PharmacyRecordStore(size, records);
+        store.validateOffsets();
+        return store;
+    }
+
+    /**
+     * 저장소 크기(byte)를 계산합니다.
+     */
+    static long byteSize(int size, long stringLength) {
+        return (long) size * Long.BYTES + 2L * size * Double.BYTES + (2L * size + 1) * Integer.BYTES + stringLength;
+    }
+
+    private static int checkedByteSize(int size, long stringLength) {
+        long byteSize = byteSize(size, stringLength);
+        if (byteSize > Integer.MAX_VALUE) throw new IllegalArgumentException("pharmacy records too large: " + byteSize + " bytes");
+        return (int) byteSize;
+    }
+
+    private void validateOffsets() {
+        int previous = 0;
+        for (int slot = 0; slot <= 2 * size; slot++) {
+            int offset = buffer.getInt(offsetBase + slot * Integer.BYTES);
+            if (offset < previous || (slot == 0 && offset != 0)) {
+                throw new IllegalArgumentException("invalid string offset at " + slot + ": " + offset);
+            }
+            previous = offset;
+        }
+        if (previous != stringLength()) {
+            throw new IllegalArgumentException("string length mismatch: expected " + previous + ", actual " + stringLength());
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long id(int position) {
+        return buffer.getLong(Objects.checkIndex(position, size) * Long.BYTES);
+    }
+
+    public double latitude(int position) {
+        return buffer.getDouble(latitudeBase + Objects.checkIndex(position, size) * Double.BYTES);
+    }
+
+    public double longitude(int position) {
+        return buffer.getDouble(longitudeBase + Objects.checkIndex(position, size) * Double.BYTES);
+    }
+
+    /**
+     * 약국명을 String 으로 변환합니다. (호출할 때마다 새로 생성하므로 최종 결과에만 사용)
+     */
+    public String pharmacyName(int position) {
+        return string(2 * Objects.checkIndex(position, size));
+    }
+
+    /**
+     * 약국 주소를 String 으로 변환합니다. (호출할 때마다 새로 생성하므로 최종 결과에만 사용)
+     */
+    public String pharmacyAddress(int position) {
+        return string(2 * Objects.checkIndex(position, size) + 1);
+    }
+
+    /**
+     * 약국 번호를 가리키는 flyweight 를 반환합니다.
+     *
+     * @param position 약국 번호
+     * @return PharmacyRecord 약국 레코드 (문자열은 getter 호출 시 변환)
+     */
+    public PharmacyRecord record(int position) {
+        return new PharmacyRecord(this, Objects.checkIndex(position, size));
+    }
+
+    /**
+     * @return double[] 위도 배열 복사본 (거리 계산용 GeoPoints 생성 시 사용)
+     */
+    public double[] latitudes() {
+        double[] latitudes = new double[size];
+        buffer.slice(latitudeBase, size * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(latitudes);
+        return latitudes;
+    }
+
+    /**
+     * @return double[] 경도 배열 복사본 (거리 계산용 GeoPoints 생성 시 사용)
+     */
+    public double[] longitudes() {
+        double[] longitudes = new double[size];
+        buffer.slice(longitudeBase, size * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(longitudes);
+        return longitudes;
+    }
+
+    /**
+     * @return long 오프힙 메모리 사용량 (byte)
+     */
+    public long byteSize() {
+        return buffer.capacity();
+    }
+
+    /**
+     * @return long 문자열 영역 크기 (byte)
+     */
+    long stringLength() {
+        return buffer.capacity() - stringBase;
+    }
+
+    /**
+     * @return ByteBuffer 저장소 전체 바이트의 읽기 전용 뷰 (스냅샷 파일 기록용)
+     */
+    ByteBuffer bytes() {
+        return buffer.asReadOnlyBuffer().clear();
+    }
+
+    private String string(int slot) {
+        int from = buffer.getInt(offsetBase + slot * Integer.BYTES);
+        int to = buffer.getInt(offsetBase + (slot + 1) * Integer.BYTES);
+        byte[] bytes = new byte[to - from];
+        buffer.get(stringBase + from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] encode(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 약국을 한 건씩 추가하여 저장소를 생성하는 빌더
+     *
+     * 약국마다 객체를 보관하지 않고 id/위경도는 primitive 배열에, 약국명/주소는 UTF-8 바이트 배열 하나에 이어 붙이므로
+     * DB 스트리밍 조회처럼 전체 목록 없이 적재할 때 힙 사용량이 최종 저장소 크기 수준으로 유지됩니다.
+     * (배열은 부족할 때 1.5배씩 늘림, 스레드 안전하지 않음)
+     */
+    static final class Builder {
+
+        private int size;
+        private long[] ids;
+        private double[] latitudes;
+        private double[] longitudes;
+        private int[] offsets;
+        private byte[] strings;
+        private int stringLength;
+
+        Builder(int expectedSize) {
+            int capacity = Math.max(16, expectedSize);
+            this.ids = new long[capacity];
+            this.latitudes = new double[capacity];
+            this.longitudes = new double[capacity];
+            this.offsets = new int[2 * capacity + 1];
+            this.strings = new byte[capacity * 32];
+        }
+
+        /**
+         * @param pharmacyName 약국명 (null 은 빈 문자열로 저장)
+         * @param pharmacyAddress 약국 주소 (null 은 빈 문자열로 저장)
+         */
+        Builder add(long id, double latitude, double longitude, String pharmacyName, String pharmacyAddress) {
+            if (size == ids.length) grow();
+            ids[size] = id;
+            latitudes[size] = latitude;
+            longitudes[size] = longitude;
+            appendString(2 * size + 1, encode(pharmacyName));
+            appendString(2 * size + 2, encode(pharmacyAddress));
+            size++;
+            return this;
+        }
+
+        int size() {
+            return size;
+        }
+
+        PharmacyRecordStore build() {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(checkedByteSize(size, stringLength)).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < size; i++) buffer.putLong(ids[i]);
+            for (int i = 0; i < size; i++) buffer.putDouble(latitudes[i]);
+            for (int i = 0; i < size; i++) buffer.putDouble(longitudes[i]);
+            for (int slot = 0; slot <= 2 * size; slot++) buffer.putInt(offsets[slot]);
+            buffer.put(strings, 0, stringLength);
+            return new PharmacyRecordStore(size, buffer.flip());
+        }
+
+        private void appendString(int slot, byte[] string) {
+            if (stringLength + string.length > strings.length) {
+                long capacity = Math.max((long) strings.length * 3 / 2, (long) stringLength + string.length);
+                if (capacity > Integer.MAX_VALUE - 8) {
+                    throw new IllegalArgumentException("pharmacy records too large: " + capacity + " string bytes");
+                }
+                strings = Arrays.copyOf(strings, (int) capacity);
+            }
+            System.arraycopy(string, 0, strings, stringLength, string.length);
+            stringLength += string.length;
+            offsets[slot] = stringLength;
+        }
+
+        private void grow() {
+            int capacity = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+            offsets = Arrays.copyOf(offsets, 2 * capacity + 1);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.snapshot;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
+import com.dsg.pharmacyrecommend.geo.GeoPoints;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 약국 데이터의 불변(immutable) 메모리 스냅샷 - Struct-of-Arrays 형태
+ *
+ * List<PharmacyDto> 처럼 약국마다 객체를 두지 않고,
+ * id/위도/경도와 UTF-8 약국명/주소는 오프힙 저장소({@link PharmacyRecordStore})에,
+ * 거리 계산용 위경도(및 sin, cos 값)는 약국 번호 순서의 primitive 병렬 배열({@link GeoPoints})로 보관합니다.
+ * 좌표 배열이 메모리에 연속으로 놓이므로 10만 건 이상을 순차 탐색할 때
+ * CPU 캐시와 JIT(SIMD 포함) 최적화 효과를 그대로 받을 수 있고,
+ * 약국 수가 늘어도 GC 가 추적할 객체 수는 늘지 않습니다.
+ *
+ * 약국 번호(position)는 0 ~ size()-1 의 배열 위치이며,
+ * 공간 인덱스와 검색 결과는 모두 이 번호로 약국을 가리킵니다.
+ * 이름/주소 문자열은 최종 결과로 선택된 약국({@link PharmacyRecord})에 대해서만 조회합니다.
+ *
+ * 생성 이후 변경되지 않으므로 여러 스레드에서 동시에 조회할 수 있습니다.
+ */
+public final class PharmacySnapshot {
+
+    /**
+     * 스냅샷 버전 (원본 데이터를 읽은 시각, epoch millis)
+     * 스냅샷 파일과 메모리 스냅샷 중 어느 쪽이 최신인지 비교하는 데 사용합니다.
+     */
+    private final long version;
+    private final PharmacyRecordStore records;
+    private final GeoPoints points;
+
+    /**
+     * id 순으로 정렬한 id / 약국 번호 (id 조회용, 처음 조회할 때 생성)
+     */
+    private volatile IdIndex idIndex;
+
+    PharmacySnapshot(long version, PharmacyRecordStore records) {
+        this.version = version;
+        this.records = records;
+        this.points = new GeoPoints(records.latitudes(), records.longitudes());
+    }
+
+    /**
+     * 약국 DTO 목록으로 스냅샷을 생성합니다. (버전은 현재 시각)
+     *
+     * @param pharmacyDtoList 약국 DTO 목록 (id 가 없는 약국은 0 으로 저장)
+     * @return PharmacySnapshot 스냅샷
+     */
+    public static PharmacySnapshot from(List<PharmacyDto> pharmacyDtoList) {
+        return from(pharmacyDtoList, System.currentTimeMillis());
+    }
+
+    /**
+     * 약국 DTO 목록으로 지정한 버전의 스냅샷을 생성합니다.
+     *
+     * @param pharmacyDtoList 약국 DTO 목록 (id 가 없는 약국은 0 으로 저장)
+     * @param version 스냅샷 버전
+     * @return PharmacySnapshot 스냅샷
+     */
+    public static PharmacySnapshot from(List<PharmacyDto> pharmacyDtoList, long version) {
+        Builder builder = new Builder(pharmacyDtoList.size());
+        pharmacyDtoList.forEach(builder::add);
+        return builder.build(version);
+    }
+
+    /**
+     * 약국을 한 건씩 추가하여 스냅샷을 생성하는 빌더를 반환합니다.
+     * (DB 스트리밍 조회처럼 약국 목록 전체를 리스트로 만들지 않고 생성할 때 사용)
+     *
+     * @return Builder 스냅샷 빌더
+     */
+    public static Builder builder() {
+        return new Builder(0);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return records.size();
+    }
+
+    public boolean isEmpty() {
+        return records.size() == 0;
+    }
+
+    public long id(int position) {
+        return records.id(position);
+    }
+
+    public double latitude(int position) {
+        return points.latitude(position);
+    }
+
+    public double longitude(int position) {
+        return points.longitude(position);
+    }
+
+    public String pharmacyName(int position) {
+        return records.pharmacyName(position);
+    }
+
+    public String pharmacyAddress(int position) {
+        return records.pharmacyAddress(position);
+    }
+
+    /**
+     * 약국 id 로 약국 번호를 찾는 표를 만듭니다. (스냅샷 간 약국 번호 변환용, 호출할 때마다 새로 생성)
+     *
+     * @return Map<Long, Integer> 약국 id → 약국 번호
+     */
+    public Map<Long, Integer> positionsById() {
+        int size = records.size();
+        Map<Long, Integer> positions = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            positions.put(records.id(i), i);
+        }
+        return positions;
+    }
+
+    /**
+     * 약국 id 로 약국 번호를 찾습니다. (id 정렬 배열 이진 탐색, 처음 호출 시 약국당 12 byte 배열 생성)
+     *
+     * @param id 약국 id
+     * @return int 약국 번호 (없으면 -1)
+     */
+    public int findPosition(long id) {
+        IdIndex index = idIndex;
+        if (index == null) {
+            // 여러 스레드가 동시에 만들어도 결과가 같으므로 락 없이 마지막 값 사용
+            index = IdIndex.of(records);
+            idIndex = index;
+        }
+        return index.find(id);
+    }
+
+    /**
+     * @return GeoPoints 거리 계산용 사전 계산 좌표 묶음
+     */
+    public GeoPoints points() {
+        return points;
+    }
+
+    /**
+     * @return PharmacyRecordStore 약국 레코드 오프힙 저장소
+     */
+    public PharmacyRecordStore records() {
+        return records;
+    }
+
+    /**
+     * 약국 번호를 가리키는 flyweight 를 반환합니다. (검색 결과 생성 시 사용)
+     *
+     * @param position 약국 번호
+     * @return PharmacyRecord 약국 레코드
+     */
+    public PharmacyRecord record(int position) {
+        return records.record(position);
+    }
+
+    /**
+     * @return long 오프힙 메모리 사용량 (byte, id/좌표/약국명/주소)
+     */
+    public long offHeapBytes() {
+        return records.byteSize();
+    }
+
+    /**
+     * @return long 힙 메모리 사용량 (byte, 거리 계산용 좌표 배열)
+     */
+    public long heapBytes() {
+        return points.heapBytes();
+    }
+
+    private static final class IdIndex {
+
+        private final long[] ids;
+        private final int[] positions;
+
+        private IdIndex(long[] ids, int[] positions) {
+            this.ids = ids;
+            this.positions = positions;
+        }
+
+        static IdIndex of(PharmacyRecordStore records) {
+            int size = records.size();
+            long[] ids = new long[size];
+            boolean sorted = true;
+            for (int i = 0; i < size; i++) {
+                ids[i] = records.id(i);
+                if (i > 0 && ids[i] < ids[i - 1]) sorted = false;
+            }
+
+            int[] positions = new int[size];
+            if (sorted) {
+                // DB 스트리밍 적재처럼 id 순으로 만든 스냅샷은 약국 번호가 곧 정렬 순서
+                for (int i = 0; i < size; i++) positions[i] = i;
+                return new IdIndex(ids, positions);
+            }
+
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) order[i] = i;
+            Arrays.sort(order, Comparator.comparingLong(position -> ids[position]));
+            long[] sortedIds = new long[size];
+            for (int i = 0; i < size; i++) {
+                positions[i] = order[i];
+                sortedIds[i] = ids[order[i]];
+            }
+            return new IdIndex(sortedIds, positions);
+        }
+
+        int find(long id) {
+            int found = Arrays.binarySearch(ids, id);
+            return found < 0 ? -1 : positions[found];
+        }
+    }
+
+    /**
+     * 약국을 한 건씩 추가하여 스냅샷을 생성하는 빌더 (추가한 약국 객체는 보관하지 않음, 스레드 안전하지 않음)
+     */
+    public static final class Builder {
+
+        private final PharmacyRecordStore.Builder records;
+
+        private Builder(int expectedSize) {
+            this.records = new PharmacyRecordStore.Builder(expectedSize);
+        }
+
+        /**
+         * @param pharmacyDto 약국 DTO (id 가 없는 약국은 0 으로 저장)
+         * @return Builder this
+         */
+        public Builder add(PharmacyDto pharmacyDto) {
+            records.add(pharmacyDto.getId() == null ? 0L : pharmacyDto.getId(),
+                    pharmacyDto.getLatitude(), pharmacyDto.getLongitude(),
+                    pharmacyDto.getPharmacyName(), pharmacyDto.getPharmacyAddress());
+            return this;
+        }
+
+        public int size() {
+            return records.size();
+        }
+
+        /**
+         * @return PharmacySnapshot 스냅샷 (버전은 현재 시각)
+         */
+        public PharmacySnapshot build() {
+            return build(System.currentTimeMillis());
+        }
+
+        public PharmacySnapshot build(long version) {
+            return new PharmacySnapshot(version, records.build());
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 약국 스냅샷 바이너리 인코딩 (Redis 등 네트워크 전송용, 압축 지원)
+ *
+ * 약국마다 JSON 필드명을 반복하는 대신 오프힙 저장소({@link PharmacyRecordStore})의 메모리 구조를 그대로 담고,
+ * 선택적으로 Deflate(BEST_SPEED) 압축합니다.
+ * 디코딩은 리플렉션/JSON 파싱 없이 압축 해제 결과를 direct 버퍼에 바로 기록하여 저장소로 사용합니다.
+ *
+ * 구조 (little-endian):
+ * <pre>
+ * [헤더 40 byte]
+ *   0  int   MAGIC ("PHSB")
+ *   4  int   FORMAT_VERSION
+ *   8  int   플래그 (FLAG_DEFLATE: 본문 압축 여부)
+ *  12  int   약국 수 (n)
+ *  16  long  스냅샷 버전 (epoch millis)
+ *  24  long  문자열 영역 길이 (byte)
+ *  32  int   본문 길이 (압축 전, byte)
+ *  36  int   CRC32 (압축 전 본문)
+ * [본문]
+ *   오프힙 저장소 바이트 (압축 시 raw deflate 스트림)
+ * </pre>
+ */
+public final class PharmacySnapshotCodec {
+
+    private static final int MAGIC = 0x42534850; // "PHSB" (little-endian)
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 40;
+    private static final int FLAG_DEFLATE = 1;
+
+    private PharmacySnapshotCodec() {
+    }
+
+    /**
+     * 스냅샷을 바이너리로 인코딩합니다.
+     *
+     * @param snapshot 스냅샷
+     * @param compress Deflate 압축 여부
+     * @return byte[] 인코딩 결과
+     */
+    public static byte[] encode(PharmacySnapshot snapshot, boolean compress) {
+        PharmacyRecordStore records = snapshot.records();
+        ByteBuffer body = records.bytes();
+        int bodyLength = body.remaining();
+
+        CRC32 crc32 = new CRC32();
+        crc32.update(body.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putInt(compress ? FLAG_DEFLATE : 0)
+                .putInt(records.size())
+                .putLong(snapshot.version())
+                .putLong(records.stringLength())
+                .putInt(bodyLength)
+                .putInt((int) crc32.getValue());
+
+        byte[] encoded;
+        int length;
+        if (compress) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+            try {
+                deflater.setInput(body);
+                deflater.finish();
+                encoded = new byte[HEADER_SIZE + Math.max(1024, bodyLength / 2)];
+                length = HEADER_SIZE;
+                while (!deflater.finished()) {
+                    if (length == encoded.length) encoded = Arrays.copyOf(encoded, encoded.length * 2);
+                    length += deflater.deflate(encoded, length, encoded.length - length);
+                }
+            } finally {
+                deflater.end();
+            }
+        } else {
+            encoded = new byte[HEADER_SIZE + bodyLength];
+            body.get(encoded, HEADER_SIZE, bodyLength);
+            length = encoded.length;
+        }
+
+        System.arraycopy(header.array(), 0, encoded, 0, HEADER_SIZE);
+        return length == encoded.length ? encoded : Arrays.copyOf(encoded, length);
+    }
+
+    /**
+     * 바이너리를 디코딩하여 스냅샷을 생성합니다.
+     *
+     * @param encoded 인코딩 결과
+     * @return PharmacySnapshot 스냅샷
+     * @throws IOException 형식/길이/체크섬이 맞지 않는 경우
+     */
+    public static PharmacySnapshot decode(byte[] encoded) throws IOException {
+        if (encoded.length < HEADER_SIZE) throw new IOException("invalid snapshot blob size: " + encoded.length);
+        ByteBuffer header = ByteBuffer.wrap(encoded, 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt(0) != MAGIC) throw new IOException("not a pharmacy snapshot blob");
+        int formatVersion = header.getInt(4);
+        if (formatVersion != FORMAT_VERSION) throw new IOException("unsupported snapshot blob version: " + formatVersion);
+
+        int flags = header.getInt(8);
+        int size = header.getInt(12);
+        long version = header.getLong(16);
+        long stringLength = header.getLong(24);
+        int bodyLength = header.getInt(32);
+        if (size < 0 || PharmacyRecordStore.byteSize(size, stringLength) != bodyLength) {
+            throw new IOException("snapshot blob length mismatch: size " + size + ", body " + bodyLength);
+        }
+
+        ByteBuffer body = ByteBuffer.allocateDirect(bodyLength);
+        if ((flags & FLAG_DEFLATE) != 0) {
+            Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(encoded, HEADER_SIZE, encoded.length - HEADER_SIZE);
+                while (body.hasRemaining() && !inflater.finished()) {
+                    if (inflater.inflate(body) == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("corrupt snapshot blob", e);
+            } finally {
+                inflater.end();
+            }
+        } else {
+            if (encoded.length - HEADER_SIZE != bodyLength) throw new IOException("snapshot blob body truncated");
+            body.put(encoded, HEADER_SIZE, bodyLength);
+        }
+        if (body.hasRemaining()) throw new IOException("snapshot blob body truncated");
+        body.flip();
+
+        CRC32 crc32 = new CRC32();
+        crc32.update(body.duplicate());
+        if ((int) crc32.getValue() != header.getInt(36)) throw new IOException("snapshot blob checksum mismatch");
+
+        try {
+            return new PharmacySnapshot(version, PharmacyRecordStore.wrap(size, body));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("corrupt snapshot blob", e);
+        }
+    }
+}
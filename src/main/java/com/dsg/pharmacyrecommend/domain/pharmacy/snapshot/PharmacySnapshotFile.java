@@ -0,0 +1,160 @@
+package com.dsg.pharmacyrecommend.domain.pharmacy.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * 약국 스냅샷 바이너리 파일 (읽기/쓰기)
+ *
+ * 서버 시작 시 Hibernate 엔티티 조회(DB)나 Redis HGETALL + JSON 파싱 없이
+ * 파일 하나를 메모리 매핑(FileChannel.map)하여 바로 스냅샷을 만들기 위한 형식입니다.
+ *
+ * 파일 구조 (little-endian):
+ * <pre>
+ * [헤더 32 byte]
+ *   0  int   MAGIC ("PHSN")
+ *   4  int   FORMAT_VERSION
+ *   8  int   약국 수 (n)
+ *  12  int   CRC32 (32 byte 이후 본문 전체)
+ *  16  long  스냅샷 버전 (epoch millis)
+ *  24  long  문자열 영역 길이 (byte)
+ * [고정 길이 컬럼]
+ *   long[n]      id
+ *   double[n]    위도
+ *   double[n]    경도
+ *   int[2n + 1]  문자열 오프셋 (약국명 i = [2i, 2i+1), 주소 i = [2i+1, 2i+2), 문자열 영역 기준)
+ * [문자열 영역]
+ *   byte[]       UTF-8 약국명/주소
+ * </pre>
+ *
+ * 쓰기는 같은 디렉토리의 임시 파일에 기록하고 디스크 동기화(force) 후 원자적 이동(ATOMIC_MOVE)으로 교체하므로,
+ * 읽는 쪽은 항상 완성된 이전 파일 또는 새 파일 중 하나만 보게 됩니다.
+ * 본문은 오프힙 저장소({@link PharmacyRecordStore})의 메모리 구조와 같습니다.
+ * 파일 크기는 2GB 미만이어야 합니다. (약국 수백만 건 수준까지 충분)
+ */
+public final class PharmacySnapshotFile {
+
+    private static final int MAGIC = 0x4E534850; // "PHSN" (little-endian)
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+
+    private PharmacySnapshotFile() {
+    }
+
+    /**
+     * 스냅샷을 파일로 기록하고 기존 파일을 원자적으로 교체합니다.
+     *
+     * @param snapshot 기록할 스냅샷
+     * @param path 대상 파일 경로
+     * @throws IOException 파일 기록 실패
+     */
+    public static void write(PharmacySnapshot snapshot, Path path) throws IOException {
+        // 오프힙 저장소의 메모리 구조가 파일 본문과 같으므로 그대로 복사
+        PharmacyRecordStore records = snapshot.records();
+        ByteBuffer body = records.bytes();
+        long fileSize = HEADER_SIZE + (long) body.remaining();
+        if (fileSize > Integer.MAX_VALUE) throw new IOException("snapshot too large: " + fileSize + " bytes");
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                buffer.put(HEADER_SIZE, body, 0, body.remaining());
+
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, FORMAT_VERSION);
+                buffer.putInt(8, records.size());
+                buffer.putInt(12, checksum(buffer));
+                buffer.putLong(16, snapshot.version());
+                buffer.putLong(24, records.stringLength());
+                buffer.force();
+            }
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 파일을 메모리 매핑하여 스냅샷을 생성합니다.
+     * 본문은 문자열 디코딩 없이 오프힙 저장소로 한 번에 복사합니다.
+     *
+     * @param path 스냅샷 파일 경로
+     * @param verifyChecksum CRC32 검증 여부
+     * @return PharmacySnapshot 스냅샷
+     * @throws IOException 파일이 없거나 형식/체크섬이 맞지 않는 경우
+     */
+    public static PharmacySnapshot read(Path path, boolean verifyChecksum) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("invalid snapshot file size: " + fileSize);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            int size = readHeader(buffer);
+            long version = buffer.getLong(16);
+            long stringLength = buffer.getLong(24);
+            long expectedSize = HEADER_SIZE + PharmacyRecordStore.byteSize(size, stringLength);
+            if (expectedSize != fileSize) {
+                throw new IOException("snapshot file size mismatch: expected " + expectedSize + ", actual " + fileSize);
+            }
+            if (verifyChecksum && checksum(buffer) != buffer.getInt(12)) {
+                throw new IOException("snapshot checksum mismatch: " + path);
+            }
+
+            try {
+                PharmacyRecordStore records = PharmacyRecordStore.copyOf(size, buffer.slice(HEADER_SIZE, (int) fileSize - HEADER_SIZE));
+                return new PharmacySnapshot(version, records);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("corrupt snapshot file: " + path, e);
+            }
+        }
+    }
+
+    /**
+     * 헤더만 읽어 스냅샷 버전을 확인합니다. (전체를 읽기 전에 최신 여부 판단용)
+     *
+     * @param path 스냅샷 파일 경로
+     * @return long 스냅샷 버전
+     * @throws IOException 파일이 없거나 형식이 맞지 않는 경우
+     */
+    public static long readVersion(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) throw new IOException("truncated snapshot header: " + path);
+            }
+            readHeader(header);
+            return header.getLong(16);
+        }
+    }
+
+    private static int readHeader(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt(0) != MAGIC) throw new IOException("not a pharmacy snapshot file");
+        int formatVersion = buffer.getInt(4);
+        if (formatVersion != FORMAT_VERSION) throw new IOException("unsupported snapshot format version: " + formatVersion);
+        int size = buffer.getInt(8);
+        if (size < 0) throw new IOException("invalid snapshot size: " + size);
+        return size;
+    }
+
+    private static int checksum(ByteBuffer buffer) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(buffer.slice(HEADER_SIZE, buffer.capacity() - HEADER_SIZE));
+        return (int) crc32.getValue();
+    }
+}
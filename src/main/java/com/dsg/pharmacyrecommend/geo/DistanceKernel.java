@@ -0,0 +1,30 @@
+package com.dsg.pharmacyrecommend.geo;
+
+/**
+ * 다수 후보의 cos(중심각)을 한 번에 계산하는 거리 계산 커널
+ *
+ * 바운딩 박스 없이 전체 후보를 순차 탐색(brute-force)할 때 사용합니다.
+ * 결과 cos 값은 {@link GeoQuery#distanceFromCosine(double)} 으로 반경 판정과 거리 변환을 합니다.
+ *
+ * 구현체:
+ * - {@link ScalarDistanceKernel} : 일반 반복문
+ * - {@link VectorDistanceKernel} : jdk.incubator.vector 기반 SIMD (레인 폭만큼 동시 계산)
+ */
+public interface DistanceKernel {
+
+    /**
+     * points 의 [from, to) 구간 후보에 대해 out[i - from] 에 cos(중심각)을 기록합니다.
+     *
+     * @param query 기준점
+     * @param points 사전 계산된 좌표 묶음
+     * @param from 시작 번호 (포함)
+     * @param to 끝 번호 (미포함)
+     * @param out 결과 배열 (길이 to - from 이상)
+     */
+    void cosines(GeoQuery query, GeoPoints points, int from, int to, double[] out);
+
+    /**
+     * @return String 커널 이름 (로그 출력용)
+     */
+    String name();
+}
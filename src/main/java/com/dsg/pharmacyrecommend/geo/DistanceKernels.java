@@ -0,0 +1,39 @@
+package com.dsg.pharmacyrecommend.geo;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 실행 환경에서 사용할 수 있는 가장 빠른 거리 계산 커널을 선택합니다.
+ *
+ * jdk.incubator.vector 모듈이 로드되어 있으면 SIMD 커널을,
+ * 없으면(--add-modules 옵션 누락 등) 스칼라 커널을 사용합니다.
+ */
+@Slf4j
+public final class DistanceKernels {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private static final DistanceKernel BEST = detect();
+
+    private DistanceKernels() {
+    }
+
+    public static DistanceKernel best() {
+        return BEST;
+    }
+
+    private static DistanceKernel detect() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            log.info("[DistanceKernels] {} 모듈이 없어 스칼라 커널을 사용합니다.", VECTOR_MODULE);
+            return new ScalarDistanceKernel();
+        }
+        try {
+            DistanceKernel kernel = new VectorDistanceKernel();
+            log.info("[DistanceKernels] SIMD 커널을 사용합니다. kernel: {}", kernel.name());
+            return kernel;
+        } catch (LinkageError e) {
+            log.warn("[DistanceKernels] SIMD 커널 초기화 실패, 스칼라 커널을 사용합니다. error: {}", e.getMessage());
+            return new ScalarDistanceKernel();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.dsg.pharmacyrecommend.geo;
+
+/**
+ * 두 위경도 좌표 사이 거리 계산 방식 (전략 인터페이스)
+ *
+ * 구현체:
+ * - {@link EquirectangularDistanceModel} : 등장방형 근사 - 삼각함수 1회, 단거리 순위 비교용
+ * - {@link HaversineDistanceModel} : 구면 Haversine 공식 - 지구를 구로 가정
+ * - {@link VincentyDistanceModel} : WGS84 타원체 Vincenty 공식 - 화면 표시용 정밀 거리
+ *
+ * 구현체는 상태가 없으며 여러 스레드에서 동시에 사용할 수 있습니다.
+ *
+ * @see DistanceModelType
+ */
+public interface DistanceModel {
+
+    /**
+     * @param lat1 첫 번째 지점의 위도 (도 단위)
+     * @param lon1 첫 번째 지점의 경도 (도 단위)
+     * @param lat2 두 번째 지점의 위도 (도 단위)
+     * @param lon2 두 번째 지점의 경도 (도 단위)
+     * @return double 두 지점 간의 거리 (킬로미터 단위)
+     */
+    double distanceKm(double lat1, double lon1, double lat2, double lon2);
+}
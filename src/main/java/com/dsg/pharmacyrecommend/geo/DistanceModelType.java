@@ -0,0 +1,23 @@
+package com.dsg.pharmacyrecommend.geo;
+
+/**
+ * 거리 계산 방식 종류
+ *
+ * application.yml 의 pharmacy.distance.display-model 값으로 선택합니다.
+ */
+public enum DistanceModelType {
+
+    EQUIRECTANGULAR(new EquirectangularDistanceModel()), // 등장방형 근사 - 가장 빠름, 순위 비교용
+    HAVERSINE(new HaversineDistanceModel()),             // 구면 거리 - 오차 약 0.5% 이내
+    VINCENTY(new VincentyDistanceModel());               // WGS84 타원체 거리 - 가장 정확, 표시용
+
+    private final DistanceModel model;
+
+    DistanceModelType(DistanceModel model) {
+        this.model = model;
+    }
+
+    public DistanceModel model() {
+        return model;
+    }
+}
@@ -0,0 +1,20 @@
+package com.dsg.pharmacyrecommend.geo;
+
+/**
+ * 등장방형(equirectangular) 근사 거리 계산
+ *
+ * 두 지점의 평균 위도에서 경도 차이를 cos(평균 위도)로 줄인 뒤 평면 거리로 계산합니다.
+ * 삼각함수는 cos 1회뿐이라 가장 빠르며, 수십 km 이내에서는 구면 거리와의 오차가 0.1% 미만이므로
+ * 후보 간 순위 비교 용도로 충분합니다. 거리가 멀어질수록 오차가 커지므로 표시용으로는 사용하지 않습니다.
+ */
+public final class EquirectangularDistanceModel implements DistanceModel {
+
+    @Override
+    public double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double radLat1 = Math.toRadians(lat1);
+        double radLat2 = Math.toRadians(lat2);
+        double x = Math.toRadians(lon2 - lon1) * Math.cos((radLat1 + radLat2) / 2);
+        double y = radLat2 - radLat1;
+        return GeoUtils.EARTH_RADIUS_KM * Math.sqrt(x * x + y * y);
+    }
+}
@@ -0,0 +1,116 @@
+package com.dsg.pharmacyrecommend.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Geohash (base32) 인코딩과 반경 검색 범위를 덮는 셀 계산
+ *
+ * 정밀도(문자 수) p 의 셀은 경도 방향 ceil(5p/2) 비트, 위도 방향 floor(5p/2) 비트로 나눈 격자 한 칸입니다.
+ * (p = 5 : 약 0.044도 x 0.044도, 서울 기준 약 3.9km x 4.9km)
+ *
+ * 셀 계산은 위경도 격자 번호로 바로 하므로 이웃 셀 탐색 없이 바운딩 박스가 걸치는 셀을 모두 구합니다.
+ * 경도 ±180 도 경계를 넘는 검색은 고려하지 않습니다. (국내 약국 데이터)
+ */
+public final class GeoHash {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    /**
+     * 지원하는 최대 정밀도 (60 bit)
+     */
+    public static final int MAX_PRECISION = 12;
+
+    private GeoHash() {
+    }
+
+    /**
+     * 좌표가 속한 셀의 geohash 를 계산합니다.
+     *
+     * @param latitude 위도 (도 단위)
+     * @param longitude 경도 (도 단위)
+     * @param precision 정밀도 (문자 수, 1 ~ 12)
+     * @return String geohash
+     */
+    public static String encode(double latitude, double longitude, int precision) {
+        checkPrecision(precision);
+        return encodeIndex(latitudeIndex(latitude, precision), longitudeIndex(longitude, precision), precision);
+    }
+
+    /**
+     * 검색 반경의 바운딩 박스와 겹치는 모든 셀의 geohash 를 계산합니다.
+     *
+     * @param query 반경 검색 기준점
+     * @param precision 정밀도 (문자 수, 1 ~ 12)
+     * @param maxCells 최대 셀 수
+     * @return List<String> geohash 목록 (셀 수가 maxCells 를 넘으면 null)
+     */
+    public static List<String> coveringCells(GeoQuery query, int precision, int maxCells) {
+        checkPrecision(precision);
+        long minLatitudeIndex = latitudeIndex(query.getMinLatitude(), precision);
+        long maxLatitudeIndex = latitudeIndex(query.getMaxLatitude(), precision);
+        long minLongitudeIndex = longitudeIndex(query.getMinLongitude(), precision);
+        long maxLongitudeIndex = longitudeIndex(query.getMaxLongitude(), precision);
+
+        long count = (maxLatitudeIndex - minLatitudeIndex + 1) * (maxLongitudeIndex - minLongitudeIndex + 1);
+        if (count > maxCells) return null;
+
+        List<String> cells = new ArrayList<>((int) count);
+        for (long latitudeIndex = minLatitudeIndex; latitudeIndex <= maxLatitudeIndex; latitudeIndex++) {
+            for (long longitudeIndex = minLongitudeIndex; longitudeIndex <= maxLongitudeIndex; longitudeIndex++) {
+                cells.add(encodeIndex(latitudeIndex, longitudeIndex, precision));
+            }
+        }
+        return cells;
+    }
+
+    private static long latitudeIndex(double latitude, int precision) {
+        return index((latitude + 90.0) / 180.0, latitudeBits(precision));
+    }
+
+    private static long longitudeIndex(double longitude, int precision) {
+        return index((longitude + 180.0) / 360.0, longitudeBits(precision));
+    }
+
+    /**
+     * [0, 1] 범위 비율을 2^bits 칸 격자 번호로 변환 (범위를 벗어나면 양 끝 칸)
+     */
+    private static long index(double ratio, int bits) {
+        long cells = 1L << bits;
+        long index = (long) Math.floor(ratio * cells);
+        return Math.max(0, Math.min(cells - 1, index));
+    }
+
+    /**
+     * 경도/위도 격자 번호의 비트를 번갈아 섞어(경도 먼저) base32 로 인코딩
+     */
+    private static String encodeIndex(long latitudeIndex, long longitudeIndex, int precision) {
+        int latitudeBit = latitudeBits(precision);
+        int longitudeBit = longitudeBits(precision);
+        char[] hash = new char[precision];
+        int value = 0;
+        for (int bit = 0; bit < precision * 5; bit++) {
+            long source = (bit & 1) == 0 ? longitudeIndex >>> --longitudeBit : latitudeIndex >>> --latitudeBit;
+            value = (value << 1) | (int) (source & 1);
+            if (bit % 5 == 4) {
+                hash[bit / 5] = BASE32[value];
+                value = 0;
+            }
+        }
+        return new String(hash);
+    }
+
+    private static int longitudeBits(int precision) {
+        return (precision * 5 + 1) / 2;
+    }
+
+    private static int latitudeBits(int precision) {
+        return precision * 5 / 2;
+    }
+
+    private static void checkPrecision(int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("geohash precision must be between 1 and " + MAX_PRECISION + ": " + precision);
+        }
+    }
+}
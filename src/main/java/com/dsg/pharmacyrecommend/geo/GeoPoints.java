@@ -0,0 +1,62 @@
+package com.dsg.pharmacyrecommend.geo;
+
+/**
+ * 거리 계산용 사전 계산 좌표 묶음 (Struct-of-Arrays)
+ *
+ * 약국 쪽 좌표는 요청마다 바뀌지 않으므로 위도, 경도의 sin/cos 값을
+ * 생성 시점에 한 번만 계산해 병렬 배열로 보관합니다.
+ * cos(경도 차이) 도 덧셈 정리로 풀어서 계산하므로 검색 시 후보마다 삼각함수 없이
+ * 곱셈/덧셈만으로 cos(중심각)을 구하고, 반경 이내 후보만 acos 를 계산합니다.
+ * 연속된 primitive 배열이므로 SIMD({@link VectorDistanceKernel}) 계산에도 그대로 사용됩니다.
+ *
+ * 생성 이후 변경되지 않으므로 여러 스레드에서 동시에 조회할 수 있습니다.
+ */
+public final class GeoPoints {
+
+    final double[] latitudes;      // 위도 (도 단위)
+    final double[] longitudes;     // 경도 (도 단위)
+    final double[] sinLatitudes;   // sin(위도 라디안)
+    final double[] cosLatitudes;   // cos(위도 라디안)
+    final double[] sinLongitudes;  // sin(경도 라디안)
+    final double[] cosLongitudes;  // cos(경도 라디안)
+
+    public GeoPoints(double[] latitudes, double[] longitudes) {
+        if (latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException("latitudes and longitudes must have the same length");
+        }
+        int size = latitudes.length;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.sinLatitudes = new double[size];
+        this.cosLatitudes = new double[size];
+        this.sinLongitudes = new double[size];
+        this.cosLongitudes = new double[size];
+        for (int i = 0; i < size; i++) {
+            double radLatitude = Math.toRadians(latitudes[i]);
+            double radLongitude = Math.toRadians(longitudes[i]);
+            sinLatitudes[i] = Math.sin(radLatitude);
+            cosLatitudes[i] = Math.cos(radLatitude);
+            sinLongitudes[i] = Math.sin(radLongitude);
+            cosLongitudes[i] = Math.cos(radLongitude);
+        }
+    }
+
+    public int size() {
+        return latitudes.length;
+    }
+
+    /**
+     * @return long 좌표 배열 6개의 힙 메모리 사용량 (byte, 배열 헤더 제외)
+     */
+    public long heapBytes() {
+        return 6L * Double.BYTES * latitudes.length;
+    }
+
+    public double latitude(int i) {
+        return latitudes[i];
+    }
+
+    public double longitude(int i) {
+        return longitudes[i];
+    }
+}
@@ -0,0 +1,127 @@
+package com.dsg.pharmacyrecommend.geo;
+
+/**
+ * 반경 검색 한 번에 필요한 기준점 계산 값 묶음
+ *
+ * 기준점의 sin/cos 값과 검색 반경의 바운딩 박스를 검색 시작 시 한 번만 계산합니다.
+ *
+ * 후보 거리 계산 단계:
+ * 1. 위경도 바운딩 박스 비교 - 반경 밖 후보 대부분을 곱셈 없이 제외
+ * 2. 사전 계산된 sin/cos 로 cos(중심각) 계산 후 cos(반경) 과 비교 - 삼각함수 호출 없음
+ * 3. 반경 이내 후보만 acos 로 실제 거리 계산
+ *
+ * acos 입력값은 [-1, 1] 로 보정하므로 같은 지점끼리도 NaN 이 아닌 0km 가 계산됩니다.
+ */
+public final class GeoQuery {
+
+    private final double latitude;
+    private final double longitude;
+    private final double radiusKm;
+
+    final double sinLatitude;
+    final double cosLatitude;
+    final double sinLongitude;
+    final double cosLongitude;
+
+    /**
+     * cos(반경 중심각) - 후보의 cos(중심각)이 이 값 이상이면 반경 이내
+     */
+    final double cosRadius;
+
+    private final double minLatitude;
+    private final double maxLatitude;
+    private final double minLongitude;
+    private final double maxLongitude;
+
+    public GeoQuery(double latitude, double longitude, double radiusKm) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.radiusKm = radiusKm;
+
+        double radLatitude = Math.toRadians(latitude);
+        double radLongitude = Math.toRadians(longitude);
+        this.sinLatitude = Math.sin(radLatitude);
+        this.cosLatitude = Math.cos(radLatitude);
+        this.sinLongitude = Math.sin(radLongitude);
+        this.cosLongitude = Math.cos(radLongitude);
+
+        double angularRadius = radiusKm / GeoUtils.EARTH_RADIUS_KM;
+        this.cosRadius = angularRadius >= Math.PI ? -1.0 : Math.cos(angularRadius);
+
+        double latitudeDelta = GeoUtils.latitudeDeltaDegrees(radiusKm);
+        double longitudeDelta = GeoUtils.longitudeDeltaDegrees(latitude, radiusKm);
+        this.minLatitude = latitude - latitudeDelta;
+        this.maxLatitude = latitude + latitudeDelta;
+        this.minLongitude = longitude - longitudeDelta;
+        this.maxLongitude = longitude + longitudeDelta;
+    }
+
+    /**
+     * 후보가 반경 이내이면 거리(km)를, 반경 밖이면 Double.POSITIVE_INFINITY 를 반환합니다.
+     *
+     * @param points 사전 계산된 좌표 묶음
+     * @param i 후보 번호
+     * @return double 기준점과의 거리 (km)
+     */
+    public double distanceWithinRadius(GeoPoints points, int i) {
+        double candidateLatitude = points.latitudes[i];
+        double candidateLongitude = points.longitudes[i];
+        if (candidateLatitude < minLatitude || candidateLatitude > maxLatitude
+                || candidateLongitude < minLongitude || candidateLongitude > maxLongitude) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        return distanceFromCosine(cosine(points, i));
+    }
+
+    /**
+     * 기준점과 후보 사이 중심각의 cos 값을 계산합니다.
+     *
+     * cos(c) = sin(φ1)sin(φ2) + cos(φ1)cos(φ2)cos(λ1 - λ2)
+     * cos(λ1 - λ2) = cos(λ1)cos(λ2) + sin(λ1)sin(λ2)
+     */
+    double cosine(GeoPoints points, int i) {
+        double cosDeltaLongitude = cosLongitude * points.cosLongitudes[i] + sinLongitude * points.sinLongitudes[i];
+        return sinLatitude * points.sinLatitudes[i] + cosLatitude * points.cosLatitudes[i] * cosDeltaLongitude;
+    }
+
+    /**
+     * cos(중심각) 값이 반경 이내이면 거리(km)를, 반경 밖이면 Double.POSITIVE_INFINITY 를 반환합니다.
+     * 반경 밖 후보는 acos 를 계산하지 않습니다.
+     *
+     * @param cosAngle 기준점과 후보 사이 중심각의 cos 값 ({@link DistanceKernel} 계산 결과)
+     * @return double 기준점과의 거리 (km)
+     */
+    public double distanceFromCosine(double cosAngle) {
+        if (cosAngle < cosRadius) return Double.POSITIVE_INFINITY;
+        return GeoUtils.EARTH_RADIUS_KM * Math.acos(GeoUtils.clampCosine(cosAngle));
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public double getRadiusKm() {
+        return radiusKm;
+    }
+
+    public double getMinLatitude() {
+        return minLatitude;
+    }
+
+    public double getMaxLatitude() {
+        return maxLatitude;
+    }
+
+    public double getMinLongitude() {
+        return minLongitude;
+    }
+
+    public double getMaxLongitude() {
+        return maxLongitude;
+    }
+}
@@ -0,0 +1,104 @@
+package com.dsg.pharmacyrecommend.geo;
+
+/**
+ * 위경도 좌표 기반 거리 계산 유틸리티 클래스
+ *
+ * 약국 추천 과정에서 공통으로 사용되는 거리 계산과
+ * 반경(km)을 위경도 범위(도 단위)로 변환하는 기능을 제공합니다.
+ *
+ * 주요 기능:
+ * 1. 두 지점 간 구면 거리 계산 (킬로미터 단위, 다른 계산 방식은 {@link DistanceModel} 참고)
+ *    대량 후보 거리 계산은 {@link GeoPoints}, {@link GeoQuery} 의 사전 계산 방식을 사용
+ * 2. 반경 → 위도 변화량 변환 (바운딩 박스 계산용)
+ * 3. 반경 → 경도 변화량 변환 (위도에 따라 달라짐)
+ *
+ * 참고:
+ * - 날짜 변경선(경도 ±180도) 근처의 경계 처리는 고려하지 않음 (국내 서비스 기준)
+ *
+ * @author dsg
+ * @version 1.0
+ */
+public final class GeoUtils {
+
+    /**
+     * 지구 평균 반지름 (킬로미터 단위)
+     * 실제로는 극반지름과 적도반지름이 다르지만 평균값을 사용
+     */
+    public static final double EARTH_RADIUS_KM = 6371;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * 구면 코사인 법칙을 사용하여 두 지점 간의 구면 거리를 계산합니다.
+     *
+     * 공간 인덱스가 후보 순위를 정할 때 사용하는 거리({@link GeoQuery})와 같은 공식입니다.
+     * 화면에 표시할 거리는 {@link DistanceModelType} 의 정밀 계산 방식을 사용합니다.
+     *
+     * 특징:
+     * - 지구를 완전한 구로 가정 (실제로는 타원체이므로 약간의 오차 존재)
+     * - 오차 범위: ±0.5% 이내 (중거리 계산 시)
+     * - 계산 복잡도: O(1) - 매우 빠른 연산
+     *
+     * 참고 자료: https://en.wikipedia.org/wiki/Spherical_law_of_cosines
+     *
+     * @param lat1 첫 번째 지점의 위도 (도 단위)
+     * @param lon1 첫 번째 지점의 경도 (도 단위)
+     * @param lat2 두 번째 지점의 위도 (도 단위)
+     * @param lon2 두 번째 지점의 경도 (도 단위)
+     * @return double 두 지점 간의 거리 (킬로미터 단위)
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        // 위경도를 라디안으로 변환 (수학 함수는 라디안 단위 사용)
+        lat1 = Math.toRadians(lat1);
+        lon1 = Math.toRadians(lon1);
+        lat2 = Math.toRadians(lat2);
+        lon2 = Math.toRadians(lon2);
+
+        // acos(sin(lat1) * sin(lat2) + cos(lat1) * cos(lat2) * cos(lon1 - lon2))
+        double cosAngle = Math.sin(lat1) * Math.sin(lat2) +
+                Math.cos(lat1) * Math.cos(lat2) * Math.cos(lon1 - lon2);
+
+        // 부동소수점 오차로 1을 살짝 넘으면 acos 가 NaN 이 되므로 [-1, 1] 로 보정 (같은 지점 → 0km)
+        return EARTH_RADIUS_KM * Math.acos(clampCosine(cosAngle));
+    }
+
+    /**
+     * acos 입력값을 정의역 [-1, 1] 로 보정합니다.
+     */
+    static double clampCosine(double cosAngle) {
+        return Math.max(-1.0, Math.min(1.0, cosAngle));
+    }
+
+    /**
+     * 반경(km)에 해당하는 위도 변화량을 계산합니다.
+     *
+     * 위도 1도의 거리는 위치와 관계없이 일정하므로
+     * 반경 내의 모든 지점은 기준 위도 ± 이 값 안에 존재합니다.
+     *
+     * @param radiusKm 반경 (킬로미터 단위)
+     * @return double 위도 변화량 (도 단위)
+     */
+    public static double latitudeDeltaDegrees(double radiusKm) {
+        return Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+    }
+
+    /**
+     * 기준 위도에서 반경(km)에 해당하는 경도 변화량을 계산합니다.
+     *
+     * 경도 1도의 거리는 고위도로 갈수록 짧아지므로 기준 위도에 따라 값이 달라집니다.
+     * 반경이 극점을 포함하는 경우에는 모든 경도가 후보가 되므로 180도를 반환합니다.
+     *
+     * @param latitude 기준 위도 (도 단위)
+     * @param radiusKm 반경 (킬로미터 단위)
+     * @return double 경도 변화량 (도 단위)
+     */
+    public static double longitudeDeltaDegrees(double latitude, double radiusKm) {
+        double angularRadius = radiusKm / EARTH_RADIUS_KM;
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+        double ratio = Math.sin(angularRadius) / cosLatitude;
+
+        if (angularRadius >= Math.PI / 2 || ratio >= 1.0) return 180.0;
+        return Math.toDegrees(Math.asin(ratio));
+    }
+}
@@ -0,0 +1,25 @@
+package com.dsg.pharmacyrecommend.geo;
+
+/**
+ * Haversine 공식 기반 구면 거리 계산
+ *
+ * a = sin²(Δφ/2) + cos(φ1)cos(φ2)sin²(Δλ/2), c = 2·atan2(√a, √(1−a))
+ * 구면 코사인 법칙과 달리 가까운 두 지점에서도 반올림 오차가 작습니다.
+ * 지구를 완전한 구로 가정하므로 타원체 거리와는 최대 약 0.5% 차이가 납니다.
+ *
+ * 참고 자료: https://en.wikipedia.org/wiki/Haversine_formula
+ */
+public final class HaversineDistanceModel implements DistanceModel {
+
+    @Override
+    public double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double radLat1 = Math.toRadians(lat1);
+        double radLat2 = Math.toRadians(lat2);
+        double sinHalfDeltaLat = Math.sin((radLat2 - radLat1) / 2);
+        double sinHalfDeltaLon = Math.sin(Math.toRadians(lon2 - lon1) / 2);
+
+        double a = sinHalfDeltaLat * sinHalfDeltaLat
+                + Math.cos(radLat1) * Math.cos(radLat2) * sinHalfDeltaLon * sinHalfDeltaLon;
+        return GeoUtils.EARTH_RADIUS_KM * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+}
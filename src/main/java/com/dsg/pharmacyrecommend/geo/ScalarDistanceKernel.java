@@ -0,0 +1,21 @@
+package com.dsg.pharmacyrecommend.geo;
+
+/**
+ * 일반 반복문 기반 거리 계산 커널
+ *
+ * jdk.incubator.vector 모듈을 사용할 수 없는 환경의 기본 구현입니다.
+ */
+public final class ScalarDistanceKernel implements DistanceKernel {
+
+    @Override
+    public void cosines(GeoQuery query, GeoPoints points, int from, int to, double[] out) {
+        for (int i = from; i < to; i++) {
+            out[i - from] = query.cosine(points, i);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,59 @@
+package com.dsg.pharmacyrecommend.geo;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * jdk.incubator.vector(Vector API) 기반 SIMD 거리 계산 커널
+ *
+ * CPU가 지원하는 가장 넓은 레인 폭(AVX2 기준 double 4개, AVX-512 기준 8개)만큼
+ * 후보의 cos(중심각)을 한 번에 계산합니다. 삼각함수 없이 곱셈/덧셈만 사용하므로
+ * 레인 단위 연산으로 그대로 옮길 수 있습니다.
+ * FMA 는 반올림 결과가 달라 같은 지점의 거리가 0이 되지 않으므로,
+ * {@link GeoQuery} 의 스칼라 계산과 같은 순서의 곱셈/덧셈으로 결과를 일치시킵니다.
+ *
+ * 주의:
+ * - 실행 시 --add-modules jdk.incubator.vector 옵션이 필요합니다.
+ * - 직접 생성하지 않고 {@link DistanceKernels#best()} 를 통해 사용합니다.
+ *   (모듈이 없는 환경에서는 클래스 로딩 자체가 실패하므로 스칼라 커널로 대체)
+ */
+final class VectorDistanceKernel implements DistanceKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void cosines(GeoQuery query, GeoPoints points, int from, int to, double[] out) {
+        DoubleVector sinLatitude = DoubleVector.broadcast(SPECIES, query.sinLatitude);
+        DoubleVector cosLatitude = DoubleVector.broadcast(SPECIES, query.cosLatitude);
+        DoubleVector sinLongitude = DoubleVector.broadcast(SPECIES, query.sinLongitude);
+        DoubleVector cosLongitude = DoubleVector.broadcast(SPECIES, query.cosLongitude);
+
+        int i = from;
+        int upperBound = from + SPECIES.loopBound(to - from);
+        for (; i < upperBound; i += SPECIES.length()) {
+            DoubleVector candidateSinLatitude = DoubleVector.fromArray(SPECIES, points.sinLatitudes, i);
+            DoubleVector candidateCosLatitude = DoubleVector.fromArray(SPECIES, points.cosLatitudes, i);
+            DoubleVector candidateSinLongitude = DoubleVector.fromArray(SPECIES, points.sinLongitudes, i);
+            DoubleVector candidateCosLongitude = DoubleVector.fromArray(SPECIES, points.cosLongitudes, i);
+
+            // cos(λ1 - λ2) = cos(λ1)cos(λ2) + sin(λ1)sin(λ2)
+            DoubleVector cosDeltaLongitude = cosLongitude.mul(candidateCosLongitude)
+                    .add(sinLongitude.mul(candidateSinLongitude));
+            // cos(c) = sin(φ1)sin(φ2) + cos(φ1)cos(φ2)cos(λ1 - λ2)
+            DoubleVector cosAngle = sinLatitude.mul(candidateSinLatitude)
+                    .add(cosLatitude.mul(candidateCosLatitude).mul(cosDeltaLongitude));
+
+            cosAngle.intoArray(out, i - from);
+        }
+
+        // 레인 폭으로 나누어떨어지지 않는 나머지 구간
+        for (; i < to; i++) {
+            out[i - from] = query.cosine(points, i);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "vector(" + SPECIES.length() + " lanes)";
+    }
+}
@@ -0,0 +1,75 @@
+package com.dsg.pharmacyrecommend.geo;
+
+/**
+ * WGS84 타원체 기준 Vincenty 역해(inverse) 공식 거리 계산
+ *
+ * 지구를 회전 타원체(WGS84)로 보고 두 지점 사이 측지선 거리를 반복 계산합니다.
+ * 오차는 mm 단위로 가장 정확하지만 반복 계산이 필요하므로,
+ * 전체 후보가 아닌 최종 추천 약국(k개)의 표시 거리 계산에만 사용합니다.
+ *
+ * 대척점에 가까워 수렴하지 않는 경우에는 Haversine 거리로 대체합니다. (국내 서비스에서는 발생하지 않음)
+ *
+ * 참고 자료: https://en.wikipedia.org/wiki/Vincenty%27s_formulae
+ */
+public final class VincentyDistanceModel implements DistanceModel {
+
+    private static final double SEMI_MAJOR_AXIS_KM = 6378.137;            // WGS84 장반경 a
+    private static final double FLATTENING = 1 / 298.257223563;          // WGS84 편평률 f
+    private static final double SEMI_MINOR_AXIS_KM = SEMI_MAJOR_AXIS_KM * (1 - FLATTENING); // 단반경 b
+
+    private static final int MAX_ITERATIONS = 200;
+    private static final double CONVERGENCE_THRESHOLD = 1e-12;
+
+    private final DistanceModel fallback = new HaversineDistanceModel();
+
+    @Override
+    public double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double deltaLongitude = Math.toRadians(lon2 - lon1);
+        // 보조 위도 (reduced latitude)
+        double u1 = Math.atan((1 - FLATTENING) * Math.tan(Math.toRadians(lat1)));
+        double u2 = Math.atan((1 - FLATTENING) * Math.tan(Math.toRadians(lat2)));
+        double sinU1 = Math.sin(u1);
+        double cosU1 = Math.cos(u1);
+        double sinU2 = Math.sin(u2);
+        double cosU2 = Math.cos(u2);
+
+        double lambda = deltaLongitude;
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            double sinLambda = Math.sin(lambda);
+            double cosLambda = Math.cos(lambda);
+            double a = cosU2 * sinLambda;
+            double b = cosU1 * sinU2 - sinU1 * cosU2 * cosLambda;
+            double sinSigma = Math.sqrt(a * a + b * b);
+            if (sinSigma == 0) return 0.0; // 같은 지점
+
+            double cosSigma = sinU1 * sinU2 + cosU1 * cosU2 * cosLambda;
+            double sigma = Math.atan2(sinSigma, cosSigma);
+            double sinAlpha = cosU1 * cosU2 * sinLambda / sinSigma;
+            double cosSquaredAlpha = 1 - sinAlpha * sinAlpha;
+            // 두 지점이 모두 적도 위에 있으면 cos²α = 0
+            double cos2SigmaM = cosSquaredAlpha == 0 ? 0 : cosSigma - 2 * sinU1 * sinU2 / cosSquaredAlpha;
+            double c = FLATTENING / 16 * cosSquaredAlpha * (4 + FLATTENING * (4 - 3 * cosSquaredAlpha));
+
+            double previousLambda = lambda;
+            lambda = deltaLongitude + (1 - c) * FLATTENING * sinAlpha
+                    * (sigma + c * sinSigma * (cos2SigmaM + c * cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM)));
+
+            if (Math.abs(lambda - previousLambda) < CONVERGENCE_THRESHOLD) {
+                return geodesicKm(cosSquaredAlpha, sinSigma, cosSigma, sigma, cos2SigmaM);
+            }
+        }
+        return fallback.distanceKm(lat1, lon1, lat2, lon2);
+    }
+
+    private static double geodesicKm(double cosSquaredAlpha, double sinSigma, double cosSigma,
+                                     double sigma, double cos2SigmaM) {
+        double uSquared = cosSquaredAlpha
+                * (SEMI_MAJOR_AXIS_KM * SEMI_MAJOR_AXIS_KM - SEMI_MINOR_AXIS_KM * SEMI_MINOR_AXIS_KM)
+                / (SEMI_MINOR_AXIS_KM * SEMI_MINOR_AXIS_KM);
+        double a = 1 + uSquared / 16384 * (4096 + uSquared * (-768 + uSquared * (320 - 175 * uSquared)));
+        double b = uSquared / 1024 * (256 + uSquared * (-128 + uSquared * (74 - 47 * uSquared)));
+        double deltaSigma = b * sinSigma * (cos2SigmaM + b / 4 * (cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM)
+                - b / 6 * cos2SigmaM * (-3 + 4 * sinSigma * sinSigma) * (-3 + 4 * cos2SigmaM * cos2SigmaM)));
+        return SEMI_MINOR_AXIS_KM * a * (sigma - deltaSigma);
+    }
+}
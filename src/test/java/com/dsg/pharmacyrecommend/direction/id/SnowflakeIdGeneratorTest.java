@@ -0,0 +1,64 @@
+package com.dsg.pharmacyrecommend.direction.id;
+
+import com.dsg.pharmacyrecommend.domain.direction.id.SnowflakeIdGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = SnowflakeIdGenerator.EPOCH_MILLIS + 86_400_000L;
+
+    @Test
+    @DisplayName("id 에서 발급 시각과 노드 id 를 다시 읽을 수 있다")
+    void idContainsTimestampAndNode() {
+        // given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, () -> NOW);
+
+        // when
+        long id = generator.nextId();
+
+        // then
+        assertThat(SnowflakeIdGenerator.timestampMillis(id)).isEqualTo(NOW);
+        assertThat(SnowflakeIdGenerator.nodeId(id)).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("같은 ms 에 순번을 다 쓰거나 시계가 뒤로 가도 id 는 계속 증가한다")
+    void idsIncreaseWithinSameMillisAndClockRollback() {
+        // given - 시계가 멈춘 뒤 1초 뒤로 감
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock::get);
+        Set<Long> ids = new HashSet<>();
+        long previous = -1;
+
+        // when & then
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5_000) clock.set(NOW - 1_000);
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            ids.add(id);
+            previous = id;
+        }
+        assertThat(ids).hasSize(10_000);
+    }
+
+    @Test
+    @DisplayName("노드 id 가 다르면 같은 시각에도 id 가 겹치지 않는다")
+    void differentNodesDoNotCollide() {
+        // given
+        SnowflakeIdGenerator node1 = new SnowflakeIdGenerator(1, () -> NOW);
+        SnowflakeIdGenerator node2 = new SnowflakeIdGenerator(2, () -> NOW);
+
+        // when & then
+        assertThat(node1.nextId()).isNotEqualTo(node2.nextId());
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,49 @@
+package com.dsg.pharmacyrecommend.direction.service;
+
+import com.dsg.pharmacyrecommend.domain.direction.service.Base62Service;
+import io.seruco.encoding.base62.Base62;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class Base62ServiceTest {
+
+    private final Base62Service base62Service = new Base62Service();
+
+    @Test
+    @DisplayName("64비트 id 값을 그대로 인코딩하고 다시 디코딩한다")
+    void encodeAndDecodeRawId() {
+        // given
+        long[] ids = {0L, 12345L, 1L << 40, Long.MAX_VALUE};
+
+        // when & then
+        assertThat(base62Service.encodeDirectionId(12345L)).isEqualTo("03D7");
+        assertThat(base62Service.encodeDirectionId(Long.MAX_VALUE)).hasSize(12);
+        for (long id : ids) {
+            assertThat(base62Service.decodeDirectionId(base62Service.encodeDirectionId(id))).isEqualTo(id);
+        }
+    }
+
+    @Test
+    @DisplayName("이전 형식(10진수 문자열 인코딩)으로 발급한 단축 id 도 디코딩한다")
+    void decodeLegacyId() {
+        // given
+        String legacy = new String(Base62.createInstance().encode("12345".getBytes()));
+
+        // when & then
+        assertThat(base62Service.decodeDirectionId(legacy)).isEqualTo(12345L);
+        assertThat(base62Service.isLegacyFormat(legacy)).isTrue();
+        assertThat(base62Service.isLegacyFormat(base62Service.encodeDirectionId(12345L))).isFalse();
+    }
+
+    @Test
+    @DisplayName("범위를 벗어나거나 잘못된 문자가 있으면 NumberFormatException 이 발생한다")
+    void decodeInvalidId() {
+        assertThatThrownBy(() -> base62Service.decodeDirectionId("0zzzzzzzzzzz"))
+                .isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> base62Service.decodeDirectionId("0a-b"))
+                .isInstanceOf(NumberFormatException.class);
+    }
+}
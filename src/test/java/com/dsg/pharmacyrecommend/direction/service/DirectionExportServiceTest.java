@@ -0,0 +1,172 @@
+package com.dsg.pharmacyrecommend.direction.service;
+
+import com.dsg.pharmacyrecommend.domain.direction.dto.DirectionExportDto;
+import com.dsg.pharmacyrecommend.domain.direction.dto.DirectionExportResultDto;
+import com.dsg.pharmacyrecommend.domain.direction.repository.DirectionExportRepository;
+import com.dsg.pharmacyrecommend.domain.direction.service.DirectionExportFormat;
+import com.dsg.pharmacyrecommend.domain.direction.service.DirectionExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class DirectionExportServiceTest {
+
+    @Mock
+    private DirectionExportRepository directionExportRepository;
+
+    @TempDir
+    private Path tempDir;
+
+    private DirectionExportService directionExportService;
+
+    /**
+     * id 10, 20, ..., 250 (25건)
+     */
+    private final List<DirectionExportDto> rows = LongStream.rangeClosed(1, 25)
+            .mapToObj(i -> DirectionExportDto.builder()
+                    .id(i * 10)
+                    .createdDate(LocalDateTime.of(2026, 1, 1, 0, 0).plusMinutes(i))
+                    .pharmacyId(i)
+                    .pharmacyName(i == 3 ? "종암 \"24시\", 약국" : "약국" + i)
+                    .inputAddress("서울특별시 성북구 종암동")
+                    .inputLatitude(37.596907)
+                    .inputLongitude(127.037803)
+                    .distance(0.5)
+                    .build())
+            .collect(Collectors.toList());
+
+    @BeforeEach
+    void setUp() {
+        directionExportService = new DirectionExportService(directionExportRepository, new ObjectMapper());
+        ReflectionTestUtils.setField(directionExportService, "chunkRows", 10);
+        directionExportService.init();
+    }
+
+    @Test
+    @DisplayName("CSV 내보내기는 헤더와 행을 gzip 으로 쓰고, 쉼표/따옴표가 있는 값은 따옴표로 감싼다")
+    void exportCsv() throws IOException {
+        // given
+        givenRows(Long.MAX_VALUE);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long exported = directionExportService.export(DirectionExportFormat.CSV, null, null, 0, out);
+
+        // then
+        List<String> lines = gunzip(out.toByteArray()).lines().collect(Collectors.toList());
+        assertThat(exported).isEqualTo(25);
+        assertThat(lines).hasSize(26);
+        assertThat(lines.get(0)).startsWith("id,created_date,pharmacy_id,pharmacy_name");
+        assertThat(lines.get(1)).isEqualTo("10,2026-01-01T00:01,1,약국1,,,,서울특별시 성북구 종암동,37.596907,127.037803,0.5");
+        assertThat(lines.get(3)).contains(",\"종암 \"\"24시\"\", 약국\",");
+    }
+
+    @Test
+    @DisplayName("NDJSON 내보내기는 재개 토큰(after) 다음 행부터 한 줄에 하나씩 쓴다")
+    void exportNdjsonAfterResumeToken() throws IOException {
+        // given
+        givenRows(Long.MAX_VALUE);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long exported = directionExportService.export(DirectionExportFormat.NDJSON, null, null, 230, out);
+
+        // then
+        List<String> lines = gunzip(out.toByteArray()).lines().collect(Collectors.toList());
+        assertThat(exported).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).startsWith("{\"id\":240,\"createdDate\":\"2026-01-01T00:24:00\"");
+    }
+
+    @Test
+    @DisplayName("파일 내보내기가 중단되면 마지막으로 완성한 chunk 다음부터 이어서 기록한다")
+    void exportToFileResumesAfterFailure() throws IOException {
+        // given - 13번째 행에서 DB 오류 (10행 chunk 하나만 완성)
+        Path output = tempDir.resolve("direction.csv.gz");
+        givenRows(13);
+
+        // when
+        assertThatThrownBy(() -> directionExportService.exportToFile(DirectionExportFormat.CSV, null, null, output))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        givenRows(Long.MAX_VALUE);
+        DirectionExportResultDto result = directionExportService.exportToFile(DirectionExportFormat.CSV, null, null, output);
+
+        // then
+        assertThat(result.isResumed()).isTrue();
+        assertThat(result.getRows()).isEqualTo(25);
+        assertThat(result.getLastId()).isEqualTo(250);
+        assertThat(DirectionExportService.resumeFile(output)).doesNotExist();
+
+        List<String> lines = gunzip(Files.readAllBytes(output)).lines().collect(Collectors.toList());
+        assertThat(lines).hasSize(26);
+        assertThat(lines.subList(1, 26)).extracting(line -> Long.parseLong(line.substring(0, line.indexOf(','))))
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, 25).map(i -> i * 10).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("재개 파일과 내보내기 조건이 다르면 이어서 기록하지 않는다")
+    void exportToFileRejectsDifferentCondition() {
+        // given
+        Path output = tempDir.resolve("direction.csv.gz");
+        givenRows(13);
+        assertThatThrownBy(() -> directionExportService.exportToFile(DirectionExportFormat.CSV, null, null, output))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        // when, then
+        assertThatThrownBy(() -> directionExportService.exportToFile(DirectionExportFormat.NDJSON, null, null, output))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(DirectionExportService.resumeFile(output)).exists();
+    }
+
+    /**
+     * afterId 다음 행을 차례로 전달 (failAt 번째 행에서 DB 오류)
+     */
+    private void givenRows(long failAt) {
+        doAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            Consumer<DirectionExportDto> consumer = invocation.getArgument(3);
+            long streamed = 0;
+            for (DirectionExportDto row : rows) {
+                if (row.getId() <= afterId) continue;
+                if (streamed == failAt) throw new DataAccessResourceFailureException("connection reset");
+                consumer.accept(row);
+                streamed++;
+            }
+            return streamed;
+        }).when(directionExportRepository).stream(anyLong(), any(), any(), any());
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.dsg.pharmacyrecommend.direction.service;
+
+import com.dsg.pharmacyrecommend.domain.direction.id.SnowflakeIdGenerator;
+import com.dsg.pharmacyrecommend.domain.direction.service.DirectionIdAllocator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DirectionIdAllocatorTest {
+
+    @Test
+    @DisplayName("설정한 노드 id 로 길안내 id 를 발급한다")
+    void nextIdUsesConfiguredNode() {
+        // given
+        DirectionIdAllocator allocator = new DirectionIdAllocator(" 7 ", true);
+
+        // when
+        long id = allocator.nextId();
+
+        // then
+        assertThat(SnowflakeIdGenerator.nodeId(id)).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("노드 id 가 필수인데 설정하지 않으면 시작하지 않는다")
+    void missingNodeIdFailsWhenRequired() {
+        assertThatThrownBy(() -> new DirectionIdAllocator("", true))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("PHARMACY_NODE_ID");
+    }
+
+    @Test
+    @DisplayName("노드 id 가 필수가 아니면 설정하지 않아도 0 으로 발급한다")
+    void missingNodeIdFallsBackToZero() {
+        // given
+        DirectionIdAllocator allocator = new DirectionIdAllocator("", false);
+
+        // when
+        long id = allocator.nextId();
+
+        // then
+        assertThat(SnowflakeIdGenerator.nodeId(id)).isZero();
+    }
+}
@@ -0,0 +1,191 @@
+package com.dsg.pharmacyrecommend.direction.service;
+
+import com.dsg.pharmacyrecommend.domain.direction.dto.DirectionInsertDto;
+import com.dsg.pharmacyrecommend.domain.direction.dto.DirectionPartitionDto;
+import com.dsg.pharmacyrecommend.domain.direction.id.SnowflakeIdGenerator;
+import com.dsg.pharmacyrecommend.domain.direction.repository.DirectionPartitionRepository;
+import com.dsg.pharmacyrecommend.domain.direction.service.DirectionRetentionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DirectionRetentionServiceTest {
+
+    private static final ZoneId ZONE = ZoneOffset.UTC;
+
+    @Mock
+    private DirectionPartitionRepository directionPartitionRepository;
+
+    @TempDir
+    private Path tempDir;
+
+    private DirectionRetentionService directionRetentionService;
+
+    /**
+     * 2026-10-17 기준 보관 365일 - 보관 기준일 2025-10-17
+     */
+    private final List<DirectionPartitionDto> partitions = List.of(
+            new DirectionPartitionDto("p202509", LocalDate.of(2025, 10, 1)),
+            new DirectionPartitionDto("p202510", LocalDate.of(2025, 11, 1)),
+            new DirectionPartitionDto("p_future", null));
+
+    @BeforeEach
+    void setUp() {
+        directionRetentionService = new DirectionRetentionService(directionPartitionRepository, new ObjectMapper(),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(directionRetentionService, "enabled", true);
+        ReflectionTestUtils.setField(directionRetentionService, "archiveDir", tempDir.toString());
+        ReflectionTestUtils.setField(directionRetentionService, "clock",
+                Clock.fixed(LocalDate.of(2026, 10, 17).atStartOfDay(ZONE).toInstant(), ZONE));
+        directionRetentionService.init();
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 파티션은 압축 파일로 보관한 뒤 삭제하고, 앞으로 쓸 월별 파티션을 추가한다")
+    void archivesExpiredPartitionAndAddsFuturePartitions() throws IOException {
+        // given
+        givenLockAcquired();
+        when(directionPartitionRepository.findPartitions()).thenReturn(partitions);
+        when(directionPartitionRepository.exportPartition(eq("p202509"), any())).thenAnswer(invocation -> {
+            invocation.<Consumer<DirectionInsertDto>>getArgument(1).accept(DirectionInsertDto.builder()
+                    .id(42L)
+                    .createdDate(LocalDateTime.of(2025, 9, 3, 12, 0))
+                    .pharmacyId(7L)
+                    .inputAddress("서울특별시 성북구 종암동")
+                    .build());
+            return 1L;
+        });
+        ArgumentCaptor<List<LocalDate>> upperBounds = ArgumentCaptor.forClass(List.class);
+
+        // when
+        directionRetentionService.maintain();
+
+        // then - 2025-12-01 부터 (2026-10 + 3개월) 다음 달 1일까지
+        verify(directionPartitionRepository).addMonthPartitions(eq("p_future"), upperBounds.capture());
+        assertThat(upperBounds.getValue()).hasSize(15)
+                .startsWith(LocalDate.of(2025, 12, 1))
+                .endsWith(LocalDate.of(2027, 2, 1));
+
+        verify(directionPartitionRepository).dropPartition("p202509");
+        verify(directionPartitionRepository, never()).dropPartition("p202510");
+        verify(directionPartitionRepository, never()).dropPartition("p_future");
+
+        Path archive = tempDir.resolve("direction-p202509.ndjson.gz");
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(archive))) {
+            String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(content).contains("\"id\":42").contains("\"pharmacyId\":7").contains("서울특별시 성북구 종암동");
+        }
+        assertThat(tempDir.resolve("direction-p202509.ndjson.gz.tmp")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("보관 파일을 기록하지 못하면 파티션을 삭제하지 않는다")
+    void keepsPartitionWhenArchiveFails() throws IOException {
+        // given - 보관 디렉터리 위치에 일반 파일이 있어 디렉터리를 만들 수 없음
+        Path blocked = Files.createFile(tempDir.resolve("blocked"));
+        ReflectionTestUtils.setField(directionRetentionService, "archiveDir", blocked.toString());
+        givenLockAcquired();
+        when(directionPartitionRepository.findPartitions()).thenReturn(partitions);
+
+        // when
+        directionRetentionService.maintain();
+
+        // then
+        verify(directionPartitionRepository, never()).dropPartition(anyString());
+    }
+
+    @Test
+    @DisplayName("다른 서버가 파티션 작업 중이면 아무것도 변경하지 않고, 그 서버가 삭제한 범위만 반영한다")
+    void skipsWhenLockedByOtherServer() {
+        // given - 다른 서버가 p202509 를 삭제한 뒤의 파티션 목록
+        long droppedId = snowflakeId(LocalDate.of(2025, 9, 30));
+        when(directionPartitionRepository.runLocked(any())).thenReturn(false);
+        when(directionPartitionRepository.findPartitions()).thenReturn(partitions.subList(1, partitions.size()));
+
+        // when
+        directionRetentionService.maintain();
+
+        // then
+        assertThat(directionRetentionService.isExpired(droppedId)).isTrue();
+        verify(directionPartitionRepository, never()).addMonthPartitions(any(), anyList());
+        verify(directionPartitionRepository, never()).dropPartition(anyString());
+    }
+
+    @Test
+    @DisplayName("삭제한 파티션 범위에 발급된 Snowflake id 만 보관 기간이 지난 길안내이다")
+    void isExpired() {
+        // given - p202509 삭제 후 가장 오래된 파티션은 p202510 (2025-10-01 이상)
+        long droppedId = snowflakeId(LocalDate.of(2025, 9, 30));
+        long retainedId = snowflakeId(LocalDate.of(2025, 10, 1));
+        assertThat(directionRetentionService.isExpired(droppedId)).isFalse();
+        givenLockAcquired();
+        when(directionPartitionRepository.findPartitions()).thenReturn(partitions);
+
+        // when
+        directionRetentionService.maintain();
+
+        // then
+        assertThat(directionRetentionService.isExpired(droppedId)).isTrue();
+        assertThat(directionRetentionService.isExpired(retainedId)).isFalse();
+        assertThat(directionRetentionService.isExpired(1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("하한이 없는 p_history 파티션이 남아 있으면 삭제된 길안내가 없다")
+    void isExpiredWithHistoryPartition() {
+        // given
+        when(directionPartitionRepository.findPartitions()).thenReturn(List.of(
+                new DirectionPartitionDto("p_history", LocalDate.of(2024, 1, 1)),
+                new DirectionPartitionDto("p202401", LocalDate.of(2024, 2, 1)),
+                new DirectionPartitionDto("p_future", null)));
+
+        // when
+        directionRetentionService.loadPartitions();
+
+        // then
+        assertThat(directionRetentionService.isExpired(snowflakeId(LocalDate.of(2024, 1, 2)))).isFalse();
+    }
+
+    private static long snowflakeId(LocalDate date) {
+        return new SnowflakeIdGenerator(0, () -> date.atStartOfDay(ZONE).toInstant().toEpochMilli()).nextId();
+    }
+
+    private void givenLockAcquired() {
+        when(directionPartitionRepository.runLocked(any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return true;
+        });
+    }
+}
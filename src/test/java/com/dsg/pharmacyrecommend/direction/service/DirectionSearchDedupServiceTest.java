@@ -0,0 +1,183 @@
+package com.dsg.pharmacyrecommend.direction.service;
+
+import com.dsg.pharmacyrecommend.domain.direction.dto.DirectionSearchDto;
+import com.dsg.pharmacyrecommend.domain.direction.entity.Direction;
+import com.dsg.pharmacyrecommend.domain.direction.event.DirectionSearchSavedEvent;
+import com.dsg.pharmacyrecommend.domain.direction.repository.DirectionSearchRepository;
+import com.dsg.pharmacyrecommend.domain.direction.service.DirectionIdAllocator;
+import com.dsg.pharmacyrecommend.domain.direction.service.DirectionSearchDedupService;
+import com.dsg.pharmacyrecommend.domain.direction.service.DirectionWriteBehindService;
+import com.dsg.pharmacyrecommend.domain.pharmacy.cache.RedisHealthTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DirectionSearchDedupServiceTest {
+
+    @Mock
+    private DirectionSearchRepository directionSearchRepository;
+
+    @Mock
+    private DirectionWriteBehindService directionWriteBehindService;
+
+    @Mock
+    private DirectionIdAllocator directionIdAllocator;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private DirectionSearchDedupService directionSearchDedupService;
+
+    @BeforeEach
+    void setUp() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        directionSearchDedupService = new DirectionSearchDedupService(directionSearchRepository,
+                directionWriteBehindService, directionIdAllocator, stringRedisTemplate,
+                new RedisHealthTracker(stringRedisTemplate, new SimpleMeterRegistry()), new SimpleMeterRegistry());
+        directionSearchDedupService.bindMetrics();
+    }
+
+    @Test
+    @DisplayName("처음 검색은 Redis 에 id 를 선점한 뒤 저장하고, 길안내가 저장된 뒤 같은 검색이 반복되면 저장 없이 같은 id 를 반환한다")
+    void repeatedSearchReusesDirectionIds() {
+        // given
+        AtomicLong sequence = new AtomicLong(10);
+        AtomicReference<String> stored = new AtomicReference<>();
+        when(directionIdAllocator.nextId()).thenAnswer(invocation -> sequence.getAndIncrement());
+        when(valueOperations.get(anyString())).thenAnswer(invocation -> stored.get());
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenAnswer(invocation -> {
+            stored.set(invocation.getArgument(1));
+            return true;
+        });
+        when(directionWriteBehindService.saveAll(anyList(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<DirectionSearchDto> search = ArgumentCaptor.forClass(DirectionSearchDto.class);
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+
+        // when - 저장 배치가 커밋되어 선점 값 공개
+        List<Direction> first = directionSearchDedupService.saveOrReuse(directions(), 3, 10.0);
+        verify(directionWriteBehindService).saveAll(anyList(), search.capture());
+        directionSearchDedupService.onSearchSaved(new DirectionSearchSavedEvent(List.of(search.getValue())));
+        verify(valueOperations).set(eq("DIRECTION:SEARCH:37.596907:127.037803:3:10"), published.capture(), any(Duration.class));
+        stored.set(published.getValue());
+        List<Direction> second = directionSearchDedupService.saveOrReuse(directions(), 3, 10.0);
+
+        // then
+        assertThat(first).extracting(Direction::getId).containsExactly(10L, 11L);
+        assertThat(published.getValue()).endsWith("|10,11").doesNotStartWith("~");
+        assertThat(second).extracting(Direction::getId).containsExactly(10L, 11L);
+        verify(directionWriteBehindService, times(1)).saveAll(anyList(), any());
+        verify(directionSearchRepository, never()).find(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("같은 검색을 다른 요청이 먼저 선점했지만 아직 저장 중이면 그 id 를 재사용하지 않고 새로 저장한다")
+    void pendingClaimIsNotReused() {
+        // given - 조회 후 선점 전에 다른 노드가 같은 결과를 100, 101 로 선점 (비동기 저장 대기 중)
+        AtomicLong sequence = new AtomicLong(10);
+        AtomicReference<String> claimed = new AtomicReference<>();
+        when(directionIdAllocator.nextId()).thenAnswer(invocation -> sequence.getAndIncrement());
+        when(valueOperations.get(anyString())).thenAnswer(invocation -> claimed.get());
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenAnswer(invocation -> {
+            String value = invocation.getArgument(1);
+            claimed.set(value.substring(0, value.indexOf('|')) + "|100,101");
+            return false;
+        });
+        when(directionWriteBehindService.saveAll(anyList(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        List<Direction> result = directionSearchDedupService.saveOrReuse(directions(), 3, 10.0);
+
+        // then
+        assertThat(claimed.get()).startsWith("~");
+        assertThat(result).extracting(Direction::getId).containsExactly(10L, 11L);
+        verify(directionWriteBehindService).saveAll(anyList(), any());
+        verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("선점된 결과와 추천 약국이 다르면 재사용하지 않고 이번 결과로 교체한 뒤 저장한다")
+    void changedResultIsSaved() {
+        // given
+        when(valueOperations.get(anyString())).thenReturn("1|5,6");
+        when(directionIdAllocator.nextId()).thenReturn(20L, 21L);
+        when(directionWriteBehindService.saveAll(anyList(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        List<Direction> result = directionSearchDedupService.saveOrReuse(directions(), 3, 10.0);
+
+        // then
+        assertThat(result).extracting(Direction::getId).containsExactly(20L, 21L);
+        verify(valueOperations).set(anyString(), startsWith("~"), any(Duration.class));
+        verify(valueOperations).set(anyString(), endsWith("|20,21"), any(Duration.class));
+        verify(valueOperations, never()).setIfAbsent(anyString(), anyString(), any(Duration.class));
+        verify(directionWriteBehindService).saveAll(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("Redis 오류가 나면 direction_search 를 조회만 하고, 결과가 없으면 추천 결과와 함께 저장한다")
+    void redisFailureFallsBackToDatabase() {
+        // given
+        when(valueOperations.get(anyString())).thenThrow(new RedisConnectionFailureException("redis down"));
+        when(directionIdAllocator.nextId()).thenReturn(20L, 21L);
+        when(directionSearchRepository.find(anyString(), any())).thenReturn(Optional.empty());
+        when(directionWriteBehindService.saveAll(anyList(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<DirectionSearchDto> search = ArgumentCaptor.forClass(DirectionSearchDto.class);
+
+        // when
+        List<Direction> result = directionSearchDedupService.saveOrReuse(directions(), 3, 10.0);
+
+        // then
+        assertThat(result).extracting(Direction::getId).containsExactly(20L, 21L);
+        verify(directionWriteBehindService).saveAll(anyList(), search.capture());
+        assertThat(search.getValue().getSearchKey()).isEqualTo("37.596907:127.037803:3:10");
+        assertThat(search.getValue().getDirectionIds()).containsExactly(20L, 21L);
+        verify(valueOperations, never()).setIfAbsent(anyString(), anyString(), any(Duration.class));
+    }
+
+    private List<Direction> directions() {
+        return List.of(direction("약국1", 37.60, 127.03), direction("약국2", 37.61, 127.04));
+    }
+
+    private Direction direction(String pharmacyName, double latitude, double longitude) {
+        return Direction.builder()
+                .inputAddress("서울특별시 성북구 종암동")
+                .inputLatitude(37.596907)
+                .inputLongitude(127.037803)
+                .targetPharmacyName(pharmacyName)
+                .targetAddress("서울특별시")
+                .targetLatitude(latitude)
+                .targetLongitude(longitude)
+                .distance(0.5)
+                .build();
+    }
+}
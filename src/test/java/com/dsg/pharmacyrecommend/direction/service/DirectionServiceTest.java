@@ -1,12 +1,24 @@
 package com.dsg.pharmacyrecommend.direction.service;
 
 import com.dsg.pharmacyrecommend.domain.direction.entity.Direction;
+import com.dsg.pharmacyrecommend.domain.direction.exception.DirectionNotFoundException;
+import com.dsg.pharmacyrecommend.domain.direction.id.SnowflakeIdGenerator;
+import com.dsg.pharmacyrecommend.domain.direction.repository.DirectionLegacyRepository;
 import com.dsg.pharmacyrecommend.domain.direction.repository.DirectionRepository;
 import com.dsg.pharmacyrecommend.domain.direction.service.Base62Service;
+import com.dsg.pharmacyrecommend.domain.direction.service.DirectionRetentionService;
 import com.dsg.pharmacyrecommend.domain.direction.service.DirectionService;
+import com.dsg.pharmacyrecommend.domain.direction.service.DirectionWriteBehindService;
+import com.dsg.pharmacyrecommend.domain.direction.service.PharmacySearchMode;
 import com.dsg.pharmacyrecommend.kakao.dto.DocumentDto;
 import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
+import com.dsg.pharmacyrecommend.domain.pharmacy.entity.Pharmacy;
+import com.dsg.pharmacyrecommend.domain.pharmacy.index.PharmacySearchMetrics;
+import com.dsg.pharmacyrecommend.domain.pharmacy.index.PharmacySpatialIndexService;
+import com.dsg.pharmacyrecommend.domain.pharmacy.service.PharmacyRepositoryService;
 import com.dsg.pharmacyrecommend.domain.pharmacy.service.PharmacySearchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,13 +26,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @Slf4j
@@ -36,13 +55,30 @@ class DirectionServiceTest {
     @Mock
     private Base62Service base62Service;
 
+    @Mock
+    private PharmacyRepositoryService pharmacyRepositoryService;
+
+    @Mock
+    private DirectionWriteBehindService directionWriteBehindService;
+
+    @Mock
+    private DirectionLegacyRepository directionLegacyRepository;
+
     private DirectionService directionService;
+
+    private DirectionRetentionService directionRetentionService;
     
     private static final String DIRECTION_BASE_URL = "https://map.kakao.com/link/map/";
 
     @BeforeEach
     void setUp() {
-        directionService = new DirectionService(pharmacySearchService, directionRepository, base62Service, null);
+        PharmacySpatialIndexService pharmacySpatialIndexService = new PharmacySpatialIndexService(
+                pharmacySearchService, ForkJoinPool.commonPool(), new PharmacySearchMetrics(new SimpleMeterRegistry()),
+                Runnable::run, ForkJoinPool.commonPool());
+        directionRetentionService = new DirectionRetentionService(null, new ObjectMapper(), new SimpleMeterRegistry());
+        directionService = new DirectionService(pharmacySpatialIndexService, directionRepository, base62Service, null, null, null,
+                pharmacyRepositoryService, directionWriteBehindService, null,
+                directionRetentionService, directionLegacyRepository);
     }
 
     @Test
@@ -113,7 +149,105 @@ class DirectionServiceTest {
     }
     
     @Test
-    @DisplayName("findDirectionUrlById: 약국 방향 URL을 정상적으로 반환한다")
+    @DisplayName("요청한 검색 개수와 반경으로 가까운 약국을 검색한다")
+    void buildDirectionListWithSearchCountAndRadius() {
+        // given
+        DocumentDto documentDto = DocumentDto.builder()
+                .addressName("서울특별시 성북구 종암동")
+                .latitude(37.596907)
+                .longitude(127.037803)
+                .build();
+
+        List<PharmacyDto> pharmacyDtoList = Arrays.asList(
+                PharmacyDto.builder().id(1L).pharmacyName("약국1").latitude(37.597907).longitude(127.037803).build(), // 약 0.1km
+                PharmacyDto.builder().id(2L).pharmacyName("약국2").latitude(37.601907).longitude(127.037803).build(), // 약 0.6km
+                PharmacyDto.builder().id(3L).pharmacyName("약국3").latitude(37.611907).longitude(127.037803).build(), // 약 1.7km
+                PharmacyDto.builder().id(4L).pharmacyName("약국4").latitude(37.646907).longitude(127.037803).build()  // 약 5.6km
+        );
+
+        when(pharmacySearchService.searchPharmacyDtoList()).thenReturn(pharmacyDtoList);
+
+        // when
+        List<Direction> twoNearest = directionService.buildDirectionList(documentDto, 2, null);
+        List<Direction> withinTwoKm = directionService.buildDirectionList(documentDto, 10, 2.0);
+
+        // then
+        assertThat(twoNearest).extracting(Direction::getTargetPharmacyName).containsExactly("약국1", "약국2");
+        assertThat(withinTwoKm).extracting(Direction::getTargetPharmacyName).containsExactly("약국1", "약국2", "약국3");
+    }
+
+    @Test
+    @DisplayName("DATABASE 검색 방식이면 DB 공간 인덱스로 조회한 약국만 추천한다")
+    void buildDirectionListFromDatabase() {
+        // given
+        ReflectionTestUtils.setField(directionService, "searchMode", PharmacySearchMode.DATABASE);
+        DocumentDto documentDto = DocumentDto.builder()
+                .addressName("서울특별시 성북구 종암동")
+                .latitude(37.596907)
+                .longitude(127.037803)
+                .build();
+
+        when(pharmacyRepositoryService.findNearest(37.596907, 127.037803, 2, 10.0)).thenReturn(List.of(
+                Pharmacy.builder().id(1L).pharmacyName("약국1").latitude(37.597907).longitude(127.037803).build(),
+                Pharmacy.builder().id(2L).pharmacyName("약국2").latitude(37.601907).longitude(127.037803).build()));
+
+        // when
+        List<Direction> results = directionService.buildDirectionList(documentDto, 2, null);
+
+        // then
+        assertThat(results).extracting(Direction::getTargetPharmacyName).containsExactly("약국1", "약국2");
+        assertThat(results.get(0).getDistance()).isCloseTo(0.111, within(0.001));
+        verifyNoInteractions(pharmacySearchService);
+    }
+
+    @Test
+    @DisplayName("DATABASE 검색 방식도 표시용 거리로 정렬하고 반경을 넘는 약국은 제외한다")
+    void buildDirectionListFromDatabaseUsesDisplayDistance() {
+        // given
+        ReflectionTestUtils.setField(directionService, "searchMode", PharmacySearchMode.DATABASE);
+        DocumentDto documentDto = DocumentDto.builder()
+                .addressName("서울특별시 성북구 종암동")
+                .latitude(37.596907)
+                .longitude(127.037803)
+                .build();
+
+        when(pharmacyRepositoryService.findNearest(37.596907, 127.037803, 3, 1.0)).thenReturn(List.of(
+                Pharmacy.builder().id(1L).pharmacyName("약국1").latitude(37.604907).longitude(127.037803).build(),
+                Pharmacy.builder().id(2L).pharmacyName("약국2").latitude(37.606107).longitude(127.037803).build(),
+                Pharmacy.builder().id(3L).pharmacyName("약국3").latitude(37.597907).longitude(127.037803).build()));
+
+        // when
+        List<Direction> results = directionService.buildDirectionList(documentDto, 3, 1.0);
+
+        // then
+        assertThat(results).extracting(Direction::getTargetPharmacyName).containsExactly("약국3", "약국1");
+        assertThat(results).allSatisfy(direction -> assertThat(direction.getDistance()).isLessThanOrEqualTo(1.0));
+    }
+
+    @Test
+    @DisplayName("findDirectionUrlById: 아직 저장되지 않은 길안내는 저장 대기 목록에서 찾는다")
+    void findDirectionUrlByIdPending() {
+        // given
+        Direction direction = Direction.builder()
+                .id(2L)
+                .targetPharmacyName("약국명")
+                .targetLatitude(37.5960)
+                .targetLongitude(127.0371)
+                .build();
+        when(base62Service.decodeDirectionId("s")).thenReturn(2L);
+        when(directionWriteBehindService.findPending(2L)).thenReturn(direction);
+
+        // when
+        String result = directionService.findDirectionUrlById("s");
+
+        // then
+        assertThat(result).isEqualTo(UriComponentsBuilder
+                .fromUriString(DIRECTION_BASE_URL + "약국명,37.596,127.0371").toUriString());
+        verifyNoInteractions(directionRepository);
+    }
+
+    @Test
+    @DisplayName("findDirectionUrlById: 저장된 길안내의 약국 id 로 DB 에서 약국 정보를 찾아 URL 을 반환한다")
     void findDirectionUrlById() {
         // given
         String encodedId = "r";
@@ -122,10 +256,17 @@ class DirectionServiceTest {
         double latitude = 37.5960;
         double longitude = 127.0371;
         
+        // DB 에는 약국 id 만 저장됨
         Direction direction = Direction.builder()
-                .targetPharmacyName(pharmacyName)
-                .targetLatitude(latitude)
-                .targetLongitude(longitude)
+                .id(decodedId)
+                .pharmacyId(7L)
+                .build();
+        Pharmacy pharmacy = Pharmacy.builder()
+                .id(7L)
+                .pharmacyName(pharmacyName)
+                .pharmacyAddress("서울특별시 성북구")
+                .latitude(latitude)
+                .longitude(longitude)
                 .build();
         
         String expectedUrl = UriComponentsBuilder.fromUriString(DIRECTION_BASE_URL + String.join(",", 
@@ -135,6 +276,7 @@ class DirectionServiceTest {
         // Mock 설정
         when(base62Service.decodeDirectionId(encodedId)).thenReturn(decodedId);
         when(directionRepository.findById(decodedId)).thenReturn(Optional.of(direction));
+        when(pharmacyRepositoryService.findById(7L)).thenReturn(Optional.of(pharmacy));
         
         // when
         String result = directionService.findDirectionUrlById(encodedId);
@@ -144,4 +286,104 @@ class DirectionServiceTest {
         assertThat(result).isNotNull();
         assertThat(result).isEqualTo(expectedUrl);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("findDirectionUrlById: 약국 인덱스가 있으면 메모리 약국 데이터에서 약국 정보를 찾는다")
+    void findDirectionUrlByIdFromIndex() {
+        // given - 검색으로 인덱스 생성
+        when(pharmacySearchService.searchPharmacyDtoList()).thenReturn(List.of(
+                PharmacyDto.builder().id(9L).pharmacyName("약국9").pharmacyAddress("서울특별시")
+                        .latitude(37.602030).longitude(127.037033).build(),
+                PharmacyDto.builder().id(7L).pharmacyName("약국7").pharmacyAddress("서울특별시")
+                        .latitude(37.606203).longitude(127.042567).build()));
+        directionService.buildDirectionList(DocumentDto.builder()
+                .addressName("서울특별시 성북구 종암동").latitude(37.596907).longitude(127.037803).build());
+        when(base62Service.decodeDirectionId("r")).thenReturn(1L);
+        when(directionRepository.findById(1L)).thenReturn(Optional.of(Direction.builder().id(1L).pharmacyId(7L).build()));
+
+        // when
+        String result = directionService.findDirectionUrlById("r");
+
+        // then
+        assertThat(result).isEqualTo(UriComponentsBuilder
+                .fromUriString(DIRECTION_BASE_URL + "약국7,37.606203,127.042567").toUriString());
+        verifyNoInteractions(pharmacyRepositoryService);
+    }
+
+    @Test
+    @DisplayName("findDirectionUrlById: 약국이 삭제되었으면 이전 형식 행에 기록된 약국 정보로 URL 을 만든다")
+    void findDirectionUrlByIdFromLegacy() {
+        // given
+        when(base62Service.decodeDirectionId("r")).thenReturn(1L);
+        when(directionRepository.findById(1L)).thenReturn(Optional.of(Direction.builder().id(1L).pharmacyId(7L).build()));
+        when(pharmacyRepositoryService.findById(7L)).thenReturn(Optional.empty());
+        when(directionLegacyRepository.findTarget(1L)).thenReturn(Optional.of(PharmacyDto.builder()
+                .pharmacyName("약국7").pharmacyAddress("서울특별시").latitude(37.606203).longitude(127.042567).build()));
+
+        // when
+        String result = directionService.findDirectionUrlById("r");
+
+        // then
+        assertThat(result).isEqualTo(UriComponentsBuilder
+                .fromUriString(DIRECTION_BASE_URL + "약국7,37.606203,127.042567").toUriString());
+    }
+
+    @Test
+    @DisplayName("findDirectionUrlById: 약국 정보를 어디에서도 찾을 수 없으면 없는 길안내(404)로 처리한다")
+    void findDirectionUrlByIdWithoutPharmacy() {
+        // given - 이전 시 일치하는 약국이 없어 pharmacy_id 가 없는 길안내
+        when(base62Service.decodeDirectionId("r")).thenReturn(1L);
+        when(directionRepository.findById(1L)).thenReturn(Optional.of(Direction.builder().id(1L).build()));
+        when(directionLegacyRepository.findTarget(1L)).thenReturn(Optional.empty());
+
+        // when, then
+        assertThatThrownBy(() -> directionService.findDirectionUrlById("r"))
+                .isInstanceOfSatisfying(DirectionNotFoundException.class, e -> assertThat(e.isExpired()).isFalse());
+        verifyNoInteractions(pharmacyRepositoryService);
+    }
+
+    @Test
+    @DisplayName("findDirectionUrlById: 없는 길안내는 현재 형식 단축 URL 이고 삭제된 파티션 범위의 id 일 때만 보관 기간이 지났다고 알려준다")
+    void findDirectionUrlByIdNotFound() {
+        // given - 2025-10-01 이전 파티션 삭제, IDENTITY 로 발급된 이전 id (2^22 이상이면 2024년 1월 Snowflake id 로 해석됨)
+        //         / 삭제된 범위의 id / 방금 발급한 id
+        ReflectionTestUtils.setField(directionRetentionService, "droppedBefore", LocalDate.of(2025, 10, 1));
+        long legacyId = 5_000_000L;
+        long expiredId = new SnowflakeIdGenerator(0,
+                () -> LocalDate.of(2025, 9, 1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli()).nextId();
+        long recentId = new SnowflakeIdGenerator(0).nextId();
+        when(base62Service.decodeDirectionId("legacy")).thenReturn(legacyId);
+        when(base62Service.isLegacyFormat("legacy")).thenReturn(true);
+        when(base62Service.decodeDirectionId("old")).thenReturn(expiredId);
+        when(base62Service.decodeDirectionId("new")).thenReturn(recentId);
+        when(directionRepository.findById(legacyId)).thenReturn(Optional.empty());
+        when(directionRepository.findById(expiredId)).thenReturn(Optional.empty());
+        when(directionRepository.findById(recentId)).thenReturn(Optional.empty());
+
+        // when, then
+        assertThatThrownBy(() -> directionService.findDirectionUrlById("legacy"))
+                .isInstanceOfSatisfying(DirectionNotFoundException.class, e -> assertThat(e.isExpired()).isFalse());
+        assertThatThrownBy(() -> directionService.findDirectionUrlById("old"))
+                .isInstanceOfSatisfying(DirectionNotFoundException.class, e -> assertThat(e.isExpired()).isTrue());
+        assertThatThrownBy(() -> directionService.findDirectionUrlById("new"))
+                .isInstanceOfSatisfying(DirectionNotFoundException.class, e -> assertThat(e.isExpired()).isFalse());
+    }
+
+    @Test
+    @DisplayName("saveAll: 약국 id 가 없는 추천 결과(카카오 카테고리 검색)는 저장하지 않고 거부한다")
+    void saveAllWithoutPharmacyId() {
+        // given
+        List<Direction> directionList = List.of(Direction.builder()
+                .targetPharmacyName("카카오 약국")
+                .targetLatitude(37.60)
+                .targetLongitude(127.03)
+                .build());
+
+        // when, then
+        assertThatThrownBy(() -> directionService.saveAll(directionList))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> directionService.saveAll(directionList, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(directionWriteBehindService);
+    }
+}
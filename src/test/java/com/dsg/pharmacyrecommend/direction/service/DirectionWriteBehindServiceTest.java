@@ -0,0 +1,252 @@
+package com.dsg.pharmacyrecommend.direction.service;
+
+import com.dsg.pharmacyrecommend.domain.direction.dto.DirectionInsertDto;
+import com.dsg.pharmacyrecommend.domain.direction.dto.DirectionSearchDto;
+import com.dsg.pharmacyrecommend.domain.direction.entity.Direction;
+import com.dsg.pharmacyrecommend.domain.direction.event.DirectionSearchSavedEvent;
+import com.dsg.pharmacyrecommend.domain.direction.repository.DirectionBatchRepository;
+import com.dsg.pharmacyrecommend.domain.direction.service.DirectionIdAllocator;
+import com.dsg.pharmacyrecommend.domain.direction.service.DirectionWriteBehindService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DirectionWriteBehindServiceTest {
+
+    @Mock
+    private DirectionIdAllocator directionIdAllocator;
+
+    @Mock
+    private DirectionBatchRepository directionBatchRepository;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @TempDir
+    private Path tempDir;
+
+    /**
+     * 저장된 길안내 (저장 스레드와 테스트 스레드가 함께 접근)
+     */
+    private final List<DirectionInsertDto> inserted = Collections.synchronizedList(new ArrayList<>());
+    private final List<ExecutorService> executors = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        AtomicLong sequence = new AtomicLong(1);
+        when(directionIdAllocator.nextId()).thenAnswer(invocation -> sequence.getAndIncrement());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executors.forEach(ExecutorService::shutdownNow);
+    }
+
+    @Test
+    @DisplayName("id 를 먼저 발급하여 반환하고, 저장은 백그라운드에서 배치로 수행한다")
+    void saveAllAssignsIdsAndFlushesInBackground() {
+        // given
+        recordInserts();
+        DirectionWriteBehindService service = service(10, Executors.newSingleThreadExecutor());
+        service.start();
+
+        // when
+        List<Direction> saved = service.saveAll(List.of(direction("약국1"), direction("약국2"), direction("약국3")));
+
+        // then
+        assertThat(saved).extracting(Direction::getId).containsExactly(1L, 2L, 3L);
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(inserted).extracting(DirectionInsertDto::getPharmacyId)
+                        .containsExactly(1L, 2L, 3L));
+        await().atMost(Duration.ofSeconds(5)).until(() -> service.findPending(1L) == null);
+        service.stop();
+    }
+
+    @Test
+    @DisplayName("DB 가 복구되면 실행 중에도 임시 파일의 길안내를 다시 저장하고 파일을 삭제한다")
+    void retrySpillFileAfterRecovery() {
+        // given - 첫 저장은 실패하여 임시 파일에 기록, 이후 DB 복구
+        doThrow(new DataAccessResourceFailureException("db down"))
+                .doAnswer(invocation -> {
+                    inserted.addAll(invocation.getArgument(0));
+                    return null;
+                })
+                .when(directionBatchRepository).insertAll(anyList());
+        DirectionWriteBehindService service = service(10, Executors.newSingleThreadExecutor());
+        service.start();
+        service.saveAll(List.of(direction("약국1")));
+        Path spillFile = tempDir.resolve("direction-spill.ndjson");
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(spillFile).exists());
+
+        // when
+        service.retrySpillFile();
+
+        // then
+        assertThat(inserted).extracting(DirectionInsertDto::getId).containsExactly(1L);
+        assertThat(spillFile).doesNotExist();
+        service.stop();
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 넣지 못한 길안내는 요청 스레드에서 직접 저장한다")
+    void saveAllRunsOnCallerWhenQueueIsFull() {
+        // given - 저장 스레드가 큐를 비우지 않음
+        recordInserts();
+        DirectionWriteBehindService service = service(2, task -> { });
+        service.start();
+
+        // when
+        service.saveAll(List.of(direction("약국1"), direction("약국2"), direction("약국3")));
+
+        // then
+        assertThat(inserted).extracting(DirectionInsertDto::getPharmacyId).containsExactly(3L);
+        assertThat(service.queueSize()).isEqualTo(2);
+        assertThat(service.findPending(1L).getTargetPharmacyName()).isEqualTo("약국1");
+        assertThat(service.findPending(3L)).isNull();
+    }
+
+    @Test
+    @DisplayName("종료 시 남은 길안내는 임시 파일에 기록하고 다음 시작 때 저장한 뒤 파일을 삭제한다")
+    void stopSpillsAndStartReplays() {
+        // given
+        DirectionWriteBehindService stopping = service(10, task -> { });
+        stopping.start();
+        stopping.saveAll(List.of(direction("약국1"), direction("약국2")));
+
+        // when
+        stopping.stop();
+
+        // then
+        Path spillFile = tempDir.resolve("direction-spill.ndjson");
+        assertThat(spillFile).exists();
+        verify(directionBatchRepository, never()).insertAll(anyList());
+
+        // when
+        recordInserts();
+        DirectionWriteBehindService restarted = service(10, task -> { });
+        restarted.start();
+
+        // then
+        assertThat(inserted).extracting(DirectionInsertDto::getId).containsExactly(1L, 2L);
+        assertThat(inserted.get(0).getCreatedDate()).isNotNull();
+        assertThat(Files.exists(spillFile)).isFalse();
+    }
+
+    @Test
+    @DisplayName("반복 검색 추천 결과는 마지막 길안내에 실어 저장하고, 임시 파일을 거쳐도 함께 저장한다")
+    void searchIsStoredWithLastDirection() {
+        // given
+        DirectionSearchDto search = DirectionSearchDto.builder()
+                .searchKey("37.596907:127.037803:3:10")
+                .resultHash(42L)
+                .directionIds(List.of(1L, 2L))
+                .createdDate(LocalDateTime.of(2026, 10, 17, 12, 0))
+                .build();
+        DirectionWriteBehindService stopping = service(10, task -> { });
+        stopping.start();
+        stopping.saveAll(List.of(direction("약국1"), direction("약국2")), search);
+        stopping.stop();
+        verify(applicationEventPublisher, never()).publishEvent(any(Object.class));
+
+        // when
+        recordInserts();
+        service(10, task -> { }).start();
+
+        // then - 저장된 뒤에만 추천 결과 저장 이벤트 발행
+        ArgumentCaptor<DirectionSearchSavedEvent> event = ArgumentCaptor.forClass(DirectionSearchSavedEvent.class);
+        verify(applicationEventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getSearches()).extracting(DirectionSearchDto::getSearchKey)
+                .containsExactly("37.596907:127.037803:3:10");
+        assertThat(inserted).extracting(DirectionInsertDto::getId).containsExactly(1L, 2L);
+        assertThat(inserted.get(0).getSearch()).isNull();
+        assertThat(inserted.get(1).getSearch().getSearchKey()).isEqualTo("37.596907:127.037803:3:10");
+        assertThat(inserted.get(1).getSearch().getDirectionIds()).containsExactly(1L, 2L);
+        assertThat(inserted.get(1).getSearch().getCreatedDate()).isEqualTo(LocalDateTime.of(2026, 10, 17, 12, 0));
+    }
+
+    @Test
+    @DisplayName("DB 저장에 실패한 배치는 임시 파일에 기록한다")
+    void flushFailureSpills() {
+        // given
+        doThrow(new DataAccessResourceFailureException("db down")).when(directionBatchRepository).insertAll(anyList());
+        DirectionWriteBehindService service = service(10, Executors.newSingleThreadExecutor());
+        service.start();
+
+        // when
+        service.saveAll(List.of(direction("약국1")));
+
+        // then
+        Path spillFile = tempDir.resolve("direction-spill.ndjson");
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(spillFile).exists());
+        await().atMost(Duration.ofSeconds(5)).until(() -> service.findPending(1L) == null);
+        service.stop();
+    }
+
+    private void recordInserts() {
+        doAnswer(invocation -> {
+            inserted.addAll(invocation.getArgument(0));
+            return null;
+        }).when(directionBatchRepository).insertAll(anyList());
+    }
+
+    private DirectionWriteBehindService service(int capacity, Executor executor) {
+        if (executor instanceof ExecutorService executorService) executors.add(executorService);
+        DirectionWriteBehindService service = new DirectionWriteBehindService(
+                directionIdAllocator, directionBatchRepository, applicationEventPublisher,
+                new ObjectMapper(), new SimpleMeterRegistry(), executor);
+        ReflectionTestUtils.setField(service, "capacity", capacity);
+        ReflectionTestUtils.setField(service, "offerTimeoutMs", 10L);
+        ReflectionTestUtils.setField(service, "flushIntervalMs", 10L);
+        ReflectionTestUtils.setField(service, "spillFile", tempDir.resolve("direction-spill.ndjson").toString());
+        service.init();
+        return service;
+    }
+
+    private Direction direction(String pharmacyName) {
+        return Direction.builder()
+                .pharmacyId(Long.valueOf(pharmacyName.substring("약국".length())))
+                .inputAddress("서울특별시 성북구 종암동")
+                .inputLatitude(37.596907)
+                .inputLongitude(127.037803)
+                .targetPharmacyName(pharmacyName)
+                .targetAddress("서울특별시 성북구")
+                .targetLatitude(37.60)
+                .targetLongitude(127.03)
+                .distance(0.5)
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.dsg.pharmacyrecommend.geo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DistanceModelTest {
+
+    @Test
+    @DisplayName("Vincenty 거리는 WGS84 측지선 기준값과 1mm 이내로 같아야 한다")
+    void vincentyMatchesReferenceGeodesic() {
+        // given (Flinders Peak → Buninyong, Vincenty 논문 예제: 54,972.271m)
+        DistanceModel model = DistanceModelType.VINCENTY.model();
+
+        // when
+        double distance = model.distanceKm(-37.95103342, 144.42486789, -37.65282114, 143.92649554);
+
+        // then
+        assertThat(distance).isCloseTo(54.972271, within(0.000001));
+    }
+
+    @Test
+    @DisplayName("Haversine 거리는 구면 코사인 법칙 거리와 같아야 한다")
+    void haversineMatchesSphericalLawOfCosines() {
+        // given (서울시청 → 부산시청)
+        DistanceModel model = DistanceModelType.HAVERSINE.model();
+
+        // when
+        double distance = model.distanceKm(37.5665, 126.9780, 35.1796, 129.0756);
+
+        // then
+        assertThat(distance).isCloseTo(GeoUtils.distanceKm(37.5665, 126.9780, 35.1796, 129.0756), within(0.000001));
+    }
+
+    @ParameterizedTest
+    @EnumSource(DistanceModelType.class)
+    @DisplayName("단거리(10km 이내)에서는 모든 거리 계산 방식의 차이가 0.5% 이내여야 한다")
+    void shortDistanceWithinTolerance(DistanceModelType type) {
+        // given
+        double reference = DistanceModelType.VINCENTY.model().distanceKm(37.5665, 126.9780, 37.6100, 127.0500);
+
+        // when
+        double distance = type.model().distanceKm(37.5665, 126.9780, 37.6100, 127.0500);
+
+        // then
+        assertThat(distance).isCloseTo(reference, within(reference * 0.005));
+    }
+
+    @ParameterizedTest
+    @EnumSource(DistanceModelType.class)
+    @DisplayName("같은 지점 사이의 거리는 0이어야 한다")
+    void samePointIsZero(DistanceModelType type) {
+        assertThat(type.model().distanceKm(37.5665, 126.9780, 37.5665, 126.9780)).isZero();
+    }
+}
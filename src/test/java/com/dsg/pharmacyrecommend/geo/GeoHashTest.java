@@ -0,0 +1,57 @@
+package com.dsg.pharmacyrecommend.geo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoHashTest {
+
+    @Test
+    @DisplayName("geohash 는 표준 base32 geohash 값과 같아야 한다")
+    void encodeMatchesReference() {
+        // when, then (서울시청, geohash.org 예제, 시드니)
+        assertThat(GeoHash.encode(37.5665, 126.978, 5)).isEqualTo("wydm9");
+        assertThat(GeoHash.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+        assertThat(GeoHash.encode(-33.9, 151.2, 7)).isEqualTo("r3gx0ss");
+    }
+
+    @Test
+    @DisplayName("반경 이내의 모든 지점은 반경을 덮는 셀 중 하나에 속해야 한다")
+    void coveringCellsContainAllPointsWithinRadius() {
+        // given
+        Random random = new Random(42);
+
+        for (int i = 0; i < 500; i++) {
+            double latitude = 37.30 + random.nextDouble() * 0.6;
+            double longitude = 126.70 + random.nextDouble() * 0.6;
+            double radiusKm = random.nextDouble() * 10;
+
+            // when
+            Set<String> cells = new HashSet<>(GeoHash.coveringCells(new GeoQuery(latitude, longitude, radiusKm), 5, 200));
+
+            // then
+            for (int j = 0; j < 50; j++) {
+                double pointLatitude = latitude + (random.nextDouble() - 0.5) * 0.2;
+                double pointLongitude = longitude + (random.nextDouble() - 0.5) * 0.25;
+                if (GeoUtils.distanceKm(latitude, longitude, pointLatitude, pointLongitude) > radiusKm) continue;
+                assertThat(cells).contains(GeoHash.encode(pointLatitude, pointLongitude, 5));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("덮는 셀 수가 최대 셀 수를 넘으면 null 을 반환한다")
+    void coveringCellsRejectsTooManyCells() {
+        // when
+        List<String> cells = GeoHash.coveringCells(new GeoQuery(37.55, 127.0, 100), 5, 64);
+
+        // then
+        assertThat(cells).isNull();
+    }
+}
@@ -0,0 +1,130 @@
+package com.dsg.pharmacyrecommend.pharmacy.cache;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.cache.PharmacyRedisClientCache;
+import com.dsg.pharmacyrecommend.domain.pharmacy.cache.PharmacyRedisTemplateService;
+import com.dsg.pharmacyrecommend.domain.pharmacy.cache.RedisHealthTracker;
+import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisConnectionException;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 클라이언트 측 캐시 경로의 Redis 장애 집계 테스트 (Lettuce 예외가 회로 차단기에 집계되는지 확인)
+ */
+@ExtendWith(MockitoExtension.class)
+class PharmacyRedisClientCacheFailureTest {
+
+    @Mock
+    private RedisClient redisClient;
+
+    @Mock
+    private StatefulRedisConnection<String, String> connection;
+
+    @Mock
+    private RedisCommands<String, String> commands;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private HashOperations<String, String, String> hashOperations;
+
+    private RedisHealthTracker redisHealthTracker;
+    private PharmacyRedisTemplateService pharmacyRedisTemplateService;
+
+    @BeforeEach
+    void setUp() {
+        redisHealthTracker = new RedisHealthTracker(stringRedisTemplate, new SimpleMeterRegistry());
+        pharmacyRedisTemplateService = new PharmacyRedisTemplateService(
+                redisTemplate, stringRedisTemplate, new ObjectMapper(), Runnable::run, redisHealthTracker);
+        pharmacyRedisTemplateService.init();
+        ReflectionTestUtils.setField(pharmacyRedisTemplateService, "pharmacyRedisClientCache",
+                new PharmacyRedisClientCache(redisClient, new ObjectMapper(), true));
+    }
+
+    @Test
+    @DisplayName("클라이언트 측 캐시 조회가 연속으로 타임아웃되면 차단되어 Redis 를 우회한다")
+    void findAllTimeoutOpensBreaker() {
+        // given
+        when(redisClient.connect()).thenReturn(connection);
+        when(connection.sync()).thenReturn(commands);
+        when(commands.hgetall(anyString())).thenThrow(new RedisCommandTimeoutException("timeout"));
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            assertThat(pharmacyRedisTemplateService.findAll()).isEmpty();
+        }
+
+        // then
+        assertThat(redisHealthTracker.isAvailable()).isFalse();
+        assertThat(redisHealthTracker.tryAcquire("findAll")).isFalse();
+    }
+
+    @Test
+    @DisplayName("클라이언트 측 캐시가 연결하지 못하면 서버 시작을 막지 않고 RedisTemplate 으로 조회한다")
+    void findAllFallsBackWhenClientCacheCannotConnect() {
+        // given
+        ReflectionTestUtils.setField(pharmacyRedisTemplateService, "cellEnabled", false);
+        when(redisTemplate.<String, String>opsForHash()).thenReturn(hashOperations);
+        pharmacyRedisTemplateService.init();
+        when(redisClient.connect()).thenThrow(new RedisConnectionException("refused"));
+        when(hashOperations.entries("PHARMACY")).thenReturn(Map.of("1",
+                "{\"id\":1,\"pharmacyName\":\"약국1\",\"pharmacyAddress\":\"서울특별시\",\"latitude\":37.6,\"longitude\":127.03}"));
+
+        // when
+        List<PharmacyDto> first = pharmacyRedisTemplateService.findAll();
+        List<PharmacyDto> second = pharmacyRedisTemplateService.findAll();
+
+        // then
+        assertThat(first).extracting(PharmacyDto::getPharmacyName).containsExactly("약국1");
+        assertThat(second).hasSize(1);
+        assertThat(redisHealthTracker.isAvailable()).isTrue();
+        verify(redisClient, times(1)).connect(); // 재시도 간격 동안 다시 연결하지 않음
+    }
+
+    @Test
+    @DisplayName("약국 삭제 중 Redis 오류는 예외를 던지지 않고 차단기에 집계된다")
+    void deleteFailureIsRecorded() {
+        // given
+        ReflectionTestUtils.setField(pharmacyRedisTemplateService, "cellEnabled", false);
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            pharmacyRedisTemplateService.delete(1L);
+        }
+
+        // then
+        assertThat(redisHealthTracker.isAvailable()).isFalse();
+    }
+}
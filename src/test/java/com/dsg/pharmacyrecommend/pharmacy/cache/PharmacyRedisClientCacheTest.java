@@ -0,0 +1,151 @@
+package com.dsg.pharmacyrecommend.pharmacy.cache;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.cache.PharmacyRedisClientCache;
+import com.dsg.pharmacyrecommend.domain.pharmacy.cache.PharmacyRedisTemplateService;
+import com.dsg.pharmacyrecommend.domain.pharmacy.cache.RedisHealthTracker;
+import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * 약국 Hash 클라이언트 측 캐시 테스트 - RESP3 CLIENT TRACKING 을 지원하는 Redis(6 이상) 컨테이너 사용 (Docker 가 없으면 건너뜀)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PharmacyRedisClientCacheTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS =
+            new GenericContainer<>(DockerImageName.parse("redis:7.2-alpine")).withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+
+    private PharmacyRedisTemplateService pharmacyRedisTemplateService;
+    private PharmacyRedisClientCache pharmacyRedisClientCache;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashValueSerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+
+        StringRedisTemplate stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        stringRedisTemplate.execute(connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        }, true);
+
+        // 다른 노드 역할 - 클라이언트 캐시 없이 Redis 에 직접 기록
+        pharmacyRedisTemplateService =
+                new PharmacyRedisTemplateService(redisTemplate, stringRedisTemplate, new ObjectMapper(), Runnable::run,
+                        new RedisHealthTracker(stringRedisTemplate, new SimpleMeterRegistry()));
+        pharmacyRedisTemplateService.init();
+        ReflectionTestUtils.setField(pharmacyRedisTemplateService, "clientCacheEnabled", true);
+        pharmacyRedisTemplateService.save(pharmacy(1L, "약국1"));
+        pharmacyRedisTemplateService.save(pharmacy(2L, "약국2"));
+
+        RedisClient redisClient = RedisClient.create(RedisURI.create(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        redisClient.setOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP3).build());
+        pharmacyRedisClientCache = new PharmacyRedisClientCache(redisClient, new ObjectMapper(), true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pharmacyRedisClientCache.close();
+    }
+
+    @Test
+    @DisplayName("변경이 없으면 Redis 를 다시 조회하지 않고 같은 로컬 사본을 반환한다")
+    void findAllReturnsLocalCopy() {
+        // when
+        List<PharmacyDto> first = pharmacyRedisClientCache.findAll();
+        List<PharmacyDto> second = pharmacyRedisClientCache.findAll();
+
+        // then
+        assertThat(first).extracting(PharmacyDto::getPharmacyName).containsExactlyInAnyOrder("약국1", "약국2");
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 저장/삭제한 약국은 무효화 메시지를 받은 뒤 해당 항목만 갱신된다")
+    void findAllReflectsRemoteChanges() {
+        // given
+        pharmacyRedisClientCache.findAll();
+
+        // when
+        pharmacyRedisTemplateService.save(pharmacy(2L, "약국2-변경"));
+        pharmacyRedisTemplateService.save(pharmacy(3L, "약국3"));
+        pharmacyRedisTemplateService.delete(1L);
+
+        // then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(pharmacyRedisClientCache.findAll()).extracting(PharmacyDto::getPharmacyName)
+                        .containsExactlyInAnyOrder("약국2-변경", "약국3"));
+    }
+
+    @Test
+    @DisplayName("FLUSHDB 처럼 키 목록 없는 무효화를 받으면 전체를 다시 조회한다")
+    void findAllReloadsAfterFlush() {
+        // given
+        pharmacyRedisClientCache.findAll();
+
+        // when
+        new StringRedisTemplate(connectionFactory).execute(connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        }, true);
+
+        // then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(pharmacyRedisClientCache.findAll()).isEmpty());
+    }
+
+    private PharmacyDto pharmacy(Long id, String name) {
+        return PharmacyDto.builder()
+                .id(id)
+                .pharmacyName(name)
+                .pharmacyAddress("서울특별시")
+                .latitude(37.60)
+                .longitude(127.03)
+                .build();
+    }
+}
@@ -0,0 +1,260 @@
+package com.dsg.pharmacyrecommend.pharmacy.cache;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.cache.PharmacyGeoCandidate;
+import com.dsg.pharmacyrecommend.domain.pharmacy.cache.PharmacyRedisTemplateService;
+import com.dsg.pharmacyrecommend.domain.pharmacy.cache.RedisHealthTracker;
+import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshot;
+import com.dsg.pharmacyrecommend.geo.GeoUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Redis 셀/Geo 검색 / 바이너리 스냅샷 테스트 - GEOSEARCH 를 지원하는 Redis(6.2 이상) 컨테이너 사용 (Docker 가 없으면 건너뜀)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PharmacyRedisTemplateServiceTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS =
+            new GenericContainer<>(DockerImageName.parse("redis:7.2-alpine")).withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+
+    private PharmacyRedisTemplateService pharmacyRedisTemplateService;
+    private List<PharmacyDto> pharmacyDtoList;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashValueSerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+
+        StringRedisTemplate stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        stringRedisTemplate.execute(connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        }, true);
+
+        pharmacyRedisTemplateService =
+                new PharmacyRedisTemplateService(redisTemplate, stringRedisTemplate, new ObjectMapper(), Runnable::run,
+                        new RedisHealthTracker(stringRedisTemplate, new SimpleMeterRegistry()));
+        pharmacyRedisTemplateService.init();
+
+        // 서울 인근 임의 좌표 약국 300개
+        Random random = new Random(42);
+        pharmacyDtoList = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            PharmacyDto pharmacyDto = PharmacyDto.builder()
+                    .id(id)
+                    .pharmacyName("약국" + id)
+                    .pharmacyAddress("서울특별시 " + id + "번길")
+                    .latitude(37.50 + random.nextDouble() * 0.10)
+                    .longitude(126.95 + random.nextDouble() * 0.10)
+                    .build();
+            pharmacyDtoList.add(pharmacyDto);
+            pharmacyRedisTemplateService.save(pharmacyDto);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    @DisplayName("셀 조회/GEOSEARCH 결과는 가까운 순서의 약국 k개와 약국명/주소를 반환한다")
+    void searchNearest(boolean cellEnabled) {
+        // given
+        ReflectionTestUtils.setField(pharmacyRedisTemplateService, "cellEnabled", cellEnabled);
+        double latitude = 37.55;
+        double longitude = 127.0;
+
+        // when
+        List<PharmacyGeoCandidate> result = pharmacyRedisTemplateService.searchNearest(latitude, longitude, 5, 3.0);
+
+        // then
+        List<PharmacyDto> expected = pharmacyDtoList.stream()
+                .sorted(Comparator.comparingDouble(p ->
+                        GeoUtils.distanceKm(latitude, longitude, p.getLatitude(), p.getLongitude())))
+                .limit(5)
+                .toList();
+        assertThat(result).extracting(candidate -> candidate.getPharmacy().getId())
+                .containsExactlyElementsOf(expected.stream().map(PharmacyDto::getId).toList());
+        assertThat(result.get(0).getPharmacy().getPharmacyName()).isEqualTo(expected.get(0).getPharmacyName());
+        assertThat(result.get(0).getPharmacy().getPharmacyAddress()).isEqualTo(expected.get(0).getPharmacyAddress());
+        assertThat(result.get(0).getPharmacy().getLatitude()).isCloseTo(expected.get(0).getLatitude(), within(1e-5));
+        assertThat(result.get(0).getDistance()).isCloseTo(GeoUtils.distanceKm(latitude, longitude,
+                expected.get(0).getLatitude(), expected.get(0).getLongitude()), within(0.01));
+    }
+
+    @Test
+    @DisplayName("반경 이내에 약국이 없으면 빈 리스트를 반환한다")
+    void searchNearestOutOfRange() {
+        // when (부산)
+        List<PharmacyGeoCandidate> result = pharmacyRedisTemplateService.searchNearest(35.1796, 129.0756, 3, 10.0);
+
+        // then
+        assertThat(result).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    @DisplayName("삭제한 약국은 셀 조회/GEOSEARCH 결과에서 제외된다")
+    void searchNearestAfterDelete(boolean cellEnabled) {
+        // given
+        ReflectionTestUtils.setField(pharmacyRedisTemplateService, "cellEnabled", cellEnabled);
+        PharmacyDto target = pharmacyDtoList.get(0);
+        pharmacyRedisTemplateService.delete(target.getId());
+
+        // when
+        List<PharmacyGeoCandidate> result = pharmacyRedisTemplateService.searchNearest(
+                target.getLatitude(), target.getLongitude(), 1, 1.0);
+
+        // then
+        assertThat(result).extracting(candidate -> candidate.getPharmacy().getId()).doesNotContain(target.getId());
+    }
+
+    @Test
+    @DisplayName("다른 셀로 이동한 약국은 이전 셀에서 제거되어 이전 위치 검색 결과에 나타나지 않는다")
+    void searchNearestAfterMove() {
+        // given
+        PharmacyDto target = pharmacyDtoList.get(0);
+        PharmacyDto moved = PharmacyDto.builder()
+                .id(target.getId())
+                .pharmacyName(target.getPharmacyName())
+                .pharmacyAddress(target.getPharmacyAddress())
+                .latitude(35.1796)
+                .longitude(129.0756)
+                .build();
+
+        // when
+        pharmacyRedisTemplateService.save(moved);
+        List<PharmacyGeoCandidate> before = pharmacyRedisTemplateService.searchNearest(
+                target.getLatitude(), target.getLongitude(), 1, 0.001);
+        List<PharmacyGeoCandidate> after = pharmacyRedisTemplateService.searchNearest(35.1796, 129.0756, 1, 1.0);
+
+        // then
+        assertThat(before).isEmpty();
+        assertThat(after).extracting(candidate -> candidate.getPharmacy().getId()).containsExactly(target.getId());
+        assertThat(pharmacyRedisTemplateService.findAll()).hasSize(pharmacyDtoList.size());
+    }
+
+    @Test
+    @DisplayName("전체 조회는 PHARMACY 키 대신 셀 키들을 읽어 모든 약국을 반환한다")
+    void findAllFromCells() {
+        // given
+        new StringRedisTemplate(connectionFactory).delete("PHARMACY");
+
+        // when
+        List<PharmacyDto> result = pharmacyRedisTemplateService.findAll();
+
+        // then
+        assertThat(result).extracting(PharmacyDto::getId)
+                .containsExactlyInAnyOrderElementsOf(pharmacyDtoList.stream().map(PharmacyDto::getId).toList());
+    }
+
+    @Test
+    @DisplayName("셀 저장을 사용하면 PHARMACY 키에 기록하지 않고, 삭제한 약국은 셀에서도 제거된다")
+    void cellStorageSkipsPharmacyHash() {
+        // given
+        PharmacyDto target = pharmacyDtoList.get(0);
+
+        // when
+        pharmacyRedisTemplateService.delete(target.getId());
+
+        // then
+        assertThat(new StringRedisTemplate(connectionFactory).hasKey("PHARMACY")).isFalse();
+        assertThat(pharmacyRedisTemplateService.findAll()).extracting(PharmacyDto::getId)
+                .hasSize(pharmacyDtoList.size() - 1)
+                .doesNotContain(target.getId());
+    }
+
+    @Test
+    @DisplayName("저장한 바이너리 스냅샷을 현재 버전으로 조회할 수 있다")
+    void saveAndFindSnapshot() {
+        // given
+        PharmacySnapshot snapshot = PharmacySnapshot.from(pharmacyDtoList, 1_000L);
+
+        // when
+        boolean saved = pharmacyRedisTemplateService.saveSnapshot(snapshot);
+        PharmacySnapshot result = pharmacyRedisTemplateService.findSnapshot();
+
+        // then
+        assertThat(saved).isTrue();
+        assertThat(pharmacyRedisTemplateService.findSnapshotVersion()).isEqualTo(1_000L);
+        assertThat(result.version()).isEqualTo(1_000L);
+        assertThat(result.size()).isEqualTo(snapshot.size());
+        assertThat(result.pharmacyName(10)).isEqualTo(snapshot.pharmacyName(10));
+        assertThat(result.latitude(10)).isEqualTo(snapshot.latitude(10));
+    }
+
+    @Test
+    @DisplayName("현재 버전보다 오래된 스냅샷으로는 포인터를 교체하지 않는다")
+    void saveOlderSnapshotIsIgnored() {
+        // given
+        pharmacyRedisTemplateService.saveSnapshot(PharmacySnapshot.from(pharmacyDtoList, 2_000L));
+
+        // when
+        boolean saved = pharmacyRedisTemplateService.saveSnapshot(PharmacySnapshot.from(pharmacyDtoList.subList(0, 10), 1_000L));
+
+        // then
+        assertThat(saved).isFalse();
+        assertThat(pharmacyRedisTemplateService.findSnapshot().size()).isEqualTo(pharmacyDtoList.size());
+    }
+
+    @Test
+    @DisplayName("파이프라인으로 한 번에 저장한 약국도 Hash 조회와 GEOSEARCH 로 검색된다")
+    void saveAll() {
+        // given
+        List<PharmacyDto> chunk = List.of(
+                PharmacyDto.builder().id(1_001L).pharmacyName("약국A").pharmacyAddress("서울특별시 A").latitude(37.70).longitude(127.20).build(),
+                PharmacyDto.builder().id(1_002L).pharmacyName("약국B").pharmacyAddress("서울특별시 B").latitude(37.701).longitude(127.20).build());
+
+        // when
+        int saved = pharmacyRedisTemplateService.saveAll(chunk);
+        List<PharmacyGeoCandidate> result = pharmacyRedisTemplateService.searchNearest(37.70, 127.20, 2, 1.0);
+
+        // then
+        assertThat(saved).isEqualTo(2);
+        assertThat(pharmacyRedisTemplateService.findAll()).hasSize(pharmacyDtoList.size() + 2);
+        assertThat(result).extracting(candidate -> candidate.getPharmacy().getPharmacyName())
+                .containsExactly("약국A", "약국B");
+        assertThat(result.get(1).getPharmacy().getPharmacyAddress()).isEqualTo("서울특별시 B");
+    }
+}
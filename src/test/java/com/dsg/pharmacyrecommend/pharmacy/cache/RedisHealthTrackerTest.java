@@ -0,0 +1,99 @@
+package com.dsg.pharmacyrecommend.pharmacy.cache;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.cache.RedisHealthTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisHealthTrackerTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RedisHealthTracker redisHealthTracker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        redisHealthTracker = new RedisHealthTracker(stringRedisTemplate, meterRegistry);
+        redisHealthTracker.bindMetrics();
+    }
+
+    @Test
+    @DisplayName("연속으로 실패하면 차단되어 Redis 를 우회하고 우회 횟수를 기록한다")
+    void opensAfterConsecutiveFailures() {
+        // when
+        redisHealthTracker.recordFailure(new QueryTimeoutException("timeout"));
+        redisHealthTracker.recordFailure(new QueryTimeoutException("timeout"));
+        boolean beforeOpen = redisHealthTracker.tryAcquire("findAll");
+        redisHealthTracker.recordFailure(new RedisConnectionFailureException("refused"));
+
+        // then
+        assertThat(beforeOpen).isTrue();
+        assertThat(redisHealthTracker.tryAcquire("findAll")).isFalse();
+        assertThat(redisHealthTracker.tryAcquire("findAll")).isFalse();
+        assertThat(meterRegistry.get("pharmacy.redis.bypass").tag("operation", "findAll").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("pharmacy.redis.available").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("중간에 성공하면 연속 실패 횟수가 초기화되고, Redis 접근 오류가 아닌 예외는 집계하지 않는다")
+    void successResetsFailures() {
+        // when
+        redisHealthTracker.recordFailure(new QueryTimeoutException("timeout"));
+        redisHealthTracker.recordFailure(new QueryTimeoutException("timeout"));
+        redisHealthTracker.recordSuccess();
+        redisHealthTracker.recordFailure(new QueryTimeoutException("timeout"));
+        redisHealthTracker.recordFailure(new IllegalArgumentException("invalid json"));
+        redisHealthTracker.recordFailure(new IllegalArgumentException("invalid json"));
+
+        // then
+        assertThat(redisHealthTracker.isAvailable()).isTrue();
+    }
+
+    @Test
+    @DisplayName("차단 상태에서 PING 이 응답하면 다시 Redis 를 사용한다")
+    void probeCloses() {
+        // given
+        for (int i = 0; i < 3; i++) redisHealthTracker.recordFailure(new QueryTimeoutException("timeout"));
+        when(stringRedisTemplate.execute(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("refused"))
+                .thenReturn("PONG");
+
+        // when
+        redisHealthTracker.probe();
+        boolean afterFailedProbe = redisHealthTracker.isAvailable();
+        redisHealthTracker.probe();
+
+        // then
+        assertThat(afterFailedProbe).isFalse();
+        assertThat(redisHealthTracker.isAvailable()).isTrue();
+        assertThat(meterRegistry.get("pharmacy.redis.available").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("사용 가능한 상태에서는 PING 을 보내지 않는다")
+    void probeSkipsWhenAvailable() {
+        // when
+        redisHealthTracker.probe();
+
+        // then
+        verify(stringRedisTemplate, never()).execute(any(RedisCallback.class));
+    }
+}
@@ -0,0 +1,134 @@
+package com.dsg.pharmacyrecommend.pharmacy.index;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
+import com.dsg.pharmacyrecommend.domain.pharmacy.index.KdTreePharmacySpatialIndex;
+import com.dsg.pharmacyrecommend.domain.pharmacy.index.NearestPharmacyRaster;
+import com.dsg.pharmacyrecommend.domain.pharmacy.index.SearchStats;
+import com.dsg.pharmacyrecommend.domain.pharmacy.index.TopKHeap;
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshot;
+import com.dsg.pharmacyrecommend.geo.GeoQuery;
+import com.dsg.pharmacyrecommend.geo.GeoUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NearestPharmacyRasterTest {
+
+    private Random random;
+    private List<PharmacyDto> pharmacyDtoList;
+
+    @BeforeEach
+    void setUp() {
+        // 서울 인근 임의 좌표 약국 2,000개
+        random = new Random(42);
+        pharmacyDtoList = new ArrayList<>();
+        for (long id = 1; id <= 2_000; id++) {
+            pharmacyDtoList.add(randomPharmacy(id));
+        }
+    }
+
+    @Test
+    @DisplayName("래스터로 응답한 가장 가까운 약국은 전체 탐색 결과와 같아야 한다")
+    void collectNearestMatchesBruteForce() {
+        // given
+        NearestPharmacyRaster raster = build(pharmacyDtoList);
+
+        // when, then
+        assertMatchesBruteForce(raster, pharmacyDtoList);
+    }
+
+    @Test
+    @DisplayName("약국 추가/이동/삭제 후 부분 갱신한 래스터는 전체 탐색 결과와 같아야 한다")
+    void updateMatchesBruteForce() {
+        // given
+        NearestPharmacyRaster raster = build(pharmacyDtoList);
+        List<PharmacyDto> changedList = new ArrayList<>(pharmacyDtoList);
+        List<double[]> changedPoints = new ArrayList<>();
+
+        PharmacyDto removed = changedList.remove(10);
+        changedPoints.add(new double[]{removed.getLatitude(), removed.getLongitude()});
+
+        PharmacyDto moved = changedList.get(20);
+        PharmacyDto movedTo = randomPharmacy(moved.getId());
+        changedList.set(20, movedTo);
+        changedPoints.add(new double[]{moved.getLatitude(), moved.getLongitude()});
+        changedPoints.add(new double[]{movedTo.getLatitude(), movedTo.getLongitude()});
+
+        PharmacyDto added = randomPharmacy(10_000L);
+        changedList.add(0, added);
+        changedPoints.add(new double[]{added.getLatitude(), added.getLongitude()});
+
+        PharmacySnapshot snapshot = PharmacySnapshot.from(changedList);
+
+        // when
+        NearestPharmacyRaster updated = raster.update(snapshot, new KdTreePharmacySpatialIndex(snapshot),
+                changedPoints.stream().mapToDouble(point -> point[0]).toArray(),
+                changedPoints.stream().mapToDouble(point -> point[1]).toArray());
+
+        // then
+        assertMatchesBruteForce(updated, changedList);
+    }
+
+    @Test
+    @DisplayName("k가 1보다 크면 래스터로 응답하지 않는다")
+    void collectNearestRejectsLargerK() {
+        // given
+        NearestPharmacyRaster raster = build(pharmacyDtoList);
+
+        // when
+        boolean answered = raster.collectNearest(new GeoQuery(37.55, 127.0, 10.0), new TopKHeap(3), new SearchStats());
+
+        // then
+        assertThat(answered).isFalse();
+    }
+
+    private NearestPharmacyRaster build(List<PharmacyDto> list) {
+        PharmacySnapshot snapshot = PharmacySnapshot.from(list);
+        return NearestPharmacyRaster.build(snapshot, new KdTreePharmacySpatialIndex(snapshot), 0.005, 20.0, 16);
+    }
+
+    private void assertMatchesBruteForce(NearestPharmacyRaster raster, List<PharmacyDto> list) {
+        Random queryRandom = new Random(7);
+        int answered = 0;
+
+        for (int i = 0; i < 2_000; i++) {
+            double latitude = 37.30 + queryRandom.nextDouble() * 0.55;
+            double longitude = 126.70 + queryRandom.nextDouble() * 0.60;
+            double radiusKm = queryRandom.nextDouble() * 20;
+
+            TopKHeap heap = new TopKHeap(1);
+            if (!raster.collectNearest(new GeoQuery(latitude, longitude, radiusKm), heap, new SearchStats())) continue;
+            answered++;
+
+            Long actual = heap.size() == 0 ? null : raster.snapshot().id(heap.position(0));
+            assertThat(actual).isEqualTo(bruteForce(list, latitude, longitude, radiusKm));
+        }
+        assertThat(answered).isPositive();
+    }
+
+    private Long bruteForce(List<PharmacyDto> list, double latitude, double longitude, double radiusKm) {
+        return list.stream()
+                .filter(p -> GeoUtils.distanceKm(latitude, longitude, p.getLatitude(), p.getLongitude()) <= radiusKm)
+                .min(Comparator.comparingDouble(p ->
+                        GeoUtils.distanceKm(latitude, longitude, p.getLatitude(), p.getLongitude())))
+                .map(PharmacyDto::getId)
+                .orElse(null);
+    }
+
+    private PharmacyDto randomPharmacy(Long id) {
+        return PharmacyDto.builder()
+                .id(id)
+                .pharmacyName("약국" + id)
+                .pharmacyAddress("서울특별시")
+                .latitude(37.40 + random.nextDouble() * 0.35)
+                .longitude(126.80 + random.nextDouble() * 0.40)
+                .build();
+    }
+}
@@ -0,0 +1,161 @@
+package com.dsg.pharmacyrecommend.pharmacy.index;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
+import com.dsg.pharmacyrecommend.domain.pharmacy.event.PharmacyChangedEvent;
+import com.dsg.pharmacyrecommend.domain.pharmacy.index.PharmacyCandidate;
+import com.dsg.pharmacyrecommend.domain.pharmacy.index.PharmacyIndexState;
+import com.dsg.pharmacyrecommend.domain.pharmacy.index.PharmacySearchMetrics;
+import com.dsg.pharmacyrecommend.domain.pharmacy.index.PharmacySpatialIndexService;
+import com.dsg.pharmacyrecommend.domain.pharmacy.service.PharmacySearchService;
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PharmacySpatialIndexServiceTest {
+
+    @Mock
+    private PharmacySearchService pharmacySearchService;
+
+    private PharmacySpatialIndexService pharmacySpatialIndexService;
+
+    @BeforeEach
+    void setUp() {
+        pharmacySpatialIndexService = new PharmacySpatialIndexService(pharmacySearchService, ForkJoinPool.commonPool(),
+                new PharmacySearchMetrics(new SimpleMeterRegistry()), Runnable::run, ForkJoinPool.commonPool());
+    }
+
+    @Test
+    @DisplayName("재적재하면 새 스냅샷으로 교체되고 이전 상태는 그대로 사용할 수 있다")
+    void reloadAsyncSwapsState() {
+        // given
+        when(pharmacySearchService.searchPharmacyDtoList()).thenReturn(List.of(pharmacy(1L, "약국1")));
+        when(pharmacySearchService.searchPharmacySnapshotFromDb())
+                .thenReturn(PharmacySnapshot.from(List.of(pharmacy(2L, "약국2"))));
+        pharmacySpatialIndexService.findNearest(37.60, 127.03, 3, 10.0);
+        PharmacyIndexState before = pharmacySpatialIndexService.currentState();
+
+        // when
+        PharmacyIndexState after = pharmacySpatialIndexService.reloadAsync().join();
+        List<PharmacyCandidate> result = pharmacySpatialIndexService.findNearest(37.60, 127.03, 3, 10.0);
+
+        // then
+        assertThat(after).isSameAs(pharmacySpatialIndexService.currentState());
+        assertThat(after.getSource()).isEqualTo(PharmacyIndexState.Source.DB);
+        assertThat(after.version()).isGreaterThanOrEqualTo(before.version());
+        assertThat(result).extracting(candidate -> candidate.getPharmacy().getPharmacyName()).containsExactly("약국2");
+
+        // 진행 중이던 검색이 사용하던 이전 상태는 교체 이후에도 그대로 조회 가능
+        assertThat(before.getIndex().findNearest(37.60, 127.03, 3, 10.0))
+                .extracting(candidate -> candidate.getPharmacy().getPharmacyName()).containsExactly("약국1");
+    }
+
+    @Test
+    @DisplayName("재적재할 데이터가 없으면 기존 인덱스를 유지한다")
+    void reloadAsyncKeepsStateWhenEmpty() {
+        // given
+        when(pharmacySearchService.searchPharmacyDtoList()).thenReturn(List.of(pharmacy(1L, "약국1")));
+        when(pharmacySearchService.searchPharmacySnapshotFromDb()).thenReturn(PharmacySnapshot.from(List.of()));
+        pharmacySpatialIndexService.findNearest(37.60, 127.03, 3, 10.0);
+        PharmacyIndexState before = pharmacySpatialIndexService.currentState();
+
+        // when
+        PharmacyIndexState after = pharmacySpatialIndexService.reloadAsync().join();
+
+        // then
+        assertThat(after).isSameAs(before);
+        assertThat(pharmacySpatialIndexService.isReloading()).isFalse();
+    }
+
+    @Test
+    @DisplayName("최초 생성 시 데이터가 없으면 재시도 간격 동안 검색마다 원본을 다시 읽지 않는다")
+    void initialBuildBacksOffWhenEmpty() {
+        // given
+        when(pharmacySearchService.searchPharmacyDtoList()).thenReturn(List.of());
+
+        // when
+        List<PharmacyCandidate> first = pharmacySpatialIndexService.findNearest(37.60, 127.03, 3, 10.0);
+        List<PharmacyCandidate> second = pharmacySpatialIndexService.findNearest(37.60, 127.03, 3, 10.0);
+
+        // then
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        verify(pharmacySearchService, times(1)).searchPharmacyDtoList();
+    }
+
+    @Test
+    @DisplayName("최초 생성은 재적재 스레드에서 수행하고 검색 스레드는 기다리지 않는다")
+    void initialBuildRunsOnReloadExecutor() {
+        // given
+        List<Runnable> queued = new ArrayList<>();
+        PharmacySpatialIndexService service = new PharmacySpatialIndexService(pharmacySearchService,
+                ForkJoinPool.commonPool(), new PharmacySearchMetrics(new SimpleMeterRegistry()), queued::add,
+                ForkJoinPool.commonPool());
+
+        // when
+        List<PharmacyCandidate> beforeBuild = service.findNearest(37.60, 127.03, 3, 10.0);
+        service.findNearest(37.60, 127.03, 3, 10.0);
+
+        // then
+        assertThat(beforeBuild).isEmpty();
+        assertThat(queued).hasSize(1);
+        verify(pharmacySearchService, never()).searchPharmacyDtoList();
+
+        // 재적재 스레드에서 생성이 끝나면 인덱스로 응답
+        when(pharmacySearchService.searchPharmacyDtoList()).thenReturn(List.of(pharmacy(1L, "약국1")));
+        queued.get(0).run();
+        assertThat(service.findNearest(37.60, 127.03, 3, 10.0))
+                .extracting(candidate -> candidate.getPharmacy().getPharmacyName()).containsExactly("약국1");
+    }
+
+    @Test
+    @DisplayName("반영 전에 도착한 변경 이벤트는 모아서 DB 를 한 번만 다시 읽는다")
+    void changeEventsAreCoalesced() {
+        // given
+        List<Runnable> queued = new ArrayList<>();
+        PharmacySpatialIndexService service = new PharmacySpatialIndexService(pharmacySearchService,
+                ForkJoinPool.commonPool(), new PharmacySearchMetrics(new SimpleMeterRegistry()), queued::add,
+                ForkJoinPool.commonPool());
+        when(pharmacySearchService.searchPharmacyDtoList()).thenReturn(List.of(pharmacy(1L, "약국1")));
+        when(pharmacySearchService.searchPharmacySnapshotFromDb())
+                .thenReturn(PharmacySnapshot.from(List.of(pharmacy(1L, "약국1"), pharmacy(2L, "약국2"))));
+        service.findNearest(37.60, 127.03, 3, 10.0);
+        queued.remove(0).run();
+
+        // when
+        service.onPharmacyChanged(new PharmacyChangedEvent(List.of(2L)));
+        service.onPharmacyChanged(new PharmacyChangedEvent(List.of(2L, 3L)));
+
+        // then
+        assertThat(queued).hasSize(1);
+        queued.remove(0).run();
+        verify(pharmacySearchService, times(1)).searchPharmacySnapshotFromDb();
+        assertThat(service.currentState().getSource()).isEqualTo(PharmacyIndexState.Source.CHANGE_EVENT);
+        assertThat(service.findNearest(37.60, 127.03, 3, 10.0)).hasSize(2);
+    }
+
+    private PharmacyDto pharmacy(Long id, String pharmacyName) {
+        return PharmacyDto.builder()
+                .id(id)
+                .pharmacyName(pharmacyName)
+                .pharmacyAddress("서울특별시 성북구")
+                .latitude(37.60)
+                .longitude(127.03)
+                .build();
+    }
+}
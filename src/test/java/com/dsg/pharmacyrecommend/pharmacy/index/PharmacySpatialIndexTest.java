@@ -0,0 +1,172 @@
+package com.dsg.pharmacyrecommend.pharmacy.index;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
+import com.dsg.pharmacyrecommend.domain.pharmacy.index.BruteForcePharmacySpatialIndex;
+import com.dsg.pharmacyrecommend.domain.pharmacy.index.ParallelPharmacySpatialIndex;
+import com.dsg.pharmacyrecommend.domain.pharmacy.index.PharmacyCandidate;
+import com.dsg.pharmacyrecommend.domain.pharmacy.index.PharmacySpatialIndex;
+import com.dsg.pharmacyrecommend.domain.pharmacy.index.PharmacySpatialIndexType;
+import com.dsg.pharmacyrecommend.domain.pharmacy.index.SearchStats;
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshot;
+import com.dsg.pharmacyrecommend.geo.DistanceKernels;
+import com.dsg.pharmacyrecommend.geo.GeoUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PharmacySpatialIndexTest {
+
+    private List<PharmacyDto> pharmacyDtoList;
+
+    @BeforeEach
+    void setUp() {
+        // 서울 인근 임의 좌표 약국 5,000개
+        Random random = new Random(42);
+        pharmacyDtoList = new ArrayList<>();
+        for (long id = 1; id <= 5_000; id++) {
+            pharmacyDtoList.add(PharmacyDto.builder()
+                    .id(id)
+                    .pharmacyName("약국" + id)
+                    .pharmacyAddress("서울특별시")
+                    .latitude(37.40 + random.nextDouble() * 0.35)
+                    .longitude(126.80 + random.nextDouble() * 0.40)
+                    .build());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(PharmacySpatialIndexType.class)
+    @DisplayName("공간 인덱스 검색 결과는 전체 탐색 결과와 같아야 한다")
+    void findNearestMatchesBruteForce(PharmacySpatialIndexType type) {
+        // given
+        PharmacySpatialIndex index = type.create(PharmacySnapshot.from(pharmacyDtoList), 0.01);
+        Random random = new Random(7);
+
+        for (int i = 0; i < 200; i++) {
+            double latitude = 37.35 + random.nextDouble() * 0.45;
+            double longitude = 126.75 + random.nextDouble() * 0.50;
+            int k = 1 + random.nextInt(10);
+            double radiusKm = 0.5 + random.nextDouble() * 10;
+
+            // when
+            List<PharmacyCandidate> result = index.findNearest(latitude, longitude, k, radiusKm);
+
+            // then
+            List<Long> expected = bruteForce(latitude, longitude, k, radiusKm);
+            assertThat(result).extracting(candidate -> candidate.getPharmacy().getId())
+                    .containsExactlyElementsOf(expected);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(PharmacySpatialIndexType.class)
+    @DisplayName("반경 이내에 약국이 없으면 빈 리스트를 반환한다")
+    void findNearestOutOfRange(PharmacySpatialIndexType type) {
+        // given
+        PharmacySpatialIndex index = type.create(PharmacySnapshot.from(pharmacyDtoList), 0.01);
+
+        // when (부산)
+        List<PharmacyCandidate> result = index.findNearest(35.1796, 129.0756, 3, 10.0);
+
+        // then
+        assertThat(result).isEmpty();
+    }
+
+    @ParameterizedTest
+    @EnumSource(PharmacySpatialIndexType.class)
+    @DisplayName("기준점과 같은 위치의 약국은 NaN 이 아닌 거리 0으로 검색된다")
+    void findNearestSamePoint(PharmacySpatialIndexType type) {
+        // given
+        PharmacyDto target = pharmacyDtoList.get(123);
+        PharmacySpatialIndex index = type.create(PharmacySnapshot.from(pharmacyDtoList), 0.01);
+
+        // when
+        List<PharmacyCandidate> result = index.findNearest(target.getLatitude(), target.getLongitude(), 1, 10.0);
+
+        // then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getPharmacy().getId()).isEqualTo(target.getId());
+        assertThat(result.get(0).getDistance()).isZero();
+    }
+
+    @Test
+    @DisplayName("격자 인덱스는 가까운 링에서 k개를 찾으면 검색 반경 전체를 탐색하지 않는다")
+    void gridStopsAtFirstSufficientRing() {
+        // given
+        PharmacySpatialIndex index = PharmacySpatialIndexType.GRID.create(PharmacySnapshot.from(pharmacyDtoList), 0.01);
+        SearchStats stats = new SearchStats();
+
+        // when (약국 밀집 지역 중앙)
+        List<PharmacyCandidate> result = index.findNearest(37.55, 127.0, 3, 10.0, stats);
+
+        // then
+        assertThat(result).hasSize(3);
+        assertThat(stats.getRings()).isEqualTo(1);
+        assertThat(stats.getCandidates()).isLessThan(pharmacyDtoList.size() / 10);
+    }
+
+    @Test
+    @DisplayName("격자 인덱스는 가까운 링에 약국이 부족하면 반경을 늘려 탐색한다")
+    void gridExpandsRingsWhenSparse() {
+        // given
+        PharmacySpatialIndex index = PharmacySpatialIndexType.GRID.create(PharmacySnapshot.from(pharmacyDtoList), 0.01);
+        SearchStats stats = new SearchStats();
+
+        // when (약국 분포 영역에서 남서쪽으로 떨어진 지점)
+        List<PharmacyCandidate> result = index.findNearest(37.35, 126.75, 3, 10.0, stats);
+
+        // then
+        assertThat(result).extracting(candidate -> candidate.getPharmacy().getId())
+                .containsExactlyElementsOf(bruteForce(37.35, 126.75, 3, 10.0));
+        assertThat(stats.getRings()).isGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("파티션 병렬 탐색 결과는 전체 탐색 결과와 같아야 한다")
+    void findNearestParallelMatchesBruteForce() {
+        // given
+        ForkJoinPool pool = new ForkJoinPool(4);
+        BruteForcePharmacySpatialIndex sequential =
+                new BruteForcePharmacySpatialIndex(PharmacySnapshot.from(pharmacyDtoList), DistanceKernels.best());
+        PharmacySpatialIndex index = new ParallelPharmacySpatialIndex(sequential, pool, 256);
+        Random random = new Random(7);
+
+        try {
+            for (int i = 0; i < 200; i++) {
+                double latitude = 37.35 + random.nextDouble() * 0.45;
+                double longitude = 126.75 + random.nextDouble() * 0.50;
+                int k = 1 + random.nextInt(10);
+                double radiusKm = 0.5 + random.nextDouble() * 10;
+
+                // when
+                List<PharmacyCandidate> result = index.findNearest(latitude, longitude, k, radiusKm);
+
+                // then
+                assertThat(result).extracting(candidate -> candidate.getPharmacy().getId())
+                        .containsExactlyElementsOf(bruteForce(latitude, longitude, k, radiusKm));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<Long> bruteForce(double latitude, double longitude, int k, double radiusKm) {
+        return pharmacyDtoList.stream()
+                .filter(p -> GeoUtils.distanceKm(latitude, longitude, p.getLatitude(), p.getLongitude()) <= radiusKm)
+                .sorted(Comparator.comparingDouble(p ->
+                        GeoUtils.distanceKm(latitude, longitude, p.getLatitude(), p.getLongitude())))
+                .limit(k)
+                .map(PharmacyDto::getId)
+                .toList();
+    }
+}
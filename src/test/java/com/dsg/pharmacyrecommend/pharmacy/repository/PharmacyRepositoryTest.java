@@ -0,0 +1,125 @@
+package com.dsg.pharmacyrecommend.pharmacy.repository;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
+import com.dsg.pharmacyrecommend.domain.pharmacy.entity.Pharmacy;
+import com.dsg.pharmacyrecommend.domain.pharmacy.repository.PharmacyRepository;
+import com.dsg.pharmacyrecommend.domain.pharmacy.service.PharmacyRepositoryService;
+import com.dsg.pharmacyrecommend.geo.GeoUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MariaDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 약국 공간 인덱스 조회 테스트 - database/init 스크립트(공간 컬럼/트리거 포함)를 적용한 MariaDB 컨테이너 사용
+ * (Docker 가 없으면 건너뜀)
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class PharmacyRepositoryTest {
+
+    @Container
+    private static final MariaDBContainer<?> MARIADB = new MariaDBContainer<>("mariadb:10")
+            .withCopyFileToContainer(MountableFile.forHostPath("database/init"), "/docker-entrypoint-initdb.d/");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MARIADB::getJdbcUrl);
+        registry.add("spring.datasource.username", MARIADB::getUsername);
+        registry.add("spring.datasource.password", MARIADB::getPassword);
+    }
+
+    @Autowired
+    private PharmacyRepository pharmacyRepository;
+
+    private PharmacyRepositoryService pharmacyRepositoryService;
+
+    @BeforeEach
+    void setUp() {
+        pharmacyRepositoryService = new PharmacyRepositoryService(pharmacyRepository, event -> { });
+    }
+
+    @Test
+    @DisplayName("새로 저장한 약국도 공간 컬럼이 채워져 반경 이내 가까운 순으로 k개만 조회된다")
+    void findNearestWithinRadius() {
+        // given - 기존 데이터(서울)와 떨어진 부산 기준점 북쪽으로 약 0.5km, 1.5km, 3km, 12km
+        pharmacyRepository.saveAllAndFlush(List.of(
+                pharmacy("약국3", 35.027, 129.0),
+                pharmacy("약국1", 35.0045, 129.0),
+                pharmacy("약국4", 35.108, 129.0),
+                pharmacy("약국2", 35.0135, 129.0)));
+
+        // when
+        List<Pharmacy> twoNearest = pharmacyRepositoryService.findNearest(35.0, 129.0, 2, 10.0);
+        List<Pharmacy> withinTwoKm = pharmacyRepositoryService.findNearest(35.0, 129.0, 10, 2.0);
+        List<Pharmacy> withinTenKm = pharmacyRepositoryService.findNearest(35.0, 129.0, 10, 10.0);
+
+        // then
+        assertThat(twoNearest).extracting(Pharmacy::getPharmacyName).containsExactly("약국1", "약국2");
+        assertThat(withinTwoKm).extracting(Pharmacy::getPharmacyName).containsExactly("약국1", "약국2");
+        assertThat(withinTenKm).extracting(Pharmacy::getPharmacyName).containsExactly("약국1", "약국2", "약국3");
+    }
+
+    @Test
+    @DisplayName("공간 인덱스 조회 결과는 전체 약국을 거리 계산한 결과와 같다")
+    void findNearestMatchesFullScan() {
+        // given
+        double latitude = 37.596907;
+        double longitude = 127.037803;
+        Comparator<Pharmacy> byDistance = Comparator.comparingDouble(pharmacy ->
+                GeoUtils.distanceKm(latitude, longitude, pharmacy.getLatitude(), pharmacy.getLongitude()));
+        List<Long> expected = pharmacyRepository.findAll().stream()
+                .filter(pharmacy -> GeoUtils.distanceKm(latitude, longitude,
+                        pharmacy.getLatitude(), pharmacy.getLongitude()) <= 3.0)
+                .sorted(byDistance)
+                .map(Pharmacy::getId)
+                .toList();
+
+        // when
+        List<Pharmacy> result = pharmacyRepositoryService.findNearest(latitude, longitude, 100, 3.0);
+
+        // then
+        assertThat(expected).isNotEmpty();
+        assertThat(result).extracting(Pharmacy::getId).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("DTO 프로젝션 스트리밍 조회는 엔티티 조회와 같은 약국을 id 순서로 반환한다")
+    void forEachPharmacyDtoMatchesFindAll() {
+        // given
+        List<Long> expected = pharmacyRepository.findAll().stream().map(Pharmacy::getId).sorted().toList();
+        List<PharmacyDto> streamed = new ArrayList<>();
+
+        // when
+        long count = pharmacyRepositoryService.forEachPharmacyDto(streamed::add);
+
+        // then
+        assertThat(count).isEqualTo(expected.size());
+        assertThat(streamed).extracting(PharmacyDto::getId).containsExactlyElementsOf(expected);
+        assertThat(streamed).allSatisfy(pharmacyDto -> assertThat(pharmacyDto.getPharmacyName()).isNotNull());
+    }
+
+    private Pharmacy pharmacy(String name, double latitude, double longitude) {
+        return Pharmacy.builder()
+                .pharmacyName(name)
+                .pharmacyAddress("부산광역시")
+                .latitude(latitude)
+                .longitude(longitude)
+                .build();
+    }
+}
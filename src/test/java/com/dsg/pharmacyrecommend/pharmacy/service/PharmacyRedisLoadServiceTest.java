@@ -0,0 +1,116 @@
+package com.dsg.pharmacyrecommend.pharmacy.service;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.cache.PharmacyRedisTemplateService;
+import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
+import com.dsg.pharmacyrecommend.domain.pharmacy.service.PharmacyRedisLoadJob;
+import com.dsg.pharmacyrecommend.domain.pharmacy.service.PharmacyRedisLoadService;
+import com.dsg.pharmacyrecommend.domain.pharmacy.service.PharmacyRepositoryService;
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PharmacyRedisLoadServiceTest {
+
+    @Mock
+    private PharmacyRepositoryService pharmacyRepositoryService;
+
+    @Mock
+    private PharmacyRedisTemplateService pharmacyRedisTemplateService;
+
+    private final List<Runnable> submitted = new ArrayList<>();
+
+    private PharmacyRedisLoadService pharmacyRedisLoadService;
+
+    @BeforeEach
+    void setUp() {
+        Executor executor = submitted::add;
+        pharmacyRedisLoadService = new PharmacyRedisLoadService(pharmacyRepositoryService, pharmacyRedisTemplateService, executor);
+        ReflectionTestUtils.setField(pharmacyRedisLoadService, "chunkSize", 2);
+    }
+
+    @Test
+    @DisplayName("약국을 chunk 단위로 읽어 chunk 마다 한 번씩 Redis 에 기록하고 진행 상태를 갱신한다")
+    void loadInChunks() {
+        // given
+        when(pharmacyRepositoryService.count()).thenReturn(5L);
+        when(pharmacyRepositoryService.findChunkAfter(0L, 2)).thenReturn(List.of(pharmacy(1L), pharmacy(2L)));
+        when(pharmacyRepositoryService.findChunkAfter(2L, 2)).thenReturn(List.of(pharmacy(3L), pharmacy(4L)));
+        when(pharmacyRepositoryService.findChunkAfter(4L, 2)).thenReturn(List.of(pharmacy(5L)));
+        when(pharmacyRedisTemplateService.saveAll(anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        // when
+        PharmacyRedisLoadJob job = pharmacyRedisLoadService.start();
+        assertThat(job.getStatus()).isEqualTo(PharmacyRedisLoadJob.Status.RUNNING);
+        submitted.forEach(Runnable::run);
+
+        // then
+        ArgumentCaptor<PharmacySnapshot> snapshot = ArgumentCaptor.forClass(PharmacySnapshot.class);
+        verify(pharmacyRedisTemplateService, times(3)).saveAll(anyList());
+        verify(pharmacyRedisTemplateService).saveSnapshot(snapshot.capture());
+        assertThat(snapshot.getValue().size()).isEqualTo(5);
+        assertThat(job.getStatus()).isEqualTo(PharmacyRedisLoadJob.Status.COMPLETED);
+        assertThat(job.getLoaded()).isEqualTo(5);
+        assertThat(job.progress()).isEqualTo(1.0);
+        assertThat(pharmacyRedisLoadService.findJob(job.getId())).isSameAs(job);
+    }
+
+    @Test
+    @DisplayName("진행 중인 작업이 있으면 새 작업을 시작하지 않고 진행 중인 작업을 반환한다")
+    void startReturnsRunningJob() {
+        // given
+        when(pharmacyRepositoryService.count()).thenReturn(5L);
+        PharmacyRedisLoadJob first = pharmacyRedisLoadService.start();
+
+        // when
+        PharmacyRedisLoadJob second = pharmacyRedisLoadService.start();
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(submitted).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Redis 기록이 실패하면 작업은 실패 상태와 사유를 남기고 다시 시작할 수 있다")
+    void loadFails() {
+        // given
+        when(pharmacyRepositoryService.count()).thenReturn(2L);
+        when(pharmacyRepositoryService.findChunkAfter(0L, 2)).thenReturn(List.of(pharmacy(1L), pharmacy(2L)));
+        when(pharmacyRedisTemplateService.saveAll(anyList())).thenThrow(new IllegalStateException("redis down"));
+
+        // when
+        PharmacyRedisLoadJob job = pharmacyRedisLoadService.start();
+        submitted.forEach(Runnable::run);
+
+        // then
+        assertThat(job.getStatus()).isEqualTo(PharmacyRedisLoadJob.Status.FAILED);
+        assertThat(job.getError()).isEqualTo("redis down");
+        assertThat(pharmacyRedisLoadService.start()).isNotSameAs(job);
+    }
+
+    private PharmacyDto pharmacy(Long id) {
+        return PharmacyDto.builder()
+                .id(id)
+                .pharmacyName("약국" + id)
+                .pharmacyAddress("서울특별시")
+                .latitude(37.60)
+                .longitude(127.03)
+                .build();
+    }
+}
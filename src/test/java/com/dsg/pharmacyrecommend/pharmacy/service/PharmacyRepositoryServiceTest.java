@@ -1,5 +1,6 @@
 package com.dsg.pharmacyrecommend.pharmacy.service;
 
+import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
 import com.dsg.pharmacyrecommend.domain.pharmacy.entity.Pharmacy;
 import com.dsg.pharmacyrecommend.domain.pharmacy.repository.PharmacyRepository;
 import com.dsg.pharmacyrecommend.domain.pharmacy.service.PharmacyRepositoryService;
@@ -11,9 +12,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -126,4 +130,24 @@ class PharmacyRepositoryServiceTest {
         assertThat(result.get(1).getPharmacyName()).isEqualTo("약국2");
         verify(pharmacyRepository).findAll();
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("전체 약국을 DTO 스트림으로 한 건씩 전달하고 스트림을 닫는다")
+    void forEachPharmacyDto() {
+        // given
+        AtomicBoolean closed = new AtomicBoolean();
+        given(pharmacyRepository.streamAllDto()).willReturn(Stream.of(
+                        PharmacyDto.builder().id(1L).pharmacyName("약국1").build(),
+                        PharmacyDto.builder().id(2L).pharmacyName("약국2").build())
+                .onClose(() -> closed.set(true)));
+        List<String> names = new ArrayList<>();
+
+        // when
+        long count = pharmacyRepositoryService.forEachPharmacyDto(pharmacyDto -> names.add(pharmacyDto.getPharmacyName()));
+
+        // then
+        assertThat(count).isEqualTo(2);
+        assertThat(names).containsExactly("약국1", "약국2");
+        assertThat(closed).isTrue();
+    }
+}
@@ -0,0 +1,80 @@
+package com.dsg.pharmacyrecommend.pharmacy.snapshot;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshot;
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshotCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PharmacySnapshotCodecTest {
+
+    private PharmacySnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        List<PharmacyDto> pharmacyDtoList = new ArrayList<>();
+        for (long id = 1; id <= 1_000; id++) {
+            pharmacyDtoList.add(PharmacyDto.builder()
+                    .id(id)
+                    .pharmacyName("약국" + id)
+                    .pharmacyAddress("서울특별시 중구 " + id + "번길")
+                    .latitude(37.40 + random.nextDouble() * 0.35)
+                    .longitude(126.80 + random.nextDouble() * 0.40)
+                    .build());
+        }
+        snapshot = PharmacySnapshot.from(pharmacyDtoList, 1_000L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    @DisplayName("인코딩한 스냅샷을 디코딩하면 같은 약국 정보를 갖는다")
+    void encodeAndDecode(boolean compress) throws IOException {
+        // when
+        PharmacySnapshot result = PharmacySnapshotCodec.decode(PharmacySnapshotCodec.encode(snapshot, compress));
+
+        // then
+        assertThat(result.version()).isEqualTo(1_000L);
+        assertThat(result.size()).isEqualTo(snapshot.size());
+        for (int i = 0; i < snapshot.size(); i++) {
+            assertThat(result.id(i)).isEqualTo(snapshot.id(i));
+            assertThat(result.latitude(i)).isEqualTo(snapshot.latitude(i));
+            assertThat(result.longitude(i)).isEqualTo(snapshot.longitude(i));
+            assertThat(result.pharmacyName(i)).isEqualTo(snapshot.pharmacyName(i));
+            assertThat(result.pharmacyAddress(i)).isEqualTo(snapshot.pharmacyAddress(i));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    @DisplayName("손상된 스냅샷은 디코딩할 수 없다")
+    void decodeCorrupted(boolean compress) {
+        // given
+        byte[] encoded = PharmacySnapshotCodec.encode(snapshot, compress);
+        encoded[encoded.length - 10] ^= 0x55;
+
+        // when, then
+        assertThatThrownBy(() -> PharmacySnapshotCodec.decode(encoded)).isInstanceOf(IOException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    @DisplayName("압축 여부와 관계없이 약국마다 필드명을 반복하는 JSON 보다 작다")
+    void encodedSmallerThanJson(boolean compress) {
+        // when
+        byte[] encoded = PharmacySnapshotCodec.encode(snapshot, compress);
+
+        // then (JSON 은 약국당 필드명만 60 byte 이상)
+        assertThat(encoded.length).isLessThan(snapshot.size() * 60);
+    }
+}
@@ -0,0 +1,102 @@
+package com.dsg.pharmacyrecommend.pharmacy.snapshot;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshot;
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshotFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PharmacySnapshotFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    private List<PharmacyDto> pharmacyDtoList;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        pharmacyDtoList = new ArrayList<>();
+        for (long id = 1; id <= 1_000; id++) {
+            pharmacyDtoList.add(PharmacyDto.builder()
+                    .id(id)
+                    .pharmacyName("약국" + id)
+                    .pharmacyAddress("서울특별시 중구 " + id + "번길")
+                    .latitude(37.40 + random.nextDouble() * 0.35)
+                    .longitude(126.80 + random.nextDouble() * 0.40)
+                    .build());
+        }
+    }
+
+    @Test
+    @DisplayName("파일로 기록한 스냅샷을 다시 읽으면 같은 약국 정보를 갖는다")
+    void writeAndRead() throws IOException {
+        // given
+        PharmacySnapshot snapshot = PharmacySnapshot.from(pharmacyDtoList, 1_000L);
+        Path path = tempDir.resolve("pharmacy-snapshot.bin");
+
+        // when
+        PharmacySnapshotFile.write(snapshot, path);
+        PharmacySnapshot result = PharmacySnapshotFile.read(path, true);
+
+        // then
+        assertThat(result.version()).isEqualTo(1_000L);
+        assertThat(PharmacySnapshotFile.readVersion(path)).isEqualTo(1_000L);
+        assertThat(result.size()).isEqualTo(snapshot.size());
+        for (int i = 0; i < snapshot.size(); i++) {
+            assertThat(result.id(i)).isEqualTo(snapshot.id(i));
+            assertThat(result.latitude(i)).isEqualTo(snapshot.latitude(i));
+            assertThat(result.longitude(i)).isEqualTo(snapshot.longitude(i));
+            assertThat(result.pharmacyName(i)).isEqualTo(snapshot.pharmacyName(i));
+            assertThat(result.pharmacyAddress(i)).isEqualTo(snapshot.pharmacyAddress(i));
+        }
+    }
+
+    @Test
+    @DisplayName("기존 파일을 새 버전으로 교체할 수 있다")
+    void writeReplacesExistingFile() throws IOException {
+        // given
+        Path path = tempDir.resolve("pharmacy-snapshot.bin");
+        PharmacySnapshotFile.write(PharmacySnapshot.from(pharmacyDtoList, 1_000L), path);
+
+        // when
+        PharmacySnapshotFile.write(PharmacySnapshot.from(pharmacyDtoList.subList(0, 10), 2_000L), path);
+
+        // then
+        PharmacySnapshot result = PharmacySnapshotFile.read(path, true);
+        assertThat(result.version()).isEqualTo(2_000L);
+        assertThat(result.size()).isEqualTo(10);
+        assertThat(tempDir.toFile().list()).containsExactly("pharmacy-snapshot.bin");
+    }
+
+    @Test
+    @DisplayName("본문이 손상된 파일은 체크섬 검증에 실패한다")
+    void readCorruptedFile() throws IOException {
+        // given
+        Path path = tempDir.resolve("pharmacy-snapshot.bin");
+        PharmacySnapshotFile.write(PharmacySnapshot.from(pharmacyDtoList, 1_000L), path);
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(100);
+            int value = file.read();
+            file.seek(100);
+            file.write(value ^ 0xFF);
+        }
+
+        // when, then
+        assertThatThrownBy(() -> PharmacySnapshotFile.read(path, true))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+    }
+}
@@ -0,0 +1,98 @@
+package com.dsg.pharmacyrecommend.pharmacy.snapshot;
+
+import com.dsg.pharmacyrecommend.domain.pharmacy.dto.PharmacyDto;
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacyRecord;
+import com.dsg.pharmacyrecommend.domain.pharmacy.snapshot.PharmacySnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PharmacySnapshotTest {
+
+    private final List<PharmacyDto> pharmacyDtoList = List.of(
+            PharmacyDto.builder().id(1L).pharmacyName("종암약국").pharmacyAddress("서울특별시 성북구 종암로")
+                    .latitude(37.602).longitude(127.034).build(),
+            PharmacyDto.builder().id(2L).pharmacyName("화랑약국").pharmacyAddress(null)
+                    .latitude(37.616).longitude(127.071).build()
+    );
+
+    @Test
+    @DisplayName("오프힙 저장소의 약국 레코드는 원본 약국 정보를 그대로 반환한다")
+    void recordMatchesPharmacyDto() {
+        // given
+        PharmacySnapshot snapshot = PharmacySnapshot.from(pharmacyDtoList);
+
+        // when
+        PharmacyRecord record = snapshot.record(0);
+
+        // then
+        assertThat(record.getId()).isEqualTo(1L);
+        assertThat(record.getPharmacyName()).isEqualTo("종암약국");
+        assertThat(record.getPharmacyAddress()).isEqualTo("서울특별시 성북구 종암로");
+        assertThat(record.getLatitude()).isEqualTo(37.602);
+        assertThat(record.getLongitude()).isEqualTo(127.034);
+        assertThat(snapshot.record(1).getPharmacyAddress()).isEmpty(); // null 은 빈 문자열로 저장
+    }
+
+    @Test
+    @DisplayName("빌더로 한 건씩 추가한 스냅샷은 목록으로 만든 스냅샷과 같은 약국 정보를 가진다")
+    void builderMatchesFrom() {
+        // given
+        PharmacySnapshot.Builder builder = PharmacySnapshot.builder();
+        for (int i = 0; i < 100; i++) {
+            pharmacyDtoList.forEach(builder::add); // 내부 배열 확장 포함
+        }
+        PharmacySnapshot expected = PharmacySnapshot.from(pharmacyDtoList);
+
+        // when
+        PharmacySnapshot snapshot = builder.build();
+
+        // then
+        assertThat(snapshot.size()).isEqualTo(200);
+        for (int i = 0; i < snapshot.size(); i++) {
+            int position = i % 2;
+            assertThat(snapshot.id(i)).isEqualTo(expected.id(position));
+            assertThat(snapshot.pharmacyName(i)).isEqualTo(expected.pharmacyName(position));
+            assertThat(snapshot.pharmacyAddress(i)).isEqualTo(expected.pharmacyAddress(position));
+            assertThat(snapshot.latitude(i)).isEqualTo(expected.latitude(position));
+            assertThat(snapshot.longitude(i)).isEqualTo(expected.longitude(position));
+        }
+    }
+
+    @Test
+    @DisplayName("스냅샷은 오프힙/힙 메모리 사용량을 반환한다")
+    void memoryFootprint() {
+        // given
+        PharmacySnapshot snapshot = PharmacySnapshot.from(pharmacyDtoList);
+
+        // when, then
+        assertThat(snapshot.offHeapBytes()).isGreaterThan(2L * (Long.BYTES + 2 * Double.BYTES));
+        assertThat(snapshot.heapBytes()).isEqualTo(2L * 6 * Double.BYTES);
+    }
+
+    @Test
+    @DisplayName("범위를 벗어난 약국 번호는 조회할 수 없다")
+    void recordOutOfRange() {
+        // given
+        PharmacySnapshot snapshot = PharmacySnapshot.from(pharmacyDtoList);
+
+        // when, then
+        assertThatThrownBy(() -> snapshot.record(2)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("약국 id 로 약국 번호를 찾는다 (id 순서가 아니어도 찾음)")
+    void findPosition() {
+        // given
+        PharmacySnapshot snapshot = PharmacySnapshot.from(List.of(pharmacyDtoList.get(1), pharmacyDtoList.get(0)));
+
+        // when, then
+        assertThat(snapshot.findPosition(1L)).isEqualTo(1);
+        assertThat(snapshot.findPosition(2L)).isZero();
+        assertThat(snapshot.findPosition(3L)).isEqualTo(-1);
+    }
+}